@@ -0,0 +1,267 @@
+package mdt.controller;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.google.common.base.Preconditions;
+
+import utils.Throwables;
+import utils.http.RESTfulErrorEntity;
+
+import mdt.model.sm.ref.DefaultSubmodelReference;
+import mdt.model.sm.ref.MDTElementReference;
+import mdt.model.sm.ref.SubmodelBasedElementReference;
+
+
+/**
+ * 여러 개의 참조 표현식을 한번에 처리하는 클래스.
+ * <p>
+ * 주어진 참조 표현식들은 대상 MDTInstance와 서브모델 별로 묶이고, 각 묶음은 하나의 작업으로 주어진
+ * 실행기(virtual thread 실행기)를 통해 동시에 처리된다. 따라서 묶음 작업은 같은 서브모델을 접근하는 참조들을
+ * 한번에 처리할 수 있다 (예: 서브모델을 한번만 읽어 여러 element의 값을 추출).
+ * <p>
+ * 동시에 처리되는 묶음 수는 요청에 관계없이 본 객체를 공유하는 모든 요청을 합쳐 {@code concurrency}로 제한된다.
+ * 묶음 작업은 처리 허가를 얻은 후 {@code timeout} 내에 완료되지 않으면 중단되고, 아직 결과가 없는 참조들은
+ * 504 (Gateway Timeout) 오류 응답으로 대체된다. 처리 허가를 {@code timeout} 내에 얻지 못한 묶음도 같은 오류로
+ * 응답된다. 따라서 전체 요청은 최대 {@code timeout}의 두 배 이내에 응답된다.
+ * 개별 참조의 처리 결과는 {@link ResponseEntity}로 반환되며, 처리 중 발생된 예외는
+ * 주어진 오류 변환 함수를 통해 해당 참조의 오류 응답으로 변환된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+class BulkReferenceProcessor {
+	private static final Logger s_logger = LoggerFactory.getLogger(BulkReferenceProcessor.class);
+
+	private final ExecutorService m_executor;
+	private final int m_concurrency;
+	private final Semaphore m_permits;	// 모든 요청이 공유하는 동시 처리 묶음 수 제한
+	private final Duration m_timeout;
+
+	/**
+	 * 하나의 참조 표현식에 대한 처리 결과.
+	 *
+	 * @param ref		참조 표현식.
+	 * @param response	처리 결과 응답.
+	 */
+	record Result(String ref, ResponseEntity<?> response) { }
+
+	/**
+	 * 같은 묶음에 속한 참조들을 처리하는 함수.
+	 */
+	@FunctionalInterface
+	interface GroupTask {
+		/**
+		 * 주어진 참조들을 처리한다.
+		 * <p>
+		 * 각 참조의 처리 결과는 처리되는 대로 {@link Member#complete(ResponseEntity)}로 기록하여야 한다.
+		 * 예외가 발생된 경우는 결과가 기록되지 않은 참조들의 결과가 해당 예외의 오류 응답으로 설정된다.
+		 *
+		 * @param members	같은 MDTInstance의 같은 서브모델을 접근하는 참조들.
+		 * @throws Exception	처리 중 오류가 발생된 경우.
+		 */
+		void process(List<Member> members) throws Exception;
+	}
+
+	/**
+	 * 묶음에 속한 하나의 참조.
+	 */
+	static final class Member {
+		private final String m_refString;
+		private final Object m_ref;
+		private final AtomicReferenceArray<ResponseEntity<?>> m_responses;
+		private final int m_index;
+
+		private Member(String refString, Object ref, AtomicReferenceArray<ResponseEntity<?>> responses, int index) {
+			m_refString = refString;
+			m_ref = ref;
+			m_responses = responses;
+			m_index = index;
+		}
+
+		/**
+		 * 참조 표현식을 반환한다.
+		 *
+		 * @return	참조 표현식.
+		 */
+		String refString() {
+			return m_refString;
+		}
+
+		/**
+		 * 해석된 (활성화된) 참조 객체를 반환한다.
+		 *
+		 * @return	참조 객체.
+		 */
+		Object reference() {
+			return m_ref;
+		}
+
+		/**
+		 * 참조의 처리 결과를 기록한다. 제한 시간이 경과되어 이미 결과가 설정된 경우는 무시된다.
+		 *
+		 * @param response	처리 결과 응답.
+		 */
+		void complete(ResponseEntity<?> response) {
+			m_responses.compareAndSet(m_index, null, response);
+		}
+	}
+
+	/**
+	 * 처리기 객체를 생성한다.
+	 *
+	 * @param executor		묶음 처리 작업을 수행할 실행기.
+	 * @param concurrency	모든 요청을 합쳐 동시에 처리할 최대 묶음 수.
+	 * @param timeout		묶음 처리 제한 시간. 처리 허가를 얻은 시점부터 적용된다.
+	 */
+	BulkReferenceProcessor(ExecutorService executor, int concurrency, Duration timeout) {
+		Preconditions.checkArgument(executor != null, "executor is null");
+		Preconditions.checkArgument(concurrency > 0, "invalid concurrency: %s", concurrency);
+		Preconditions.checkArgument(timeout != null && !timeout.isNegative() && !timeout.isZero(),
+									"invalid timeout: %s", timeout);
+
+		m_executor = executor;
+		m_concurrency = concurrency;
+		m_permits = new Semaphore(concurrency, true);
+		m_timeout = timeout;
+	}
+
+	/**
+	 * 주어진 참조 표현식들을 처리한다.
+	 * <p>
+	 * 참조 표현식들은 호출 쓰레드에서 해석되어 묶이며, 해석에 실패한 표현식은 바로 오류 응답으로 설정된다.
+	 * 본 메소드는 묶음 작업들을 수행시킨 후 바로 반환된다.
+	 *
+	 * @param refStrings	처리할 참조 표현식 리스트.
+	 * @param resolver		참조 표현식을 (활성화된) 참조 객체로 변환하는 함수.
+	 * @param task			하나의 묶음을 처리하는 함수.
+	 * @param errorMapper	처리 중 발생된 예외를 오류 응답으로 변환하는 함수.
+	 * @return	처리 결과 리스트의 {@link CompletableFuture}. 결과의 순서는 {@code refStrings}의 순서와 동일하다.
+	 */
+	CompletableFuture<List<Result>> process(List<String> refStrings, Function<String,Object> resolver,
+											GroupTask task,
+											BiFunction<Throwable,String,ResponseEntity<?>> errorMapper) {
+		AtomicReferenceArray<ResponseEntity<?>> responses = new AtomicReferenceArray<>(refStrings.size());
+
+		// 참조 표현식들을 해석하여 대상 MDTInstance와 서브모델 별로 묶는다.
+		Map<String,List<Member>> groups = new LinkedHashMap<>();
+		for ( int i = 0; i < refStrings.size(); ++i ) {
+			String refString = refStrings.get(i);
+			try {
+				Object ref = resolver.apply(refString);
+				groups.computeIfAbsent(toGroupKey(ref, refString), k -> new ArrayList<>())
+						.add(new Member(refString, ref, responses, i));
+			}
+			catch ( Throwable e ) {
+				responses.set(i, errorMapper.apply(Throwables.unwrapThrowable(e), refString));
+			}
+		}
+		if ( s_logger.isDebugEnabled() ) {
+			s_logger.debug("processing bulk references: nrefs={}, ngroups={}, concurrency={}",
+							refStrings.size(), groups.size(), m_concurrency);
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+		for ( List<Member> members: groups.values() ) {
+			futures.add(processGroup(members, task)
+							.handle((v, error) -> {
+								// 결과가 기록되지 않은 참조들은 발생된 오류 (또는 시간 초과)로 응답한다.
+								Throwable cause = (error != null) ? error
+												: new IllegalStateException("no result is produced");
+								for ( Member member: members ) {
+									member.complete(toErrorResponse(cause, member.refString(), errorMapper));
+								}
+								return null;
+							}));
+		}
+
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+								.thenApply(v -> {
+									List<Result> results = new ArrayList<>(refStrings.size());
+									for ( int i = 0; i < refStrings.size(); ++i ) {
+										results.add(new Result(refStrings.get(i), responses.get(i)));
+									}
+									return results;
+								});
+	}
+
+	private CompletableFuture<Void> processGroup(List<Member> members, GroupTask task) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		Future<?> worker = m_executor.submit(() -> {
+			try {
+				if ( !m_permits.tryAcquire(m_timeout.toMillis(), TimeUnit.MILLISECONDS) ) {
+					result.completeExceptionally(new TimeoutException("no bulk-processing permit is available"));
+					return;
+				}
+			}
+			catch ( InterruptedException e ) {
+				result.completeExceptionally(e);
+				return;
+			}
+			try {
+				// 제한 시간은 처리 허가를 얻은 후부터 적용되기 때문에, 허가를 기다린 시간은 포함되지 않는다.
+				result.orTimeout(m_timeout.toMillis(), TimeUnit.MILLISECONDS);
+				task.process(members);
+				result.complete(null);
+			}
+			catch ( Throwable e ) {
+				result.completeExceptionally(e);
+			}
+			finally {
+				m_permits.release();
+			}
+		});
+		result.whenComplete((v, error) -> {
+			if ( error instanceof TimeoutException ) {
+				// 제한 시간이 경과된 작업은 더 이상 결과가 필요없기 때문에 중단시킨다.
+				worker.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	private static String toGroupKey(Object ref, String refString) {
+		if ( ref instanceof SubmodelBasedElementReference smbeRef ) {
+			return smbeRef.getInstanceId() + "/" + smbeRef.getSubmodelReference().getSubmodelId();
+		}
+		else if ( ref instanceof MDTElementReference elmRef ) {
+			return elmRef.getInstanceId();
+		}
+		else if ( ref instanceof DefaultSubmodelReference smRef ) {
+			return smRef.getInstanceId() + "/" + smRef.getSubmodelId();
+		}
+		else {
+			// 참조가 아닌 표현식은 각각 별도의 묶음으로 처리한다.
+			return "#" + refString;
+		}
+	}
+
+	private ResponseEntity<?> toErrorResponse(Throwable error, String refString,
+												BiFunction<Throwable,String,ResponseEntity<?>> errorMapper) {
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+						? error.getCause() : error;
+		cause = Throwables.unwrapThrowable(cause);
+		if ( cause instanceof TimeoutException ) {
+			String msg = String.format("Reference handling timed out: ref=%s, timeout=%s", refString, m_timeout);
+			return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(RESTfulErrorEntity.ofMessage(msg));
+		}
+		return errorMapper.apply(cause, refString);
+	}
+}
@@ -24,6 +24,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,11 +39,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import utils.func.FOption;
 import utils.stream.FStream;
 
 import mdt.instance.AbstractJpaInstanceManager;
+import mdt.instance.AbstractJpaInstanceManager.ScrollConsumer;
 import mdt.instance.JpaInstance;
+import mdt.instance.KeysetPage;
+import mdt.instance.jpa.JpaInstanceDescriptor;
 import mdt.model.AASUtils;
 import mdt.model.MDTModelSerDe;
 import mdt.model.instance.MDTInstance;
@@ -79,22 +85,32 @@ public class JpaShellRegistryController implements InitializingBean {
     })
     @GetMapping("/shell-descriptors/{aasId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<String> getAssetAdministrationShellDescriptorById(@PathVariable("aasId") String aasId)
-    	throws SerializationException {
+    public ResponseEntity<StreamingResponseBody>
+    getAssetAdministrationShellDescriptorById(@PathVariable("aasId") String aasId, WebRequest request) {
 		String decoded = AASUtils.decodeBase64UrlSafe(aasId);
-
-		MDTInstance inst = m_instanceManager.getInstanceByAasId(decoded);
-		AssetAdministrationShellDescriptor desc = inst.getAASShellDescriptor();
 		
-		String descJson = MDTModelSerDe.getJsonSerializer().write(desc);
-		return ResponseEntity.ok(descJson);
+		// 이미 조회된 적이 있는 AAS인 경우는 데이터베이스 접근 없이 ETag를 구할 수 있다.
+		String etag = ResponseEncoding.current().toRepresentationETag(m_instanceManager.getInstanceETagByAasId(decoded));
+		if ( etag != null && request.checkNotModified(etag) ) {
+			return null;
+		}
+
+		JpaInstanceDescriptor desc = m_instanceManager.getInstanceDescriptorByAasId(decoded);
+		// 처음 조회된 AAS인 경우는 조회 이후에 ETag를 구하면 갱신 이전 데이터가 갱신 이후 버전으로
+		// 캐쉬될 수 있기 때문에 ETag를 붙이지 않는다.
+		byte[] descJson = m_instanceManager.getAASShellDescriptorJson(desc);
+		return JsonStreamingResponses.ofVersionedJson(etag, descJson);
     }
     
     @Operation(summary = "주어진 idShort에 해당하는 모든 AssetAdministrationShell 등록정보들을 반환한다.")
     @Parameters({
     	@Parameter(name = "idShort",
     				description = "검색할 AssetAdministrationShell idShort. "
-    						+ "별도로 지정하지 않은 경우는 모든 AssetAdministrationShell 등록정보들을 반환한다.")
+    						+ "별도로 지정하지 않은 경우는 모든 AssetAdministrationShell 등록정보들을 반환한다."),
+    	@Parameter(name = "after", description = "페이지 검색 시작 커서. 이전 페이지 응답의 '"
+    											+ JsonStreamingResponses.NEXT_CURSOR_HEADER + "' 헤더 값을 사용한다."),
+    	@Parameter(name = "limit", description = "한 페이지에 포함될 최대 등록정보 수. "
+    											+ "지정하지 않은 경우는 조건을 만족하는 모든 등록정보를 반환한다.")
     })
     @ApiResponses(value = {
     	@ApiResponse(responseCode = "200", description = "성공",
@@ -106,23 +122,31 @@ public class JpaShellRegistryController implements InitializingBean {
     })
     @GetMapping({"/shell-descriptors"})
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<String> getAllAssetAdministrationShellDescriptors(
-    													@RequestParam(name="idShort", required=false) String idShort)
-    	throws SerializationException {
-		List<? extends MDTInstance> instList = (idShort != null)
-												? m_instanceManager.getInstanceAllByAasIdShort(idShort)
-												: m_instanceManager.getInstanceAll();
-    	List<AssetAdministrationShellDescriptor> descList
-    		= FStream.from(instList)
-		    		.map(inst -> {
-		    			AssetAdministrationShellDescriptor desc = inst.getAASShellDescriptor();
-		    			FOption.accept(inst.getServiceEndpoint(), ep -> AASUtils.attachEndpoint(desc, ep));
-		    			return desc;
-		    		})
-		    		.toList();
-
-		String descListJson = MDTModelSerDe.getJsonSerializer().write(descList);
-		return ResponseEntity.ok(descListJson);
+    public ResponseEntity<StreamingResponseBody> getAllAssetAdministrationShellDescriptors(
+    													@RequestParam(name="idShort", required=false) String idShort,
+    													@RequestParam(name="after", required=false) Long after,
+    													@RequestParam(name="limit", required=false) Integer limit) {
+		if ( limit != null ) {
+			KeysetPage<JpaInstanceDescriptor> page
+						= (idShort != null)
+						? m_instanceManager.getInstanceDescriptorPageByAasIdShort(idShort, after, limit)
+						: m_instanceManager.getInstanceDescriptorPage(null, after, limit);
+			return JsonStreamingResponses.ofPage(page, this::writeShellDescriptor);
+		}
+		
+		return JsonStreamingResponses.ofArray(gen -> {
+			ScrollConsumer<JpaInstanceDescriptor> writer = desc -> writeShellDescriptor(gen, desc);
+			if ( idShort != null ) {
+				m_instanceManager.scrollInstanceDescriptorAllByAasIdShort(idShort, after, writer);
+			}
+			else {
+				m_instanceManager.scrollInstanceDescriptorAll(null, after, writer);
+			}
+		});
+    }
+    
+    private void writeShellDescriptor(JsonGenerator gen, JpaInstanceDescriptor desc) throws IOException {
+		JsonStreamingResponses.writeRawJson(gen, m_instanceManager.getAASShellDescriptorJson(desc));
     }
     
     @GetMapping({"/shell-descriptors/asset/{assetId}"})
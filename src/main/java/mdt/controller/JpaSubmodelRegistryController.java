@@ -1,7 +1,8 @@
 package mdt.controller;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.DeserializationException;
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.SerializationException;
@@ -21,6 +22,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.Maps;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,10 +40,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.transaction.Transactional;
 
-import utils.stream.FStream;
-
 import mdt.instance.AbstractJpaInstanceManager;
 import mdt.instance.JpaInstance;
+import mdt.instance.KeysetPage;
 import mdt.instance.jpa.JpaInstanceDescriptor;
 import mdt.instance.jpa.JpaMDTSubmodelDescriptor;
 import mdt.instance.jpa.JpaMDTSubmodelDescriptorRepository;
@@ -65,7 +70,12 @@ public class JpaSubmodelRegistryController {
 
     @Operation(summary = "주어진 idShort에 해당하는 모든 Submodel 등록정보들을 반환한다.")
     @Parameters({
-    	@Parameter(name = "idShort", description = "검색할 Submodel idShort.")
+    	@Parameter(name = "idShort", description = "검색할 Submodel idShort."),
+    	@Parameter(name = "semanticId", description = "검색할 Submodel semanticId."),
+    	@Parameter(name = "after", description = "페이지 검색 시작 커서. 이전 페이지 응답의 '"
+    											+ JsonStreamingResponses.NEXT_CURSOR_HEADER + "' 헤더 값을 사용한다."),
+    	@Parameter(name = "limit", description = "한 페이지에 포함될 최대 등록정보 수. "
+    											+ "지정하지 않은 경우는 조건을 만족하는 모든 등록정보를 반환한다.")
     })
     @ApiResponses(value = {
     	@ApiResponse(responseCode = "200", description = "성공",
@@ -77,36 +87,34 @@ public class JpaSubmodelRegistryController {
     })
     @GetMapping({"/submodel-descriptors"})
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<String> getAllSubmodelDescriptorsByidShort(
+    public ResponseEntity<StreamingResponseBody> getAllSubmodelDescriptorsByidShort(
     												@RequestParam(name="idShort", required=false) String idShort,
-    												@RequestParam(name="semanticId", required=false) String semanticId)
-    	throws SerializationException {
-    	List<JpaMDTSubmodelDescriptor> jpaSmDescList;
-		if ( idShort != null ) {
-			jpaSmDescList = m_repo.findAllByIdShort(idShort);
-		}
-		else if ( semanticId != null ) {
-			jpaSmDescList = m_repo.findAllBySemanticId(semanticId);
-		}
-		else {
-			jpaSmDescList = m_repo.findAll();
+    												@RequestParam(name="semanticId", required=false) String semanticId,
+    												@RequestParam(name="after", required=false) Long after,
+    												@RequestParam(name="limit", required=false) Integer limit) {
+		// 동일 MDTInstance에 속한 서브모델들이 많기 때문에, 인스턴스별 서비스 endpoint는 한번씩만 구한다.
+		Map<String,Optional<String>> svcEndpoints = Maps.newHashMap();
+		if ( limit != null ) {
+			KeysetPage<JpaMDTSubmodelDescriptor> page
+								= m_instanceManager.getSubmodelDescriptorPage(idShort, semanticId, after, limit);
+			return JsonStreamingResponses.ofPage(page,
+												(gen, jpaDesc) -> writeSubmodelDescriptor(gen, jpaDesc, svcEndpoints));
 		}
 		
-		List<SubmodelDescriptor> smDescList
-					= FStream.from(jpaSmDescList)
-							.map(jpaDesc -> {
-								String instId = jpaDesc.getInstance().getInstanceId();
-								String svcEp = m_instanceManager.getInstance(instId).getServiceEndpoint();
-								SubmodelDescriptor smDesc = jpaDesc.getAASSubmodelDescriptor();
-								if ( svcEp != null ) {
-									smDesc = AASUtils.attachEndpoint(smDesc, svcEp);
-								}
-								return smDesc;
-							})
-							.toList();
-			
-		String descListJsjon = MDTModelSerDe.getJsonSerializer().writeList(smDescList);
-		return ResponseEntity.ok(descListJsjon);
+		return JsonStreamingResponses.ofArray(gen -> {
+			m_instanceManager.scrollSubmodelDescriptorAll(idShort, semanticId, after,
+														jpaDesc -> writeSubmodelDescriptor(gen, jpaDesc, svcEndpoints));
+		});
+    }
+    
+    private void writeSubmodelDescriptor(JsonGenerator gen, JpaMDTSubmodelDescriptor jpaDesc,
+    									Map<String,Optional<String>> svcEndpoints) throws IOException {
+		String instId = jpaDesc.getInstance().getInstanceId();
+		Optional<String> svcEp = svcEndpoints.computeIfAbsent(instId,
+							id -> Optional.ofNullable(m_instanceManager.getInstance(id).getServiceEndpoint()));
+		
+		JsonStreamingResponses.writeRawJson(gen, m_instanceManager.getAASSubmodelDescriptorJson(jpaDesc,
+																								svcEp.orElse(null)));
     }
 
     @Operation(summary = "주어진 식별자에 해당하는 Submodel 등록정보를 반환한다.")
@@ -122,25 +130,28 @@ public class JpaSubmodelRegistryController {
     })
     @GetMapping(value = "/submodel-descriptors/{submodelId}")
     @ResponseStatus(HttpStatus.OK)
-    @Transactional
-    public ResponseEntity<String> getSubmodelDescriptorById(@PathVariable("submodelId") String encodedSmId)
-    	throws SerializationException {
+    public ResponseEntity<StreamingResponseBody> getSubmodelDescriptorById(@PathVariable("submodelId") String encodedSmId,
+    																		WebRequest request) {
 		String smId = AASUtils.decodeBase64UrlSafe(encodedSmId);
 		
+		// 이미 조회된 적이 있는 서브모델인 경우는 데이터베이스 접근 없이 ETag를 구할 수 있다.
+		// (트랜잭션을 시작하지 않도록 본 메소드에는 @Transactional을 붙이지 않는다.)
+		String etag = ResponseEncoding.current()
+										.toRepresentationETag(m_instanceManager.getInstanceETagBySubmodelId(smId));
+		if ( etag != null && request.checkNotModified(etag) ) {
+			return null;
+		}
+		
 		JpaMDTSubmodelDescriptor jpaSmDesc = m_repo.findBySubmodelId(smId)
 												.orElseThrow(() -> new ResourceNotFoundException("SubmodelDescriptor", "id=" + smId));
-		SubmodelDescriptor smDesc = jpaSmDesc.getAASSubmodelDescriptor();
-
+		String svcEp = null;
 		JpaInstanceDescriptor jpaInstDesc = jpaSmDesc.getInstance();
 		if ( jpaInstDesc != null ) {
-			String svcEp = m_instanceManager.getInstance(jpaInstDesc.getInstanceId()).getServiceEndpoint();
-			if ( svcEp != null ) {
-				smDesc = AASUtils.attachEndpoint(smDesc, svcEp);
-			}
+			svcEp = m_instanceManager.getInstance(jpaInstDesc.getInstanceId()).getServiceEndpoint();
 		}
     	
-    	String descJson = MDTModelSerDe.toJsonString(smDesc);
-		return ResponseEntity.ok(descJson);
+		byte[] descJson = m_instanceManager.getAASSubmodelDescriptorJson(jpaSmDesc, svcEp);
+		return JsonStreamingResponses.ofVersionedJson(etag, descJson);
     }
     
     @Operation(
@@ -0,0 +1,322 @@
+package mdt.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import mdt.instance.KeysetPage;
+import mdt.model.MDTModelSerDe;
+
+
+/**
+ * JSON 데이터 모델의 응답을 메모리에 모두 적재하지 않고, 원소 단위로 servlet output stream에
+ * 바로 기록하는 응답을 생성하는 유틸리티 클래스.
+ * <p>
+ * 응답 본문의 형식과 압축 여부는 요청의 'Accept' 및 'Accept-Encoding' 헤더에 따라
+ * {@link ResponseEncoding}으로 결정되기 때문에, 본 클래스의 메소드들은 반드시 요청 처리
+ * 쓰레드에서 호출되어야 한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+final class JsonStreamingResponses {
+	private static final Logger s_logger = LoggerFactory.getLogger(JsonStreamingResponses.class);
+
+	/** 커서 기반 페이지 검색에서 다음 페이지 검색에 사용할 커서 값을 전달하는 응답 헤더 이름. */
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private JsonStreamingResponses() {
+		throw new AssertionError("Should not be called: class=" + getClass());
+	}
+
+	/**
+	 * JSON 배열의 원소들을 주어진 {@link JsonGenerator}에 기록하는 인터페이스.
+	 */
+	@FunctionalInterface
+	interface ElementWriter {
+		public void writeElements(JsonGenerator gen) throws IOException;
+	}
+
+	/**
+	 * 하나의 배열 원소를 주어진 {@link JsonGenerator}에 기록하는 인터페이스.
+	 *
+	 * @param <T>	원소 타입.
+	 */
+	@FunctionalInterface
+	interface ElementSerializer<T> {
+		public void write(JsonGenerator gen, T element) throws IOException;
+	}
+
+	/**
+	 * 주어진 {@link ElementWriter}가 기록하는 원소들로 구성된 JSON 배열 응답을 생성한다.
+	 * <p>
+	 * 응답 본문은 servlet output stream으로 바로 기록되기 때문에, 첫번째 원소가 준비되는
+	 * 즉시 클라이언트로 전송이 시작된다.
+	 *
+	 * @param writer	배열 원소들을 기록할 {@link ElementWriter}.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofArray(ElementWriter writer) {
+		return ofArray(ResponseEncoding.current(), writer);
+	}
+
+	/**
+	 * 주어진 {@link ElementWriter}가 기록하는 원소들로 구성된 JSON 배열 응답을 주어진 인코딩 방식으로 생성한다.
+	 *
+	 * @param encoding	응답 인코딩 방식.
+	 * @param writer	배열 원소들을 기록할 {@link ElementWriter}.
+	 * @return	응답 객체.
+	 * @see #ofValue(ResponseEncoding, ResponseEntity.BodyBuilder, Object)
+	 */
+	static ResponseEntity<StreamingResponseBody> ofArray(ResponseEncoding encoding, ElementWriter writer) {
+		return ofDocument(encoding, ResponseEntity.ok(), gen -> {
+			gen.writeStartArray();
+			writer.writeElements(gen);
+			gen.writeEndArray();
+		});
+	}
+
+	/**
+	 * 주어진 페이지의 원소들로 구성된 JSON 배열 응답을 생성한다.
+	 * <p>
+	 * 다음 페이지가 존재할 수 있는 경우에는 다음 페이지 검색에 사용할 커서 값이
+	 * {@value #NEXT_CURSOR_HEADER} 응답 헤더로 전달된다.
+	 *
+	 * @param page			응답에 포함시킬 페이지.
+	 * @param serializer	각 원소를 기록할 {@link ElementSerializer}.
+	 * @return	응답 객체.
+	 */
+	static <T> ResponseEntity<StreamingResponseBody> ofPage(KeysetPage<T> page, ElementSerializer<? super T> serializer) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if ( page.nextCursor() != null ) {
+			builder = builder.header(NEXT_CURSOR_HEADER, Long.toString(page.nextCursor()));
+		}
+		return ofDocument(builder, gen -> {
+			gen.writeStartArray();
+			for ( T elm: page.elements() ) {
+				serializer.write(gen, elm);
+			}
+			gen.writeEndArray();
+		});
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된 원소들로 구성된 JSON 배열 응답을 생성한다.
+	 * <p>
+	 * 응답 형식이 JSON인 경우는 각 원소의 JSON 바이트를 다시 파싱하지 않고 그대로 기록한다.
+	 *
+	 * @param jsonList	배열 원소들의 JSON 바이트 배열 리스트.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofRawArray(List<byte[]> jsonList) {
+		ResponseEncoding encoding = ResponseEncoding.current();
+		if ( !encoding.isJson() ) {
+			return ofArray(gen -> {
+				for ( byte[] json: jsonList ) {
+					writeRawJson(gen, json);
+				}
+			});
+		}
+
+		StreamingResponseBody body = out -> {
+			try ( OutputStream os = encoding.wrap(out, true) ) {
+				os.write('[');
+				for ( int i = 0; i < jsonList.size(); ++i ) {
+					if ( i > 0 ) {
+						os.write(',');
+					}
+					os.write(jsonList.get(i));
+				}
+				os.write(']');
+			}
+		};
+		return encoding.applyHeaders(ResponseEntity.ok(), true).body(body);
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된 하나의 문서로 구성된 응답을 생성한다.
+	 * <p>
+	 * 응답 형식이 JSON인 경우는 주어진 JSON 바이트를 그대로 기록하고,
+	 * 그렇지 않은 경우는 요청된 형식으로 변환하여 기록한다.
+	 *
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param json		JSON 바이트 배열.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofJson(ResponseEntity.BodyBuilder builder, byte[] json) {
+		ResponseEncoding encoding = ResponseEncoding.current();
+		if ( !encoding.isJson() ) {
+			return ofDocument(builder, gen -> writeRawJson(gen, json));
+		}
+
+		boolean compress = encoding.compresses(json.length);
+		StreamingResponseBody body = out -> {
+			try ( OutputStream os = encoding.wrap(out, compress) ) {
+				os.write(json);
+			}
+		};
+		return encoding.applyHeaders(builder, compress).body(body);
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된, 주어진 ETag를 갖는 하나의 문서로 구성된 응답을 생성한다.
+	 * <p>
+	 * {@link #ofJson(ResponseEntity.BodyBuilder, byte[])}와 달리 본문 크기와 관계없이 클라이언트가
+	 * gzip을 허용하면 압축한다. ETag는 {@link ResponseEncoding#toRepresentationETag(String)}로
+	 * 본문을 읽기 전에 구해지기 때문에, 압축 여부가 본문 크기에 따라 달라지면 ETag와 실제 응답의
+	 * 압축 여부가 일치하지 않게 된다.
+	 *
+	 * @param etag	{@link ResponseEncoding#toRepresentationETag(String)}로 구한 ETag.
+	 * 				{@code null}인 경우는 ETag 없이 {@link #ofJson(ResponseEntity.BodyBuilder, byte[])}와 동일하다.
+	 * @param json	JSON 바이트 배열.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofVersionedJson(@Nullable String etag, byte[] json) {
+		if ( etag == null ) {
+			return ofJson(ResponseEntity.ok(), json);
+		}
+
+		ResponseEncoding encoding = ResponseEncoding.current();
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag);
+		if ( !encoding.isJson() ) {
+			return ofDocument(encoding, builder, gen -> writeRawJson(gen, json));
+		}
+
+		StreamingResponseBody body = out -> {
+			try ( OutputStream os = encoding.wrap(out, true) ) {
+				os.write(json);
+			}
+		};
+		return encoding.applyHeaders(builder, true).body(body);
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된 하나의 문서로 구성된 응답을 생성한다.
+	 *
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param json		JSON 문자열.
+	 * @return	응답 객체.
+	 * @see #ofJson(ResponseEntity.BodyBuilder, byte[])
+	 */
+	static ResponseEntity<StreamingResponseBody> ofJson(ResponseEntity.BodyBuilder builder, String json) {
+		return ofJson(builder, json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 주어진 객체를 {@link MDTModelSerDe#MAPPER}로 직렬화한 응답을 생성한다.
+	 *
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param value		직렬화할 객체.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofValue(ResponseEntity.BodyBuilder builder, Object value) {
+		return ofDocument(builder, gen -> gen.writeObject(value));
+	}
+
+	/**
+	 * 주어진 객체를 {@link MDTModelSerDe#MAPPER}로 직렬화한 응답을 주어진 인코딩 방식으로 생성한다.
+	 * <p>
+	 * 요청 처리 쓰레드가 아닌 곳에서 응답을 생성하는 경우에 사용되며, 인코딩 방식은
+	 * 요청 처리 쓰레드에서 {@link ResponseEncoding#current()}를 통해 미리 얻어야 한다.
+	 *
+	 * @param encoding	응답 인코딩 방식.
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param value		직렬화할 객체.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofValue(ResponseEncoding encoding,
+														ResponseEntity.BodyBuilder builder, Object value) {
+		return encoding.applyHeaders(builder, true).body(toBody(encoding, gen -> gen.writeObject(value)));
+	}
+
+	/**
+	 * 주어진 {@link ElementWriter}가 기록하는 하나의 문서로 구성된 응답을 생성한다.
+	 * <p>
+	 * {@link #ofArray(ElementWriter)}와 달리 {@code writer}가 문서 전체를 기록한다.
+	 *
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param writer	문서를 기록할 {@link ElementWriter}.
+	 * @return	응답 객체.
+	 */
+	static ResponseEntity<StreamingResponseBody> ofDocument(ResponseEntity.BodyBuilder builder,
+															ElementWriter writer) {
+		return ofDocument(ResponseEncoding.current(), builder, writer);
+	}
+
+	/**
+	 * 주어진 {@link ElementWriter}가 기록하는 하나의 문서로 구성된 응답을 주어진 인코딩 방식으로 생성한다.
+	 *
+	 * @param encoding	응답 인코딩 방식.
+	 * @param builder	상태 코드 및 추가 헤더가 설정된 응답 빌더.
+	 * @param writer	문서를 기록할 {@link ElementWriter}.
+	 * @return	응답 객체.
+	 * @see #ofValue(ResponseEncoding, ResponseEntity.BodyBuilder, Object)
+	 */
+	static ResponseEntity<StreamingResponseBody> ofDocument(ResponseEncoding encoding,
+															ResponseEntity.BodyBuilder builder,
+															ElementWriter writer) {
+		return encoding.applyHeaders(builder, true).body(toBody(encoding, writer));
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된 값을 다시 직렬화하지 않고 주어진 {@link JsonGenerator}에 기록한다.
+	 * <p>
+	 * {@link JsonGenerator}가 JSON이 아닌 이진 형식(CBOR/Smile)을 기록하는 경우는
+	 * JSON을 파싱하여 해당 형식으로 변환하여 기록한다.
+	 *
+	 * @param gen	JSON 생성기.
+	 * @param json	기록할 JSON 바이트 배열.
+	 * @throws IOException	기록 중 오류가 발생된 경우.
+	 */
+	static void writeRawJson(JsonGenerator gen, byte[] json) throws IOException {
+		if ( gen.canWriteBinaryNatively() ) {
+			try ( JsonParser parser = MDTModelSerDe.MAPPER.getFactory().createParser(json) ) {
+				parser.nextToken();
+				gen.copyCurrentStructure(parser);
+			}
+		}
+		else {
+			gen.writeRawValue(new String(json, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * 이미 JSON으로 직렬화된 값을 다시 직렬화하지 않고 주어진 {@link JsonGenerator}에 기록한다.
+	 *
+	 * @param gen	JSON 생성기.
+	 * @param json	기록할 JSON 문자열.
+	 * @throws IOException	기록 중 오류가 발생된 경우.
+	 * @see #writeRawJson(JsonGenerator, byte[])
+	 */
+	static void writeRawJson(JsonGenerator gen, String json) throws IOException {
+		if ( gen.canWriteBinaryNatively() ) {
+			writeRawJson(gen, json.getBytes(StandardCharsets.UTF_8));
+		}
+		else {
+			gen.writeRawValue(json);
+		}
+	}
+
+	private static StreamingResponseBody toBody(ResponseEncoding encoding, ElementWriter writer) {
+		return out -> {
+			try ( OutputStream os = encoding.wrap(out, true);
+				JsonGenerator gen = encoding.createGenerator(os) ) {
+				writer.writeElements(gen);
+			}
+			catch ( IOException | RuntimeException e ) {
+				// 이미 응답 전송이 시작된 상태이므로 오류 응답을 보낼 수 없다.
+				s_logger.warn("Failed to stream response: cause={}", e.toString());
+				throw e;
+			}
+		};
+	}
+}
@@ -3,10 +3,23 @@ package mdt.controller;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.SerializationException;
@@ -15,8 +28,10 @@ import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShellDescriptor
 import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
 import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelDescriptor;
 import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,14 +46,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.common.collect.Lists;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -63,10 +84,20 @@ import utils.stream.FStream;
 
 import mdt.Globals;
 import mdt.client.instance.MDTModelSerDes;
+import mdt.exector.jar.CdsArchiveManager.StartupStatistics;
+import mdt.exector.jar.JarInstanceExecutor;
+import mdt.exector.jar.OutputLogFile;
+import mdt.exector.jar.ProcessResourceSampler.ResourceUsage;
 import mdt.instance.AbstractJpaInstanceManager;
+import mdt.instance.InstanceRuntimeInfo;
+import mdt.instance.InstanceTransitionJob;
+import mdt.instance.InstanceTransitionJob.Action;
 import mdt.instance.JpaInstance;
+import mdt.instance.KeysetPage;
 import mdt.instance.external.ExternalInstance;
 import mdt.instance.external.ExternalInstanceManager;
+import mdt.instance.jar.JarInstance;
+import mdt.instance.jar.JarInstanceManager;
 import mdt.instance.jpa.JpaInstanceDescriptor;
 import mdt.model.AASUtils;
 import mdt.model.InvalidResourceStatusException;
@@ -75,6 +106,7 @@ import mdt.model.ModelValidationException;
 import mdt.model.ResourceAlreadyExistsException;
 import mdt.model.ResourceException;
 import mdt.model.ResourceNotFoundException;
+import mdt.model.SubmodelService;
 import mdt.model.expr.LiteralExpr;
 import mdt.model.expr.MDTElementReferenceExpr;
 import mdt.model.expr.MDTExpression;
@@ -89,6 +121,7 @@ import mdt.model.instance.MDTOperationDescriptor;
 import mdt.model.instance.MDTParameterDescriptor;
 import mdt.model.instance.MDTSubmodelDescriptor;
 import mdt.model.instance.MDTTwinCompositionDescriptor;
+import mdt.model.sm.SubmodelUtils;
 import mdt.model.sm.ref.DefaultSubmodelReference;
 import mdt.model.sm.ref.ElementReference;
 import mdt.model.sm.ref.ElementReferences;
@@ -107,7 +140,7 @@ import mdt.model.sm.variable.Variables;
 */
 @RestController
 @RequestMapping(value={"/instance-manager"})
-public class MDTInstanceManagerController implements InitializingBean {
+public class MDTInstanceManagerController implements InitializingBean, DisposableBean {
 	private final Logger s_logger = LoggerFactory.getLogger(MDTInstanceManagerController.class);
 	private final JsonSerializer SERIALIZER = MDTModelSerDe.JSON_SERIALIZER;
 	
@@ -116,14 +149,36 @@ public class MDTInstanceManagerController implements InitializingBean {
 	private String m_host;
 	@Value("${server.port}")
 	private int m_port;
+	private MDTReferenceCache m_refCache;
+	private BulkReferenceProcessor m_bulkProcessor;
+	// MDTInstance를 접근하는 참조 표현식 처리 작업을 수행하는 virtual thread 실행기.
+	private final ExecutorService m_refExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	
+	/** output log 응답에 포함된 범위의 시작 위치를 전달하는 응답 헤더 이름. */
+	static final String LOG_OFFSET_HEADER = "X-Log-Offset";
+	/** output log 응답 시점의 로그 크기를 전달하는 응답 헤더 이름. */
+	static final String LOG_SIZE_HEADER = "X-Log-Size";
+	private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+	private static final Duration LOG_FOLLOW_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
+		m_refCache = new MDTReferenceCache(m_instanceManager,
+											m_instanceManager.getConfiguration().getReferenceCacheSize());
+		m_bulkProcessor = new BulkReferenceProcessor(m_refExecutor,
+													m_instanceManager.getConfiguration().getBulkConcurrency(),
+													m_instanceManager.getConfiguration().getReferenceTimeout());
+
 		if ( s_logger.isInfoEnabled() ) {
 			s_logger.info("{} is ready to serve: {}:{}", getClass().getName(), m_host, m_port);
 		}
 	}
 
+	@Override
+	public void destroy() throws Exception {
+		m_refExecutor.shutdownNow();
+	}
+
     @Tag(name = "MDTInstance 관리")
     @Operation(summary = "MDTInstance 식별자에 해당하는 MDTInstance 등록정보를 반환한다.")
     @Parameters({
@@ -142,11 +197,76 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @GetMapping("/instances/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> getInstance(@PathVariable("id") String id) throws IOException {
+    public ResponseEntity<?> getInstance(@PathVariable("id") String id, WebRequest request) throws IOException {
+    	// 데이터베이스 접근 이전에 ETag를 구하고, 클라이언트가 가진 것과 동일하면 304로 응답한다.
+    	String etag = ResponseEncoding.current().toRepresentationETag(m_instanceManager.getInstanceETag(id));
+    	if ( etag != null && request.checkNotModified(etag) ) {
+    		return null;
+    	}
+    	
     	JpaInstanceDescriptor desc = m_instanceManager.getInstanceDescriptor(id);
     	InstanceDescriptor instDesc = desc.toInstanceDescriptor();
     	String json = MDTModelSerDes.toJson(instDesc);
-		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+		return JsonStreamingResponses.ofVersionedJson(etag, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "MDTInstance의 현재 실행 상태와 서비스 endpoint를 반환한다.",
+    	description="실행 상태는 MDTInstanceManager가 메모리에 유지하는 실행 상태 테이블에서 얻기 때문에, "
+    				+ "일반적으로 데이터베이스를 접근하지 않는다."
+    )
+    @Parameters({
+    	@Parameter(name = "id", description="검색할 MDTInstance 식별자")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+			content = {
+				@Content(schema = @Schema(implementation=InstanceRuntimeInfo.class), mediaType="application/json")
+			}),
+    	@ApiResponse(responseCode="404",
+    		description="식별자에 해당하는 MDTInstance가 등록되어 있지 않습니다.",
+			content = {
+				@Content(schema = @Schema(implementation=RESTfulErrorEntity.class), mediaType="application/json")
+			})
+    })
+    @GetMapping("/instances/{id}/runtime")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> getInstanceRuntimeInfo(@PathVariable("id") String id) {
+    	InstanceRuntimeInfo info = m_instanceManager.getInstanceRuntimeInfo(id);
+    	return JsonStreamingResponses.ofValue(ResponseEntity.ok(), info);
+    }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "jar 타입 MDTInstance 프로세스의 현재 및 최근 자원 사용량을 반환한다.",
+    	description="CPU 사용률, 물리 메모리(RSS), 쓰레드 수, 열린 파일 수를 포함하며, "
+    				+ "MDTInstanceManager가 주기적으로 수집하여 유지하는 값이다. "
+    				+ "실행 중이 아니거나 아직 수집되지 않은 경우는 'current'가 null이다."
+    )
+    @Parameters({
+    	@Parameter(name = "id", description="검색할 MDTInstance 식별자")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+			content = {
+				@Content(schema = @Schema(implementation=ResourceUsage.class), mediaType="application/json")
+			}),
+    	@ApiResponse(responseCode="404",
+    		description="식별자에 해당하는 MDTInstance가 등록되어 있지 않습니다.",
+			content = {
+				@Content(schema = @Schema(implementation=RESTfulErrorEntity.class), mediaType="application/json")
+			}),
+    	@ApiResponse(responseCode="501", description="jar 타입이 아닌 MDTInstanceManager인 경우.")
+    })
+    @GetMapping("/instances/{id}/resources")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> getInstanceResources(@PathVariable("id") String id) {
+    	JarInstanceExecutor executor = getJarInstanceExecutor();
+    	
+    	// 등록되지 않은 MDTInstance인 경우는 ResourceNotFoundException이 발생된다.
+    	m_instanceManager.getInstanceRuntimeInfo(id);
+    	return JsonStreamingResponses.ofValue(ResponseEntity.ok(), executor.getResourceUsage(id));
     }
 
     @GetMapping("/list/arguments")
@@ -163,7 +283,13 @@ public class MDTInstanceManagerController implements InitializingBean {
     @Parameters({
     	@Parameter(name = "filter", description="검색 필터 표현식. 'instance' 객체의 속성 값을"
     											+ "활용하여 SQL의 WHERE 절에 사용되는 표현식을 지정한다. ",
-    				example = "instance.idShort like \"abc%\"")
+    				example = "instance.idShort like \"abc%\""),
+    	@Parameter(name = "after", description="페이지 검색 시작 커서. 이전 페이지 응답의 '"
+    											+ JsonStreamingResponses.NEXT_CURSOR_HEADER + "' 헤더 값을 사용한다."),
+    	@Parameter(name = "limit", description="한 페이지에 포함될 최대 MDTInstance 수. "
+    											+ "지정하지 않은 경우는 조건을 만족하는 모든 MDTInstance를 반환한다."),
+    	@Parameter(name = "resources", description="(jar 타입) 각 MDTInstance에 현재 프로세스 자원 사용량('resources')을 "
+    											+ "포함시킬지 여부.")
     })
     @ApiResponses(value = {
     	@ApiResponse(responseCode="200", description="성공",
@@ -175,41 +301,65 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @GetMapping("/instances")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> getInstanceAll(@RequestParam(name="filter", required=false) String filter) {
-    	List<? extends JpaInstance> matches = ( filter != null )
-					    					? m_instanceManager.getInstanceAllByFilter(filter)
-					    					: m_instanceManager.getInstanceAll();
-		List<InstanceDescriptor> descList = FStream.from(matches)
-													.map(MDTInstance::getInstanceDescriptor)
-													.toList();
-		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(descList);
+    public ResponseEntity<StreamingResponseBody>
+    getInstanceAll(@RequestParam(name="filter", required=false) String filter,
+    				@RequestParam(name="after", required=false) Long after,
+    				@RequestParam(name="limit", required=false) Integer limit,
+    				@RequestParam(name="resources", defaultValue="false") boolean resources) {
+    	Map<String,ResourceUsage> usages = (resources) ? getJarInstanceExecutor().getResourceUsageAll() : null;
+    	if ( limit != null ) {
+    		KeysetPage<JpaInstanceDescriptor> page = m_instanceManager.getInstanceDescriptorPage(filter, after, limit);
+    		return JsonStreamingResponses.ofPage(page, (gen, desc) -> writeInstanceDescriptor(gen, desc, usages));
+    	}
+    	
+    	return JsonStreamingResponses.ofArray(gen -> {
+    		m_instanceManager.scrollInstanceDescriptorAll(filter, after,
+    													desc -> writeInstanceDescriptor(gen, desc, usages));
+    	});
+    }
+    
+    private void writeInstanceDescriptor(JsonGenerator gen, JpaInstanceDescriptor desc,
+    									@Nullable Map<String,ResourceUsage> usages) throws IOException {
+    	if ( usages == null ) {
+    		gen.writeObject(desc.toInstanceDescriptor());
+    		return;
+    	}
+    	
+    	// 목록에는 최근 사용량 이력을 제외한 현재 사용량만 포함시킨다.
+    	ObjectNode node = MDTModelSerDe.MAPPER.valueToTree(desc.toInstanceDescriptor());
+    	ResourceUsage usage = usages.get(desc.getInstanceId());
+    	node.set("resources", MDTModelSerDe.MAPPER.valueToTree((usage != null) ? usage.current() : null));
+    	gen.writeTree(node);
+    }
+    
+    private JarInstanceExecutor getJarInstanceExecutor() {
+    	if ( m_instanceManager instanceof JarInstanceManager jarMgr ) {
+    		return jarMgr.getInstanceExecutor();
+    	}
+    	throw new UnsupportedOperationException("process resource usage is supported only for jar type MDTInstances");
     }
 
     @GetMapping("/instances/model")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> getMDTModelAll(@RequestParam(name="filter", required=false) String filter) {
-    	List<? extends JpaInstance> matches = ( filter != null )
-					    					? m_instanceManager.getInstanceAllByFilter(filter)
-					    					: m_instanceManager.getInstanceAll();
-    	
-    	List<MDTModel> models = Lists.newArrayList();
-    	for ( JpaInstance instance: matches ) {
-    		MDTModel model = new MDTModel(instance.getInstanceDescriptor());
-    		model.setSubmodels(instance.getMDTSubmodelDescriptorAll());
-    		model.setParameters(instance.getMDTParameterDescriptorAll());
-    		model.setOperations(instance.getMDTOperationDescriptorAll());
-    		model.setTwinComposition(instance.getMDTTwinCompositionDescriptor());
-    		
-    		models.add(model);
+    public ResponseEntity<StreamingResponseBody>
+    getMDTModelAll(@RequestParam(name="filter", required=false) String filter,
+    				@RequestParam(name="after", required=false) Long after,
+    				@RequestParam(name="limit", required=false) Integer limit) {
+    	if ( limit != null ) {
+    		KeysetPage<MDTModel> page = m_instanceManager.getMDTModelPage(filter, after, limit);
+    		return JsonStreamingResponses.ofPage(page, JsonGenerator::writeObject);
     	}
-		
-		return ResponseEntity.ok(models);
+    	
+    	return JsonStreamingResponses.ofArray(gen -> m_instanceManager.scrollMDTModelAll(filter, after,
+    																					gen::writeObject));
     }
 
     @Tag(name = "MDTInstance 관리")
     @Operation(summary = "MDTInstanceManager에 새로운 MDTInstance를 등록시킨다.")
     @Parameters({
-    	@Parameter(name = "id", description="등록 MDTInstance 식별자")
+    	@Parameter(name = "id", description="등록 MDTInstance 식별자"),
+    	@Parameter(name = "jvmProfile",
+    				description="(jar 타입) MDTInstance가 사용할 JVM 자원 프로파일 이름. 생략시 모델 크기에 따라 선택")
     })
     @io.swagger.v3.oas.annotations.parameters.RequestBody(
     	required=true,
@@ -231,8 +381,20 @@ public class MDTInstanceManagerController implements InitializingBean {
     @ResponseStatus(HttpStatus.CREATED)
     public String addInstance(@RequestParam("id") String id,
     							@RequestParam(name = "port", defaultValue = "-1") int port,
-								@RequestParam(name="bundle", required=true) MultipartFile zipFile)
+								@RequestParam(name="bundle", required=true) MultipartFile zipFile,
+								@RequestParam(name="jvmProfile", required=false) String jvmProfile)
 		throws IOException, ModelValidationException, MDTInstanceManagerException {
+    	// JVM 자원 프로파일은 등록 전에 검사하여, 잘못 지정된 경우 MDTInstance가 등록되지 않도록 한다.
+    	JarInstanceManager jarMgr = null;
+    	if ( jvmProfile != null ) {
+    		if ( !(m_instanceManager instanceof JarInstanceManager mgr) ) {
+    			throw new IllegalArgumentException("jvmProfile is supported only by jar type: manager="
+    												+ m_instanceManager.getClass().getSimpleName());
+    		}
+    		mgr.getJvmProfile(jvmProfile);
+    		jarMgr = mgr;
+    	}
+    	
 		Globals.EVENT_BUS.post(InstanceStatusChangeEvent.ADDING(id));
 		
     	// 입력 받은 zip 파일을 풀어서 bundle directory를 생성한다.
@@ -241,6 +403,12 @@ public class MDTInstanceManagerController implements InitializingBean {
 	    	// Bundle directory의 내용을 이용해서 InstanceDescriptor를 생성하여 등록하고,
     		// 이를 통해 MDTInstance를 생성한다.
     		MDTInstance inst = m_instanceManager.addInstance(id, port, bundleDir);
+    		if ( jarMgr != null ) {
+    			jarMgr.setJvmProfile(id, jvmProfile);
+    			
+    			// 실행 인자가 변경되었으므로 변경된 등록정보의 MDTInstance를 사용한다.
+    			inst = m_instanceManager.getInstance(id);
+    		}
     		
     		// auto-start 옵션이 설정되어 있으면, 바로 시작시킨다.
 			if ( m_instanceManager.getConfiguration().isAutoStart() ) {
@@ -302,10 +470,18 @@ public class MDTInstanceManagerController implements InitializingBean {
     @Tag(name = "MDTInstance 관리")
     @Operation(summary = "MDTInstance 식별자에 해당하는 MDTInstance를 시작시킨다.")
     @Parameters({
-    	@Parameter(name = "id", description="시작시킬 MDTInstance 식별자")
+    	@Parameter(name = "id", description="시작시킬 MDTInstance 식별자"),
+    	@Parameter(name = "async", description="시작 완료를 기다리지 않고 바로 반환할지 여부. "
+    											+ "지정된 경우는 202 (Accepted)와 함께 생성된 작업 정보를 반환하며, "
+    											+ "진행 상태는 '/jobs/{jobId}'를 통해 조회할 수 있다.")
     })
     @ApiResponses(value = {
     	@ApiResponse(responseCode="200", description="성공"),
+    	@ApiResponse(responseCode="202", description="비동기 시작 작업이 생성됨",
+    				content = {
+    					@Content(schema = @Schema(implementation=InstanceTransitionJob.class),
+    							mediaType="application/json")
+    				}),
     	@ApiResponse(responseCode="404",
 					description="식별자에 해당하는 MDTInstance가 등록되어 있지 않습니다.",
 					content = {
@@ -329,9 +505,13 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @PutMapping("/instances/{id}/start")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> startInstance(@PathVariable("id") String id)
+    public ResponseEntity<?> startInstance(@PathVariable("id") String id,
+    										@RequestParam(name="async", defaultValue="false") boolean async)
     	throws IOException, InterruptedException, InvalidResourceStatusException, TimeoutException, ExecutionException {
     	JpaInstance inst = m_instanceManager.getInstance(id);
+    	if ( async ) {
+    		return submitTransitionJob(Action.START, id);
+    	}
 
 		Duration pollInterval = null;
 		Duration timeout = null;
@@ -348,10 +528,18 @@ public class MDTInstanceManagerController implements InitializingBean {
     	description="메소드는 MDTInstance의 중지 요청을 수행하고, 완전히 중지되기 전에 반환될 수도 있다. "
     )
     @Parameters({
-    	@Parameter(name = "id", description="중지시킬 MDTInstance 식별자")
+    	@Parameter(name = "id", description="중지시킬 MDTInstance 식별자"),
+    	@Parameter(name = "async", description="중지 완료를 기다리지 않고 바로 반환할지 여부. "
+    											+ "지정된 경우는 202 (Accepted)와 함께 생성된 작업 정보를 반환하며, "
+    											+ "진행 상태는 '/jobs/{jobId}'를 통해 조회할 수 있다.")
     })
     @ApiResponses(value = {
     	@ApiResponse(responseCode="200", description="성공"),
+    	@ApiResponse(responseCode="202", description="비동기 중지 작업이 생성됨",
+    				content = {
+    					@Content(schema = @Schema(implementation=InstanceTransitionJob.class),
+    							mediaType="application/json")
+    				}),
     	@ApiResponse(responseCode="404",
 					description="식별자에 해당하는 MDTInstance가 등록되어 있지 않습니다.",
 					content = {
@@ -367,15 +555,263 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @PutMapping("/instances/{id}/stop")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> stopInstance(@PathVariable("id") String id)
+    public ResponseEntity<?> stopInstance(@PathVariable("id") String id,
+    										@RequestParam(name="async", defaultValue="false") boolean async)
     	throws IOException, InterruptedException, TimeoutException, InvalidResourceStatusException {
     	JpaInstance inst = m_instanceManager.getInstance(id);
+    	if ( async ) {
+    		return submitTransitionJob(Action.STOP, id);
+    	}
     	inst.stop(null, null);
 
     	JpaInstanceDescriptor desc = m_instanceManager.getInstanceDescriptor(id);
     	return ResponseEntity.ok(MDTModelSerDes.toJson(desc.toInstanceDescriptor()));
     }
 
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "여러 MDTInstance들을 한번에 시작시킨다.",
+    	description="대상 MDTInstance들은 필터 표현식 또는 요청 본문의 식별자 리스트로 지정한다. "
+    				+ "시작 작업은 백그라운드에서 수행되며, 메소드는 생성된 작업 정보를 바로 반환한다. "
+    				+ "작업의 진행 상태는 '/jobs/{jobId}'를 통해 조회할 수 있다."
+    )
+    @Parameters({
+    	@Parameter(name = "filter", description="대상 MDTInstance 검색 필터 표현식. 'instance' 객체의 속성 값을"
+    											+ "활용하여 SQL의 WHERE 절에 사용되는 표현식을 지정한다. ",
+    				example = "instance.idShort like \"abc%\""),
+    	@Parameter(name = "parallelism", description="동시에 시작시킬 최대 MDTInstance 수. "
+    											+ "지정하지 않은 경우는 설정된 기본 값을 사용한다."),
+    	@Parameter(name = "ordered", description="twin composition에 기록된 의존 관계에 따라 의존 대상 MDTInstance를 먼저 시작시킬지 여부. "
+    											+ "의존 대상의 시작이 실패한 MDTInstance는 시작시키지 않는다.")
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+    	description="시작시킬 MDTInstance 식별자 리스트. 'filter'를 지정한 경우는 생략한다.",
+		content = @Content(array = @ArraySchema(schema = @Schema(implementation=String.class)))
+    )
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="202", description="시작 작업이 생성됨",
+    				content = {
+    					@Content(schema = @Schema(implementation=InstanceTransitionJob.class),
+    							mediaType="application/json")
+    				}),
+    	@ApiResponse(responseCode="400",
+    				description="대상 MDTInstance가 지정되지 않았거나 병렬도가 잘못된 경우.",
+					content = {
+							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class),
+									mediaType="application/json")
+						})
+    })
+    @PostMapping("/instances/$start")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ResponseEntity<StreamingResponseBody>
+    startInstanceAll(@RequestParam(name="filter", required=false) String filter,
+    				@RequestParam(name="parallelism", required=false) Integer parallelism,
+    				@RequestParam(name="ordered", defaultValue="false") boolean ordered,
+    				@RequestBody(required=false) List<String> instIds) throws IOException {
+    	return submitTransitionJob(Action.START, filter, instIds, parallelism, ordered);
+    }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "여러 MDTInstance들을 한번에 중지시킨다.",
+    	description="대상 MDTInstance들은 필터 표현식 또는 요청 본문의 식별자 리스트로 지정한다. "
+    				+ "중지 작업은 백그라운드에서 수행되며, 메소드는 생성된 작업 정보를 바로 반환한다. "
+    				+ "작업의 진행 상태는 '/jobs/{jobId}'를 통해 조회할 수 있다."
+    )
+    @Parameters({
+    	@Parameter(name = "filter", description="대상 MDTInstance 검색 필터 표현식. 'instance' 객체의 속성 값을"
+    											+ "활용하여 SQL의 WHERE 절에 사용되는 표현식을 지정한다. ",
+    				example = "instance.idShort like \"abc%\""),
+    	@Parameter(name = "parallelism", description="동시에 중지시킬 최대 MDTInstance 수. "
+    											+ "지정하지 않은 경우는 설정된 기본 값을 사용한다."),
+    	@Parameter(name = "ordered", description="twin composition에 기록된 의존 관계에 따라 의존하는 MDTInstance를 먼저 중지시킬지 여부. "
+    											+ "의존하는 MDTInstance의 중지가 실패한 MDTInstance는 중지시키지 않는다.")
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+    	description="중지시킬 MDTInstance 식별자 리스트. 'filter'를 지정한 경우는 생략한다.",
+		content = @Content(array = @ArraySchema(schema = @Schema(implementation=String.class)))
+    )
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="202", description="중지 작업이 생성됨",
+    				content = {
+    					@Content(schema = @Schema(implementation=InstanceTransitionJob.class),
+    							mediaType="application/json")
+    				}),
+    	@ApiResponse(responseCode="400",
+    				description="대상 MDTInstance가 지정되지 않았거나 병렬도가 잘못된 경우.",
+					content = {
+							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class),
+									mediaType="application/json")
+						})
+    })
+    @PostMapping("/instances/$stop")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ResponseEntity<StreamingResponseBody>
+    stopInstanceAll(@RequestParam(name="filter", required=false) String filter,
+    				@RequestParam(name="parallelism", required=false) Integer parallelism,
+    				@RequestParam(name="ordered", defaultValue="false") boolean ordered,
+    				@RequestBody(required=false) List<String> instIds) throws IOException {
+    	return submitTransitionJob(Action.STOP, filter, instIds, parallelism, ordered);
+    }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "MDTInstance 시작/중지 작업의 진행 상태를 반환한다.",
+    	description="'wait'가 지정된 경우는 작업의 버전 번호가 'after'보다 커지거나 작업이 종료될 때까지, "
+    				+ "최대 'wait' 시간 동안 대기한 후 진행 상태를 반환한다 (long-poll). "
+    				+ "'after'를 지정하지 않은 경우는 현재 버전 이후의 변경을 기다린다."
+    )
+    @Parameters({
+    	@Parameter(name = "jobId", description="작업 식별자"),
+    	@Parameter(name = "wait", description="진행 상태 변경을 기다릴 최대 시간. "
+    											+ "설정된 참조 처리 제한 시간보다 긴 경우는 제한 시간이 사용된다.",
+    				example = "10s"),
+    	@Parameter(name = "after", description="이전 응답에서 얻은 작업 버전 번호('version').")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+    				content = {
+    					@Content(schema = @Schema(implementation=InstanceTransitionJob.class),
+    							mediaType="application/json")
+    				}),
+    	@ApiResponse(responseCode="404",
+					description="식별자에 해당하는 작업이 없거나 보관 기간이 지난 경우.",
+					content = {
+							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class),
+									mediaType="application/json")
+						})
+    })
+    @GetMapping("/jobs/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>>
+    getTransitionJob(@PathVariable("jobId") String jobId,
+    				@RequestParam(name="wait", required=false) Duration wait,
+    				@RequestParam(name="after", required=false) Long after) {
+    	InstanceTransitionJob job = m_instanceManager.getTransitionService().getJob(jobId);
+    	if ( wait == null || wait.isZero() || wait.isNegative() ) {
+    		return CompletableFuture.completedFuture(JsonStreamingResponses.ofValue(ResponseEntity.ok(), job));
+    	}
+
+    	// 응답은 상태 변경을 통보한 쓰레드에서 생성되므로, 응답 인코딩 방식은 요청 처리 쓰레드에서 미리 결정한다.
+    	ResponseEncoding encoding = ResponseEncoding.current();
+    	Duration maxWait = m_instanceManager.getConfiguration().getReferenceTimeout();
+    	long waitMillis = Math.min(wait.toMillis(), maxWait.toMillis());
+    	long version = (after != null) ? after : job.getVersion();
+
+    	// 작업의 future는 다른 요청들과 공유되므로 복사본에 제한 시간을 설정한다.
+    	return job.watchChange(version).copy()
+    				.completeOnTimeout(null, waitMillis, TimeUnit.MILLISECONDS)
+    				.thenApply(v -> JsonStreamingResponses.ofValue(encoding, ResponseEntity.ok(), job));
+    }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(
+    	summary = "MDTInstance 시작/중지 작업의 진행 상태 변경을 Server-Sent Events로 전달한다.",
+    	description="연결 직후 현재 작업 정보를 'job' 이벤트로 전달하고, 이후 MDTInstance 별 진행 상태가 "
+    				+ "변경될 때마다 해당 진행 상태를 'item' 이벤트로 전달한다. "
+    				+ "작업이 종료되면 최종 작업 정보를 'completed' 이벤트로 전달하고 연결을 종료한다."
+    )
+    @Parameters({
+    	@Parameter(name = "jobId", description="작업 식별자")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+    				content = { @Content(mediaType="text/event-stream") }),
+    	@ApiResponse(responseCode="404",
+					description="식별자에 해당하는 작업이 없거나 보관 기간이 지난 경우.",
+					content = {
+							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class),
+									mediaType="application/json")
+						})
+    })
+    @GetMapping(value="/jobs/{jobId}/events", produces=MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransitionJob(@PathVariable("jobId") String jobId) {
+    	InstanceTransitionJob job = m_instanceManager.getTransitionService().getJob(jobId);
+
+    	// 작업 종료 시까지 연결을 유지해야 하므로 제한 시간을 두지 않는다.
+    	SseEmitter emitter = new SseEmitter(0L);
+    	m_refExecutor.execute(() -> {
+    		long version = job.getVersion();
+    		if ( sendJobEvent(emitter, "job", job) ) {
+    			pumpTransitionJobEvents(emitter, job, version);
+    		}
+    	});
+    	return emitter;
+    }
+
+    private void pumpTransitionJobEvents(SseEmitter emitter, InstanceTransitionJob job, long version) {
+    	// 상태 변경 future는 작업 lock을 보유한 쓰레드에서 완료되므로, 이벤트 전송은 별도 쓰레드에서 수행한다.
+    	job.watchChange(version).thenRunAsync(() -> {
+    		// 변경된 진행 상태들을 읽은 후에 종료 여부를 확인하면 그 사이에 마지막 진행 상태가 바뀌면서
+    		// 작업이 종료된 경우 마지막 'item' 이벤트가 누락되므로, 종료 여부를 먼저 확인한다.
+    		// 종료되지 않은 것으로 확인된 경우는 다음 대기에서 나머지 변경을 다시 읽는다.
+    		boolean completed = job.getState() == InstanceTransitionJob.State.COMPLETED;
+    		long next = version;
+    		for ( InstanceTransitionJob.Item item: job.getItemsChangedAfter(version) ) {
+    			if ( !sendJobEvent(emitter, "item", item) ) {
+    				return;
+    			}
+    			next = Math.max(next, item.getVersion());
+    		}
+
+    		if ( completed ) {
+    			if ( sendJobEvent(emitter, "completed", job) ) {
+    				emitter.complete();
+    			}
+    		}
+    		else {
+    			pumpTransitionJobEvents(emitter, job, next);
+    		}
+    	}, m_refExecutor);
+    }
+
+    private boolean sendJobEvent(SseEmitter emitter, String name, Object data) {
+    	try {
+    		String json = MDTModelSerDe.MAPPER.writeValueAsString(data);
+    		emitter.send(SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+    		return true;
+    	}
+    	catch ( IOException | IllegalStateException e ) {
+    		// 클라이언트 연결이 끊어진 경우로, 더 이상 이벤트를 전송하지 않는다.
+    		emitter.completeWithError(e);
+    		return false;
+    	}
+    }
+
+    private ResponseEntity<StreamingResponseBody> submitTransitionJob(Action action, String instId) {
+    	InstanceTransitionJob job = m_instanceManager.getTransitionService().submit(action, List.of(instId), 1, false);
+    	return JsonStreamingResponses.ofValue(ResponseEntity.accepted()
+    														.location(URI.create("/instance-manager/jobs/" + job.getId())),
+    										job);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> submitTransitionJob(Action action, @Nullable String filter,
+    																@Nullable List<String> instIds,
+    																@Nullable Integer parallelism,
+    																boolean ordered)
+    	throws IOException {
+    	if ( (filter == null) == (instIds == null) ) {
+    		throw new IllegalArgumentException("either 'filter' or MDTInstance id list should be given");
+    	}
+    	int nparallels = (parallelism != null) ? parallelism
+    											: m_instanceManager.getConfiguration().getTransitionParallelism();
+    	if ( nparallels <= 0 ) {
+    		throw new IllegalArgumentException("invalid parallelism: " + nparallels);
+    	}
+    	
+    	List<String> targets = instIds;
+    	if ( filter != null ) {
+    		List<String> filtered = new ArrayList<>();
+    		m_instanceManager.scrollInstanceDescriptorAll(filter, null, desc -> filtered.add(desc.getInstanceId()));
+    		targets = filtered;
+    	}
+    	
+    	InstanceTransitionJob job = m_instanceManager.getTransitionService().submit(action, targets, nparallels, ordered);
+    	return JsonStreamingResponses.ofValue(ResponseEntity.accepted()
+    														.location(URI.create("/instance-manager/jobs/" + job.getId())),
+    										job);
+    }
+
     @Tag(name = "MDTInstance 관리")
     @Operation(summary = "MDTInstance을 등록시킨다.")
     @Parameters({
@@ -472,17 +908,15 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @GetMapping("/instances/{id}/model")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> getMDTModel(@PathVariable("id") String id) throws JsonProcessingException {
-		JpaInstance instance = m_instanceManager.getInstance(id);
-		
-		MDTModel model = new MDTModel(instance.getInstanceDescriptor());
-		model.setSubmodels(instance.getMDTSubmodelDescriptorAll());
-		model.setParameters(instance.getMDTParameterDescriptorAll());
-		model.setOperations(instance.getMDTOperationDescriptorAll());
-		model.setTwinComposition(instance.getMDTTwinCompositionDescriptor());
-		
-		String json = MDTModelSerDe.MAPPER.writeValueAsString(model);
-		return ResponseEntity.ok(json);
+    public ResponseEntity<?> getMDTModel(@PathVariable("id") String id, WebRequest request)
+    	throws JsonProcessingException {
+    	String etag = ResponseEncoding.current().toRepresentationETag(m_instanceManager.getInstanceETag(id));
+    	if ( etag != null && request.checkNotModified(etag) ) {
+    		return null;
+    	}
+    	
+		MDTModel model = m_instanceManager.getMDTModel(id);
+		return JsonStreamingResponses.ofValue(ResponseEntity.ok().eTag(etag), model);
     }
     
     @Tag(name = "MDTInstance 모델 조회")
@@ -507,7 +941,7 @@ public class MDTInstanceManagerController implements InitializingBean {
 		JpaInstance instance = m_instanceManager.getInstance(id);
 		List<MDTSubmodelDescriptor> submodels = instance.getMDTSubmodelDescriptorAll();
 		String json = SERIALIZER.write(submodels);
-		return ResponseEntity.ok(json);
+		return JsonStreamingResponses.ofJson(ResponseEntity.ok(), json);
     }
 
     @Tag(name = "MDTInstance 모델 조회")
@@ -533,7 +967,7 @@ public class MDTInstanceManagerController implements InitializingBean {
     public ResponseEntity<?> getMDTModelParameters(@PathVariable("id") String id) throws SerializationException {
 		JpaInstance instance = m_instanceManager.getInstance(id);
 		List<MDTParameterDescriptor> parameters = instance.getMDTParameterDescriptorAll();
-		return ResponseEntity.ok(SERIALIZER.writeList(parameters));
+		return JsonStreamingResponses.ofJson(ResponseEntity.ok(), SERIALIZER.writeList(parameters));
     }
 
     @Tag(name = "MDTInstance 모델 조회")
@@ -558,7 +992,7 @@ public class MDTInstanceManagerController implements InitializingBean {
     public ResponseEntity<?> getMDTModelOperations(@PathVariable("id") String id) throws SerializationException {
 		JpaInstance instance = m_instanceManager.getInstance(id);
 		List<MDTOperationDescriptor> operations = instance.getMDTOperationDescriptorAll();
-		return ResponseEntity.ok(SERIALIZER.writeList(operations));
+		return JsonStreamingResponses.ofJson(ResponseEntity.ok(), SERIALIZER.writeList(operations));
     }
 
     @Tag(name = "MDTInstance 모델 조회")
@@ -583,7 +1017,7 @@ public class MDTInstanceManagerController implements InitializingBean {
     public ResponseEntity<?> getMDTModelCompositions(@PathVariable("id") String id) throws SerializationException {
 		JpaInstance instance = m_instanceManager.getInstance(id);
 		MDTTwinCompositionDescriptor twinComp = instance.getMDTTwinCompositionDescriptor();
-		return ResponseEntity.ok(SERIALIZER.write(twinComp));
+		return JsonStreamingResponses.ofJson(ResponseEntity.ok(), SERIALIZER.write(twinComp));
     }
 
     @Tag(name = "MDTInstance 모델 조회")
@@ -604,9 +1038,10 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @GetMapping({"instances/{id}/aas/shell_descriptor"})
     @ResponseStatus(HttpStatus.OK)
-    public AssetAdministrationShellDescriptor getAssetAdministrationShell(@PathVariable("id") String id)
-    	throws SerializationException {
-		return m_instanceManager.getInstance(id).getAASShellDescriptor();
+    public ResponseEntity<StreamingResponseBody> getAssetAdministrationShell(@PathVariable("id") String id) {
+    	JpaInstanceDescriptor desc = m_instanceManager.getInstanceDescriptor(id);
+    	byte[] json = m_instanceManager.getAASShellDescriptorJson(desc);
+		return JsonStreamingResponses.ofJson(ResponseEntity.ok(), json);
     }
 
     @Tag(name = "MDTInstance 모델 조회")
@@ -628,36 +1063,220 @@ public class MDTInstanceManagerController implements InitializingBean {
     })
     @GetMapping({"instances/{id}/aas/submodel_descriptors"})
     @ResponseStatus(HttpStatus.OK)
-    public List<SubmodelDescriptor> getSubmodelDescriptors(@PathVariable("id") String id)
-    	throws SerializationException {
-		return m_instanceManager.getInstance(id).getAASSubmodelDescriptorAll();
+    public ResponseEntity<StreamingResponseBody> getSubmodelDescriptors(@PathVariable("id") String id) {
+		return JsonStreamingResponses.ofRawArray(m_instanceManager.getAASSubmodelDescriptorJsonAll(id));
     }
 
     @Tag(name = "MDTInstance 관리")
-    @Operation(summary = "MDTInstance 식별자에 해당하는 MDTInstance가 생성한 output log 내용을 반환한다.")
+    @Operation(summary = "MDTInstance 식별자에 해당하는 MDTInstance가 생성한 output log 내용을 반환한다.",
+    			description = "'offset'/'length'로 지정한 범위 또는 'tail'로 지정한 마지막 N줄을 반환하며, "
+    						+ "아무것도 지정하지 않으면 로그 전체를 반환한다. "
+    						+ "반환된 범위의 시작 위치와 요청 시점의 로그 크기는 각각 "
+    						+ LOG_OFFSET_HEADER + ", " + LOG_SIZE_HEADER + " 응답 헤더로 전달된다.")
     @Parameters({
-    	@Parameter(name = "id", description="MDTInstance 식별자")
+    	@Parameter(name = "id", description="MDTInstance 식별자"),
+    	@Parameter(name = "offset", description="읽기 시작 위치 (바이트 단위)"),
+    	@Parameter(name = "length", description="읽을 최대 바이트 수"),
+    	@Parameter(name = "tail", description="로그 끝에서부터 읽을 줄 수. 'offset'과 함께 사용할 수 없다."),
     })
     @ApiResponses(value = {
         	@ApiResponse(responseCode="200", description="성공"),
+        	@ApiResponse(responseCode="400", description="범위 인자가 올바르지 않은 경우."),
         	@ApiResponse(responseCode="404",
-    					description="식별자에 해당하는 MDTInstance가 등록되어 있지 않습니다.",
+    					description="식별자에 해당하는 MDTInstance가 등록되어 있지 않거나 기록된 로그가 없습니다.",
     					content = {
     							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class), mediaType="application/json")
-    						})
+    						}),
+        	@ApiResponse(responseCode="501", description="jar 타입이 아닌 MDTInstance인 경우.")
         })
     @GetMapping("/instances/{id}/log")
-    public ResponseEntity<?> getOutputLog(@PathVariable("id") String id) throws IOException {
-    	JpaInstance inst = m_instanceManager.getInstance(id);
+    public ResponseEntity<?> getOutputLog(@PathVariable("id") String id,
+    									@RequestParam(name="offset", required=false) Long offset,
+    									@RequestParam(name="length", required=false) Long length,
+    									@RequestParam(name="tail", required=false) Integer tail) {
+    	if ( offset != null && tail != null ) {
+    		throw new IllegalArgumentException("'offset' and 'tail' cannot be used together");
+    	}
+    	if ( (offset != null && offset < 0) || (length != null && length < 0) || (tail != null && tail < 0) ) {
+    		throw new IllegalArgumentException(String.format("invalid log range: offset=%s, length=%s, tail=%s",
+    														offset, length, tail));
+    	}
+    	
+    	OutputLogFile logFile = getOutputLogFile(id);
     	try {
-			String log = inst.getOutputLog();
-			return ResponseEntity.ok(log);
+    		long size = logFile.size();
+    		// 보관 한도를 넘어 삭제된 부분은 건너뛴다.
+    		long start = (tail != null) ? logFile.findTailOffset(tail)
+    									: Math.min(Math.max((offset != null) ? offset : 0, logFile.getStartOffset()),
+    												size);
+    		long end = (length != null) ? Math.min(size, start + Math.min(length, size)) : size;
+    		
+    		// 응답 본문은 로그 파일에서 servlet output stream으로 바로 전달되므로 로그 크기와 무관하게
+    		// 일정한 메모리만 사용한다. 전달 도중에 보관 한도를 넘어 삭제되는 segment는 건너뛰기 때문에
+    		// 실제 전달되는 크기를 미리 알 수 없으므로 Content-Length는 지정하지 않는다.
+    		StreamingResponseBody body = out -> logFile.transferTo(start, end - start, Channels.newChannel(out));
+    		return ResponseEntity.ok()
+    							.contentType(TEXT_PLAIN_UTF8)
+    							.header(LOG_OFFSET_HEADER, Long.toString(start))
+    							.header(LOG_SIZE_HEADER, Long.toString(size))
+    							.body(body);
 		}
 		catch ( IOException e ) {
 			String msg = String.format("Failed to read MDTInstance(%s) log", id);
 			return ResponseEntity.internalServerError().body(RESTfulErrorEntity.of(msg, e));
 		}
     }
+
+    @Tag(name = "MDTInstance 관리")
+    @Operation(summary = "MDTInstance가 생성하는 output log를 Server-Sent Events로 전달한다.",
+    			description = "로그의 각 줄은 'line' 이벤트로 전달되며, 이벤트 id는 다음 줄의 시작 위치이다. "
+    						+ "재접속시 'Last-Event-ID' 헤더가 주어지면 해당 위치부터 이어서 전달한다. "
+    						+ "시작 위치가 지정되지 않은 경우는 요청 이후에 추가되는 줄부터 전달한다.")
+    @Parameters({
+    	@Parameter(name = "id", description="MDTInstance 식별자"),
+    	@Parameter(name = "follow", description="true"),
+    	@Parameter(name = "offset", description="전달 시작 위치 (바이트 단위)"),
+    	@Parameter(name = "tail", description="로그 끝에서부터 전달할 줄 수. 'offset'과 함께 사용할 수 없다."),
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+    				content = { @Content(mediaType="text/event-stream") }),
+    	@ApiResponse(responseCode="400", description="범위 인자나 'Last-Event-ID' 헤더 값이 올바르지 않은 경우."),
+    	@ApiResponse(responseCode="404",
+					description="식별자에 해당하는 MDTInstance가 등록되어 있지 않거나 기록된 로그가 없습니다.",
+					content = {
+							@Content(schema = @Schema(implementation=RESTfulErrorEntity.class),
+									mediaType="application/json")
+						}),
+    	@ApiResponse(responseCode="501", description="jar 타입이 아닌 MDTInstance인 경우.")
+    })
+    @GetMapping(value="/instances/{id}/log", params="follow=true", produces=MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followOutputLog(@PathVariable("id") String id,
+    								@RequestParam(name="offset", required=false) Long offset,
+    								@RequestParam(name="tail", required=false) Integer tail,
+    								@RequestHeader(name="Last-Event-ID", required=false) String lastEventId)
+    	throws IOException {
+    	if ( offset != null && tail != null ) {
+    		throw new IllegalArgumentException("'offset' and 'tail' cannot be used together");
+    	}
+    	if ( (offset != null && offset < 0) || (tail != null && tail < 0) ) {
+    		throw new IllegalArgumentException(String.format("invalid log range: offset=%s, tail=%s",
+    														offset, tail));
+    	}
+    	Long lastOffset = (lastEventId != null) ? parseLastEventId(lastEventId) : null;
+    	
+    	OutputLogFile logFile = getOutputLogFile(id);
+    	// 기록된 로그가 없는 경우는 SSE 연결을 맺기 전에 ResourceNotFoundException(404)이 발생된다.
+    	long size = logFile.size();
+    	long start;
+    	if ( lastOffset != null ) {
+    		start = lastOffset;
+    	}
+    	else if ( tail != null ) {
+    		start = logFile.findTailOffset(tail);
+    	}
+    	else if ( offset != null ) {
+    		start = offset;
+    	}
+    	else {
+    		start = size;
+    	}
+
+    	// 클라이언트가 연결을 끊을 때까지 유지해야 하므로 제한 시간을 두지 않는다.
+    	SseEmitter emitter = new SseEmitter(0L);
+    	m_refExecutor.execute(() -> pumpOutputLog(emitter, logFile, start));
+    	return emitter;
+    }
+    
+    private static long parseLastEventId(String lastEventId) {
+    	try {
+    		long offset = Long.parseLong(lastEventId.trim());
+    		if ( offset >= 0 ) {
+    			return offset;
+    		}
+    	}
+    	catch ( NumberFormatException expected ) { }
+    	throw new IllegalArgumentException("invalid Last-Event-ID: " + lastEventId);
+    }
+    
+    private void pumpOutputLog(SseEmitter emitter, OutputLogFile logFile, long start) {
+    	try ( OutputLogFile.Watcher watcher = logFile.watch() ) {
+    		boolean[] connected = { true };
+    		long offset = start;
+    		while ( true ) {
+    			long size = logFile.size();
+    			// 로그 끝을 넘는 위치는 로그 끝부터 읽는다.
+    			offset = Math.min(offset, size);
+    			offset = logFile.readLines(offset, (line, next) -> {
+    				connected[0] = sendLogLine(emitter, line, next);
+    				return connected[0];
+    			});
+    			if ( !connected[0] ) {
+    				return;
+    			}
+    			
+    			if ( !watcher.awaitChange(size, LOG_FOLLOW_KEEP_ALIVE_INTERVAL) ) {
+    				// 클라이언트 연결이 끊어진 것은 전송이 실패해야 알 수 있기 때문에,
+    				// 로그 변경이 없는 동안에도 주기적으로 comment를 전송한다.
+    				emitter.send(SseEmitter.event().comment("keep-alive"));
+    			}
+    		}
+    	}
+    	catch ( InterruptedException e ) {
+    		Thread.currentThread().interrupt();
+    		emitter.complete();
+    	}
+    	catch ( ResourceNotFoundException e ) {
+    		// 전달 도중에 MDTInstance가 제거되어 로그가 삭제된 경우.
+    		emitter.completeWithError(e);
+    	}
+    	catch ( IOException | IllegalStateException e ) {
+    		emitter.completeWithError(e);
+    	}
+    }
+
+    private boolean sendLogLine(SseEmitter emitter, String line, long nextOffset) {
+    	try {
+    		emitter.send(SseEmitter.event().id(Long.toString(nextOffset)).name("line").data(line));
+    		return true;
+    	}
+    	catch ( IOException | IllegalStateException e ) {
+    		// 클라이언트 연결이 끊어진 경우로, 더 이상 이벤트를 전송하지 않는다.
+    		emitter.completeWithError(e);
+    		return false;
+    	}
+    }
+    
+    private OutputLogFile getOutputLogFile(String id) {
+    	JpaInstance inst = m_instanceManager.getInstance(id);
+    	if ( inst instanceof JarInstance jarInst ) {
+    		return jarInst.getOutputLogFile();
+    	}
+    	throw new UnsupportedOperationException("output log is not supported for MDTInstance: id=" + id);
+    }
+    
+    @Tag(name = "MDTInstance 관리")
+    @Operation(summary = "jar 타입 실행기를 통해 시작된 MDTInstance들의 시작 소요 시간 통계를 반환한다.",
+    			description = "AppCDS 사용 여부(실행 모드) 별 소요 시간과 CDS archive 사용에 따른 단축 비율을 포함한다.")
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200", description="성공",
+			content = {
+				@Content(schema = @Schema(implementation=StartupStatistics.class), mediaType="application/json")
+			}),
+    	@ApiResponse(responseCode="501", description="jar 타입이 아닌 MDTInstanceManager인 경우.")
+    })
+    @GetMapping("/executor/startup-statistics")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<StreamingResponseBody> getStartupStatistics() {
+    	if ( m_instanceManager instanceof JarInstanceManager jarMgr ) {
+    		StartupStatistics stats = jarMgr.getInstanceExecutor().getStartupStatistics();
+    		return JsonStreamingResponses.ofValue(ResponseEntity.ok(), stats);
+    	}
+    	else {
+    		throw new UnsupportedOperationException("startup statistics are provided only by jar type: manager="
+    												+ m_instanceManager.getClass().getSimpleName());
+    	}
+    }
     
     @Tag(name = "SubmodelElement 참조 표현식 처리")
     @Operation(summary = "주어진 참조 표현식에 해당하는 SubmodelElement를 반환한다.")
@@ -680,8 +1299,8 @@ public class MDTInstanceManagerController implements InitializingBean {
 					})
     })
     @GetMapping("/submodel-element")
-    public ResponseEntity<?> readElementOfReference(@RequestParam("ref") String refString) {
-    	return handleReference(refString, new ReferenceHandler() {
+    public CompletableFuture<ResponseEntity<?>> readElementOfReference(@RequestParam("ref") String refString) {
+    	return handleReferenceAsync(refString, new ReferenceHandler() {
     		@Override
         	public ResponseEntity<?> handle(MDTElementReference ref) {
         		try {
@@ -732,16 +1351,14 @@ public class MDTInstanceManagerController implements InitializingBean {
     	@ApiResponse(responseCode="500", description="참조 표현식 파싱 과정에서 오류가 발생된 경우.")
     })
     @PutMapping("/submodel-element")
-    public ResponseEntity<?> updateElementOfReference(@RequestParam("ref") String refString,
-														@RequestBody String newElementJson) throws IOException {
-    	return handleReference(refString, new ReferenceHandler() {
+    public CompletableFuture<ResponseEntity<?>> updateElementOfReference(@RequestParam("ref") String refString,
+																		@RequestBody String newElementJson) {
+    	return handleReferenceAsync(refString, new ReferenceHandler() {
     		@Override
         	public ResponseEntity<?> handle(MDTElementReference ref) {
     			try {
 					SubmodelElement newElement = MDTModelSerDe.readValue(newElementJson, SubmodelElement.class);
 					ElementValue smev = ElementValues.getValue(newElement);
-					
-					ref.activate(m_instanceManager);
 					ref.updateValue(smev);
 					return ResponseEntity.noContent().build();
 				}
@@ -774,8 +1391,194 @@ public class MDTInstanceManagerController implements InitializingBean {
     	@ApiResponse(responseCode="500", description="참조 표현식 파싱 과정에서 오류가 발생된 경우.")
     })
     @GetMapping("/submodel-element/$value")
-    public ResponseEntity<?> readElementValueofReference(@RequestParam("ref") String refString) {
-    	return handleReference(refString, new ReferenceHandler() {
+    public CompletableFuture<ResponseEntity<?>> readElementValueofReference(@RequestParam("ref") String refString) {
+    	return handleReferenceAsync(refString, newValueReader(refString));
+    }
+
+    @Tag(name = "SubmodelElement 참조 표현식 처리")
+    @Operation(summary = "주어진 참조 표현식들에 해당하는 SubmodelElement들의 ValueOnly Serialization을 "
+    					+ "한번에 반환한다. 참조들은 MDTInstance와 서브모델 별로 묶여 동시에 읽혀지며 (묶음 별로 서브모델을 "
+    					+ "한번만 읽음), 제한 시간 내에 읽혀지지 않은 참조는 504 오류로 반환된다.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+    	description="읽을 SubmodelElement들의 참조 표현식 리스트",
+		content = {
+			@Content(array = @ArraySchema(schema=@Schema(implementation=String.class)), mediaType="application/json")
+		}
+	)
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200",
+    				description="성공. 각 참조 별로 'ref', 'status', 그리고 'value' 또는 'error'로 구성된 "
+    							+ "결과 객체의 배열이 입력 순서대로 반환된다."),
+    	@ApiResponse(responseCode="400", description="요청 본문이 참조 표현식 리스트가 아닌 경우.",
+					content = {
+						@Content(schema = @Schema(implementation=RESTfulErrorEntity.class), mediaType="application/json")
+					}),
+    })
+    @PostMapping("/submodel-elements/$value")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>>
+    readElementValueOfReferenceAll(@RequestBody List<String> refStrings) {
+    	// 응답은 참조 처리 쓰레드에서 생성되므로, 응답 인코딩 방식은 요청 처리 쓰레드에서 미리 결정한다.
+    	ResponseEncoding encoding = ResponseEncoding.current();
+    	return m_bulkProcessor.process(refStrings, this::resolveReference, this::readValueGroup,
+    									this::toHandleReferenceException)
+    				.thenApply(results -> JsonStreamingResponses.ofArray(encoding, gen -> {
+    					for ( BulkReferenceProcessor.Result result: results ) {
+    						writeBulkResult(gen, result);
+    					}
+    				}));
+    }
+    
+    @Tag(name = "SubmodelElement 참조 표현식 처리")
+    @Operation(summary = "주어진 참조 표현식들에 해당하는 SubmodelElement들을 ValueOnly Serialization을 이용해 "
+    					+ "한번에 갱신한다. 갱신 요청들은 MDTInstance와 서브모델 별로 묶여 묶음 간에는 동시에, 묶음 내에서는 "
+    					+ "순서대로 전송되며, 제한 시간 내에 완료되지 않은 참조는 504 오류로 반환된다.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+    	description="참조 표현식을 키로, 갱신할 값의 ValueOnly Serialization을 값으로 하는 JSON 객체",
+		content = {
+			@Content(schema = @Schema(implementation=Map.class), mediaType="application/json")
+		}
+	)
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode="200",
+    				description="성공. 전체/성공/실패 건수('total', 'succeeded', 'failed')와 "
+    							+ "참조 별 결과('results') 배열로 구성된 객체가 반환된다."),
+    	@ApiResponse(responseCode="400", description="요청 본문이 JSON 객체가 아닌 경우.",
+					content = {
+						@Content(schema = @Schema(implementation=RESTfulErrorEntity.class), mediaType="application/json")
+					}),
+    })
+    @PatchMapping("/submodel-elements/$value")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>>
+    updateElementValueOfReferenceAll(@RequestBody Map<String,JsonNode> newValues) {
+    	List<String> refStrings = List.copyOf(newValues.keySet());
+    	ResponseEncoding encoding = ResponseEncoding.current();
+    	return m_bulkProcessor.process(refStrings, this::resolveReference,
+    									members -> updateValueGroup(members, newValues),
+    									this::toHandleReferenceException)
+    				.thenApply(results -> toBulkUpdateResponse(encoding, results));
+    }
+    
+    /**
+     * 같은 서브모델의 SubmodelElement들을 참조하는 참조들의 값을 요청 순서대로 갱신한다.
+     * <p>
+     * MDTInstance는 여러 element의 값을 한번에 갱신하는 연산을 제공하지 않기 때문에, 묶음은 하나의 작업에서
+     * element 별로 갱신한다. 서브모델 전체를 다시 기록하는 방식은 그 사이에 변경된 다른 element의 값을 덮어쓰기
+     * 때문에 사용하지 않는다. 대상 MDTInstance에 연결하지 못한 경우는 같은 묶음의 나머지 참조들을 갱신하지 않고
+     * 같은 오류로 응답한다.
+     */
+    private void updateValueGroup(List<BulkReferenceProcessor.Member> members, Map<String,JsonNode> newValues) {
+    	Throwable unreachable = null;
+    	for ( BulkReferenceProcessor.Member member: members ) {
+    		String refString = member.refString();
+    		if ( unreachable != null ) {
+    			member.complete(toHandleReferenceException(unreachable, refString));
+    		}
+    		else if ( member.reference() instanceof MDTElementReference elmRef ) {
+    			try {
+    				elmRef.updateValue(newValues.get(refString).toString());
+    				member.complete(ResponseEntity.noContent().build());
+    			}
+    			catch ( Throwable e ) {
+    				if ( isConnectFailure(e) ) {
+    					unreachable = e;
+    				}
+    				member.complete(toHandleReferenceException(e, refString));
+    			}
+    		}
+    		else {
+    			member.complete(dispatchReference(refString, member.reference(),
+    												newValueUpdater(refString, newValues.get(refString))));
+    		}
+    	}
+    }
+    
+    private static boolean isConnectFailure(Throwable error) {
+    	for ( Throwable cause = error; cause != null; cause = cause.getCause() ) {
+    		if ( cause instanceof ConnectException || cause instanceof NoRouteToHostException ) {
+    			return true;
+    		}
+    	}
+    	return false;
+    }
+    
+    /**
+     * 같은 서브모델의 SubmodelElement들을 참조하는 참조들의 값을 읽는다.
+     * <p>
+     * 둘 이상의 element를 읽는 경우는 서브모델을 한번만 읽어 각 element의 값을 추출한다.
+     * 서브모델을 읽지 못했거나 추출에 실패한 참조는 개별적으로 읽어 해당 참조의 오류가 응답되도록 한다.
+     */
+    private void readValueGroup(List<BulkReferenceProcessor.Member> members) {
+    	Submodel submodel = null;
+    	if ( members.size() > 1
+    		&& members.get(0).reference() instanceof SubmodelBasedElementReference first ) {
+    		try {
+    			SubmodelService svc = m_instanceManager.getInstance(first.getInstanceId())
+    													.getSubmodelServiceById(first.getSubmodelReference()
+    																				.getSubmodelId())
+    													.getOrNull();
+    			submodel = (svc != null) ? svc.getSubmodel() : null;
+    		}
+    		catch ( Exception e ) {
+    			s_logger.debug("failed to read the submodel, read elements one by one: instance={}, cause={}",
+    							first.getInstanceId(), e.toString());
+    		}
+    	}
+    	
+    	for ( BulkReferenceProcessor.Member member: members ) {
+    		String refString = member.refString();
+    		if ( submodel != null && member.reference() instanceof SubmodelBasedElementReference smbeRef ) {
+    			try {
+    				SubmodelElement sme = SubmodelUtils.traverse(submodel, smbeRef.getIdShortPathString());
+    				ElementValue smev = ElementValues.getValue(sme);
+    				member.complete(ResponseEntity.ok(FOption.mapOrElse(smev, ElementValue::toValueJsonString, "")));
+    				continue;
+    			}
+    			catch ( Exception e ) {
+    				s_logger.debug("failed to extract element value from the submodel, read it directly: ref={}, "
+    								+ "cause={}", refString, e.toString());
+    			}
+    		}
+    		member.complete(dispatchReference(refString, member.reference(), newValueReader(refString)));
+    	}
+    }
+    
+    private ResponseEntity<StreamingResponseBody>
+    toBulkUpdateResponse(ResponseEncoding encoding, List<BulkReferenceProcessor.Result> results) {
+    	long nsucceeded = results.stream()
+    							.filter(r -> r.response().getStatusCode().is2xxSuccessful())
+    							.count();
+    	
+    	return JsonStreamingResponses.ofDocument(encoding, ResponseEntity.ok(), gen -> {
+			gen.writeStartObject();
+			gen.writeNumberField("total", results.size());
+			gen.writeNumberField("succeeded", nsucceeded);
+			gen.writeNumberField("failed", results.size() - nsucceeded);
+			gen.writeArrayFieldStart("results");
+			for ( BulkReferenceProcessor.Result result: results ) {
+				writeBulkResult(gen, result);
+			}
+			gen.writeEndArray();
+			gen.writeEndObject();
+    	});
+    }
+    
+    private ReferenceHandler newValueUpdater(String refString, JsonNode newValue) {
+    	return new ReferenceHandler() {
+    		@Override
+        	public ResponseEntity<?> handle(MDTElementReference ref) {
+    			try {
+					ref.updateValue(newValue.toString());
+					return ResponseEntity.noContent().build();
+				}
+				catch ( IOException e ) {
+					return toHandleReferenceException(e, refString);
+				}
+    		}
+    	};
+    }
+    
+    private ReferenceHandler newValueReader(String refString) {
+    	return new ReferenceHandler() {
     		@Override
         	public ResponseEntity<?> handle(MDTElementReference ref) {
         		try {
@@ -787,7 +1590,28 @@ public class MDTInstanceManagerController implements InitializingBean {
 					return toHandleReferenceException(e, refString);
 				}
     		}
-    	});
+    	};
+    }
+    
+    private static void writeBulkResult(JsonGenerator gen, BulkReferenceProcessor.Result result)
+    	throws IOException {
+    	ResponseEntity<?> resp = result.response();
+    	
+    	gen.writeStartObject();
+    	gen.writeStringField("ref", result.ref());
+    	gen.writeNumberField("status", resp.getStatusCode().value());
+    	Object body = resp.getBody();
+    	if ( resp.getStatusCode().is2xxSuccessful() ) {
+    		// ValueOnly serialization은 이미 JSON 문자열이므로 다시 직렬화하지 않고 그대로 기록한다.
+    		if ( body instanceof String json && !json.isEmpty() ) {
+    			gen.writeFieldName("value");
+    			JsonStreamingResponses.writeRawJson(gen, json);
+    		}
+    	}
+    	else if ( body != null ) {
+    		gen.writeObjectField("error", body);
+    	}
+    	gen.writeEndObject();
     }
 
     @Tag(name = "SubmodelElement 참조 표현식 처리")
@@ -815,9 +1639,9 @@ public class MDTInstanceManagerController implements InitializingBean {
     	@ApiResponse(responseCode="500", description="참조 표현식 파싱 과정에서 오류가 발생된 경우.")
     })
     @PatchMapping("/submodel-element/$value")
-    public ResponseEntity<?> updateElementValueOfReference(@RequestParam("ref") String refString,
-															@RequestBody String newElementValueJson) throws IOException {
-    	return handleReference(refString, new ReferenceHandler() {
+    public CompletableFuture<ResponseEntity<?>>
+    updateElementValueOfReference(@RequestParam("ref") String refString, @RequestBody String newElementValueJson) {
+    	return handleReferenceAsync(refString, new ReferenceHandler() {
     		@Override
         	public ResponseEntity<?> handle(MDTElementReference ref) {
     			try {
@@ -864,9 +1688,9 @@ public class MDTInstanceManagerController implements InitializingBean {
     		@Override
         	public ResponseEntity<?> handle(MDTElementReference ref) {
     			try {
+					// 'getSubmodelId'를 호출하기 위해서는 smbeRef가 activated 되어 있어야 하는데,
+					// handleReference()를 통해 전달되는 참조는 이미 활성화되어 있다.
 					SubmodelBasedElementReference smbeRef = (SubmodelBasedElementReference)ref;
-					// 'getSubmodelId'를 호출하기 위해서는 smbeRef가 activated 되어 있어야 한다.
-					smbeRef.activate(m_instanceManager);
 					String instId = ref.getInstanceId();
 					String smId = smbeRef.getSubmodelReference().getSubmodelId();
 					String idShortPath = smbeRef.getIdShortPathString();
@@ -1014,6 +1838,11 @@ public class MDTInstanceManagerController implements InitializingBean {
 										refString, cause.getMessage());
 			return ResponseEntity.status(HttpStatus.CONFLICT).body(RESTfulErrorEntity.of(msg, cause));
 		}
+		else if ( cause instanceof IllegalArgumentException ) {
+			String msg = String.format("Invalid element reference: ref=%s, cause=%s",
+										refString, cause.getMessage());
+			return ResponseEntity.badRequest().body(RESTfulErrorEntity.of(msg, cause));
+		}
 		else {
 			String msg = String.format("Failed to handle element reference: ref=%s, cause=%s",
 										refString, cause.getMessage());
@@ -1023,8 +1852,13 @@ public class MDTInstanceManagerController implements InitializingBean {
 
     @Tag(name = "SubmodelElement 참조 표현식 처리")
     @PatchMapping("/operation-variables")
-    public ResponseEntity<?> initializeOperationVariables(@RequestParam("ref") String opRefExpr,
-    													@RequestBody String initializer) throws IOException {
+    public CompletableFuture<ResponseEntity<?>> initializeOperationVariables(@RequestParam("ref") String opRefExpr,
+    																		@RequestBody String initializer) {
+    	return callAsync(opRefExpr, () -> doInitializeOperationVariables(opRefExpr, initializer));
+    }
+    
+    private ResponseEntity<?> doInitializeOperationVariables(String opRefExpr, String initializer)
+    	throws IOException {
     	List<Variable> initVars = MDTModelSerDe.readValueList(initializer, Variable.class);
     	Map<String,Variable> initializers = FStream.from(initVars)
     												.mapToKeyValue(var -> {
@@ -1067,13 +1901,67 @@ public class MDTInstanceManagerController implements InitializingBean {
     	}
     };
     private ResponseEntity<?> handleReference(String refString, ReferenceHandler handler) {
-		Object ref = parseExpression(refString);
+		return dispatchReference(refString, resolveReference(refString), handler);
+    }
+    
+    private CompletableFuture<ResponseEntity<?>> handleReferenceAsync(String refString, ReferenceHandler handler) {
+    	return callAsync(refString, () -> handleReference(refString, handler));
+    }
+    
+    /**
+     * MDTInstance를 접근하는 참조 표현식 처리 작업을 virtual thread에서 수행시킨다.
+     * <p>
+     * 응답이 느린 MDTInstance가 servlet worker 쓰레드를 점유하지 않도록 요청 처리 쓰레드는
+     * 바로 반환되고, 작업 결과는 비동기적으로 응답된다. 작업이 설정된 제한 시간
+     * ({@code instance-manager.reference-timeout}) 내에 완료되지 않으면 작업을 중단시키고
+     * 504 (Gateway Timeout)로 응답한다.
+     *
+     * @param refString	처리 대상 참조 표현식.
+     * @param task		수행할 작업.
+     * @return	작업 결과 응답의 {@link CompletableFuture}.
+     */
+    private CompletableFuture<ResponseEntity<?>> callAsync(String refString, Callable<ResponseEntity<?>> task) {
+    	CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+    	Future<?> future = m_refExecutor.submit(() -> {
+    		try {
+    			result.complete(task.call());
+    		}
+    		catch ( Throwable e ) {
+    			result.completeExceptionally(e);
+    		}
+    	});
+    	
+    	Duration timeout = m_instanceManager.getConfiguration().getReferenceTimeout();
+    	return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+    				.exceptionally(e -> {
+    					Throwable cause = (e instanceof CompletionException && e.getCause() != null)
+    									? e.getCause() : e;
+    					cause = Throwables.unwrapThrowable(cause);
+    					if ( cause instanceof TimeoutException ) {
+    						// 제한 시간이 경과된 작업은 더 이상 결과가 필요없기 때문에 중단시킨다.
+    						future.cancel(true);
+    						
+    						String msg = String.format("Reference handling timed out: ref=%s, timeout=%s",
+    													refString, timeout);
+    						return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+    											.body(RESTfulErrorEntity.ofMessage(msg));
+    					}
+    					else {
+    						return toHandleReferenceException(cause, refString);
+    					}
+    				});
+    }
+    
+    private Object resolveReference(String refString) {
+		// 캐쉬에서 얻은 참조 객체는 이미 활성화되어 있다.
+		return m_refCache.get(refString, this::parseExpression);
+    }
+    
+    private ResponseEntity<?> dispatchReference(String refString, Object ref, ReferenceHandler handler) {
 		if ( ref instanceof MDTElementReference elmRef ) {
-			elmRef.activate(m_instanceManager);
 			return handler.handle(elmRef);
 		}
 		else if ( ref instanceof DefaultSubmodelReference smRef ) {
-			smRef.activate(m_instanceManager);
 			return handler.handle(smRef);
 		}
 		else {
@@ -1105,6 +1993,9 @@ public class MDTInstanceManagerController implements InitializingBean {
     	else if ( cause instanceof TimeoutException ) {
     		return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body(RESTfulErrorEntity.of(cause));
     	}
+    	else if ( cause instanceof UnsupportedOperationException ) {
+    		return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(RESTfulErrorEntity.of(cause));
+    	}
     	else {
     		s_logger.error("Internal server error: ", cause);
     		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR) .body(RESTfulErrorEntity.of(cause));
@@ -24,6 +24,7 @@ import utils.stream.FStream;
 
 import mdt.instance.AbstractJpaInstanceManager;
 import mdt.instance.JpaInstance;
+import mdt.instance.KeysetPage;
 import mdt.model.SubmodelService;
 import mdt.model.sm.SubmodelUtils;
 
@@ -41,10 +42,18 @@ public class MDTListCandidatesController {
 
     @GetMapping("/ids/{type}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> listInstanceIds(@PathVariable("type") String type) {
-		String output = FStream.from(m_instanceManager.listInstanceIds(type))
+    public ResponseEntity<?> listInstanceIds(@PathVariable("type") String type,
+    										@RequestParam(name="after", required=false) Long after,
+    										@RequestParam(name="limit", required=false) Integer limit) {
+    	KeysetPage<String> page = m_instanceManager.listInstanceIds(type, after, limit);
+		String output = FStream.from(page.elements())
 								.join(Utilities.getLineSeparator());
-    	return ResponseEntity.ok(output);
+		
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if ( page.nextCursor() != null ) {
+			builder = builder.header(JsonStreamingResponses.NEXT_CURSOR_HEADER, Long.toString(page.nextCursor()));
+		}
+    	return builder.body(output);
     }
 
     @GetMapping("/parameters")
@@ -0,0 +1,188 @@
+package mdt.controller;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+import mdt.instance.AbstractJpaInstanceManager;
+import mdt.model.instance.MDTInstanceManager;
+import mdt.model.sm.ref.DefaultSubmodelReference;
+import mdt.model.sm.ref.MDTElementReference;
+
+
+/**
+ * 파싱되고 활성화된 참조 표현식 객체({@link MDTElementReference}, {@link DefaultSubmodelReference})를
+ * 표현식 문자열을 키로 하여 보관하는 LRU 캐쉬.
+ * <p>
+ * 동일한 참조 표현식이 반복적으로 사용되는 경우, 표현식 파싱과 MDTInstance 기술자 검색 및
+ * endpoint 해석 과정을 생략할 수 있도록 한다.
+ * 참조 객체가 활성화될 때 해석된 endpoint는 해당 MDTInstance의 상태가 바뀌면 더 이상 유효하지
+ * 않을 수 있기 때문에, MDTInstanceManager로부터 MDTInstance의 변경을 통보받으면
+ * ({@link AbstractJpaInstanceManager#addInstanceChangeListener(java.util.function.Consumer)})
+ * 해당 MDTInstance에 속한 참조 객체들을 캐쉬에서 제거한다. 변경 통보는 실행 환경의 종류와 무관하게
+ * MDTInstance의 상태나 endpoint가 바뀌는 모든 경우에 발생하기 때문에, 상태 변경 이벤트를 발생시키지
+ * 않는 실행 환경(예: 외부 MDTInstance)에서도 캐쉬된 참조 객체가 이전 endpoint를 계속 사용하지 않는다.
+ * <p>
+ * 무효화는 MDTInstance 별 세대 번호로 관리된다. 캐쉬된 객체는 활성화 직전의 세대 번호를 함께 보관하며,
+ * 세대 번호가 바뀐 객체는 반환되지 않는다. 따라서 참조 객체의 활성화와 무효화가 동시에 진행되어도
+ * 무효화 이전에 활성화된 객체가 사용되지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+class MDTReferenceCache {
+	private static final Logger s_logger = LoggerFactory.getLogger(MDTReferenceCache.class);
+
+	private final MDTInstanceManager m_manager;
+	private final Cache<String,Entry> m_cache;
+	// MDTInstance 별 세대 번호. 무효화될 때마다 증가된다.
+	private final ConcurrentMap<String,AtomicLong> m_generations = new ConcurrentHashMap<>();
+	// MDTInstance 별로 캐쉬된 참조 표현식들. 무효화시 해당 MDTInstance의 객체들을 바로 제거하기 위해 사용된다.
+	private final ConcurrentMap<String,Set<String>> m_exprsByInstance = new ConcurrentHashMap<>();
+
+	private record Entry(String instanceId, long generation, Object ref) { }
+
+	/**
+	 * 참조 표현식 문자열을 파싱하여 참조 객체를 생성하는 인터페이스.
+	 */
+	@FunctionalInterface
+	interface ReferenceParser {
+		public Object parse(String expr);
+	}
+
+	/**
+	 * 캐쉬 객체를 생성한다.
+	 *
+	 * @param manager	참조 객체 활성화에 사용하고 MDTInstance 변경을 통보받을 MDTInstanceManager.
+	 * @param maxSize	캐쉬에 보관할 최대 참조 객체 수.
+	 */
+	MDTReferenceCache(AbstractJpaInstanceManager<?> manager, long maxSize) {
+		this((MDTInstanceManager)manager, maxSize);
+		manager.addInstanceChangeListener(this::invalidate);
+	}
+
+	/**
+	 * MDTInstance 변경 통보를 등록하지 않는 캐쉬 객체를 생성한다.
+	 * <p>
+	 * 무효화는 {@link #invalidate(String)}를 직접 호출하여야 한다.
+	 *
+	 * @param manager	참조 객체 활성화에 사용할 MDTInstanceManager.
+	 * @param maxSize	캐쉬에 보관할 최대 참조 객체 수.
+	 */
+	MDTReferenceCache(MDTInstanceManager manager, long maxSize) {
+		m_manager = manager;
+		m_cache = CacheBuilder.newBuilder()
+								.maximumSize(maxSize)
+								.removalListener(this::onRemoval)
+								.build();
+	}
+
+	/**
+	 * 주어진 참조 표현식에 해당하는 참조 객체를 반환한다.
+	 * <p>
+	 * 캐쉬에 등록된 객체가 없는 경우는 {@code parser}를 통해 표현식을 파싱하고,
+	 * 그 결과가 {@link MDTElementReference} 또는 {@link DefaultSubmodelReference}인 경우는
+	 * 이를 활성화시킨 후 캐쉬에 등록한다. 그 밖의 결과(예: literal 값)나 파싱/활성화 과정에서
+	 * 발생된 예외는 캐쉬되지 않는다.
+	 *
+	 * @param expr		참조 표현식.
+	 * @param parser	캐쉬에 없는 경우 사용할 표현식 파서.
+	 * @return	(활성화된) 참조 객체 또는 파싱 결과 객체.
+	 */
+	Object get(String expr, ReferenceParser parser) {
+		Entry entry = m_cache.getIfPresent(expr);
+		if ( entry != null ) {
+			if ( entry.generation() == generationOf(entry.instanceId()).get() ) {
+				return entry.ref();
+			}
+			// 무효화 이전에 활성화된 객체이므로 제거하고 다시 활성화한다.
+			m_cache.asMap().remove(expr, entry);
+		}
+
+		Object ref = parser.parse(expr);
+		String instId;
+		if ( ref instanceof MDTElementReference elmRef ) {
+			instId = elmRef.getInstanceId();
+		}
+		else if ( ref instanceof DefaultSubmodelReference smRef ) {
+			instId = smRef.getInstanceId();
+		}
+		else {
+			return ref;
+		}
+
+		// 세대 번호는 활성화 전에 읽어야 활성화 도중에 발생된 무효화를 감지할 수 있다.
+		AtomicLong generation = generationOf(instId);
+		long gen = generation.get();
+		if ( ref instanceof MDTElementReference elmRef ) {
+			elmRef.activate(m_manager);
+		}
+		else {
+			((DefaultSubmodelReference)ref).activate(m_manager);
+		}
+
+		Entry added = new Entry(instId, gen, ref);
+		m_exprsByInstance.compute(instId, (id, exprs) -> {
+			exprs = (exprs != null) ? exprs : ConcurrentHashMap.newKeySet();
+			exprs.add(expr);
+			return exprs;
+		});
+		m_cache.put(expr, added);
+
+		// 등록 도중에 무효화된 경우는 등록된 객체를 바로 제거한다.
+		// (제거되지 않더라도 세대 번호가 다르기 때문에 이후 조회시 사용되지 않는다.)
+		if ( generation.get() != gen ) {
+			m_cache.asMap().remove(expr, added);
+		}
+		return ref;
+	}
+
+	/**
+	 * 캐쉬된 모든 참조 객체를 제거한다.
+	 */
+	void invalidateAll() {
+		m_generations.values().forEach(AtomicLong::incrementAndGet);
+		m_cache.invalidateAll();
+	}
+
+	/**
+	 * 주어진 MDTInstance에 속한 참조 객체들을 캐쉬에서 제거한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	void invalidate(String instId) {
+		generationOf(instId).incrementAndGet();
+
+		Set<String> exprs = m_exprsByInstance.remove(instId);
+		if ( exprs != null ) {
+			m_cache.invalidateAll(exprs);
+			if ( s_logger.isDebugEnabled() ) {
+				s_logger.debug("invalidated cached references: instance={}, count={}", instId, exprs.size());
+			}
+		}
+	}
+
+	private AtomicLong generationOf(String instId) {
+		return m_generations.computeIfAbsent(instId, id -> new AtomicLong(0));
+	}
+
+	private void onRemoval(RemovalNotification<String,Entry> noti) {
+		// 같은 표현식으로 교체된 경우는 계속 캐쉬되어 있으므로 색인을 유지한다.
+		Entry entry = noti.getValue();
+		if ( noti.getCause() == RemovalCause.REPLACED || entry == null ) {
+			return;
+		}
+		m_exprsByInstance.computeIfPresent(entry.instanceId(), (id, exprs) -> {
+			exprs.remove(noti.getKey());
+			return exprs.isEmpty() ? null : exprs;
+		});
+	}
+}
@@ -0,0 +1,215 @@
+package mdt.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import mdt.model.MDTModelSerDe;
+
+
+/**
+ * 요청의 'Accept' 및 'Accept-Encoding' 헤더에 따라 결정된 응답 인코딩 방식.
+ * <p>
+ * 응답 본문은 JSON 외에 CBOR({@code application/cbor}) 또는
+ * Smile({@code application/x-jackson-smile}) 형식으로 기록될 수 있으며,
+ * 클라이언트가 허용하는 경우는 gzip으로 압축된다.
+ * 어느 경우에도 응답의 데이터 모델은 JSON 응답과 동일하다.
+ *
+ * @param format	응답 본문 형식.
+ * @param gzip		gzip 압축 여부.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+record ResponseEncoding(Format format, boolean gzip) {
+	static final ResponseEncoding PLAIN_JSON = new ResponseEncoding(Format.JSON, false);
+
+	// 이보다 작은 응답 본문은 압축하더라도 얻는 이득이 거의 없다.
+	private static final int GZIP_MIN_SIZE = 1024;
+
+	enum Format {
+		JSON(MediaType.APPLICATION_JSON, MDTModelSerDe.MAPPER.getFactory()),
+		CBOR(new MediaType("application", "cbor"), new CBORFactory()),
+		SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory());
+
+		private final MediaType m_mediaType;
+		private final JsonFactory m_factory;
+
+		Format(MediaType mediaType, JsonFactory factory) {
+			m_mediaType = mediaType;
+			m_factory = factory;
+		}
+	}
+
+	/**
+	 * 현재 처리 중인 요청의 헤더로부터 응답 인코딩 방식을 결정한다.
+	 * <p>
+	 * 응답 본문이 요청 처리 쓰레드가 아닌 곳에서 기록될 수 있기 때문에, 반드시 요청 처리
+	 * 쓰레드에서 호출되어야 한다. 요청 정보를 얻을 수 없는 경우는 압축하지 않은 JSON을 사용한다.
+	 *
+	 * @return	응답 인코딩 방식.
+	 */
+	static ResponseEncoding current() {
+		RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+		if ( attrs instanceof ServletRequestAttributes servletAttrs ) {
+			return of(servletAttrs.getRequest().getHeader(HttpHeaders.ACCEPT),
+						servletAttrs.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING));
+		}
+		else {
+			return PLAIN_JSON;
+		}
+	}
+
+	/**
+	 * 주어진 헤더 값들로부터 응답 인코딩 방식을 결정한다.
+	 *
+	 * @param accept			'Accept' 헤더 값.
+	 * @param acceptEncoding	'Accept-Encoding' 헤더 값.
+	 * @return	응답 인코딩 방식.
+	 */
+	static ResponseEncoding of(@Nullable String accept, @Nullable String acceptEncoding) {
+		return new ResponseEncoding(negotiateFormat(accept), acceptsGzip(acceptEncoding));
+	}
+
+	MediaType mediaType() {
+		return format.m_mediaType;
+	}
+
+	/**
+	 * 응답 본문 형식이 JSON인지 여부를 반환한다.
+	 *
+	 * @return	JSON 여부.
+	 */
+	boolean isJson() {
+		return format == Format.JSON;
+	}
+
+	/**
+	 * 주어진 응답 빌더에 본 인코딩 방식에 해당하는 헤더들을 설정한다.
+	 *
+	 * @param builder	응답 빌더.
+	 * @param compress	압축 여부. 본 인코딩이 gzip을 허용하지 않으면 무시된다.
+	 * @return	헤더가 설정된 응답 빌더.
+	 */
+	ResponseEntity.BodyBuilder applyHeaders(ResponseEntity.BodyBuilder builder, boolean compress) {
+		builder = builder.contentType(mediaType())
+						.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		if ( gzip && compress ) {
+			builder = builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return builder;
+	}
+
+	/**
+	 * 주어진 크기의 응답 본문을 압축할지 여부를 반환한다.
+	 *
+	 * @param length	응답 본문 크기.
+	 * @return	압축 여부.
+	 */
+	boolean compresses(int length) {
+		return gzip && length >= GZIP_MIN_SIZE;
+	}
+
+	/**
+	 * 압축이 필요한 경우는 주어진 출력 스트림을 gzip 스트림으로 감싸서 반환한다.
+	 *
+	 * @param out		응답 출력 스트림.
+	 * @param compress	압축 여부.
+	 * @return	출력 스트림.
+	 * @throws IOException	gzip 스트림 생성에 실패한 경우.
+	 */
+	OutputStream wrap(OutputStream out, boolean compress) throws IOException {
+		return (gzip && compress) ? new GZIPOutputStream(out, 8192) : out;
+	}
+
+	/**
+	 * 본 인코딩 방식에 따라 데이터를 기록하는 {@link JsonGenerator}를 생성한다.
+	 * <p>
+	 * 생성된 {@link JsonGenerator}는 {@link MDTModelSerDe#MAPPER}를 codec으로 사용하기 때문에
+	 * 형식에 관계없이 동일한 직렬화 방식이 적용된다.
+	 *
+	 * @param out	출력 스트림.
+	 * @return	{@link JsonGenerator} 객체.
+	 * @throws IOException	생성에 실패한 경우.
+	 */
+	JsonGenerator createGenerator(OutputStream out) throws IOException {
+		JsonGenerator gen = format.m_factory.createGenerator(out);
+		gen.setCodec(MDTModelSerDe.MAPPER);
+		return gen;
+	}
+
+	/**
+	 * 주어진 ETag를 본 인코딩 방식에 해당하는 표현(representation)의 ETag로 변환한다.
+	 * <p>
+	 * 동일 자원이라도 응답 형식이나 압축 여부가 다르면 다른 ETag를 갖도록 한다.
+	 * '-gz' 접미사는 gzip 압축이 협상된 경우에만 붙기 때문에, 변환된 ETag를 갖는 응답은
+	 * 본문 크기와 관계없이 압축 협상 결과대로 기록되어야 한다
+	 * ({@link JsonStreamingResponses#ofVersionedJson(String, byte[])}).
+	 *
+	 * @param etag	ETag. {@code null}일 수 있다.
+	 * @return	변환된 ETag.
+	 */
+	@Nullable String toRepresentationETag(@Nullable String etag) {
+		if ( etag == null || (format == Format.JSON && !gzip) ) {
+			return etag;
+		}
+
+		String suffix = (format != Format.JSON ? "-" + format.name().toLowerCase() : "") + (gzip ? "-gz" : "");
+		return etag.substring(0, etag.length() - 1) + suffix + "\"";
+	}
+
+	private static Format negotiateFormat(@Nullable String accept) {
+		if ( accept == null || accept.isBlank() ) {
+			return Format.JSON;
+		}
+
+		try {
+			List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+			MimeTypeUtils.sortBySpecificity(mediaTypes);
+			for ( MediaType mediaType: mediaTypes ) {
+				// wildcard를 포함한 경우는 기본 형식인 JSON을 사용한다.
+				if ( mediaType.equalsTypeAndSubtype(Format.CBOR.m_mediaType) ) {
+					return Format.CBOR;
+				}
+				else if ( mediaType.equalsTypeAndSubtype(Format.SMILE.m_mediaType) ) {
+					return Format.SMILE;
+				}
+				else if ( mediaType.includes(MediaType.APPLICATION_JSON) ) {
+					return Format.JSON;
+				}
+			}
+		}
+		catch ( InvalidMediaTypeException e ) { }
+		return Format.JSON;
+	}
+
+	private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+		if ( acceptEncoding == null ) {
+			return false;
+		}
+
+		for ( String token: acceptEncoding.split(",") ) {
+			String[] parts = token.trim().split(";");
+			if ( parts[0].trim().equalsIgnoreCase("gzip") ) {
+				// 'gzip;q=0'은 gzip을 허용하지 않는다는 의미이다.
+				return !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,293 @@
+package mdt.exector.jar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * MDTInstance 프로세스의 동시 시작 수를 시스템 상태에 따라 조절하는 제한기.
+ * <p>
+ * 동시 시작 허용 수(limit)는 AIMD(Additive Increase, Multiplicative Decrease) 방식으로 조절된다.
+ * 시작이 과부하 없이 성공할 때마다 limit는 조금씩(대략 limit 만큼 시작이 성공할 때마다 1씩) 증가하고,
+ * 다음과 같은 과부하 징후가 관측되면 절반으로 줄어든다.
+ * <ul>
+ * 	<li>시작 제한 시간이 경과하여 시작이 실패한 경우 ({@link StartOutcome#TIMED_OUT}).
+ * 	<li>시작 소요 시간이 기준 소요 시간의 {@value #LATENCY_TOLERANCE}배를 넘는 경우. 기준 소요 시간은
+ * 		성공한 시작 소요 시간들의 지수 가중 이동 평균(EWMA, 가중치 {@value #LATENCY_EWMA_WEIGHT})으로,
+ * 		모델 크기나 jar 파일 변경 등으로 시작 소요 시간이 달라지면 이를 따라간다.
+ * 	<li>CPU 당 1분 평균 부하(/proc/loadavg)가 {@value #MAX_LOAD_PER_CPU}를 넘는 경우.
+ * </ul>
+ * 제한 시간 전에 실패한 시작({@link StartOutcome#FAILED})은 모델 오류 등 과부하와 무관한 원인이 대부분이고
+ * 소요 시간도 정상 시작과 다르기 때문에, limit와 기준 소요 시간을 모두 바꾸지 않는다.
+ * 또한 MDTInstance 프로세스는 기동시 heap 전체를 할당받기 때문에, 시작 중인 프로세스들의 heap 크기 합이
+ * 가용 메모리(/proc/meminfo의 MemAvailable)를 넘지 않도록 한다. heap 크기는 프로세스 별로
+ * (JVM 자원 프로파일에 따라) 다를 수 있기 때문에 시작 허가를 얻을 때 주어진다.
+ * /proc 정보를 얻을 수 없는 환경에서는 시작 소요 시간만으로 조절된다.
+ * <p>
+ * limit는 1 이상, 생성시 주어진 최대값 이하로 유지된다. 조절 기능을 사용하지 않는 경우는 limit가 최대값으로
+ * 고정되고, 가용 메모리에 따른 제한만 적용된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AdaptiveStartLimiter {
+	private static final Logger s_logger = LoggerFactory.getLogger(AdaptiveStartLimiter.class);
+
+	private static final double LATENCY_TOLERANCE = 2.0;
+	private static final double LATENCY_EWMA_WEIGHT = 0.2;
+	private static final double MAX_LOAD_PER_CPU = 1.0;
+	private static final double DECREASE_FACTOR = 0.5;
+	// /proc 정보를 다시 읽는 최소 간격
+	private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+	private static final Path PROC_LOADAVG = Path.of("/proc/loadavg");
+	private static final Path PROC_MEMINFO = Path.of("/proc/meminfo");
+
+	/**
+	 * MDTInstance 프로세스 시작 결과.
+	 */
+	public enum StartOutcome {
+		/** 시작되어 실행 중인 경우. */
+		RUNNING,
+		/** 시작 제한 시간 전에 실패한 경우. */
+		FAILED,
+		/** 시작 제한 시간이 경과하여 실패한 경우. */
+		TIMED_OUT,
+	}
+
+	private final int m_maxLimit;
+	private final boolean m_adaptive;
+	private final int m_cpuCount = Runtime.getRuntime().availableProcessors();
+
+	private final ReentrantLock m_lock = new ReentrantLock();
+	private final Condition m_cond = m_lock.newCondition();
+	private double m_limit;
+	private int m_inFlight = 0;
+	private long m_reservedBytes = 0;			// 시작 중인 프로세스들의 heap 크기 합
+	private double m_baselineLatencyMillis = -1;	// 시작 소요 시간의 EWMA. 관측된 적이 없으면 음수.
+	private long m_sampledAt = 0;
+	private double m_loadAverage = -1;
+	private long m_memAvailableBytes = -1;
+
+	/**
+	 * 제한기를 생성한다.
+	 *
+	 * @param maxLimit	동시 시작 허용 수의 최대값.
+	 * @param adaptive	동시 시작 허용 수 조절 여부.
+	 */
+	public AdaptiveStartLimiter(int maxLimit, boolean adaptive) {
+		// 코어 수가 적은 환경에서 처음부터 과부하가 걸리지 않도록 코어 수의 1/4에서 시작한다.
+		this(maxLimit, adaptive,
+			(adaptive) ? Math.max(1, Math.min(maxLimit, Runtime.getRuntime().availableProcessors() / 4)) : maxLimit);
+	}
+
+	/**
+	 * 주어진 동시 시작 허용 수에서 시작하는 제한기를 생성한다.
+	 *
+	 * @param maxLimit		동시 시작 허용 수의 최대값.
+	 * @param adaptive		동시 시작 허용 수 조절 여부.
+	 * @param initialLimit	최초 동시 시작 허용 수.
+	 */
+	AdaptiveStartLimiter(int maxLimit, boolean adaptive, int initialLimit) {
+		Preconditions.checkArgument(maxLimit > 0, "invalid max start concurrency: %s", maxLimit);
+		Preconditions.checkArgument(initialLimit > 0 && initialLimit <= maxLimit,
+									"invalid initial start concurrency: %s", initialLimit);
+
+		m_maxLimit = maxLimit;
+		m_adaptive = adaptive;
+		m_limit = initialLimit;
+	}
+
+	/**
+	 * 현재의 동시 시작 허용 수를 반환한다.
+	 *
+	 * @return	동시 시작 허용 수.
+	 */
+	public int getLimit() {
+		m_lock.lock();
+		try {
+			return (int)m_limit;
+		}
+		finally {
+			m_lock.unlock();
+		}
+	}
+
+	/**
+	 * 현재의 기준 시작 소요 시간(밀리초)을 반환한다.
+	 *
+	 * @return	기준 시작 소요 시간. 성공한 시작이 관측된 적이 없는 경우는 음수.
+	 */
+	double getBaselineLatencyMillis() {
+		m_lock.lock();
+		try {
+			return m_baselineLatencyMillis;
+		}
+		finally {
+			m_lock.unlock();
+		}
+	}
+
+	/**
+	 * 주어진 heap 크기의 프로세스를 시작하기 위한 허가를 얻는다. 허가를 얻을 때까지 대기한다.
+	 *
+	 * @param heapSize	시작할 MDTInstance 프로세스의 heap 크기 (예: "512m").
+	 * 					{@code null}인 경우는 가용 메모리를 고려하지 않는다.
+	 * @return	허가와 함께 예약된 메모리 크기 (바이트). {@link #release(long, long, StartOutcome)} 호출시 전달하여야 한다.
+	 * @throws InterruptedException	대기 중에 쓰레드가 인터럽트된 경우.
+	 */
+	public long acquire(@Nullable String heapSize) throws InterruptedException {
+		long heapBytes = (heapSize != null) ? Math.max(0, parseByteSize(heapSize)) : 0;
+
+		m_lock.lock();
+		try {
+			while ( !canStart(heapBytes) ) {
+				// 가용 메모리가 늘어나는 것은 통보되지 않기 때문에 주기적으로 다시 확인한다.
+				m_cond.await(SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			++m_inFlight;
+			m_reservedBytes += heapBytes;
+			return heapBytes;
+		}
+		finally {
+			m_lock.unlock();
+		}
+	}
+
+	/**
+	 * {@link #acquire(String)}로 얻은 시작 허가를 반납하고, 시작 결과에 따라 동시 시작 허용 수를 조절한다.
+	 *
+	 * @param reservedBytes	{@link #acquire(String)}가 반환한 예약 메모리 크기.
+	 * @param latencyMillis	시작 소요 시간 (밀리초).
+	 * @param outcome		시작 결과.
+	 */
+	public void release(long reservedBytes, long latencyMillis, StartOutcome outcome) {
+		Preconditions.checkArgument(outcome != null, "start outcome is null");
+
+		m_lock.lock();
+		try {
+			--m_inFlight;
+			m_reservedBytes -= reservedBytes;
+			if ( !m_adaptive || outcome == StartOutcome.FAILED ) {
+				m_cond.signalAll();
+				return;
+			}
+
+			double prevLimit = m_limit;
+			String overload = (outcome == StartOutcome.RUNNING) ? detectOverload(latencyMillis) : "start-timeout";
+			if ( overload != null ) {
+				m_limit = Math.max(1, m_limit * DECREASE_FACTOR);
+			}
+			else {
+				m_limit = Math.min(m_maxLimit, m_limit + 1.0 / m_limit);
+			}
+			if ( outcome == StartOutcome.RUNNING ) {
+				m_baselineLatencyMillis = (m_baselineLatencyMillis < 0)
+										? latencyMillis
+										: m_baselineLatencyMillis
+											+ LATENCY_EWMA_WEIGHT * (latencyMillis - m_baselineLatencyMillis);
+			}
+
+			if ( (int)prevLimit != (int)m_limit && s_logger.isInfoEnabled() ) {
+				s_logger.info("adjust start concurrency: {} -> {}, cause={}, latency={}ms, load={}, mem.available={}",
+								(int)prevLimit, (int)m_limit, (overload != null) ? overload : "no-overload",
+								latencyMillis, m_loadAverage, m_memAvailableBytes);
+			}
+			m_cond.signalAll();
+		}
+		finally {
+			m_lock.unlock();
+		}
+	}
+
+	private @Nullable String detectOverload(long latencyMillis) {
+		sampleSystem();
+
+		if ( m_baselineLatencyMillis >= 0 && latencyMillis > m_baselineLatencyMillis * LATENCY_TOLERANCE ) {
+			return "slow-start";
+		}
+		if ( m_loadAverage >= 0 && m_loadAverage / m_cpuCount > MAX_LOAD_PER_CPU ) {
+			return "high-load";
+		}
+		return null;
+	}
+
+	private boolean canStart(long heapBytes) {
+		if ( m_inFlight >= (int)m_limit ) {
+			return false;
+		}
+		// 적어도 하나의 프로세스는 시작될 수 있도록 한다.
+		if ( m_inFlight == 0 || heapBytes == 0 ) {
+			return true;
+		}
+
+		sampleSystem();
+		return m_memAvailableBytes < 0 || m_reservedBytes + heapBytes <= m_memAvailableBytes;
+	}
+
+	private void sampleSystem() {
+		long now = System.currentTimeMillis();
+		if ( now - m_sampledAt < SAMPLE_INTERVAL_MILLIS ) {
+			return;
+		}
+		m_sampledAt = now;
+
+		m_loadAverage = readLoadAverage();
+		m_memAvailableBytes = readMemAvailable();
+	}
+
+	private static double readLoadAverage() {
+		try {
+			String line = Files.readString(PROC_LOADAVG, StandardCharsets.US_ASCII);
+			return Double.parseDouble(line.trim().split("\\s+")[0]);
+		}
+		catch ( IOException | RuntimeException e ) {
+			return -1;
+		}
+	}
+
+	private static long readMemAvailable() {
+		try {
+			List<String> lines = Files.readAllLines(PROC_MEMINFO, StandardCharsets.US_ASCII);
+			for ( String line: lines ) {
+				if ( line.startsWith("MemAvailable:") ) {
+					// 예: "MemAvailable:   12345678 kB"
+					String[] parts = line.trim().split("\\s+");
+					return Long.parseLong(parts[1]) * 1024;
+				}
+			}
+			return -1;
+		}
+		catch ( IOException | RuntimeException e ) {
+			return -1;
+		}
+	}
+
+	private static long parseByteSize(String size) {
+		String str = size.trim().toLowerCase();
+		long unit = switch ( str.charAt(str.length()-1) ) {
+			case 'k' -> 1024L;
+			case 'm' -> 1024L * 1024;
+			case 'g' -> 1024L * 1024 * 1024;
+			default -> 1L;
+		};
+		String digits = (unit > 1) ? str.substring(0, str.length()-1) : str;
+		try {
+			return Long.parseLong(digits) * unit;
+		}
+		catch ( NumberFormatException e ) {
+			s_logger.warn("invalid heap size, ignore available memory: heapSize={}", size);
+			return -1;
+		}
+	}
+}
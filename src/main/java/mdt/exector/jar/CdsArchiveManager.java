@@ -0,0 +1,280 @@
+package mdt.exector.jar;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import utils.func.Try;
+import utils.io.FileUtils;
+import utils.stream.FStream;
+
+
+/**
+ * MDTInstance JVM 프로세스들이 공유하는 AppCDS(Application Class-Data Sharing) archive를 관리한다.
+ * <p>
+ * archive는 jar 파일의 내용(SHA-256)별로 하나씩 생성된다. 같은 내용의 jar 파일은 archive 디렉토리에
+ * 한번만 복사되고, 모든 MDTInstance 프로세스는 복사된 jar 파일로 실행된다. CDS archive는 기록 당시의
+ * classpath와 실행시의 classpath가 일치해야 사용될 수 있기 때문에, MDTInstance마다 서로 다른 경로에
+ * 복사된 jar 파일을 그대로 사용하면 archive를 공유할 수 없기 때문이다.
+ * <p>
+ * 모든 프로세스는 {@code -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=<archive>}로 실행된다 (JDK 19 이상).
+ * JVM은 archive가 있고 사용 가능하면 이를 사용하고, 없거나 (JDK 변경 등으로) 사용할 수 없는 경우는
+ * 종료시 archive를 해당 경로에 직접 기록한다. 따라서 archive가 없는 동안 실행된 프로세스 중 하나라도
+ * 종료되면 이후 실행되는 프로세스들은 별도의 등록 과정없이 archive를 사용하게 된다.
+ * <p>
+ * 효과를 확인할 수 있도록 실행 모드({@link Mode}) 별 시작 소요 시간 통계를 함께 유지한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class CdsArchiveManager {
+	private static final Logger s_logger = LoggerFactory.getLogger(CdsArchiveManager.class);
+	private static final String ARCHIVE_FILE_NAME = "app.jsa";
+
+	/**
+	 * MDTInstance 프로세스의 CDS 실행 모드.
+	 */
+	public enum Mode {
+		/** CDS archive 없이 실행된 경우. */
+		NONE,
+		/** CDS archive가 없어 종료시 archive를 기록하도록 실행된 경우. */
+		TRAINING,
+		/** 기록된 CDS archive를 사용하여 실행된 경우. */
+		SHARED,
+		/** CDS archive 대신 미리 실행된 대기 JVM({@link StandbyLauncherPool})에서 실행된 경우. */
+		STANDBY,
+	}
+
+	/**
+	 * CDS 설정이 반영된 MDTInstance 프로세스 실행 정보.
+	 *
+	 * @param jarFile	실행할 jar 파일 경로.
+	 * @param jvmArgs	추가할 JVM 인자 리스트.
+	 * @param mode		CDS 실행 모드.
+	 * @param hash		jar 파일 내용의 SHA-256 값. CDS를 사용하지 않는 경우는 {@code null}.
+	 */
+	public record Launch(String jarFile, List<String> jvmArgs, Mode mode, @Nullable String hash) { }
+
+	/**
+	 * 실행 모드 별 MDTInstance 시작 소요 시간 통계.
+	 *
+	 * @param mode			CDS 실행 모드.
+	 * @param count			시작된 MDTInstance 수.
+	 * @param averageMillis	평균 소요 시간 (밀리초).
+	 * @param minMillis		최소 소요 시간 (밀리초).
+	 * @param maxMillis		최대 소요 시간 (밀리초).
+	 */
+	public record ModeStatistics(Mode mode, long count, long averageMillis, long minMillis, long maxMillis) { }
+
+	/**
+	 * MDTInstance 시작 소요 시간 통계.
+	 *
+	 * @param cdsEnabled	CDS 사용 여부.
+	 * @param archives		기록된 CDS archive 수.
+	 * @param modes			실행 모드 별 통계.
+	 * @param improvement	CDS archive 없이 실행된 경우의 평균 대비 archive를 사용한 경우의 평균 소요 시간 단축 비율.
+	 * 						두 경우 중 하나라도 측정된 적이 없는 경우는 {@code null}.
+	 */
+	public record StartupStatistics(boolean cdsEnabled, int archives, List<ModeStatistics> modes,
+									@Nullable Double improvement) { }
+
+	private final boolean m_enabled;
+	private final File m_archiveDir;
+	// jar 파일 경로 별 내용 hash 값 (파일 변경 확인을 위한 최종 수정 시각과 크기 포함)
+	private final Map<String,JarHash> m_hashes = new ConcurrentHashMap<>();
+	private final Map<Mode,LongSummaryStatistics> m_stats = new EnumMap<>(Mode.class);
+
+	private record JarHash(long lastModified, long length, String hash) { }
+
+	/**
+	 * CDS archive 관리자를 생성한다.
+	 *
+	 * @param enabled		CDS 사용 여부. {@code false}인 경우는 시작 소요 시간 통계만 유지한다.
+	 * @param archiveDir	CDS archive와 공유 jar 파일을 저장할 디렉토리.
+	 */
+	public CdsArchiveManager(boolean enabled, File archiveDir) {
+		Preconditions.checkArgument(!enabled || archiveDir != null, "CDS archive directory is null");
+
+		m_enabled = enabled;
+		m_archiveDir = archiveDir;
+		if ( m_enabled ) {
+			Try.accept(m_archiveDir, FileUtils::createDirectory);
+		}
+	}
+
+	public boolean isEnabled() {
+		return m_enabled;
+	}
+
+	/**
+	 * 주어진 jar 파일을 실행하기 위한 CDS 실행 정보를 준비한다.
+	 * <p>
+	 * CDS가 사용되지 않거나 준비 과정에서 오류가 발생한 경우는 주어진 jar 파일을 그대로 실행하는
+	 * {@link Mode#NONE} 실행 정보가 반환된다. 실행 정보를 받은 경우는 프로세스가 종료된 후
+	 * {@link #onProcessTerminated(Launch)}를 호출하여야 한다.
+	 *
+	 * @param jarFile	실행할 jar 파일.
+	 * @return	CDS 실행 정보.
+	 */
+	public Launch prepare(File jarFile) {
+		Launch plain = new Launch(jarFile.getPath(), List.of(), Mode.NONE, null);
+		if ( !m_enabled || !jarFile.isFile() ) {
+			return plain;
+		}
+
+		try {
+			String hash = getHash(jarFile);
+			File hashDir = new File(m_archiveDir, hash);
+			File sharedJar = new File(hashDir, jarFile.getName());
+			if ( !sharedJar.isFile() ) {
+				FileUtils.createDirectory(hashDir);
+
+				// 동시에 복사하는 경우를 대비하여 임시 파일에 복사한 후 이름을 바꾼다.
+				File tmp = new File(hashDir, sharedJar.getName() + "." + Thread.currentThread().threadId() + ".tmp");
+				Files.copy(jarFile.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				Files.move(tmp.toPath(), sharedJar.toPath(), StandardCopyOption.REPLACE_EXISTING,
+							StandardCopyOption.ATOMIC_MOVE);
+			}
+
+			// archive의 사용 또는 (종료시) 기록 여부는 JVM이 archive의 존재 및 유효성에 따라 결정한다.
+			File archive = new File(hashDir, ARCHIVE_FILE_NAME);
+			List<String> jvmArgs = List.of("-XX:+AutoCreateSharedArchive",
+											"-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+			Mode mode = archive.isFile() ? Mode.SHARED : Mode.TRAINING;
+			return new Launch(sharedJar.getAbsolutePath(), jvmArgs, mode, hash);
+		}
+		catch ( Exception e ) {
+			s_logger.warn("failed to prepare CDS archive, run without it: jar={}, cause={}", jarFile, e.toString());
+			return plain;
+		}
+	}
+
+	/**
+	 * {@link #prepare(File)}로 준비된 MDTInstance 프로세스가 종료된 경우 호출된다.
+	 * <p>
+	 * archive는 JVM이 종료되면서 직접 기록하기 때문에 별도의 등록 작업은 필요없으며,
+	 * {@link Mode#TRAINING}으로 실행된 프로세스가 archive를 기록했는지 여부만 기록한다.
+	 *
+	 * @param launch	종료된 프로세스의 실행 정보.
+	 */
+	public void onProcessTerminated(Launch launch) {
+		if ( launch.mode() != Mode.TRAINING ) {
+			return;
+		}
+
+		File archive = new File(new File(m_archiveDir, launch.hash()), ARCHIVE_FILE_NAME);
+		if ( archive.isFile() && archive.length() > 0 ) {
+			if ( s_logger.isInfoEnabled() ) {
+				s_logger.info("created CDS archive: path={}, size={}", archive, archive.length());
+			}
+		}
+		else {
+			// 강제 종료 등으로 archive가 기록되지 못한 경우는 이후 실행된 프로세스가 종료될 때 다시 기록된다.
+			s_logger.warn("CDS archive was not written: jar={}", launch.jarFile());
+		}
+	}
+
+	/**
+	 * MDTInstance 시작 소요 시간을 기록한다.
+	 *
+	 * @param mode		시작된 MDTInstance의 CDS 실행 모드.
+	 * @param millis	시작 소요 시간 (밀리초).
+	 */
+	public void recordStartup(Mode mode, long millis) {
+		synchronized ( m_stats ) {
+			m_stats.computeIfAbsent(mode, k -> new LongSummaryStatistics()).accept(millis);
+		}
+	}
+
+	/**
+	 * 지금까지 기록된 MDTInstance 시작 소요 시간 통계를 반환한다.
+	 *
+	 * @return	시작 소요 시간 통계.
+	 */
+	public StartupStatistics getStartupStatistics() {
+		List<ModeStatistics> modes;
+		Double improvement = null;
+		synchronized ( m_stats ) {
+			modes = FStream.from(m_stats.entrySet())
+							.map(ent -> {
+								LongSummaryStatistics stats = ent.getValue();
+								return new ModeStatistics(ent.getKey(), stats.getCount(),
+															Math.round(stats.getAverage()),
+															stats.getMin(), stats.getMax());
+							})
+							.toList();
+
+			// archive 기록 모드는 종료시에만 추가 비용이 들기 때문에 archive 없이 실행된 경우로 간주한다.
+			LongSummaryStatistics baseline = new LongSummaryStatistics();
+			for ( Mode mode: List.of(Mode.NONE, Mode.TRAINING) ) {
+				LongSummaryStatistics stats = m_stats.get(mode);
+				if ( stats != null ) {
+					baseline.combine(stats);
+				}
+			}
+			LongSummaryStatistics shared = m_stats.get(Mode.SHARED);
+			if ( baseline.getCount() > 0 && shared != null && shared.getCount() > 0 ) {
+				improvement = 1.0 - (shared.getAverage() / baseline.getAverage());
+			}
+		}
+
+		return new StartupStatistics(m_enabled, countArchives(), modes, improvement);
+	}
+
+	private int countArchives() {
+		File[] hashDirs = (m_enabled) ? m_archiveDir.listFiles(File::isDirectory) : null;
+		if ( hashDirs == null ) {
+			return 0;
+		}
+
+		int count = 0;
+		for ( File hashDir: hashDirs ) {
+			if ( new File(hashDir, ARCHIVE_FILE_NAME).isFile() ) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	private String getHash(File jarFile) throws IOException {
+		String path = jarFile.getAbsolutePath();
+		long lastModified = jarFile.lastModified();
+		long length = jarFile.length();
+
+		JarHash cached = m_hashes.get(path);
+		if ( cached != null && cached.lastModified() == lastModified && cached.length() == length ) {
+			return cached.hash();
+		}
+
+		try ( InputStream is = Files.newInputStream(jarFile.toPath()) ) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[64 * 1024];
+			int nbytes;
+			while ( (nbytes = is.read(buffer)) >= 0 ) {
+				digest.update(buffer, 0, nbytes);
+			}
+
+			String hash = HexFormat.of().formatHex(digest.digest());
+			m_hashes.put(path, new JarHash(lastModified, length, hash));
+			return hash;
+		}
+		catch ( NoSuchAlgorithmException e ) {
+			throw new IOException("SHA-256 is not supported", e);
+		}
+	}
+}
@@ -1,20 +1,27 @@
 package mdt.exector.jar;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.ProcessBuilder.Redirect;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,9 +47,12 @@ import utils.stream.KeyValueFStream;
 import utils.thread.Guard;
 
 import mdt.controller.MDTManagerEnvironment;
+import mdt.instance.EndpointReadinessProbe;
 import mdt.instance.MDTInstanceManagerConfiguration;
+import mdt.instance.ReadinessStrategy;
 import mdt.instance.jar.JarExecutionArguments;
 import mdt.instance.jar.JarExecutorConfiguration;
+import mdt.instance.jar.JvmProfile;
 import mdt.model.instance.InstanceStatusChangeEvent;
 import mdt.model.instance.MDTInstanceManagerException;
 import mdt.model.instance.MDTInstanceStatus;
@@ -52,12 +62,15 @@ import mdt.model.instance.MDTInstanceStatus;
  * 각 MDTInstance를 별도의 JVM 프로세스(JAR 실행)로 기동/중지하고 상태를 관리하는 실행기이다.
  * <p>
  * 본 클래스는 작업 디렉터리 아래 인스턴스별 하위 디렉터리를 두고, {@code java -jar} 명령으로
- * JAR을 기동한 뒤 표준 출력 로그에서 sentinel 문자열을 감시하여 시작 완료/실패를 판단한다.
- * 동시에 시작할 수 있는 프로세스 수는 {@link Semaphore}로 제한하며, 등록된
+ * JAR을 기동한 뒤 표준 출력을 pipe로 읽어 로그 파일에 기록하면서 sentinel 문자열을 검사하여
+ * 시작 완료/실패를 판단한다({@link ProcessOutputPump}).
+ * 동시에 시작할 수 있는 프로세스 수는 {@link AdaptiveStartLimiter}로 제한하며, 등록된
  * {@link JarExecutionListener}들에게 상태 변화를 알린다.
+ * 대기 JVM pool({@link StandbyLauncherPool})이 설정된 경우는 JVM 기동 없이 미리 실행된 대기 JVM에서 시작한다.
  * <p>
  * 실행 중인 각 프로세스의 상태는 내부 {@link ProcessDesc}에 보관되며, 모든 접근은
- * {@link Guard}로 동기화된다.
+ * {@link Guard}로 동기화된다. 상태 변화는 guard 안에서 발생 순서대로 대기열에 등록되고, 리스너들은
+ * guard를 벗어난 후에 호출되기 때문에 리스너 수행 시간이 다른 시작/중지 요청을 지연시키지 않는다.
  *
  * @author Kang-Woo Lee (ETRI)
  */
@@ -65,22 +78,38 @@ public class JarInstanceExecutor {
 	private static final Logger s_logger = LoggerFactory.getLogger(JarInstanceExecutor.class);
 
 	private static final String DEFAULT_HEAP_SIZE = "512m";
+	// 0: HTTP endpoint available on port (성공적으로 시작된 경우)
+	// 1: ERROR (실패한 경우)
+	private static final List<String> STARTUP_SENTINELS = List.of("[***MARKER***]", "ERROR");
 
 	private final MDTInstanceManagerConfiguration m_mgrConfig;
 	private final JarExecutorConfiguration m_execConfig;
 	private final File m_workspaceDir;
-	private final Semaphore m_startSemaphore;	// 동시에 시작할 수 있는 프로세스 수 제한
+	private final AdaptiveStartLimiter m_startLimiter;	// 동시에 시작할 수 있는 프로세스 수 제한
+	private final CdsArchiveManager m_cds;
+	private final @Nullable StandbyLauncherPool m_standbyPool;	// 미리 실행된 대기 JVM들. 사용하지 않는 경우는 null.
+	private final ProcessResourceSampler m_resourceSampler;	// 실행 중인 프로세스들의 자원 사용량 수집기
+	// MDTInstance 프로세스들의 표준 출력을 읽는 작업을 수행하는 virtual thread 실행기.
+	private final ExecutorService m_outputReaders = Executors.newVirtualThreadPerTaskExecutor();
+	// 닫힌 표준 출력 로그 segment들을 압축하는 실행기 (CPU 사용을 제한하기 위해 하나의 쓰레드만 사용).
+	private final ExecutorService m_logCompressor
+				= Executors.newSingleThreadExecutor(Thread.ofPlatform().name("mdt-log-compressor").daemon().factory());
 
 	private final Guard m_guard = Guard.create();
 	// 이 JarInstanceExecutor를 통해 실행 중인 모든 프로세스들의 등록정보
 	private final Map<String,ProcessDesc> m_runningInstances = Maps.newHashMap();
 	private final Set<JarExecutionListener> m_listeners = Sets.newConcurrentHashSet();
+	// guard 안에서 발생한 상태 변경들. 리스너 수행이 guard를 점유하지 않도록 guard 밖에서 순서대로 통보한다.
+	private final Queue<StatusChange> m_pendingChanges = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock m_dispatchLock = new ReentrantLock();
+	
+	private record StatusChange(String id, MDTInstanceStatus status, String endpoint) { }
 
 	/**
 	 * 주어진 매니저/실행기 설정으로 {@link JarInstanceExecutor}를 생성한다.
 	 * <p>
 	 * 설정의 작업 디렉터리가 존재하지 않으면 새로 생성한다. 동시 시작 가능 프로세스 수는
-	 * {@link JarExecutorConfiguration#getStartConcurrency()} 값으로 제한된다.
+	 * 시스템 상태에 따라 조절되며, {@link JarExecutorConfiguration#getStartConcurrency()} 값을 넘지 않는다.
 	 *
 	 * @param mgrConf	{@link MDTInstanceManagerConfiguration}. MDT URL / 전역 설정 파일 등을 제공.
 	 * @param conf		{@link JarExecutorConfiguration}. 작업 디렉터리/힙 크기/Key Store 등을 제공.
@@ -97,7 +126,12 @@ public class JarInstanceExecutor {
 		m_workspaceDir = conf.getWorkspaceDir();
 		Try.accept(m_workspaceDir, FileUtils::createDirectory);
 
-		m_startSemaphore = new Semaphore(conf.getStartConcurrency());
+		m_startLimiter = new AdaptiveStartLimiter(conf.getStartConcurrency(), conf.isAdaptiveStartConcurrency());
+		m_cds = new CdsArchiveManager(conf.isCdsEnabled(), conf.getCdsArchiveDir());
+		m_standbyPool = createStandbyPool(conf);
+		m_resourceSampler = new ProcessResourceSampler(this::getRunningProcessIds, conf.getResourceSampleInterval(),
+														conf.getResourceHistorySize());
+		m_resourceSampler.start();
 	}
 
 	/**
@@ -112,32 +146,49 @@ public class JarInstanceExecutor {
 	/**
 	 * 주어진 식별자의 MDTInstance를 JAR 프로세스로 시작한다.
 	 * <p>
-	 * 동시 시작 제한 semaphore를 획득한 뒤 {@link #startWithSemaphore(String, String, JarExecutionArguments)}로
-	 * 프로세스를 기동하고, 표준 출력에서 sentinel 문자열을 감시하여 시작 완료까지 대기한다.
+	 * 동시 시작 제한기({@link AdaptiveStartLimiter})의 허가를 얻은 뒤
+	 * {@link #startWithPermit(String, String, JarExecutionArguments, JvmProfile)}로 프로세스를 기동하고,
+	 * 표준 출력에서 sentinel 문자열을 감시하여 시작 완료까지 대기한다. 시작 소요 시간과 결과는
+	 * 동시 시작 허용 수를 조절하는데 사용된다.
 	 * sentinel 감시 결과에 따라 인스턴스 상태를 RUNNING 또는 FAILED로 갱신하며, 상태 변화는
 	 * 등록된 {@link JarExecutionListener}들에게 통보된다.
 	 *
 	 * @param id	MDTInstance 식별자.
 	 * @param aasId	AssetAdministrationShell 식별자.
 	 * @param args	JAR 실행 인자.
+	 * @param profile	JVM 자원 프로파일. {@code null}인 경우는 {@link JarExecutorConfiguration#getHeapSize()}만 적용된다.
 	 * @return 시작 후 상태와 endpoint를 담은 {@link Tuple}. 성공 시 RUNNING+endpoint, 실패 시 FAILED+{@code null}.
-	 * @throws MDTInstanceExecutorException	semaphore 획득이 인터럽트되었거나 시작 과정에서 오류가 발생한 경우.
+	 * @throws MDTInstanceExecutorException	허가 대기 중 인터럽트되었거나 시작 과정에서 오류가 발생한 경우.
 	 */
-	public Tuple<MDTInstanceStatus,String> start(String id, String aasId, JarExecutionArguments args)
+	public Tuple<MDTInstanceStatus,String> start(String id, String aasId, JarExecutionArguments args,
+												@Nullable JvmProfile profile)
 		throws MDTInstanceExecutorException {
-		// 동시에 실행할 수 있는 프로세스 수 제한을 위해 semaphore를 획득한다.
+		// 동시에 실행할 수 있는 프로세스 수 제한을 위해 시작 허가를 얻는다.
+		// 가용 메모리는 실제로 사용될 (프로파일에 따른) heap 크기만큼 예약된다.
+		long reserved;
 		try {
-			s_logger.debug("acquiring start-semaphore: thread={}", Thread.currentThread().getName());
-			m_startSemaphore.acquire();
+			s_logger.debug("acquiring start-permit: thread={}", Thread.currentThread().getName());
+			reserved = m_startLimiter.acquire(resolveHeapSize(profile));
 		}
 		catch ( InterruptedException e ) {
-			s_logger.warn("interrupted while acquiring start semaphore: thread={}", Thread.currentThread().getName());
+			s_logger.warn("interrupted while acquiring start permit: thread={}", Thread.currentThread().getName());
 			Thread.currentThread().interrupt();
-			throw new MDTInstanceExecutorException("interrupted while acquiring start semaphore", e);
+			throw new MDTInstanceExecutorException("interrupted while acquiring start permit", e);
 		}
 		
+		StopWatch watch = StopWatch.start();
+		AdaptiveStartLimiter.StartOutcome outcome = AdaptiveStartLimiter.StartOutcome.FAILED;
 		try {
-			return startWithSemaphore(id, aasId, args);
+			Tuple<MDTInstanceStatus,String> result = startWithPermit(id, aasId, args, profile);
+			
+			// 시작 제한 시간이 지나서 실패한 경우는 과부하로 인한 실패로 간주한다.
+			if ( result._1 == MDTInstanceStatus.RUNNING ) {
+				outcome = AdaptiveStartLimiter.StartOutcome.RUNNING;
+			}
+			else if ( watch.getElapsedInMillis() >= m_execConfig.getStartTimeout().toMillis() ) {
+				outcome = AdaptiveStartLimiter.StartOutcome.TIMED_OUT;
+			}
+			return result;
 		}
 		catch ( Exception e ) {
 			Throwable cause = Throwables.unwrapThrowable(e);
@@ -145,22 +196,57 @@ public class JarInstanceExecutor {
 			throw new MDTInstanceExecutorException("failed to start MDTInstance: id=" + id, cause);
 		}
 		finally {
-			m_startSemaphore.release();
-			s_logger.debug("released a start-semaphore: thread={}", Thread.currentThread().getName());
+			m_startLimiter.release(reserved, watch.getElapsedInMillis(), outcome);
+			s_logger.debug("released a start-permit: thread={}", Thread.currentThread().getName());
+		}
+	}
+	
+	/**
+	 * 동시에 시작할 수 있는 MDTInstance 프로세스 수의 현재 값을 반환한다.
+	 *
+	 * @return	동시 시작 허용 수.
+	 */
+	public int getStartConcurrency() {
+		return m_startLimiter.getLimit();
+	}
+	
+	private @Nullable StandbyLauncherPool createStandbyPool(JarExecutorConfiguration conf) {
+		if ( conf.getStandbyPoolSize() <= 0 ) {
+			return null;
+		}
+		
+		String heapSize = resolveHeapSize(null);
+		List<String> jvmArgs = List.of("-Dfile.encoding=UTF-8", String.format("-Xms%s", heapSize),
+										String.format("-Xmx%s", heapSize));
+		StandbyLauncherPool pool = new StandbyLauncherPool(conf.getDefaultMDTInstanceJarFile(), jvmArgs,
+															m_workspaceDir, conf.getStandbyPoolSize());
+		try {
+			pool.start();
+			return pool;
 		}
+		catch ( IOException e ) {
+			s_logger.warn("failed to start standby JVM pool, launch every MDTInstance in a new JVM: cause={}",
+							e.toString());
+			return null;
+		}
+	}
+	
+	private String resolveHeapSize(@Nullable JvmProfile profile) {
+		return (profile != null && profile.getHeapSize() != null)
+				? profile.getHeapSize()
+				: Optionals.getOrElse(m_execConfig.getHeapSize(), DEFAULT_HEAP_SIZE);
 	}
 	
-	private Tuple<MDTInstanceStatus,String> startWithSemaphore(String id, String aasId,
-																JarExecutionArguments args)
+	private Tuple<MDTInstanceStatus,String> startWithPermit(String id, String aasId,
+															JarExecutionArguments args, @Nullable JvmProfile profile)
 		throws MDTInstanceExecutorException {
     	File instHomeDir = new File(m_workspaceDir, id);
+		// 'logs' 디렉토리는 삭제하지 않는다. 이전 실행의 로그는 보관 한도 내에서 유지되고,
+		// 새 실행의 로그는 그 다음 위치부터 이어서 기록된다 (RollingLogWriter).
 		File logDir = new File(instHomeDir, "logs");
-		
-		// 혹시나 있을지 모를 'logs' 디렉토리 삭제.
-    	Try.accept(logDir, FileUtils::deleteDirectory);
 
     	String argEncoding = "-Dfile.encoding=UTF-8";
-    	String heapSize = Optionals.getOrElse(m_execConfig.getHeapSize(), DEFAULT_HEAP_SIZE);
+    	String heapSize = resolveHeapSize(profile);
     	String argInitialHeap = String.format("-Xms%s", heapSize);
     	String argMaxHeap = String.format("-Xmx%s", heapSize);
     	
@@ -180,28 +266,23 @@ public class JarInstanceExecutor {
 			}
     	}
 
-    	List<String> argList = Lists.newArrayList("java", argEncoding, argInitialHeap, argMaxHeap,
-    												"-jar", args.getJarFile(), argId, argType, argVerbose);
-
+    	List<String> appArgs = Lists.newArrayList(argId, argType, argVerbose);
     	if ( args.getPort() > 0 ) {
-			argList.add(String.format("--port=%d", args.getPort()));
+			appArgs.add(String.format("--port=%d", args.getPort()));
 		}
     	if ( m_mgrConfig.getGlobalConfigFile() != null ) {
         	String globalConfigFilePath = String.format("--globalConfig=%s",
         												m_mgrConfig.getGlobalConfigFile().getAbsolutePath());
-        	argList.add(globalConfigFilePath);
+        	appArgs.add(globalConfigFilePath);
     	}
     	if ( m_execConfig.getKeyStoreFile() != null ) {
         	String argKeyStorePath = String.format("--keyStore=%s", m_execConfig.getKeyStoreFile().getAbsolutePath());
-        	argList.add(argKeyStorePath);
+        	appArgs.add(argKeyStorePath);
     	}
     	if ( m_execConfig.getKeyStorePassword() != null ) {
 			String argKeyStorePwd = String.format("--keyStorePassword=%s", m_execConfig.getKeyStorePassword());
-			argList.add(argKeyStorePwd);
+			appArgs.add(argKeyStorePwd);
 		}
-    	
-		ProcessBuilder builder = new ProcessBuilder(argList);
-		builder.directory(instHomeDir);
 		
 		Preconditions.checkState(m_mgrConfig.getMdtUrl() != null,
 								"MDT URL is not configured in MDTInstanceManagerConfiguration");
@@ -233,45 +314,109 @@ public class JarInstanceExecutor {
 			throw new MDTInstanceExecutorException("failed to load variables from env.file", e);
 		}
 		
-		s_logger.info("creating MDTInstance: home={}, args={}, envs={}",
-						m_workspaceDir.getAbsolutePath(), argList, udEnvVars);
-		builder.environment().putAll(udEnvVars);
-
-		File stdoutLogFile = new File(logDir, "output.log");
-		builder.redirectErrorStream(true);
-		builder.redirectOutput(Redirect.appendTo(stdoutLogFile));
+		// 대기 JVM은 기본 JVM 인자로 실행되어 있기 때문에, JVM 프로파일이 적용되지 않는 경우에만 사용한다.
+		// 대기 JVM이 없거나 실행 요청 전달에 실패한 경우는 새 JVM 프로세스를 실행한다.
+		Process handedOff = (profile == null) ? handOffToStandby(id, new File(args.getJarFile()), appArgs, udEnvVars)
+												: null;
+		
+		ProcessBuilder builder = null;
+		List<String> argList = null;
+		CdsArchiveManager.Launch launch;
+		if ( handedOff != null ) {
+			launch = new CdsArchiveManager.Launch(args.getJarFile(), List.of(), CdsArchiveManager.Mode.STANDBY, null);
+		}
+		else {
+	    	// CDS가 사용되는 경우는 MDTInstance들이 공유하는 jar 파일과 archive로 실행된다.
+	    	launch = m_cds.prepare(new File(args.getJarFile()));
+	
+	    	argList = Lists.newArrayList("java", argEncoding, argInitialHeap, argMaxHeap);
+	    	if ( profile != null ) {
+	    		argList.addAll(profile.toJvmOptions());
+	    	}
+	    	argList.addAll(launch.jvmArgs());
+	    	argList.addAll(List.of("-jar", launch.jarFile()));
+	    	argList.addAll(appArgs);
+	    	
+			builder = new ProcessBuilder(argList);
+			builder.directory(instHomeDir);
+			
+			s_logger.info("creating MDTInstance: home={}, args={}, envs={}",
+							m_workspaceDir.getAbsolutePath(), argList, udEnvVars);
+			builder.environment().putAll(udEnvVars);
+	
+			// 표준 출력은 pipe로 읽어 segment 단위로 나뉜 로그 파일들에 기록한다 (ProcessOutputPump, RollingLogWriter).
+			builder.redirectErrorStream(true);
+			builder.redirectOutput(Redirect.PIPE);
+		}
 
-		ProcessDesc procDesc = new ProcessDesc(id, null, MDTInstanceStatus.STARTING, stdoutLogFile);
+		ProcessDesc procDesc = new ProcessDesc(id, null, MDTInstanceStatus.STARTING, launch);
 		m_guard.run(() -> {
 			m_runningInstances.put(id, procDesc);
-			notifyStatusChanged(procDesc);
+			enqueueStatusChange(procDesc);
 		});
+		dispatchStatusChanges();
 		
+		ProcessOutputPump pump;
+		RollingLogWriter logWriter = null;
 		try {
-			Files.createDirectories(logDir.toPath());
+			logWriter = new RollingLogWriter(logDir, m_execConfig.getLogSegmentSize().toBytes(),
+											m_execConfig.getLogSegmentInterval(),
+											m_execConfig.getLogRetentionSize().toBytes(),
+											m_execConfig.isLogCompression() ? m_logCompressor : null);
 			
-			Process instanceProcess = builder.start();
+			Process instanceProcess = (handedOff != null) ? handedOff : builder.start();
+			pump = new ProcessOutputPump(id, instanceProcess.getInputStream(), logWriter, STARTUP_SENTINELS)
+						.start(m_outputReaders);
 			instanceProcess.onExit()
 							.whenCompleteAsync((proc, error) -> onProcessTerminated(procDesc, error));
 			m_guard.run(() -> procDesc.m_process = instanceProcess);
 		}
 		catch ( Exception e ) {
+			if ( logWriter != null ) {
+				Unchecked.runOrIgnore(logWriter::close);
+			}
+			if ( handedOff != null ) {
+				handedOff.destroyForcibly();
+			}
 			Throwable cause = Throwables.unwrapThrowable(e);
-			s_logger.warn("failed to start jar application: id={}, argList={}", id, argList, cause);
+			s_logger.warn("failed to start jar application: id={}, argList={}", id, (argList != null) ? argList : appArgs,
+							cause);
+			m_cds.onProcessTerminated(launch);
 			m_guard.run(() -> {
 				procDesc.m_status = MDTInstanceStatus.FAILED;
 				procDesc.m_endpoint = null;
-				notifyStatusChanged(procDesc);
+				enqueueStatusChange(procDesc);
 			});
+			dispatchStatusChanges();
 			
-			s_logger.debug("releasing a start semaphore due to failure: thread={}",
+			s_logger.debug("releasing a start permit due to failure: thread={}",
 							Thread.currentThread().getName());
 			
 			return Tuple.of(procDesc.m_status, procDesc.m_endpoint);
 		}
 		
 		// 프로세스를 시작시킨 후, 출력 메시지를 검사하여 서비스 포트가 오픈될 때까지 대기한다.
-		return waitWhileStarting(id, procDesc);
+		return waitWhileStarting(id, procDesc, pump);
+	}
+
+	private @Nullable Process handOffToStandby(String id, File jarFile, List<String> appArgs,
+												Map<String,String> envVars) {
+		StandbyLauncherPool.Standby standby = (m_standbyPool != null) ? m_standbyPool.take(jarFile) : null;
+		if ( standby == null ) {
+			return null;
+		}
+		
+		try {
+			Process process = standby.handOff(jarFile, appArgs, envVars);
+			s_logger.info("creating MDTInstance on a standby JVM: id={}, pid={}, args={}, envs={}",
+							id, process.pid(), appArgs, envVars);
+			return process;
+		}
+		catch ( IOException e ) {
+			s_logger.warn("failed to hand off to a standby JVM, launch a new one: id={}, standby={}, cause={}",
+							id, standby, e.toString());
+			return null;
+		}
 	}
 
     /**
@@ -296,7 +441,7 @@ public class JarInstanceExecutor {
                     	}
                 		desc.m_status = MDTInstanceStatus.STOPPING;
         				desc.m_endpoint = null;
-                		notifyStatusChanged(desc);
+                		enqueueStatusChange(desc);
                 		
                 		CompletableFuture.runAsync(() -> desc.m_process.destroy());
                 		break;
@@ -306,6 +451,7 @@ public class JarInstanceExecutor {
         	}
         	return desc;
     	});
+    	dispatchStatusChanges();
     	
     	return (procDesc != null) ? procDesc.toResult() : null;
     }
@@ -352,20 +498,73 @@ public class JarInstanceExecutor {
 
 	/**
 	 * 주어진 식별자의 MDTInstance의 표준 출력 로그를 통째로 읽어 반환한다.
+	 * <p>
+	 * 로그 전체가 메모리에 적재되기 때문에, 크기가 클 수 있는 로그는
+	 * {@link #getOutputLogFile(String)}를 통해 부분적으로 읽어야 한다.
 	 *
 	 * @param id MDTInstance 식별자.
 	 * @return 표준 출력 로그 전체 문자열.
 	 * @throws IOException 로그 파일을 읽을 수 없는 경우.
 	 */
 	public String getOutputLog(String id) throws IOException {
-		File logDir = new File(new File(m_workspaceDir, id), "logs");
-		File stdoutLogFile = new File(logDir, "output.log");
-		
-		if ( !stdoutLogFile.canRead() ) {
-			throw new IOException("Cannot read stdout log file: path=" + stdoutLogFile.getAbsolutePath());
-		}
-		
-		return Files.readString(stdoutLogFile.toPath(), StandardCharsets.UTF_8);
+		OutputLogFile logFile = getOutputLogFile(id);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		logFile.transferTo(logFile.getStartOffset(), Long.MAX_VALUE, Channels.newChannel(baos));
+		return baos.toString(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * 주어진 식별자의 MDTInstance의 표준 출력 로그를 반환한다.
+	 * <p>
+	 * 반환된 객체는 segment로 나뉘어 기록된 로그들을 하나의 로그처럼 읽을 수 있게 한다.
+	 *
+	 * @param id MDTInstance 식별자.
+	 * @return 표준 출력 로그.
+	 */
+	public OutputLogFile getOutputLogFile(String id) {
+		return new OutputLogFile(new File(new File(m_workspaceDir, id), "logs"));
+	}
+	
+	/**
+	 * 본 실행기를 통해 시작된 MDTInstance들의 시작 소요 시간 통계를 반환한다.
+	 * <p>
+	 * CDS 사용 여부에 따른 시작 소요 시간의 차이를 확인하는데 사용된다.
+	 *
+	 * @return	시작 소요 시간 통계.
+	 */
+	public CdsArchiveManager.StartupStatistics getStartupStatistics() {
+		return m_cds.getStartupStatistics();
+	}
+	
+	/**
+	 * 주어진 식별자의 MDTInstance 프로세스의 현재 및 최근 자원 사용량을 반환한다.
+	 *
+	 * @param id	MDTInstance 식별자.
+	 * @return	자원 사용량. 실행 중이 아니거나 아직 수집되지 않은 경우는 수집값이 비어있다.
+	 */
+	public ProcessResourceSampler.ResourceUsage getResourceUsage(String id) {
+		return m_resourceSampler.getUsage(id);
+	}
+	
+	/**
+	 * 실행 중인 모든 MDTInstance 프로세스의 자원 사용량을 반환한다.
+	 *
+	 * @return	MDTInstance 식별자 별 자원 사용량.
+	 */
+	public Map<String,ProcessResourceSampler.ResourceUsage> getResourceUsageAll() {
+		return m_resourceSampler.getUsageAll();
+	}
+	
+	private Map<String,Long> getRunningProcessIds() {
+		return m_guard.get(() -> {
+			Map<String,Long> pids = Maps.newHashMap();
+			for ( ProcessDesc desc: m_runningInstances.values() ) {
+				if ( desc.m_process != null && desc.m_process.isAlive() ) {
+					pids.put(desc.m_id, desc.m_process.pid());
+				}
+			}
+			return pids;
+		});
 	}
 	
 	/**
@@ -379,18 +578,24 @@ public class JarInstanceExecutor {
 		if ( s_logger.isInfoEnabled() ) {
 			s_logger.info("Shutting down JarInstanceExecutor...");
 		}
+		// 이미 실행 중인 출력 읽기 작업은 프로세스가 종료되면서 함께 종료된다.
+		m_outputReaders.shutdown();
+		m_logCompressor.shutdown();
+		m_resourceSampler.stop();
+		if ( m_standbyPool != null ) {
+			m_standbyPool.close();
+		}
 
 		StopWatch watch = StopWatch.start();
-		int remains = m_guard.get(() -> {
-			FStream.from(m_runningInstances.keySet())
-					.forEach(id -> {
-						if ( s_logger.isInfoEnabled() ) {
-							s_logger.info("shutting-down JarInstance: {}", id);
-						}
-						stop(id);
-					});
-			return m_runningInstances.size();
-		});
+		// 상태 변경 통보가 guard 밖에서 이루어지도록 guard를 벗어난 후에 중지시킨다.
+		List<String> runningIds = m_guard.get(() -> List.copyOf(m_runningInstances.keySet()));
+		for ( String id: runningIds ) {
+			if ( s_logger.isInfoEnabled() ) {
+				s_logger.info("shutting-down JarInstance: {}", id);
+			}
+			stop(id);
+		}
+		int remains = m_guard.get(() -> m_runningInstances.size());
 		while ( true ) {
 			try {
 				if ( remains == 0 ) {
@@ -423,13 +628,13 @@ public class JarInstanceExecutor {
 		private Process m_process;
 		private MDTInstanceStatus m_status;
 		private String m_endpoint = null;
-		private final File m_stdoutLogFile;
+		private final CdsArchiveManager.Launch m_launch;
 		
-		public ProcessDesc(String id, Process process, MDTInstanceStatus status, File stdoutLogFile) {
+		public ProcessDesc(String id, Process process, MDTInstanceStatus status, CdsArchiveManager.Launch launch) {
 			this.m_id = id;
 			this.m_process = process;
 			this.m_status = status;
-			this.m_stdoutLogFile = stdoutLogFile;
+			this.m_launch = launch;
 		}
 		
 		public Tuple<MDTInstanceStatus,String> toResult() {
@@ -444,34 +649,32 @@ public class JarInstanceExecutor {
 		}
 	}
 	
-	private Tuple<MDTInstanceStatus,String> waitWhileStarting(final String instId, ProcessDesc procDesc) {
-		Instant started = Instant.now();
-		
-		LogTailer tailer = LogTailer.builder()
-									.file(procDesc.m_stdoutLogFile)
-									.startAtBeginning(true)
-									.sampleInterval(m_execConfig.getSampleInterval())
-									.timeout(m_execConfig.getStartTimeout())
-									.build();
-		
-		// 0: HTTP endpoint available on port (성공적으로 시작된 경우)
-		// 1: ERROR (실패한 경우)
-		List<String> sentinels = Arrays.asList("[***MARKER***]", "ERROR");
-		SentinelFinder finder = new SentinelFinder(sentinels);
-		tailer.addLogTailerListener(finder);
+	private Tuple<MDTInstanceStatus,String> waitWhileStarting(final String instId, ProcessDesc procDesc,
+																ProcessOutputPump pump) {
+		Instant startedAt = Instant.now();
 		
 		try {
-			// Sentinel 문자열 감시 작업 수행.
-			// 이 작업은 SentinelFinder가 원하는 sentinel 문자열을 찾을 때까지 계속해서 실행된다.
-			tailer.run();
-			
-			// sentinel 문자열을 찾은 경우에 대한 처리.
-			// 또는 대기 시간이 경과한 경우에 대한 처리.
+			// Sentinel 문자열이 출력될 때까지 대기한다.
+			// sentinel이 출력되기 전에 프로세스가 종료된 경우는 null이 반환되고,
+			// 대기 시간이 경과한 경우는 TimeoutException이 발생된다.
+			long timeoutMillis = m_execConfig.getStartTimeout().toMillis();
+			final KeyValue<Integer,String> sentinel = pump.whenSentinelFound()
+															.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			boolean started = sentinel != null && sentinel.key() == 0;
+			if ( started && m_execConfig.getReadiness() == ReadinessStrategy.PROBE ) {
+				// sentinel은 서비스 포트가 결정되었다는 의미일 뿐이므로, 남은 제한 시간 동안
+				// 실제로 endpoint가 요청을 처리할 수 있을 때까지 대기한다.
+				// 대기 중에 프로세스가 종료되면 바로 실패로 처리한다.
+				long remainingMillis = timeoutMillis - Duration.between(startedAt, Instant.now()).toMillis();
+				started = EndpointReadinessProbe.await(toEndpoint(sentinel.value()),
+														Duration.ofMillis(Math.max(remainingMillis, 0)),
+														() -> !procDesc.m_process.isAlive());
+			}
+			final boolean ready = started;
 			
-			final KeyValue<Integer,String> sentinel = finder.getSentinel();
 			boolean[] shouldDestroy = { false };
 			Tuple<MDTInstanceStatus,String> result = m_guard.get(() -> {
-				if ( sentinel != null && sentinel.key() == 0 ) {
+				if ( ready ) {
 					// 'HTTP endpoint available on port' sentinel을 찾은 경우.
 					// 프로세스가 성공적으로 시작되었다고 간주한다.
 					//
@@ -488,24 +691,25 @@ public class JarInstanceExecutor {
 						return procDesc.toResult();
 					}
 					else {
-						String[] parts = sentinel.value().split(" ");
-						procDesc.m_endpoint = parts[parts.length-1];
+						procDesc.m_endpoint = toEndpoint(sentinel.value());
 						procDesc.m_status = MDTInstanceStatus.RUNNING;
 
+						long elapsedMillis = Duration.between(startedAt, Instant.now()).toMillis();
+						m_cds.recordStartup(procDesc.m_launch.mode(), elapsedMillis);
 						if ( s_logger.isInfoEnabled() ) {
-							long elapsedMillis = Duration.between(started, Instant.now()).toMillis();
 				    		String elapsedStr = UnitUtils.toSecondString(elapsedMillis);
-				    		s_logger.info("started MDTInstance: id={}, endpoint={}, elapsed={}",
-				    						instId, procDesc.m_endpoint, elapsedStr);
+				    		s_logger.info("started MDTInstance: id={}, endpoint={}, elapsed={}, cds={}",
+				    						instId, procDesc.m_endpoint, elapsedStr, procDesc.m_launch.mode());
 						}
 
-						notifyStatusChanged(procDesc);
+						enqueueStatusChange(procDesc);
 					}
 
 					return procDesc.toResult();
 				}
 				else {
-					// 'ERROR' sentinel을 찾은 경우거나 다른 이유로 종료된 경우.
+					// 'ERROR' sentinel을 찾은 경우거나, endpoint가 제한 시간 내에 준비되지 않았거나,
+					// 다른 이유로 종료된 경우.
 					// JarInstance 시작이 실패한 것으로 간주한다.
 					//
 			    	if ( s_logger.isInfoEnabled() ) {
@@ -515,11 +719,12 @@ public class JarInstanceExecutor {
 					procDesc.m_endpoint = null;
 					// destroyForcibly()는 guard 락 밖에서 호출 (락 보유 시간 단축).
 					shouldDestroy[0] = true;
-			    	notifyStatusChanged(procDesc);
+			    	enqueueStatusChange(procDesc);
 
 					return procDesc.toResult();
 				}
 			});
+			dispatchStatusChanges();
 			if ( shouldDestroy[0] ) {
 				if ( s_logger.isInfoEnabled() ) {
 					s_logger.info("kill fa3st-repository process: {}", procDesc.m_process.toHandle().pid());
@@ -529,23 +734,32 @@ public class JarInstanceExecutor {
 			return result;
 		}
 		catch ( Exception e ) {
-			m_guard.run(() -> procDesc.m_status = MDTInstanceStatus.FAILED);
+			m_guard.run(() -> {
+				procDesc.m_status = MDTInstanceStatus.FAILED;
+				enqueueStatusChange(procDesc);
+			});
 			procDesc.m_process.destroyForcibly();
 			
 	    	if ( s_logger.isInfoEnabled() ) {
 	    		s_logger.info("failed to start an MDTInstance: {}", instId, e);
 	    	}
-	    	notifyStatusChanged(procDesc);
+	    	dispatchStatusChanges();
 
 			return Tuple.of(MDTInstanceStatus.FAILED, null);
 		}
 	}
+	
+	private static String toEndpoint(String sentinelLine) {
+		// sentinel 줄의 마지막 토큰이 MDTInstance의 서비스 endpoint이다.
+		String[] parts = sentinelLine.trim().split(" ");
+		return parts[parts.length-1];
+	}
     
     @SuppressWarnings("unused")
 	private InstanceStatusChangeEvent waitWhileStopping(final String instId, ProcessDesc procDesc) {
 		try {
 			LogTailer tailer = LogTailer.builder()
-										.file(procDesc.m_stdoutLogFile)
+										.file(getOutputLogFile(instId).getLastSegmentFile())
 										.startAtBeginning(false)
 										.sampleInterval(m_execConfig.getSampleInterval())
 										.timeout(m_execConfig.getStartTimeout())
@@ -589,6 +803,9 @@ public class JarInstanceExecutor {
     }
 	
 	private void onProcessTerminated(ProcessDesc procDesc, Throwable error) {
+		// archive를 기록하도록 실행된 프로세스인 경우는 기록된 archive를 등록한다.
+		m_cds.onProcessTerminated(procDesc.m_launch);
+		
 		if ( error == null ) {
 			// m_runningInstances에 등록되지 않은 process들은
 			// 모두 성공적으로 종료된 것으로 간주한다.
@@ -598,26 +815,48 @@ public class JarInstanceExecutor {
 									: MDTInstanceStatus.FAILED;
 				procDesc.m_endpoint = null;
 				m_runningInstances.remove(procDesc.m_id);
+				enqueueStatusChange(procDesc);
 			});
 	    	if ( s_logger.isInfoEnabled() ) {
 	    		s_logger.info("stopped MDTInstance: {}", procDesc.m_id);
 	    	}
-	    	notifyStatusChanged(procDesc);
+	    	dispatchStatusChanges();
 		}
 		else {
-			m_guard.run(() -> procDesc.m_status = MDTInstanceStatus.FAILED);
+			m_guard.run(() -> {
+				procDesc.m_status = MDTInstanceStatus.FAILED;
+				enqueueStatusChange(procDesc);
+			});
 	    	if ( s_logger.isInfoEnabled() ) {
 	    		s_logger.info("failed MDTInstance: {}", procDesc.m_id, error);
 	    	}
-	    	notifyStatusChanged(procDesc);
+	    	dispatchStatusChanges();
 		}
 	}
 	
-	private void notifyStatusChanged(ProcessDesc pdesc) {
+	// guard 안에서 호출되어야 한다.
+	private void enqueueStatusChange(ProcessDesc pdesc) {
 		Tuple<MDTInstanceStatus, String> result = pdesc.toResult();
-    	for ( JarExecutionListener listener: m_listeners ) {
-    		Unchecked.runOrIgnore(() -> listener.statusChanged(pdesc.m_id, result._1, result._2));
-    	}
+		m_pendingChanges.add(new StatusChange(pdesc.m_id, result._1, result._2));
+	}
+	
+	// guard 밖에서 호출되어야 한다.
+	// 대기열에 등록된 상태 변경들을 등록 순서대로 리스너들에게 통보한다. 다른 쓰레드가 통보 중인 경우는
+	// 그 쓰레드가 끝날 때까지 기다리기 때문에, 본 메소드가 반환되면 호출 이전에 등록된 변경은 모두 통보된 상태이다.
+	private void dispatchStatusChanges() {
+		m_dispatchLock.lock();
+		try {
+			StatusChange change;
+			while ( (change = m_pendingChanges.poll()) != null ) {
+				final StatusChange ev = change;
+		    	for ( JarExecutionListener listener: m_listeners ) {
+		    		Unchecked.runOrIgnore(() -> listener.statusChanged(ev.id(), ev.status(), ev.endpoint()));
+		    	}
+			}
+		}
+		finally {
+			m_dispatchLock.unlock();
+		}
 	}
 	
 //	@SuppressWarnings("null")
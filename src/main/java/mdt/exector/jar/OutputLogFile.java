@@ -0,0 +1,690 @@
+package mdt.exector.jar;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import com.google.common.base.Preconditions;
+
+import mdt.model.ResourceNotFoundException;
+
+
+/**
+ * MDTInstance 프로세스의 표준 출력 로그를 부분적으로 읽는 모듈.
+ * <p>
+ * 표준 출력 로그는 {@link RollingLogWriter}에 의해 여러 segment 파일로 나뉘어 기록된다.
+ * 각 segment 파일 이름에는 전체 로그에서 해당 segment가 시작되는 위치(논리적 위치)가 포함되기 때문에,
+ * segment가 압축되거나 보관 한도를 넘어 삭제되더라도 나머지 로그의 위치는 바뀌지 않는다.
+ * 본 모듈의 모든 위치 인자와 반환값은 이 논리적 위치이며, 읽기는 segment 경계를 넘어 수행된다.
+ * <p>
+ * 로그 크기와 무관하게 일정한 크기의 버퍼만 사용하여 읽는다.
+ * <ul>
+ * 	<li>{@link #transferTo(long, long, WritableByteChannel)}: 주어진 범위의 내용을 전달한다.
+ * 		압축되지 않은 segment는 {@link FileChannel#transferTo(long, long, WritableByteChannel)}로 전달한다.
+ * 	<li>{@link #findTailOffset(int)}: 로그의 끝에서부터 거꾸로 읽어가며 마지막 N줄의 시작 위치를 찾는다.
+ * 	<li>{@link #readLines(long, LineConsumer)}, {@link #watch()}: 로그에 새로 추가되는 줄들을 따라 읽는다.
+ * </ul>
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class OutputLogFile {
+	private static final int BLOCK_SIZE = 8 * 1024;
+	// 줄 끝 문자 없이 계속 기록되는 출력으로 인해 메모리 사용이 늘어나지 않도록 한 줄의 최대 크기를 제한한다.
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+	private static final Pattern SEGMENT_NAME = Pattern.compile("output-(\\d+)\\.log(\\.gz)?");
+	private static final String COMPRESSED_SUFFIX = ".gz";
+
+	private final File m_logDir;
+
+	// 로그 디렉토리 별로 공유되는 감시 객체들. 같은 로그를 따라 읽는 여러 {@link Watcher}들은
+	// 하나의 {@link WatchService}를 공유한다.
+	private static final Map<Path,DirectoryWatch> s_dirWatches = new HashMap<>();
+
+	/**
+	 * 로그에서 읽은 한 줄을 처리하는 인터페이스.
+	 */
+	@FunctionalInterface
+	public interface LineConsumer {
+		/**
+		 * 한 줄을 처리한다.
+		 *
+		 * @param line		줄 끝 문자가 제거된 줄 내용.
+		 * @param endOffset	다음 줄의 시작 위치.
+		 * @return	계속 읽을지 여부.
+		 */
+		public boolean accept(String line, long endOffset);
+	}
+
+	/**
+	 * 주어진 로그 디렉토리의 표준 출력 로그를 읽는 객체를 생성한다.
+	 *
+	 * @param logDir	MDTInstance 로그 디렉토리.
+	 */
+	public OutputLogFile(File logDir) {
+		Preconditions.checkArgument(logDir != null, "log directory is null");
+
+		m_logDir = logDir;
+	}
+
+	public File getLogDirectory() {
+		return m_logDir;
+	}
+
+	/**
+	 * 현재 남아있는 로그의 시작 위치를 반환한다.
+	 * <p>
+	 * 보관 한도를 넘어 오래된 segment가 삭제된 경우는 0보다 크다.
+	 *
+	 * @return	로그 시작 위치.
+	 * @throws IOException	로그를 읽을 수 없는 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public long getStartOffset() throws IOException {
+		return listSegmentsOrThrow().get(0).start();
+	}
+
+	/**
+	 * 로그의 마지막 (현재 기록 중인) segment 파일을 반환한다.
+	 *
+	 * @return	segment 파일.
+	 * @throws IOException	로그를 읽을 수 없는 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public File getLastSegmentFile() throws IOException {
+		List<Segment> segments = listSegmentsOrThrow();
+		return segments.get(segments.size()-1).file();
+	}
+
+	/**
+	 * 로그의 끝 위치(지금까지 기록된 전체 로그의 크기)를 반환한다.
+	 *
+	 * @return	로그 끝 위치.
+	 * @throws IOException	로그를 읽을 수 없는 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public long size() throws IOException {
+		List<Segment> segments = listSegmentsOrThrow();
+		return segments.get(segments.size()-1).end();
+	}
+
+	/**
+	 * 로그의 마지막 {@code nlines}줄이 시작되는 위치를 반환한다.
+	 * <p>
+	 * 로그의 끝에서부터 segment 별로 거꾸로 읽어가며 줄 끝 문자를 센다.
+	 * 남아있는 로그 전체가 {@code nlines}줄 보다 짧은 경우는 로그 시작 위치를 반환한다.
+	 *
+	 * @param nlines	줄 수.
+	 * @return	마지막 {@code nlines}줄의 시작 위치.
+	 * @throws IOException	로그를 읽을 수 없는 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public long findTailOffset(int nlines) throws IOException {
+		Preconditions.checkArgument(nlines >= 0, "invalid tail lines: %s", nlines);
+
+		List<Segment> segments = listSegmentsOrThrow();
+		long end = segments.get(segments.size()-1).end();
+		if ( nlines == 0 ) {
+			return end;
+		}
+
+		int remains = nlines;
+		for ( int idx = segments.size()-1; idx >= 0; --idx ) {
+			Segment seg = segments.get(idx);
+			// 로그의 마지막 줄 끝 문자는 줄 수에 포함하지 않는다.
+			long ignored = end - 1 - seg.start();
+			try {
+				long[] found = findTail(seg, remains, ignored);
+				if ( found[0] >= 0 ) {
+					return seg.start() + found[0];
+				}
+				remains -= (int)found[1];
+			}
+			catch ( NoSuchFileException e ) {
+				// 읽는 도중에 보관 한도를 넘어 삭제된 segment이므로, 그 다음 위치부터 반환한다.
+				return seg.end();
+			}
+		}
+		return segments.get(0).start();
+	}
+
+	/**
+	 * 로그의 주어진 범위의 내용을 주어진 채널로 전달한다.
+	 * <p>
+	 * 범위가 로그 끝을 넘는 경우는 로그 끝까지만 전달되고, 이미 삭제된 부분은 건너뛴다.
+	 *
+	 * @param offset	시작 위치.
+	 * @param length	전달할 최대 바이트 수.
+	 * @param target	내용을 전달받을 채널.
+	 * @return	전달된 바이트 수.
+	 * @throws IOException	로그를 읽거나 채널에 기록하는 중 오류가 발생한 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public long transferTo(long offset, long length, WritableByteChannel target) throws IOException {
+		Preconditions.checkArgument(offset >= 0, "invalid offset: %s", offset);
+		Preconditions.checkArgument(length >= 0, "invalid length: %s", length);
+
+		long limit = offset + Math.min(length, Long.MAX_VALUE - offset);
+		long total = 0;
+		for ( Segment seg: listSegmentsOrThrow() ) {
+			long from = Math.max(offset, seg.start());
+			long to = Math.min(limit, seg.end());
+			if ( from >= to ) {
+				continue;
+			}
+
+			try {
+				total += transfer(seg, from - seg.start(), to - from, target);
+			}
+			catch ( NoSuchFileException e ) {
+				// 읽는 도중에 보관 한도를 넘어 삭제된 segment는 건너뛴다.
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * 주어진 위치부터 현재 로그 끝까지의 완성된 줄들을 차례대로 읽는다.
+	 * <p>
+	 * 줄 끝 문자로 끝나지 않은 마지막 줄은 아직 기록 중인 것으로 보고 읽지 않는다.
+	 * 단, {@value #MAX_LINE_LENGTH} 바이트를 넘는 줄은 해당 크기 단위로 나누어 전달한다.
+	 * 주어진 위치가 이미 삭제된 부분인 경우는 남아있는 로그의 시작 위치부터 읽는다.
+	 *
+	 * @param offset	시작 위치.
+	 * @param consumer	읽은 줄을 처리할 {@link LineConsumer}.
+	 * @return	마지막으로 처리한 줄의 다음 위치. 다음 호출의 시작 위치로 사용된다.
+	 * @throws IOException	로그를 읽을 수 없는 경우.
+	 * @throws ResourceNotFoundException	기록된 로그가 없는 경우.
+	 */
+	public long readLines(long offset, LineConsumer consumer) throws IOException {
+		Preconditions.checkArgument(offset >= 0, "invalid offset: %s", offset);
+
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		byte[] buf = new byte[BLOCK_SIZE];
+		long lineEnd = offset;
+		long pos = offset;
+		for ( Segment seg: listSegmentsOrThrow() ) {
+			if ( seg.end() <= pos ) {
+				continue;
+			}
+			if ( seg.start() > pos ) {
+				// 삭제된 부분을 건너뛴다. 이어지지 않는 앞 부분은 버린다.
+				pos = lineEnd = seg.start();
+				line.reset();
+			}
+
+			try ( InputStream is = seg.open() ) {
+				is.skipNBytes(pos - seg.start());
+				int nbytes;
+				while ( (nbytes = is.read(buf)) > 0 ) {
+					for ( int i = 0; i < nbytes; ++i ) {
+						if ( buf[i] == '\n' ) {
+							lineEnd = pos + i + 1;
+							if ( !consumer.accept(toLine(line), lineEnd) ) {
+								return lineEnd;
+							}
+							line.reset();
+						}
+						else {
+							line.write(buf[i]);
+							if ( line.size() >= MAX_LINE_LENGTH ) {
+								lineEnd = pos + i + 1;
+								if ( !consumer.accept(toLine(line), lineEnd) ) {
+									return lineEnd;
+								}
+								line.reset();
+							}
+						}
+					}
+					pos += nbytes;
+				}
+			}
+			catch ( NoSuchFileException e ) {
+				// 읽는 도중에 보관 한도를 넘어 삭제된 segment는 건너뛴다.
+				pos = lineEnd = seg.end();
+				line.reset();
+			}
+		}
+		return lineEnd;
+	}
+
+	/**
+	 * 로그의 변경을 감시하는 {@link Watcher}를 생성한다.
+	 *
+	 * @return	{@link Watcher} 객체.
+	 * @throws IOException	감시를 시작할 수 없는 경우.
+	 */
+	public Watcher watch() throws IOException {
+		return new Watcher();
+	}
+
+	/**
+	 * 로그에 내용이 추가되는 것을 기다리는 모듈.
+	 * <p>
+	 * 로그 디렉토리에 대한 {@link WatchService}를 사용하기 때문에 로그 크기를 주기적으로 확인하지 않고
+	 * 변경이 발생한 경우에만 깨어난다. {@link WatchService}는 로그 디렉토리 별로 하나만 생성되어
+	 * 같은 로그를 따라 읽는 모든 {@link Watcher}들이 공유하며, 마지막 {@link Watcher}가 닫힐 때 닫힌다.
+	 */
+	public class Watcher implements Closeable {
+		private final DirectoryWatch m_watch;
+		private boolean m_closed = false;
+
+		private Watcher() throws IOException {
+			m_watch = DirectoryWatch.acquire(m_logDir.getAbsoluteFile().toPath());
+		}
+
+		/**
+		 * 로그의 크기가 주어진 크기와 달라질 때까지 대기한다.
+		 *
+		 * @param knownSize	현재까지 읽은 크기.
+		 * @param timeout	최대 대기 시간.
+		 * @return	크기가 달라진 경우는 {@code true}, 제한 시간이 경과한 경우는 {@code false}.
+		 * @throws IOException	로그를 읽을 수 없는 경우.
+		 * @throws InterruptedException	대기 중에 쓰레드가 인터럽트된 경우.
+		 */
+		public boolean awaitChange(long knownSize, Duration timeout) throws IOException, InterruptedException {
+			long deadline = System.nanoTime() + timeout.toNanos();
+			while ( true ) {
+				// 크기를 확인하기 전에 변경 횟수를 읽어야 그 사이에 발생한 변경을 놓치지 않는다.
+				long changes = m_watch.getChangeCount();
+				if ( size() != knownSize ) {
+					return true;
+				}
+
+				long remainingNanos = deadline - System.nanoTime();
+				if ( remainingNanos <= 0 ) {
+					return false;
+				}
+				m_watch.awaitChange(changes, remainingNanos);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if ( !m_closed ) {
+				m_closed = true;
+				DirectoryWatch.release(m_watch);
+			}
+		}
+	}
+
+	/**
+	 * 하나의 로그 디렉토리에 대한 {@link WatchService}와 이를 읽는 쓰레드.
+	 * <p>
+	 * 디렉토리에 변경이 발생할 때마다 변경 횟수를 증가시키고 대기 중인 {@link Watcher}들을 깨운다.
+	 * 대기는 virtual thread에서 이루어지므로 carrier thread를 점유하지 않도록 {@link ReentrantLock}을 사용한다.
+	 */
+	private static final class DirectoryWatch {
+		private final Path m_dir;
+		private final WatchService m_service;
+		private int m_refCount = 0;		// guarded by s_dirWatches
+		private boolean m_valid = true;	// guarded by s_dirWatches
+
+		private final ReentrantLock m_lock = new ReentrantLock();
+		private final Condition m_changed = m_lock.newCondition();
+		private long m_changeCount = 0;
+
+		private DirectoryWatch(Path dir) throws IOException {
+			m_dir = dir;
+			m_service = FileSystems.getDefault().newWatchService();
+			try {
+				dir.register(m_service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			}
+			catch ( IOException e ) {
+				m_service.close();
+				throw e;
+			}
+			Thread.ofVirtual().name("mdt-log-watch").start(this::run);
+		}
+
+		static DirectoryWatch acquire(Path dir) throws IOException {
+			synchronized ( s_dirWatches ) {
+				DirectoryWatch watch = s_dirWatches.get(dir);
+				if ( watch == null || !watch.m_valid ) {
+					watch = new DirectoryWatch(dir);
+					s_dirWatches.put(dir, watch);
+				}
+				++watch.m_refCount;
+				return watch;
+			}
+		}
+
+		static void release(DirectoryWatch watch) throws IOException {
+			synchronized ( s_dirWatches ) {
+				if ( --watch.m_refCount > 0 ) {
+					return;
+				}
+				s_dirWatches.remove(watch.m_dir, watch);
+			}
+			watch.m_service.close();
+		}
+
+		long getChangeCount() {
+			m_lock.lock();
+			try {
+				return m_changeCount;
+			}
+			finally {
+				m_lock.unlock();
+			}
+		}
+
+		void awaitChange(long changeCount, long timeoutNanos) throws InterruptedException {
+			m_lock.lock();
+			try {
+				long remainingNanos = timeoutNanos;
+				while ( m_changeCount == changeCount && remainingNanos > 0 ) {
+					remainingNanos = m_changed.awaitNanos(remainingNanos);
+				}
+			}
+			finally {
+				m_lock.unlock();
+			}
+		}
+
+		private void run() {
+			try {
+				while ( true ) {
+					WatchKey key = m_service.take();
+					key.pollEvents();
+					boolean valid = key.reset();
+
+					m_lock.lock();
+					try {
+						++m_changeCount;
+						m_changed.signalAll();
+					}
+					finally {
+						m_lock.unlock();
+					}
+
+					if ( !valid ) {
+						// 로그 디렉토리가 삭제된 경우로, 이후의 감시 요청에서는 새로 등록하도록 한다.
+						synchronized ( s_dirWatches ) {
+							m_valid = false;
+						}
+						return;
+					}
+				}
+			}
+			catch ( InterruptedException | ClosedWatchServiceException e ) {
+				// 마지막 Watcher가 닫힌 경우.
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("OutputLogFile[%s]", m_logDir.getAbsolutePath());
+	}
+
+	/**
+	 * 표준 출력 로그의 한 segment 파일.
+	 *
+	 * @param start			전체 로그에서 본 segment의 시작 위치.
+	 * @param length		본 segment의 (압축되지 않은) 크기.
+	 * @param file			segment 파일.
+	 * @param compressed	압축 여부.
+	 */
+	record Segment(long start, long length, File file, boolean compressed) {
+		long end() {
+			return start + length;
+		}
+
+		InputStream open() throws IOException {
+			if ( compressed ) {
+				InputStream is = Files.newInputStream(file.toPath());
+				return new GZIPInputStream(new BufferedInputStream(is, BLOCK_SIZE), BLOCK_SIZE);
+			}
+			try {
+				return Files.newInputStream(file.toPath());
+			}
+			catch ( NoSuchFileException e ) {
+				return toCompressed().open();
+			}
+		}
+
+		/**
+		 * 본 segment가 압축된 경우의 segment를 반환한다.
+		 * <p>
+		 * 목록을 얻은 후 압축이 완료되어 원본 파일이 삭제된 경우에 사용된다.
+		 */
+		Segment toCompressed() {
+			return new Segment(start, length, toSegmentFile(file.getParentFile(), start, true), true);
+		}
+	}
+
+	/**
+	 * 주어진 시작 위치에 해당하는 segment 파일을 반환한다.
+	 *
+	 * @param logDir		로그 디렉토리.
+	 * @param start			segment 시작 위치.
+	 * @param compressed	압축 여부.
+	 * @return	segment 파일.
+	 */
+	static File toSegmentFile(File logDir, long start, boolean compressed) {
+		String name = String.format("output-%d.log%s", start, (compressed) ? COMPRESSED_SUFFIX : "");
+		return new File(logDir, name);
+	}
+
+	/**
+	 * 주어진 로그 디렉토리의 segment들을 시작 위치 순서대로 반환한다.
+	 * <p>
+	 * 압축 중인 segment는 압축 파일과 원본 파일이 함께 존재할 수 있는데, 이 경우는 원본 파일이 사용된다.
+	 *
+	 * @param logDir	로그 디렉토리.
+	 * @return	segment 리스트.
+	 */
+	static List<Segment> listSegments(File logDir) {
+		File[] files = logDir.listFiles();
+		if ( files == null ) {
+			return List.of();
+		}
+
+		Map<Long,Segment> segments = new TreeMap<>();
+		for ( File file: files ) {
+			Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+			if ( !matcher.matches() ) {
+				continue;
+			}
+
+			long start = Long.parseLong(matcher.group(1));
+			boolean compressed = matcher.group(2) != null;
+			if ( compressed && segments.containsKey(start) ) {
+				continue;
+			}
+			try {
+				long length = (compressed) ? readUncompressedSize(file) : file.length();
+				segments.put(start, new Segment(start, length, file, compressed));
+			}
+			catch ( IOException e ) {
+				// 목록을 얻은 후 삭제된 경우이므로 무시한다.
+			}
+		}
+		return new ArrayList<>(segments.values());
+	}
+
+	private List<Segment> listSegmentsOrThrow() {
+		List<Segment> segments = listSegments(m_logDir);
+		if ( segments.isEmpty() ) {
+			// 로그 디렉토리가 없거나 아직 아무 segment도 기록되지 않은 경우.
+			throw new ResourceNotFoundException("OutputLog", "dir=" + m_logDir.getAbsolutePath());
+		}
+		return segments;
+	}
+
+	private static long readUncompressedSize(File gzFile) throws IOException {
+		// gzip trailer의 마지막 4 바이트는 압축 전 크기(mod 2^32)이다.
+		// segment 크기는 4GB 보다 작기 때문에 그대로 사용한다.
+		try ( RandomAccessFile raf = new RandomAccessFile(gzFile, "r") ) {
+			if ( raf.length() < 4 ) {
+				return 0;
+			}
+			raf.seek(raf.length() - 4);
+			int b0 = raf.read(), b1 = raf.read(), b2 = raf.read(), b3 = raf.read();
+			return ((long)b3 << 24) | (b2 << 16) | (b1 << 8) | b0;
+		}
+	}
+
+	private static long transfer(Segment seg, long from, long length, WritableByteChannel target)
+		throws IOException {
+		if ( !seg.compressed() ) {
+			try {
+				return transferRaw(seg, from, length, target);
+			}
+			catch ( NoSuchFileException e ) {
+				seg = seg.toCompressed();
+			}
+		}
+		return transferCompressed(seg, from, length, target);
+	}
+
+	private static long[] findTail(Segment seg, int nlines, long ignored) throws IOException {
+		if ( !seg.compressed() ) {
+			try {
+				return findTailInRaw(seg, nlines, ignored);
+			}
+			catch ( NoSuchFileException e ) {
+				seg = seg.toCompressed();
+			}
+		}
+		return findTailInCompressed(seg, nlines, ignored);
+	}
+
+	private static long transferRaw(Segment seg, long from, long length, WritableByteChannel target)
+		throws IOException {
+		try ( FileChannel ch = openRaw(seg) ) {
+			long pos = from;
+			long end = from + length;
+			while ( pos < end ) {
+				long nbytes = ch.transferTo(pos, end - pos, target);
+				if ( nbytes <= 0 ) {
+					break;
+				}
+				pos += nbytes;
+			}
+			return pos - from;
+		}
+	}
+
+	private static long transferCompressed(Segment seg, long from, long length, WritableByteChannel target)
+		throws IOException {
+		byte[] buf = new byte[BLOCK_SIZE];
+		try ( InputStream is = seg.open() ) {
+			is.skipNBytes(from);
+
+			long remains = length;
+			while ( remains > 0 ) {
+				int nbytes = is.read(buf, 0, (int)Math.min(buf.length, remains));
+				if ( nbytes <= 0 ) {
+					break;
+				}
+				ByteBuffer bbuf = ByteBuffer.wrap(buf, 0, nbytes);
+				while ( bbuf.hasRemaining() ) {
+					target.write(bbuf);
+				}
+				remains -= nbytes;
+			}
+			return length - remains;
+		}
+	}
+
+	// 반환값: { 찾은 위치 (segment 내 위치, 없으면 -1), segment 내에서 센 줄 끝 문자 수 }
+	private static long[] findTailInRaw(Segment seg, int nlines, long ignored) throws IOException {
+		try ( FileChannel ch = openRaw(seg) ) {
+			ByteBuffer buf = ByteBuffer.allocate(BLOCK_SIZE);
+			long pos = seg.length();
+			int count = 0;
+			while ( pos > 0 ) {
+				int nbytes = (int)Math.min(BLOCK_SIZE, pos);
+				pos -= nbytes;
+				buf.clear().limit(nbytes);
+				readFully(ch, buf, pos);
+
+				for ( int i = nbytes-1; i >= 0; --i ) {
+					if ( buf.get(i) == '\n' && pos + i != ignored ) {
+						if ( ++count == nlines ) {
+							return new long[] { pos + i + 1, count };
+						}
+					}
+				}
+			}
+			return new long[] { -1, count };
+		}
+	}
+
+	private static long[] findTailInCompressed(Segment seg, int nlines, long ignored) throws IOException {
+		// 압축된 segment는 거꾸로 읽을 수 없으므로, 줄 끝 문자 수를 센 후 필요한 경우 다시 읽어 위치를 찾는다.
+		long count = countNewlines(seg, ignored, Long.MAX_VALUE)[0];
+		if ( count < nlines ) {
+			return new long[] { -1, count };
+		}
+		long[] found = countNewlines(seg, ignored, count - nlines + 1);
+		return new long[] { found[1], nlines };
+	}
+
+	// 반환값: { 센 줄 끝 문자 수, stopAt번째 줄 끝 문자 다음 위치 }
+	private static long[] countNewlines(Segment seg, long ignored, long stopAt) throws IOException {
+		byte[] buf = new byte[BLOCK_SIZE];
+		try ( InputStream is = seg.open() ) {
+			long count = 0;
+			long pos = 0;
+			int nbytes;
+			while ( (nbytes = is.read(buf)) > 0 ) {
+				for ( int i = 0; i < nbytes; ++i ) {
+					if ( buf[i] == '\n' && pos + i != ignored ) {
+						if ( ++count == stopAt ) {
+							return new long[] { count, pos + i + 1 };
+						}
+					}
+				}
+				pos += nbytes;
+			}
+			return new long[] { count, -1 };
+		}
+	}
+
+	private static FileChannel openRaw(Segment seg) throws IOException {
+		return FileChannel.open(seg.file().toPath(), StandardOpenOption.READ);
+	}
+
+	private static String toLine(ByteArrayOutputStream bytes) {
+		String line = bytes.toString(StandardCharsets.UTF_8);
+		return line.endsWith("\r") ? line.substring(0, line.length()-1) : line;
+	}
+
+	private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+		while ( buf.hasRemaining() ) {
+			if ( ch.read(buf, position + buf.position()) < 0 ) {
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package mdt.exector.jar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import utils.KeyValue;
+
+
+/**
+ * MDTInstance 프로세스의 표준 출력을 pipe로 읽어 로그({@link RollingLogWriter})에 기록하면서, 시작 완료/실패를 알리는
+ * sentinel 문자열을 검사하는 모듈.
+ * <p>
+ * 출력은 줄 단위로 도착하는 즉시 검사되기 때문에, 로그 파일을 주기적으로 다시 읽어 검사하는 방식과 달리
+ * sentinel이 출력되자 마자 {@link #whenSentinelFound()}가 완료된다. sentinel이 발견된 후에도
+ * 프로세스가 종료될 때까지 출력을 계속 읽어 로그 파일에 기록한다. 그렇지 않으면 pipe가 가득 차서
+ * 프로세스가 멈추게 된다. 같은 이유로 로그 기록에 실패한 이후에도 출력은 끝까지 읽어서 버린다.
+ * 줄 끝 문자 없이 계속되는 출력은 {@value #MAX_LINE_LENGTH} 문자 단위의 줄로 나누어 기록한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class ProcessOutputPump implements Runnable {
+	private static final Logger s_logger = LoggerFactory.getLogger(ProcessOutputPump.class);
+	private static final int MAX_LINE_LENGTH = 64 * 1024;	// 한 줄로 기록할 최대 문자 수
+
+	private final String m_instanceId;
+	private final InputStream m_output;
+	private final RollingLogWriter m_logWriter;
+	private final SentinelFinder m_finder;
+	private final CompletableFuture<KeyValue<Integer,String>> m_sentinel = new CompletableFuture<>();
+	private final StringBuilder m_lineBuffer = new StringBuilder();
+	private boolean m_skipLF = false;		// 직전 줄이 '\r'로 끝난 경우
+	private boolean m_discarding = false;	// 로그 기록에 실패하여 출력을 버리는 중인지 여부
+
+	/**
+	 * 출력 처리 모듈을 생성한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param output	MDTInstance 프로세스의 표준 출력 스트림.
+	 * @param logWriter	출력을 기록할 로그. 출력이 종료되면 닫힌다.
+	 * @param sentinels	검사할 sentinel 문자열 리스트.
+	 */
+	public ProcessOutputPump(String instId, InputStream output, RollingLogWriter logWriter,
+								List<String> sentinels) {
+		Preconditions.checkArgument(output != null, "process output is null");
+		Preconditions.checkArgument(logWriter != null, "log writer is null");
+
+		m_instanceId = instId;
+		m_output = output;
+		m_logWriter = logWriter;
+		m_finder = new SentinelFinder(sentinels);
+	}
+
+	/**
+	 * 주어진 실행기를 통해 출력 처리를 시작시킨다.
+	 *
+	 * @param executor	출력 처리를 수행할 실행기.
+	 * @return	본 객체.
+	 */
+	public ProcessOutputPump start(Executor executor) {
+		executor.execute(this);
+		return this;
+	}
+
+	/**
+	 * sentinel 문자열이 발견되면 완료되는 {@link CompletableFuture}를 반환한다.
+	 * <p>
+	 * sentinel이 발견되기 전에 프로세스 출력이 종료된 경우는 {@code null}로 완료된다.
+	 *
+	 * @return	발견된 sentinel의 인덱스 번호와 해당 출력 줄.
+	 */
+	public CompletableFuture<KeyValue<Integer,String>> whenSentinelFound() {
+		return m_sentinel;
+	}
+
+	@Override
+	public void run() {
+		try ( BufferedReader reader = new BufferedReader(new InputStreamReader(m_output, StandardCharsets.UTF_8));
+				RollingLogWriter writer = m_logWriter ) {
+			String line;
+			while ( (line = readLine(reader)) != null ) {
+				write(writer, line);
+
+				if ( !m_sentinel.isDone() && !m_finder.handleLogTail(line) ) {
+					// 로그 파일에서 sentinel 줄을 바로 확인할 수 있도록 먼저 기록한다.
+					flush(writer);
+					m_sentinel.complete(m_finder.getSentinel());
+				}
+				// 이어서 도착한 출력이 없는 경우에만 기록하여 출력이 많은 경우의 기록 횟수를 줄인다.
+				if ( !reader.ready() ) {
+					flush(writer);
+				}
+			}
+		}
+		catch ( IOException e ) {
+			if ( s_logger.isDebugEnabled() ) {
+				s_logger.debug("stopped reading MDTInstance output: id={}, cause={}", m_instanceId, e.toString());
+			}
+		}
+		finally {
+			m_sentinel.complete(null);
+		}
+	}
+
+	// 로그 기록에 실패하더라도 pipe가 가득 차서 프로세스가 멈추지 않도록, 이후의 출력은 기록하지 않고
+	// 출력이 끝날 때까지 계속 읽어 버린다. sentinel 검사는 계속 수행된다.
+	private void write(RollingLogWriter writer, String line) {
+		if ( !m_discarding ) {
+			try {
+				writer.writeLine(line);
+			}
+			catch ( IOException | RuntimeException e ) {
+				startDiscarding(e);
+			}
+		}
+	}
+
+	private void flush(RollingLogWriter writer) {
+		if ( !m_discarding ) {
+			try {
+				writer.flush();
+			}
+			catch ( IOException | RuntimeException e ) {
+				startDiscarding(e);
+			}
+		}
+	}
+
+	private void startDiscarding(Exception cause) {
+		m_discarding = true;
+		s_logger.warn("failed to write MDTInstance output, discard the remaining output: id={}, cause={}",
+						m_instanceId, cause.toString());
+	}
+
+	// BufferedReader.readLine()과 같이 '\n', '\r', 또는 "\r\n"을 줄 끝으로 인식하되,
+	// 줄 끝 문자 없이 출력되는 내용이 메모리를 계속 차지하지 않도록 {@value #MAX_LINE_LENGTH} 문자 단위로 나눈다.
+	private @Nullable String readLine(BufferedReader reader) throws IOException {
+		m_lineBuffer.setLength(0);
+
+		int c;
+		while ( (c = reader.read()) >= 0 ) {
+			if ( m_skipLF ) {
+				m_skipLF = false;
+				if ( c == '\n' ) {
+					continue;
+				}
+			}
+			if ( c == '\n' ) {
+				return m_lineBuffer.toString();
+			}
+			if ( c == '\r' ) {
+				m_skipLF = true;
+				return m_lineBuffer.toString();
+			}
+
+			m_lineBuffer.append((char)c);
+			// surrogate pair가 나뉘지 않도록 high surrogate로 끝나는 경우는 한 문자를 더 읽는다.
+			if ( m_lineBuffer.length() >= MAX_LINE_LENGTH && !Character.isHighSurrogate((char)c) ) {
+				return m_lineBuffer.toString();
+			}
+		}
+		return (m_lineBuffer.length() > 0) ? m_lineBuffer.toString() : null;
+	}
+}
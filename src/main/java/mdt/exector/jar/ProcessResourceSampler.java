@@ -0,0 +1,237 @@
+package mdt.exector.jar;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+
+/**
+ * 실행 중인 MDTInstance 프로세스들의 자원 사용량을 주기적으로 수집하는 모듈.
+ * <p>
+ * 하나의 쓰레드가 주기적으로 모든 프로세스의 {@code /proc/<pid>/stat}(CPU 시간),
+ * {@code /proc/<pid>/status}(RSS, 쓰레드 수)와 {@code /proc/<pid>/fd}(열린 파일 수)를 읽는다.
+ * 수집된 값은 MDTInstance 별로 최근 {@code historySize}개만 유지된다.
+ * CPU 사용률은 이전 수집 이후 사용한 CPU 시간의 비율이며, 여러 코어를 사용하는 경우는 100%를 넘을 수 있다.
+ * <p>
+ * {@code /proc} 파일 시스템이 없는 환경에서는 수집하지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class ProcessResourceSampler {
+	private static final Logger s_logger = LoggerFactory.getLogger(ProcessResourceSampler.class);
+
+	// /proc/<pid>/stat의 CPU 시간 단위 (USER_HZ). Linux에서는 사실상 항상 100이다.
+	private static final long CLOCK_TICKS_PER_SECOND = 100;
+	private static final Path PROC_DIR = Path.of("/proc");
+
+	/**
+	 * 한 시점의 프로세스 자원 사용량.
+	 *
+	 * @param timestamp		수집 시각 (epoch 밀리초).
+	 * @param cpuPercent	이전 수집 이후의 CPU 사용률 (%). 첫번째 수집인 경우는 {@code null}.
+	 * @param rssBytes		물리 메모리 사용량 (바이트).
+	 * @param threads		쓰레드 수.
+	 * @param openFiles		열린 파일 기술자 수. 확인할 수 없는 경우는 -1.
+	 */
+	public record Sample(long timestamp, @Nullable Double cpuPercent, long rssBytes, int threads, int openFiles) { }
+
+	/**
+	 * MDTInstance 프로세스의 자원 사용량.
+	 *
+	 * @param instanceId	MDTInstance 식별자.
+	 * @param pid			프로세스 식별자. 실행 중이 아닌 경우는 {@code null}.
+	 * @param current		가장 최근의 사용량. 아직 수집되지 않은 경우는 {@code null}.
+	 * @param history		최근 사용량 리스트 (오래된 순서).
+	 */
+	public record ResourceUsage(String instanceId, @Nullable Long pid, @Nullable Sample current,
+								List<Sample> history) { }
+
+	private final Supplier<Map<String,Long>> m_pidSupplier;
+	private final Duration m_interval;
+	private final int m_historySize;
+	private final Map<String,History> m_histories = new ConcurrentHashMap<>();
+	private ScheduledExecutorService m_scheduler = null;
+
+	/**
+	 * 수집기를 생성한다.
+	 *
+	 * @param pidSupplier	실행 중인 MDTInstance 식별자 별 프로세스 식별자를 제공하는 함수.
+	 * @param interval		수집 주기.
+	 * @param historySize	MDTInstance 별로 유지할 최근 수집 결과 수.
+	 */
+	public ProcessResourceSampler(Supplier<Map<String,Long>> pidSupplier, Duration interval, int historySize) {
+		Preconditions.checkArgument(pidSupplier != null, "pid supplier is null");
+		Preconditions.checkArgument(interval != null && !interval.isNegative() && !interval.isZero(),
+									"invalid resource sample interval: %s", interval);
+		Preconditions.checkArgument(historySize > 0, "invalid resource history size: %s", historySize);
+
+		m_pidSupplier = pidSupplier;
+		m_interval = interval;
+		m_historySize = historySize;
+	}
+
+	/**
+	 * 주기적인 수집을 시작한다.
+	 */
+	public synchronized void start() {
+		if ( m_scheduler != null ) {
+			return;
+		}
+		if ( !Files.isDirectory(PROC_DIR.resolve("self")) ) {
+			s_logger.info("/proc is not available, disable MDTInstance resource sampling");
+			return;
+		}
+
+		m_scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+																		.name("mdt-resource-sampler")
+																		.daemon()
+																		.factory());
+		long intervalMillis = m_interval.toMillis();
+		m_scheduler.scheduleWithFixedDelay(this::sampleAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 수집을 중지한다.
+	 */
+	public synchronized void stop() {
+		if ( m_scheduler != null ) {
+			m_scheduler.shutdownNow();
+			m_scheduler = null;
+		}
+	}
+
+	/**
+	 * 주어진 MDTInstance 프로세스의 자원 사용량을 반환한다.
+	 *
+	 * @param instanceId	MDTInstance 식별자.
+	 * @return	자원 사용량. 실행 중이 아니거나 아직 수집되지 않은 경우는 수집값이 비어있다.
+	 */
+	public ResourceUsage getUsage(String instanceId) {
+		History history = m_histories.get(instanceId);
+		return (history != null) ? history.toUsage(instanceId) : new ResourceUsage(instanceId, null, null, List.of());
+	}
+
+	/**
+	 * 실행 중인 모든 MDTInstance 프로세스의 자원 사용량을 반환한다.
+	 *
+	 * @return	MDTInstance 식별자 별 자원 사용량.
+	 */
+	public Map<String,ResourceUsage> getUsageAll() {
+		Map<String,ResourceUsage> usages = Maps.newHashMap();
+		m_histories.forEach((id, history) -> usages.put(id, history.toUsage(id)));
+		return usages;
+	}
+
+	private void sampleAll() {
+		// 예외가 발생하면 이후의 주기적 수집이 중단되므로 모든 예외를 처리한다.
+		try {
+			Map<String,Long> pids = m_pidSupplier.get();
+			m_histories.keySet().retainAll(pids.keySet());
+
+			pids.forEach((id, pid) -> {
+				History history = m_histories.compute(id, (k, old) -> (old != null && old.m_pid == pid)
+																		? old : new History(pid, m_historySize));
+				try {
+					history.add(sample(history));
+				}
+				catch ( IOException | RuntimeException e ) {
+					// 목록을 얻은 후 프로세스가 종료된 경우로, 다음 주기에 목록에서 제거된다.
+					if ( s_logger.isDebugEnabled() ) {
+						s_logger.debug("failed to sample MDTInstance process: id={}, pid={}, cause={}",
+										id, pid, e.toString());
+					}
+				}
+			});
+		}
+		catch ( Throwable e ) {
+			s_logger.warn("failed to sample MDTInstance processes, cause={}", e.toString());
+		}
+	}
+
+	private static Sample sample(History history) throws IOException {
+		Path procDir = PROC_DIR.resolve(Long.toString(history.m_pid));
+		long now = System.nanoTime();
+
+		// 프로세스 이름(comm)에 공백이 포함될 수 있으므로, 마지막 ')' 이후의 필드들을 사용한다.
+		// 예: "1234 (java) S 1 ..." -> [ "S", "1", ... ] (utime: 14번째, stime: 15번째 필드)
+		String stat = Files.readString(procDir.resolve("stat"), StandardCharsets.US_ASCII);
+		String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+		long cpuTicks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+
+		long rssBytes = -1;
+		int threads = -1;
+		for ( String line: Files.readAllLines(procDir.resolve("status"), StandardCharsets.US_ASCII) ) {
+			if ( line.startsWith("VmRSS:") ) {
+				// 예: "VmRSS:	  123456 kB"
+				rssBytes = Long.parseLong(line.substring(6).trim().split("\\s+")[0]) * 1024;
+			}
+			else if ( line.startsWith("Threads:") ) {
+				threads = Integer.parseInt(line.substring(8).trim());
+			}
+		}
+
+		String[] fds = new File(procDir.toFile(), "fd").list();
+		int openFiles = (fds != null) ? fds.length : -1;
+
+		Double cpuPercent = null;
+		if ( history.m_prevCpuTicks >= 0 && now > history.m_prevNanos ) {
+			double cpuSeconds = (double)(cpuTicks - history.m_prevCpuTicks) / CLOCK_TICKS_PER_SECOND;
+			double elapsedSeconds = (now - history.m_prevNanos) / 1e9;
+			cpuPercent = Math.round(cpuSeconds / elapsedSeconds * 1000) / 10.0;
+		}
+		history.m_prevCpuTicks = cpuTicks;
+		history.m_prevNanos = now;
+
+		return new Sample(System.currentTimeMillis(), cpuPercent, rssBytes, threads, openFiles);
+	}
+
+	// MDTInstance 별 최근 수집 결과를 유지하는 ring buffer.
+	private static class History {
+		private final long m_pid;
+		private final Sample[] m_ring;
+		private int m_next = 0;
+		private int m_count = 0;
+		// 수집 쓰레드에서만 접근됨
+		private long m_prevCpuTicks = -1;
+		private long m_prevNanos = 0;
+
+		History(long pid, int size) {
+			m_pid = pid;
+			m_ring = new Sample[size];
+		}
+
+		synchronized void add(Sample sample) {
+			m_ring[m_next] = sample;
+			m_next = (m_next + 1) % m_ring.length;
+			m_count = Math.min(m_count + 1, m_ring.length);
+		}
+
+		synchronized ResourceUsage toUsage(String instanceId) {
+			List<Sample> samples = new ArrayList<>(m_count);
+			int first = (m_next - m_count + m_ring.length) % m_ring.length;
+			for ( int i = 0; i < m_count; ++i ) {
+				samples.add(m_ring[(first + i) % m_ring.length]);
+			}
+			Sample current = (m_count > 0) ? samples.get(m_count-1) : null;
+			return new ResourceUsage(instanceId, m_pid, current, samples);
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package mdt.exector.jar;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import mdt.exector.jar.OutputLogFile.Segment;
+
+
+/**
+ * MDTInstance 프로세스의 표준 출력을 크기 또는 시간 단위의 segment 파일들로 나누어 기록하는 모듈.
+ * <p>
+ * 현재 segment의 크기가 {@code maxSegmentSize} 이상이 되거나, segment를 연 후 {@code maxSegmentAge}가
+ * 경과한 후에 새로운 줄이 기록되면 새 segment로 넘어간다. 닫힌 segment는 압축 실행기가 주어진 경우
+ * 백그라운드에서 gzip으로 압축된다. 또한 segment를 넘길 때와 압축을 마칠 때마다 디스크에 남아있는
+ * 전체 로그 크기가 {@code retentionSize}를 넘지 않도록 가장 오래된 segment부터 삭제한다
+ * (기록 중인 segment는 삭제되지 않는다).
+ * <p>
+ * segment 파일 이름 형식과 읽기는 {@link OutputLogFile}를 참고한다.
+ * 본 객체의 기록 메소드들은 하나의 쓰레드({@link ProcessOutputPump})에서만 호출되어야 한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class RollingLogWriter implements Closeable {
+	private static final Logger s_logger = LoggerFactory.getLogger(RollingLogWriter.class);
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+	private final File m_logDir;
+	private final long m_maxSegmentSize;
+	private final @Nullable Duration m_maxSegmentAge;
+	private final long m_retentionSize;
+	private final @Nullable Executor m_compressor;
+
+	private OutputStream m_out;
+	private volatile long m_segmentStart;	// 현재 segment의 시작 위치
+	private long m_segmentSize;			// 현재 segment에 기록된 크기
+	private long m_segmentOpenedAt;
+
+	/**
+	 * 주어진 로그 디렉토리에 기록하는 객체를 생성한다.
+	 * <p>
+	 * 디렉토리에 이전 실행의 segment들이 존재하는 경우는 그 다음 위치부터 새 segment에 기록한다.
+	 * 이때 이전 실행의 마지막 segment는 닫힌 segment로 간주되어 압축되고, 보관 한도가 적용된다.
+	 *
+	 * @param logDir			로그 디렉토리.
+	 * @param maxSegmentSize	segment의 최대 크기 (바이트).
+	 * @param maxSegmentAge		segment의 최대 기록 기간. {@code null}인 경우는 크기로만 나눈다.
+	 * @param retentionSize		디스크에 유지하는 전체 로그의 최대 크기 (바이트).
+	 * @param compressor		닫힌 segment를 압축할 실행기. {@code null}인 경우는 압축하지 않는다.
+	 * @throws IOException	로그 파일을 생성할 수 없는 경우.
+	 */
+	public RollingLogWriter(File logDir, long maxSegmentSize, @Nullable Duration maxSegmentAge, long retentionSize,
+							@Nullable Executor compressor) throws IOException {
+		Preconditions.checkArgument(logDir != null, "log directory is null");
+		Preconditions.checkArgument(maxSegmentSize > 0, "invalid log segment size: %s", maxSegmentSize);
+		Preconditions.checkArgument(retentionSize > 0, "invalid log retention size: %s", retentionSize);
+
+		m_logDir = logDir;
+		m_maxSegmentSize = maxSegmentSize;
+		m_maxSegmentAge = maxSegmentAge;
+		m_retentionSize = retentionSize;
+		m_compressor = compressor;
+
+		Files.createDirectories(logDir.toPath());
+		List<Segment> segments = OutputLogFile.listSegments(logDir);
+		Segment last = segments.isEmpty() ? null : segments.get(segments.size()-1);
+		openSegment((last != null) ? last.end() : 0);
+
+		// 이전 실행의 마지막 segment는 압축되지 않은 채로 남아있으므로 다른 닫힌 segment들처럼 처리한다.
+		// 비어있는 경우는 새 segment와 같은 파일이므로 이어서 기록된다.
+		if ( last != null && last.length() > 0 ) {
+			if ( m_compressor != null && !last.compressed() ) {
+				m_compressor.execute(() -> compress(last));
+			}
+			enforceRetention();
+		}
+	}
+
+	/**
+	 * 현재 기록 중인 segment 파일을 반환한다.
+	 *
+	 * @return	segment 파일.
+	 */
+	public File getActiveFile() {
+		return OutputLogFile.toSegmentFile(m_logDir, m_segmentStart, false);
+	}
+
+	/**
+	 * 한 줄을 기록한다. 필요한 경우는 먼저 새 segment로 넘어간다.
+	 *
+	 * @param line	줄 끝 문자를 포함하지 않는 줄 내용.
+	 * @throws IOException	기록 중 오류가 발생한 경우.
+	 */
+	public void writeLine(String line) throws IOException {
+		if ( shouldRoll() ) {
+			roll();
+		}
+
+		byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+		m_out.write(bytes);
+		m_out.write(LINE_SEPARATOR);
+		m_segmentSize += bytes.length + LINE_SEPARATOR.length;
+	}
+
+	/**
+	 * 버퍼에 남아있는 내용을 현재 segment 파일에 기록한다.
+	 *
+	 * @throws IOException	기록 중 오류가 발생한 경우.
+	 */
+	public void flush() throws IOException {
+		m_out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		// 마지막 segment는 프로세스 종료 후에도 조회될 수 있도록 압축하지 않고 남긴다.
+		// 다음 시작시 새 RollingLogWriter가 생성될 때 압축된다.
+		m_out.close();
+	}
+
+	private boolean shouldRoll() {
+		if ( m_segmentSize >= m_maxSegmentSize ) {
+			return true;
+		}
+		return m_maxSegmentAge != null && m_segmentSize > 0
+			&& System.currentTimeMillis() - m_segmentOpenedAt >= m_maxSegmentAge.toMillis();
+	}
+
+	private void roll() throws IOException {
+		m_out.close();
+
+		Segment closed = new Segment(m_segmentStart, m_segmentSize, getActiveFile(), false);
+		openSegment(closed.end());
+		if ( s_logger.isDebugEnabled() ) {
+			s_logger.debug("rolled output log: dir={}, closed={}, next-start={}",
+							m_logDir, closed.file().getName(), m_segmentStart);
+		}
+
+		if ( m_compressor != null ) {
+			try {
+				m_compressor.execute(() -> compress(closed));
+			}
+			catch ( RejectedExecutionException e ) {
+				// 매니저 종료 중인 경우. 압축되지 않은 segment도 그대로 읽을 수 있다.
+				s_logger.debug("skip compressing output log segment: file={}", closed.file());
+			}
+		}
+		enforceRetention();
+	}
+
+	private void openSegment(long start) throws IOException {
+		File file = OutputLogFile.toSegmentFile(m_logDir, start, false);
+		m_out = new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE);
+		m_segmentStart = start;
+		m_segmentSize = file.length();
+		m_segmentOpenedAt = System.currentTimeMillis();
+	}
+
+	private void compress(Segment seg) {
+		File gzFile = OutputLogFile.toSegmentFile(m_logDir, seg.start(), true);
+		File tmpFile = new File(m_logDir, gzFile.getName() + ".tmp");
+		try {
+			try ( InputStream is = Files.newInputStream(seg.file().toPath());
+					OutputStream os = new GZIPOutputStream(new FileOutputStream(tmpFile), BUFFER_SIZE) ) {
+				is.transferTo(os);
+			}
+
+			synchronized ( this ) {
+				// 압축하는 동안 보관 한도를 넘어 삭제된 경우는 압축 파일을 남기지 않는다.
+				if ( seg.file().exists() ) {
+					// 읽는 쪽은 원본 파일을 우선 사용하므로, 압축 파일을 먼저 완성시킨 후 원본을 삭제한다.
+					Files.move(tmpFile.toPath(), gzFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+					Files.delete(seg.file().toPath());
+				}
+			}
+			enforceRetention();
+		}
+		catch ( IOException e ) {
+			s_logger.warn("failed to compress output log segment: file={}, cause={}", seg.file(), e.toString());
+		}
+		finally {
+			tmpFile.delete();
+		}
+	}
+
+	private synchronized void enforceRetention() {
+		List<Segment> segments = OutputLogFile.listSegments(m_logDir);
+
+		long total = 0;
+		for ( Segment seg: segments ) {
+			total += seg.file().length();
+		}
+		for ( Segment seg: segments ) {
+			if ( total <= m_retentionSize || seg.start() == m_segmentStart ) {
+				break;
+			}
+
+			long diskSize = seg.file().length();
+			if ( seg.file().delete() ) {
+				total -= diskSize;
+				if ( s_logger.isInfoEnabled() ) {
+					s_logger.info("removed output log segment over retention: file={}", seg.file());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package mdt.exector.jar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+
+/**
+ * {@link StandbyLauncherPool}에 의해 미리 실행되어 MDTInstance 실행 요청을 기다리는 대기 JVM의 main 클래스.
+ * <p>
+ * 대기 JVM은 MDTInstance jar 파일을 classpath에 포함하여 실행되며, 시작되면 jar 파일의 main 클래스를 미리
+ * 적재하고 loopback 주소의 임의 포트를 열어 그 번호를 {@link #PORT_PREFIX}와 함께 표준 출력으로 알린다.
+ * 이후 요청이 도착하면 전달된 환경 변수들을 프로세스 환경 변수에 반영한 후, 전달된 인자로 main 메소드를 호출한다.
+ * 따라서 대기 JVM은 JVM 기동 비용 없이 바로 MDTInstance를 시작할 수 있다.
+ * <p>
+ * 요청은 다음 순서로 {@link DataOutputStream}을 통해 전달되며, 처리 결과로 {@link #ACK} 또는 오류 메시지가 반환된다.
+ * <pre>
+ *   token, jar 파일 경로, 인자 수, 인자들, 환경 변수 수, (이름, 값)들
+ * </pre>
+ * 대기 JVM의 작업 디렉토리는 실행 요청 이후에도 바뀌지 않기 때문에, MDTInstance는 홈 디렉토리를
+ * 작업 디렉토리가 아닌 {@code MDT_INSTANCE_HOME} 환경 변수로 찾아야 한다.
+ * <p>
+ * 본 클래스는 매니저와 달리 MDTInstance jar 파일만을 classpath로 실행되기 때문에 JDK 이외의 클래스를 사용하지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public final class StandbyLauncher {
+	static final String PORT_PREFIX = "[***STANDBY***] ";
+	static final String TOKEN_ENV = "MDT_STANDBY_TOKEN";
+	static final String ACK = "OK";
+
+	// 실행을 인계받은 후에는 매니저와의 표준 입력 연결이 끊어져도 종료하지 않는다.
+	private static volatile boolean s_handedOff = false;
+
+	private StandbyLauncher() {
+		throw new AssertionError("Should not be called: class=" + StandbyLauncher.class);
+	}
+
+	public static void main(String... args) throws Throwable {
+		if ( args.length != 1 ) {
+			System.err.println("usage: StandbyLauncher <jar-file>");
+			System.exit(1);
+		}
+		File jarFile = new File(args[0]).getAbsoluteFile();
+		String token = System.getenv(TOKEN_ENV);
+
+		Method main = loadMainMethod(jarFile);
+
+		// 대기 중에 매니저가 종료되면 표준 입력이 닫히므로, 대기 JVM도 함께 종료한다.
+		Thread.ofPlatform().daemon().name("standby-stdin-watcher").start(() -> {
+			try {
+				while ( System.in.read() >= 0 ) { }
+			}
+			catch ( IOException ignored ) { }
+			if ( !s_handedOff ) {
+				Runtime.getRuntime().halt(0);
+			}
+		});
+
+		String[] appArgs = null;
+		try ( ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress()) ) {
+			System.out.println(PORT_PREFIX + server.getLocalPort());
+			System.out.flush();
+
+			while ( appArgs == null ) {
+				try ( Socket sock = server.accept() ) {
+					DataInputStream din = new DataInputStream(sock.getInputStream());
+					DataOutputStream dout = new DataOutputStream(sock.getOutputStream());
+					if ( token == null || !token.equals(din.readUTF()) ) {
+						// 매니저가 아닌 다른 프로세스가 접속한 경우는 무시하고 계속 대기한다.
+						dout.writeUTF("invalid token");
+						continue;
+					}
+
+					String requestedJar = din.readUTF();
+					String[] received = new String[din.readInt()];
+					for ( int i = 0; i < received.length; ++i ) {
+						received[i] = din.readUTF();
+					}
+					Map<String,String> envVars = new LinkedHashMap<>();
+					for ( int i = din.readInt(); i > 0; --i ) {
+						envVars.put(din.readUTF(), din.readUTF());
+					}
+
+					if ( !jarFile.equals(new File(requestedJar).getAbsoluteFile()) ) {
+						dout.writeUTF("jar file mismatch: standby=" + jarFile + ", requested=" + requestedJar);
+						System.exit(1);
+					}
+					try {
+						putEnvironment(envVars);
+					}
+					catch ( ReflectiveOperationException | RuntimeException e ) {
+						dout.writeUTF("failed to set environment variables: " + e);
+						System.exit(1);
+					}
+					s_handedOff = true;
+					dout.writeUTF(ACK);
+					dout.flush();
+					appArgs = received;
+				}
+				catch ( IOException e ) {
+					// 요청 전달 도중에 연결이 끊긴 경우는 다음 요청을 기다린다.
+					System.err.println("failed to receive a launch request: " + e);
+				}
+			}
+		}
+
+		try {
+			main.invoke(null, (Object)appArgs);
+		}
+		catch ( InvocationTargetException e ) {
+			throw e.getCause();
+		}
+	}
+
+	private static Method loadMainMethod(File jarFile) throws IOException, ReflectiveOperationException {
+		String mainClassName;
+		try ( JarFile jar = new JarFile(jarFile) ) {
+			mainClassName = jar.getManifest().getMainAttributes().getValue(Attributes.Name.MAIN_CLASS);
+		}
+		if ( mainClassName == null ) {
+			throw new IllegalArgumentException("no Main-Class in the manifest: jar=" + jarFile);
+		}
+
+		// main 클래스의 초기화는 실행 요청을 받은 후에 환경 변수가 반영된 상태에서 이루어지도록 적재만 한다.
+		Class<?> mainClass = Class.forName(mainClassName, false, ClassLoader.getSystemClassLoader());
+		return mainClass.getMethod("main", String[].class);
+	}
+
+	// System.getenv()가 반환하는 수정 불가능한 Map이 감싸고 있는 Map에 직접 반영한다.
+	// 이를 위해 대기 JVM은 '--add-opens java.base/java.util=ALL-UNNAMED' 옵션으로 실행되어야 한다.
+	@SuppressWarnings("unchecked")
+	private static void putEnvironment(Map<String,String> envVars) throws ReflectiveOperationException {
+		Map<String,String> env = System.getenv();
+		Field field = env.getClass().getDeclaredField("m");
+		field.setAccessible(true);
+
+		Map<String,String> modifiable = (Map<String,String>)field.get(env);
+		modifiable.remove(TOKEN_ENV);
+		modifiable.putAll(envVars);
+	}
+}
@@ -0,0 +1,317 @@
+package mdt.exector.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+
+/**
+ * MDTInstance 실행 요청을 기다리는 대기 JVM({@link StandbyLauncher})들을 미리 실행해두는 pool.
+ * <p>
+ * 대기 JVM들은 기본 MDTInstance jar 파일을 classpath에 포함하고, 주어진 JVM 인자로 실행된다.
+ * 따라서 같은 jar 파일과 같은 JVM 인자로 실행되는 MDTInstance만 대기 JVM을 사용할 수 있다.
+ * 대기 JVM이 {@link #take(File)}로 사용되면 pool의 크기를 유지하도록 새 대기 JVM을 virtual thread에서 실행한다.
+ * 대기 JVM들은 {@link #close()}가 호출되면 모두 종료되며, 매니저가 비정상 종료된 경우에는 표준 입력이 닫히는 것을
+ * 감지하여 스스로 종료한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class StandbyLauncherPool implements AutoCloseable {
+	private static final Logger s_logger = LoggerFactory.getLogger(StandbyLauncherPool.class);
+	private static final String CLASS_DIR_NAME = ".standby";
+	private static final int MAX_PREAMBLE_LINES = 100;	// 포트 번호를 알리기 전까지 허용되는 출력 줄 수
+	private static final int MAX_LINE_LENGTH = 4096;
+
+	private final File m_jarFile;
+	private final List<String> m_jvmArgs;
+	private final File m_workingDir;
+	private final int m_size;
+	private final File m_classDir;
+	private final SecureRandom m_random = new SecureRandom();
+
+	private final ReentrantLock m_lock = new ReentrantLock();
+	private final Deque<Standby> m_idles = new ArrayDeque<>();
+	private int m_launching = 0;
+	private boolean m_closed = false;
+
+	/**
+	 * 실행 요청을 기다리는 대기 JVM.
+	 */
+	public static final class Standby {
+		private final Process m_process;
+		private final int m_port;
+		private final String m_token;
+
+		private Standby(Process process, int port, String token) {
+			m_process = process;
+			m_port = port;
+			m_token = token;
+		}
+
+		/**
+		 * 대기 JVM에게 MDTInstance 실행을 요청한다.
+		 * <p>
+		 * 요청이 실패한 경우는 대기 JVM을 강제로 종료시킨다.
+		 *
+		 * @param jarFile	실행할 MDTInstance jar 파일.
+		 * @param args		MDTInstance main 메소드에 전달할 인자 리스트.
+		 * @param envVars	MDTInstance 프로세스에 추가할 환경 변수들.
+		 * @return	MDTInstance가 실행 중인 프로세스.
+		 * @throws IOException	요청 전달에 실패하였거나 대기 JVM이 요청을 거부한 경우.
+		 */
+		public Process handOff(File jarFile, List<String> args, Map<String,String> envVars) throws IOException {
+			try ( Socket sock = new Socket(InetAddress.getLoopbackAddress(), m_port) ) {
+				DataOutputStream dout = new DataOutputStream(sock.getOutputStream());
+				dout.writeUTF(m_token);
+				dout.writeUTF(jarFile.getAbsolutePath());
+				dout.writeInt(args.size());
+				for ( String arg: args ) {
+					dout.writeUTF(arg);
+				}
+				dout.writeInt(envVars.size());
+				for ( Map.Entry<String,String> ent: envVars.entrySet() ) {
+					dout.writeUTF(ent.getKey());
+					dout.writeUTF(ent.getValue());
+				}
+				dout.flush();
+
+				String reply = new DataInputStream(sock.getInputStream()).readUTF();
+				if ( !StandbyLauncher.ACK.equals(reply) ) {
+					throw new IOException("standby JVM rejected the launch request: " + reply);
+				}
+				return m_process;
+			}
+			catch ( IOException e ) {
+				m_process.destroyForcibly();
+				throw e;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Standby(pid=%d, port=%d)", m_process.pid(), m_port);
+		}
+	}
+
+	/**
+	 * 대기 JVM pool을 생성한다. 대기 JVM들은 {@link #start()}가 호출된 후에 실행된다.
+	 *
+	 * @param jarFile		대기 JVM들이 미리 적재할 MDTInstance jar 파일.
+	 * @param jvmArgs		대기 JVM 실행시 사용할 JVM 인자 리스트.
+	 * @param workingDir	대기 JVM의 작업 디렉토리. 실행에 필요한 클래스 파일도 이 디렉토리 아래에 저장된다.
+	 * @param size			유지할 대기 JVM의 수.
+	 */
+	public StandbyLauncherPool(File jarFile, List<String> jvmArgs, File workingDir, int size) {
+		Preconditions.checkArgument(jarFile != null, "MDTInstance jar file is null");
+		Preconditions.checkArgument(workingDir != null, "working directory is null");
+		Preconditions.checkArgument(size > 0, "invalid standby pool size: %s", size);
+
+		m_jarFile = jarFile.getAbsoluteFile();
+		m_jvmArgs = List.copyOf(jvmArgs);
+		m_workingDir = workingDir;
+		m_size = size;
+		m_classDir = new File(workingDir, CLASS_DIR_NAME);
+	}
+
+	/**
+	 * 대기 JVM들을 실행시킨다.
+	 *
+	 * @throws IOException	대기 JVM 실행에 필요한 클래스 파일을 준비하지 못한 경우.
+	 */
+	public void start() throws IOException {
+		// 매니저의 jar 파일은 대기 JVM의 classpath로 사용할 수 없기 때문에 (Spring Boot jar)
+		// StandbyLauncher 클래스 파일을 별도의 디렉토리에 복사한다.
+		String classPath = StandbyLauncher.class.getName().replace('.', '/') + ".class";
+		File classFile = new File(m_classDir, classPath);
+		Files.createDirectories(classFile.getParentFile().toPath());
+		try ( InputStream is = StandbyLauncher.class.getClassLoader().getResourceAsStream(classPath) ) {
+			if ( is == null ) {
+				throw new IOException("cannot find class file: " + classPath);
+			}
+			Files.copy(is, classFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		fill();
+	}
+
+	/**
+	 * 주어진 jar 파일을 실행할 수 있는 대기 JVM을 pool에서 꺼낸다.
+	 * <p>
+	 * 반환된 대기 JVM은 pool에서 제거되며, 대신 새 대기 JVM이 실행된다.
+	 *
+	 * @param jarFile	실행할 MDTInstance jar 파일.
+	 * @return	대기 JVM. 다른 jar 파일이거나 준비된 대기 JVM이 없는 경우는 {@code null}.
+	 */
+	public @Nullable Standby take(File jarFile) {
+		if ( !m_jarFile.equals(jarFile.getAbsoluteFile()) ) {
+			return null;
+		}
+
+		Standby standby = null;
+		m_lock.lock();
+		try {
+			while ( !m_closed && (standby = m_idles.pollFirst()) != null ) {
+				if ( standby.m_process.isAlive() ) {
+					break;
+				}
+				s_logger.warn("discard a terminated standby JVM: {}", standby);
+			}
+		}
+		finally {
+			m_lock.unlock();
+		}
+
+		fill();
+		return standby;
+	}
+
+	@Override
+	public void close() {
+		List<Standby> idles;
+		m_lock.lock();
+		try {
+			m_closed = true;
+			idles = List.copyOf(m_idles);
+			m_idles.clear();
+		}
+		finally {
+			m_lock.unlock();
+		}
+
+		for ( Standby standby: idles ) {
+			standby.m_process.destroy();
+		}
+	}
+
+	// 실행 중이거나 대기 중인 JVM의 수가 pool 크기가 되도록 새 대기 JVM들을 실행시킨다.
+	private void fill() {
+		int count;
+		m_lock.lock();
+		try {
+			count = m_closed ? 0 : m_size - (m_idles.size() + m_launching);
+			m_launching += Math.max(count, 0);
+		}
+		finally {
+			m_lock.unlock();
+		}
+
+		for ( int i = 0; i < count; ++i ) {
+			Thread.ofVirtual().name("standby-launcher").start(this::launch);
+		}
+	}
+
+	private void launch() {
+		Standby standby = null;
+		try {
+			standby = launchStandby();
+		}
+		catch ( Exception e ) {
+			// 실패한 대기 JVM은 바로 다시 실행하지 않고, 다음번 take() 호출시 다시 실행한다.
+			s_logger.warn("failed to launch a standby JVM: jar={}, cause={}", m_jarFile, e.toString());
+		}
+
+		boolean discard = false;
+		m_lock.lock();
+		try {
+			--m_launching;
+			if ( standby != null ) {
+				if ( m_closed ) {
+					discard = true;
+				}
+				else {
+					m_idles.addLast(standby);
+				}
+			}
+		}
+		finally {
+			m_lock.unlock();
+		}
+
+		if ( discard ) {
+			standby.m_process.destroy();
+		}
+		else if ( standby != null && s_logger.isDebugEnabled() ) {
+			s_logger.debug("launched a standby JVM: {}", standby);
+		}
+	}
+
+	private Standby launchStandby() throws IOException {
+		byte[] tokenBytes = new byte[16];
+		m_random.nextBytes(tokenBytes);
+		String token = HexFormat.of().formatHex(tokenBytes);
+
+		List<String> argList = Lists.newArrayList("java");
+		argList.addAll(m_jvmArgs);
+		argList.addAll(List.of("--add-opens", "java.base/java.util=ALL-UNNAMED",
+								"-cp", m_classDir.getAbsolutePath() + File.pathSeparator + m_jarFile.getPath(),
+								StandbyLauncher.class.getName(), m_jarFile.getPath()));
+
+		ProcessBuilder builder = new ProcessBuilder(argList);
+		builder.directory(m_workingDir);
+		builder.environment().put(StandbyLauncher.TOKEN_ENV, token);
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(ProcessBuilder.Redirect.PIPE);
+
+		Process process = builder.start();
+		try {
+			// 대기 JVM이 알려주는 포트 번호를 읽는다. 이후의 출력은 실행될 MDTInstance의 출력으로 읽힌다.
+			InputStream output = process.getInputStream();
+			for ( int i = 0; i < MAX_PREAMBLE_LINES; ++i ) {
+				String line = readLine(output);
+				if ( line == null ) {
+					throw new IOException("standby JVM has terminated before ready");
+				}
+				if ( line.startsWith(StandbyLauncher.PORT_PREFIX) ) {
+					int port = Integer.parseInt(line.substring(StandbyLauncher.PORT_PREFIX.length()).trim());
+					return new Standby(process, port, token);
+				}
+				s_logger.debug("standby JVM output: {}", line);
+			}
+			throw new IOException("standby JVM did not report its port");
+		}
+		catch ( IOException | RuntimeException e ) {
+			process.destroyForcibly();
+			throw e;
+		}
+	}
+
+	// 포트 번호 이후의 출력이 버퍼에 미리 읽히지 않도록 한 바이트씩 읽는다.
+	private static @Nullable String readLine(InputStream is) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		int c;
+		while ( (c = is.read()) >= 0 ) {
+			if ( c == '\n' ) {
+				break;
+			}
+			if ( baos.size() < MAX_LINE_LENGTH ) {
+				baos.write(c);
+			}
+		}
+		if ( c < 0 && baos.size() == 0 ) {
+			return null;
+		}
+		return baos.toString(StandardCharsets.UTF_8).stripTrailing();
+	}
+}
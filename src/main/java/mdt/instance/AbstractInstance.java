@@ -5,7 +5,10 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -19,7 +22,6 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Preconditions;
 
 import utils.LoggerSettable;
-import utils.async.PeriodicPoller;
 import utils.func.FOption;
 import utils.func.Funcs;
 import utils.func.Optionals;
@@ -54,18 +56,24 @@ import mdt.model.sm.info.MDTAssetType;
  * 위임되며 구체 서브클래스에서 구현되어야 한다.
  * <p>
  * {@link InstanceDescriptor}는 {@link AtomicReference}로 보관되어 thread-safe하게 갱신/조회된다.
- * 상태 polling은 {@link #waitWhileStatus(Predicate, Duration, Duration)}에 의해 일정 간격으로
- * 최신 디스크립터를 다시 로드하면서 수행된다.
+ * 상태 변경 대기는 {@link #waitWhileStatus(Predicate, Duration, Duration)}에 의해 수행되며,
+ * 상태 변경 통보를 받을 때마다 최신 디스크립터를 다시 로드한다.
  *
  * @author Kang-Woo Lee (ETRI)
  */
 public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 	private static final Logger s_logger = LoggerFactory.getLogger(AbstractInstance.class);
-	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+	// 상태 변경 통보가 누락된 경우를 대비하여 상태를 다시 확인하는 최소 간격.
+	private static final long MIN_STATUS_RECHECK_INTERVAL_SECONDS = 5;
+	private static final Duration MIN_STATUS_RECHECK_INTERVAL = Duration.ofSeconds(MIN_STATUS_RECHECK_INTERVAL_SECONDS);
 
 	protected final AbstractJpaInstanceManager<? extends AbstractInstance> m_manager;
 	protected final AtomicReference<InstanceDescriptor> m_desc;
+	// 생성된 SubmodelService들. 서비스 endpoint가 바뀌면 새로 생성된다.
+	private final AtomicReference<SubmodelServices> m_smServices = new AtomicReference<>();
 	private Logger m_logger;
+	
+	private record SubmodelServices(String instanceEndpoint, Map<String,SubmodelService> services) { }
 
 	/**
 	 * 본 MDTInstance의 {@link AssetAdministrationShellDescriptor}를 반환한다.
@@ -183,23 +191,44 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 		return m_desc.get().getAssetType();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 상태는 MDTInstanceManager가 메모리에 유지하는 실행 상태 테이블에서 얻는다.
+	 */
 	@Override
 	public MDTInstanceStatus getStatus() {
-		return m_desc.get().getStatus();
+		return getRuntimeInfo().getStatus();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * endpoint는 MDTInstanceManager가 메모리에 유지하는 실행 상태 테이블에서 얻는다.
+	 */
 	@Override
 	public String getServiceEndpoint() {
-		return m_desc.get().getBaseEndpoint();
+		return getRuntimeInfo().getBaseEndpoint();
+	}
+	
+	private InstanceRuntimeInfo getRuntimeInfo() {
+		try {
+			return m_manager.getInstanceRuntimeInfo(getId());
+		}
+		catch ( ResourceNotFoundException e ) {
+			// 이미 삭제된 MDTInstance인 경우는 마지막으로 읽은 등록정보를 사용한다.
+			InstanceDescriptor desc = m_desc.get();
+			return new InstanceRuntimeInfo(desc.getStatus(), desc.getBaseEndpoint());
+		}
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 * <p>
 	 * 현재 상태가 {@link MDTInstanceStatus#STOPPED} 또는 {@link MDTInstanceStatus#FAILED}일 때만 시작을
-	 * 허용하며, 그 외의 상태에서는 {@link InvalidResourceStatusException}을 던진다. 시작 요청 후 내부
-	 * 기본 polling 주기 (500ms) 로 {@code STOPPED → STARTING} 전환을 먼저 확인하고,
-	 * {@code pollInterval}이 지정된 경우 그 주기로 {@code STARTING} 상태에서 벗어날 때까지 추가 대기한다.
+	 * 허용하며, 그 외의 상태에서는 {@link InvalidResourceStatusException}을 던진다. 시작 요청 후
+	 * {@code STOPPED → STARTING} 전환을 먼저 확인하고, {@code pollInterval}이 지정된 경우
+	 * {@code STARTING} 상태에서 벗어날 때까지 추가 대기한다.
 	 */
 	@Override
 	public MDTInstanceStatus start(@Nullable Duration pollInterval, @Nullable Duration timeout)
@@ -211,12 +240,12 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 
 		// FAILED 상태인 경우 시작 전에 STOPPED로 리셋한다.
 		// (이후 startAsync()가 STARTING으로 전이시킬 것이므로 polling 기준 시점을 통일하기 위함)
-		getInstanceManager().updateInstanceDescriptor(getId(), MDTInstanceStatus.STOPPED, null);
+		getInstanceManager().updateRuntimeInfo(getId(), MDTInstanceStatus.STOPPED, null);
 		
 		startAsync();
 		// STOPPED -> STARTING 전환을 대기. 정상 진행시 status는 STARTING이 되어야 함.
 		status = waitWhileStatus(state -> state == MDTInstanceStatus.STOPPED,
-								DEFAULT_POLL_INTERVAL, timeout);
+								MIN_STATUS_RECHECK_INTERVAL, timeout);
 
 		// 대기가 필요하지 않거나 STARTING 상태가 아니라면 바로 반환함.
 		if ( pollInterval == null || status != MDTInstanceStatus.STARTING ) {
@@ -232,9 +261,9 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 	 * {@inheritDoc}
 	 * <p>
 	 * 현재 상태가 {@link MDTInstanceStatus#STARTING} 또는 {@link MDTInstanceStatus#RUNNING}일 때만 중지를
-	 * 허용하며, 그 외의 상태에서는 {@link InvalidResourceStatusException}을 던진다. 종료 요청 후 내부
-	 * 기본 polling 주기 (500ms) 로 {@code RUNNING → STOPPING} 전환을 먼저 확인하고,
-	 * {@code pollInterval}이 지정된 경우 그 주기로 {@code STOPPING} 상태에서 벗어날 때까지 추가 대기한다.
+	 * 허용하며, 그 외의 상태에서는 {@link InvalidResourceStatusException}을 던진다. 종료 요청 후
+	 * {@code RUNNING → STOPPING} 전환을 먼저 확인하고, {@code pollInterval}이 지정된 경우
+	 * {@code STOPPING} 상태에서 벗어날 때까지 추가 대기한다.
 	 * 종료 폴링 후 상태가 {@code STOPPING}/{@code STOPPED}가 아니면 {@link MDTInstanceManagerException}을 던진다.
 	 */
 	@Override
@@ -248,7 +277,7 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 		stopAsync();
 		try {
 			// MDTInstance의 종료 작업이 시작될 때까지 대기한다.
-			status = waitWhileStatus(state -> state == MDTInstanceStatus.RUNNING, DEFAULT_POLL_INTERVAL, timeout);
+			status = waitWhileStatus(state -> state == MDTInstanceStatus.RUNNING, MIN_STATUS_RECHECK_INTERVAL, timeout);
 		}
 		catch ( ExecutionException e ) {
 			throw new MDTInstanceManagerException(e.getCause());
@@ -412,14 +441,18 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 	}
 	
 	/**
-	 * MDTInstance 상태가 {@code waitCond}을 만족하는 동안 polling 대기한다.
+	 * MDTInstance 상태가 {@code waitCond}을 만족하는 동안 대기한다.
 	 * <p>
-	 * 매 {@code pollInterval}마다 {@link #reloadInstanceDescriptor()}로 JPA 저장소에서 최신 상태를
-	 * 다시 로드한 뒤 {@code waitCond}을 평가한다. 더 이상 만족하지 않게 되는 시점에 그 상태를 반환하며,
+	 * 대기 중에는 데이터베이스를 주기적으로 접근하지 않고, MDTInstance의 상태 변경이 통보될 때만
+	 * 실행 상태 테이블에서 최신 상태를 읽은 뒤 {@code waitCond}을 평가한다.
+	 * 상태 변경 통보가 누락되는 경우를 대비하여, 통보가 없더라도 처음에는 {@code pollInterval} 후에,
+	 * 그 이후로는 {@code pollInterval}과 {@value #MIN_STATUS_RECHECK_INTERVAL_SECONDS}초 중 긴 간격마다
+	 * 상태를 다시 확인한다.
+	 * 더 이상 만족하지 않게 되는 시점에 그 상태를 반환하며,
 	 * {@code timeout}이 경과해도 만족 상태가 유지되면 {@link TimeoutException}이 발생한다.
 	 *
-	 * @param waitCond     대기 조건. {@code true}인 동안 polling이 계속된다.
-	 * @param pollInterval Polling 간격.
+	 * @param waitCond     대기 조건. {@code true}인 동안 대기가 계속된다.
+	 * @param pollInterval 상태 변경 통보가 없는 경우 상태를 다시 확인하는 간격.
 	 * @param timeout      제한 기간. {@code null}이면 무한 대기.
 	 * @return 대기 종료 시점의 상태.
 	 * @throws TimeoutException     {@code timeout} 경과 시까지 대기 조건이 해제되지 않은 경우.
@@ -429,20 +462,46 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 	public MDTInstanceStatus waitWhileStatus(Predicate<MDTInstanceStatus> waitCond, Duration pollInterval,
 											Duration timeout)
 		throws TimeoutException, InterruptedException, ExecutionException {
-		return PeriodicPoller.poll(() -> {
-									InstanceDescriptor desc = reloadInstanceDescriptor();
-									return waitCond.test(desc.getStatus()) ? null : desc.getStatus();
-								})
-								.interval(pollInterval)
-								.timeout(timeout)
-								.build()
-								.run();
+		Duration recheckInterval = (pollInterval != null && pollInterval.compareTo(MIN_STATUS_RECHECK_INTERVAL) > 0)
+								? pollInterval : MIN_STATUS_RECHECK_INTERVAL;
+		// 최소 간격은 통보가 누락된 경우의 반복 확인에만 적용하고, 첫번째 확인은 요청된 간격을 따른다.
+		Duration waitInterval = (pollInterval != null) ? pollInterval : recheckInterval;
+		long due = (timeout != null) ? System.nanoTime() + timeout.toNanos() : Long.MAX_VALUE;
+		
+		while ( true ) {
+			// 상태를 읽는 도중에 발생한 변경을 놓치지 않도록 상태를 읽기 전에 먼저 통보 future를 얻는다.
+			CompletableFuture<Void> changed = m_manager.watchStatusChange(getId());
+			MDTInstanceStatus status;
+			try {
+				status = m_manager.getInstanceRuntimeInfo(getId()).getStatus();
+			}
+			catch ( RuntimeException e ) {
+				throw new ExecutionException(e);
+			}
+			if ( !waitCond.test(status) ) {
+				return status;
+			}
+			
+			long remains = due - System.nanoTime();
+			if ( remains <= 0 ) {
+				throw new TimeoutException("MDTInstance status is not changed: id=" + getId()
+											+ ", status=" + status + ", timeout=" + timeout);
+			}
+			try {
+				changed.get(Math.min(remains, waitInterval.toNanos()), TimeUnit.NANOSECONDS);
+			}
+			catch ( TimeoutException expected ) {
+				// 상태 변경 통보가 없더라도 상태를 다시 확인한다.
+				waitInterval = recheckInterval;
+			}
+		}
 	}
 
 	/**
-	 * 주어진 submodel 식별자에 대한 {@link SubmodelService}를 생성한다.
+	 * 주어진 submodel 식별자에 대한 {@link SubmodelService}를 반환한다.
 	 * <p>
 	 * 현재 인스턴스의 서비스 endpoint가 활성화되어 있지 않으면 {@link InvalidResourceStatusException}을 던진다.
+	 * 한번 생성된 {@link SubmodelService}는 본 MDTInstance의 서비스 endpoint가 바뀔 때까지 재사용된다.
 	 *
 	 * @param submodelId 대상 submodel 식별자.
 	 * @return 대응되는 {@link SubmodelService}.
@@ -454,7 +513,13 @@ public abstract class AbstractInstance implements MDTInstance, LoggerSettable {
 			throw new InvalidResourceStatusException("MDTInstance", "id=" + getId(), getStatus());
 		}
 
-		String smEp = AASUtils.toSubmodelServiceEndpointString(instSvcEp, submodelId);
-		return m_manager.getServiceFactory().getSubmodelService(smEp);
+		SubmodelServices smServices = m_smServices.updateAndGet(prev -> {
+			return (prev != null && prev.instanceEndpoint().equals(instSvcEp))
+					? prev : new SubmodelServices(instSvcEp, new ConcurrentHashMap<>());
+		});
+		return smServices.services().computeIfAbsent(submodelId, smId -> {
+			String smEp = AASUtils.toSubmodelServiceEndpointString(instSvcEp, smId);
+			return m_manager.getServiceFactory().getSubmodelService(smEp);
+		});
 	}
 }
@@ -2,24 +2,45 @@ package mdt.instance;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShellDescriptor;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelDescriptor;
 import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.eventbus.Subscribe;
 
 import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 
@@ -52,6 +73,7 @@ import mdt.model.instance.InstanceStatusChangeEvent;
 import mdt.model.instance.MDTInstance;
 import mdt.model.instance.MDTInstanceManagerException;
 import mdt.model.instance.MDTInstanceStatus;
+import mdt.model.instance.MDTModel;
 import mdt.model.instance.MDTOperationDescriptor;
 import mdt.model.instance.MDTParameterDescriptor;
 import mdt.model.instance.MDTSubmodelDescriptor;
@@ -65,9 +87,12 @@ import mdt.repository.Repositories;
  * @author Kang-Woo Lee (ETRI)
  */
 public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
-										implements MDTInstanceManagerProvider, LoggerSettable {
+										implements MDTInstanceManagerProvider, LoggerSettable, DisposableBean {
 	
 	private static final Logger s_logger = LoggerFactory.getLogger(AbstractJpaInstanceManager.class);
+	private static final String DATA_SUBMODEL_ID_SHORT = "Data";
+	private static final int MODEL_ASSEMBLY_BATCH_SIZE = 500;
+	private static final int SCROLL_FETCH_SIZE = 100;
 
 	protected final MDTInstanceManagerConfiguration m_conf;
 
@@ -79,8 +104,29 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
     private final ServiceFactory m_serviceFact;
 	
 	protected final JsonMapper m_mapper = MDTModelSerDe.getJsonMapper();
+	private final DescriptorJsonCache m_descJsonCache;
+	private final InstanceVersionTable m_versions = new InstanceVersionTable();
+	private final InstanceStatusWatcher m_statusWatcher = new InstanceStatusWatcher();
+	private final InstanceTransitionService m_transitions;
+	private final InstanceRuntimeTable m_runtimes;
+	// 생성된 MDTInstance 객체들. 매 요청마다 객체를 새로 생성하지 않고 재사용하기 위해 사용된다.
+	private final Map<String,T> m_instances = new ConcurrentHashMap<>();
+	// 객체 제거(evictInstance) 횟수. 제거와 동시에 진행된 객체 생성 결과가 다시 등록되는 것을 막는데 사용된다.
+	private final AtomicLong m_evictions = new AtomicLong(0);
+	private final List<Consumer<String>> m_changeListeners = new CopyOnWriteArrayList<>();
+	private final AtomicBoolean m_shutdown = new AtomicBoolean(false);
 	private Logger m_logger = s_logger;
 
+	/**
+	 * 데이터베이스 커서를 통해 차례대로 읽혀지는 객체를 처리하는 인터페이스.
+	 *
+	 * @param <D>	처리 대상 객체 타입.
+	 */
+	@FunctionalInterface
+	public interface ScrollConsumer<D> {
+		public void accept(D data) throws IOException;
+	}
+
 	protected abstract void adaptInstanceDescriptor(JpaInstanceDescriptor desc);
 	protected abstract T toInstance(JpaInstanceDescriptor descriptor) throws MDTInstanceManagerException;
 	
@@ -89,6 +135,10 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		m_conf = conf;
 		m_repos = repos;
 		m_mqttConf = mqttConf;
+		m_descJsonCache = new DescriptorJsonCache(conf.getDescriptorCacheSize());
+		m_runtimes = new InstanceRuntimeTable(this::writeRuntimeInfo, conf.getRuntimeFlushInterval());
+		m_transitions = new InstanceTransitionService(this, conf.getTransitionThreads(),
+														conf.getTransitionTimeout(), conf.getTransitionJobRetention());
 		
 		Globals.EVENT_BUS.register(this);
 		if ( m_mqttConf.getEndpoint() != null ) {
@@ -122,7 +172,50 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		return m_serviceFact;
 	}
 	
+	/**
+	 * MDTInstanceManager를 종료한다.
+	 * <p>
+	 * 수행 중인 시작/중지 작업을 중단시키고, {@link #shutdownExecution()}을 호출한 후
+	 * 아직 데이터베이스에 기록되지 않은 실행 정보를 모두 기록한다.
+	 * 여러 번 호출되더라도 한번만 수행된다.
+	 */
 	public void shutdown() {
+		if ( !m_shutdown.compareAndSet(false, true) ) {
+			return;
+		}
+		
+		m_transitions.shutdown();
+		try {
+			shutdownExecution();
+		}
+		finally {
+			m_runtimes.shutdown();
+		}
+	}
+	
+	/**
+	 * MDTInstance 실행 환경을 종료한다.
+	 * <p>
+	 * {@link #shutdown()} 과정에서 실행 정보를 데이터베이스에 기록하기 전에 호출되기 때문에,
+	 * 종료 과정에서 변경된 MDTInstance 상태도 기록된다. 실행 환경을 직접 관리하는 하위 클래스에서 재정의한다.
+	 */
+	protected void shutdownExecution() { }
+	
+	/**
+	 * Spring 컨텍스트가 종료될 때 호출되어 {@link #shutdown()}을 수행한다.
+	 */
+	@Override
+	public void destroy() {
+		shutdown();
+	}
+	
+	/**
+	 * 여러 MDTInstance들을 한번에 시작/중지시키는 작업을 수행하는 서비스를 반환한다.
+	 *
+	 * @return	{@link InstanceTransitionService} 객체.
+	 */
+	public InstanceTransitionService getTransitionService() {
+		return m_transitions;
 	}
 //	public void shutdown() {
 //		if ( getLogger().isInfoEnabled() ) {
@@ -162,6 +255,195 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		return m_conf;
 	}
 	
+	/**
+	 * 주어진 MDTInstance의 현재 등록정보 버전에 해당하는 ETag를 반환한다.
+	 * <p>
+	 * ETag는 메모리에 유지되는 버전 번호로부터 생성되기 때문에 데이터베이스를 접근하지 않는다.
+	 * MDTInstance 등록정보의 변경 여부를 버전 번호로 추적할 수 없는 MDTInstanceManager인 경우와,
+	 * 아직 존재가 확인되지 않은(데이터베이스에서 조회된 적이 없는) MDTInstance인 경우는 {@code null}을 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	ETag 문자열 또는 {@code null}.
+	 */
+	public @Nullable String getInstanceETag(String instId) {
+		return isDescriptorVersionTracked() ? m_versions.getETag(instId) : null;
+	}
+	
+	/**
+	 * 주어진 AAS 식별자에 해당하는 MDTInstance의 현재 등록정보 버전에 해당하는 ETag를 반환한다.
+	 * <p>
+	 * AAS 식별자와 MDTInstance 식별자 사이의 매핑은 {@link #getInstanceDescriptorByAasId(String)}가
+	 * 호출될 때 기록되기 때문에, 아직 조회된 적이 없는 AAS 식별자인 경우는 {@code null}을 반환한다.
+	 *
+	 * @param aasId	AAS 식별자.
+	 * @return	ETag 문자열 또는 {@code null}.
+	 */
+	public @Nullable String getInstanceETagByAasId(String aasId) {
+		return isDescriptorVersionTracked() ? m_versions.getETagByAlias("aas:" + aasId) : null;
+	}
+	
+	/**
+	 * 주어진 서브모델 식별자를 포함한 MDTInstance의 현재 등록정보 버전에 해당하는 ETag를 반환한다.
+	 * <p>
+	 * 서브모델 식별자와 MDTInstance 식별자 사이의 매핑은 {@link #getAASSubmodelDescriptorJson}가
+	 * 호출될 때 기록되기 때문에, 아직 조회된 적이 없는 서브모델 식별자인 경우는 {@code null}을 반환한다.
+	 *
+	 * @param submodelId	서브모델 식별자.
+	 * @return	ETag 문자열 또는 {@code null}.
+	 */
+	public @Nullable String getInstanceETagBySubmodelId(String submodelId) {
+		return isDescriptorVersionTracked() ? m_versions.getETagByAlias("submodel:" + submodelId) : null;
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 등록정보 버전을 증가시킨다.
+	 * <p>
+	 * MDTInstance의 등록정보나 상태를 {@link #updateInstanceDescriptor(String, Consumer)}를 거치지 않고
+	 * 직접 변경하는 하위 클래스에서 호출한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	protected void bumpInstanceVersion(String instId) {
+		m_versions.bump(instId);
+		fireInstanceChanged(instId);
+	}
+	
+	/**
+	 * MDTInstance의 등록정보나 실행 정보(상태, 서비스 endpoint)가 바뀔 때마다 호출될 리스너를 등록한다.
+	 * <p>
+	 * 리스너는 실행 환경의 종류나 변경 경로(상태 변경 이벤트, 실행 환경 재질의, 등록정보 갱신, 제거)와
+	 * 무관하게 바뀐 MDTInstance의 식별자를 인자로 호출된다. 트랜잭션 내에서 변경된 경우는 트랜잭션이
+	 * commit된 후에 호출된다.
+	 *
+	 * @param listener	등록할 리스너.
+	 */
+	public void addInstanceChangeListener(Consumer<String> listener) {
+		Preconditions.checkArgument(listener != null, "listener is null");
+		
+		m_changeListeners.add(listener);
+	}
+	
+	private void fireInstanceChanged(String instId) {
+		if ( m_changeListeners.isEmpty() ) {
+			return;
+		}
+		InstanceVersionTable.afterCommit(() -> {
+			for ( Consumer<String> listener: m_changeListeners ) {
+				try {
+					listener.accept(instId);
+				}
+				catch ( Exception e ) {
+					getLogger().warn("failed to notify MDTInstance change: id={}, cause={}", instId, e.toString());
+				}
+			}
+		});
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 상태가 변경되었음을 상태 변경을 기다리는 쓰레드들에게 통보한다.
+	 * <p>
+	 * MDTInstance의 상태를 {@link #updateInstanceDescriptor(String, Consumer)}나
+	 * {@link InstanceStatusChangeEvent}를 거치지 않고 직접 변경하는 하위 클래스에서 호출한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	protected void notifyStatusChanged(String instId) {
+		m_statusWatcher.signal(instId);
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 다음 상태 변경 시 완료되는 future를 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	상태 변경 통보 future.
+	 * @see InstanceStatusWatcher#watch(String)
+	 */
+	CompletableFuture<Void> watchStatusChange(String instId) {
+		return m_statusWatcher.watch(instId);
+	}
+	
+	/**
+	 * MDTInstance 등록정보의 변경 여부를 버전 번호로 추적할 수 있는지 여부를 반환한다.
+	 * <p>
+	 * {@link #adaptInstanceDescriptor(JpaInstanceDescriptor)}를 통해 외부 실행 환경(예: docker 컨테이너)의
+	 * 상태를 반영하는 경우처럼, 이 MDTInstanceManager를 거치지 않고 등록정보가 바뀔 수 있는 경우는
+	 * {@code false}를 반환하도록 재정의하여야 한다.
+	 *
+	 * @return	추적 가능 여부.
+	 */
+	protected boolean isDescriptorVersionTracked() {
+		return true;
+	}
+	
+	/**
+	 * 이 MDTInstanceManager가 발송하는 {@link InstanceStatusChangeEvent}가 항상
+	 * {@link #updateRuntimeInfo(String, MDTInstanceStatus, String)}로 실행 정보를 갱신한 후에
+	 * 발송되는지 여부를 반환한다.
+	 * <p>
+	 * {@code true}인 경우는 이벤트 수신시 등록정보 버전을 다시 증가시키지 않는다.
+	 *
+	 * @return	갱신 후 발송 여부.
+	 */
+	protected boolean isStatusEventPostedAfterUpdate() {
+		return false;
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 현재 실행 상태와 서비스 endpoint를 반환한다.
+	 * <p>
+	 * 실행 정보는 메모리에 유지되는 {@link InstanceRuntimeTable}에서 얻기 때문에, 일반적으로 데이터베이스나
+	 * 외부 실행 환경을 접근하지 않는다. 테이블에 등록되지 않은 경우와, MDTInstanceManager를 거치지 않고
+	 * 실행 상태가 바뀔 수 있는 경우({@link #isDescriptorVersionTracked()}가 {@code false})에 마지막 관측 후
+	 * {@code instance-manager.runtime-revalidate-interval}이 지난 경우에만 등록정보를 다시 읽는다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	실행 정보.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 MDTInstance가 없는 경우.
+	 */
+	public InstanceRuntimeInfo getInstanceRuntimeInfo(String instId) throws ResourceNotFoundException {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+		
+		InstanceRuntimeInfo info = isDescriptorVersionTracked()
+								? m_runtimes.get(instId)
+								: m_runtimes.getObserved(instId, m_conf.getRuntimeRevalidateInterval());
+		if ( info == null ) {
+			JpaInstanceDescriptor desc = getInstanceDescriptor(instId);
+			info = new InstanceRuntimeInfo(desc.getStatus(), desc.getBaseEndpoint());
+		}
+		return info;
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 실행 상태와 서비스 endpoint를 갱신한다.
+	 * <p>
+	 * 갱신된 정보는 {@link InstanceRuntimeTable}에 바로 반영되고, 데이터베이스에는 비동기적으로 기록된다.
+	 * 실행 정보가 실제로 바뀐 경우에만 등록정보 버전을 증가시키고 상태 변경을 기다리는 쓰레드들과
+	 * {@link #addInstanceChangeListener(Consumer) 변경 리스너}들에게 통보한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param status	MDTInstance 상태.
+	 * @param endpoint	MDTInstance 서비스 endpoint. 실행 중이 아닌 경우는 {@code null}.
+	 */
+	protected void updateRuntimeInfo(String instId, MDTInstanceStatus status, @Nullable String endpoint) {
+		if ( m_runtimes.update(instId, status, endpoint) ) {
+			m_versions.bump(instId);
+			m_statusWatcher.signal(instId);
+			fireInstanceChanged(instId);
+		}
+	}
+	
+	/**
+	 * 주어진 기간 이내에 실행 환경에서 관측되거나 통보된 MDTInstance의 실행 정보를 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param maxAge	허용되는 최대 경과 시간. {@code null}인 경우는 경과 시간을 확인하지 않는다.
+	 * @return	실행 정보. 관측된 적이 없거나 관측 후 {@code maxAge}가 지난 경우는 {@code null}.
+	 * @see InstanceRuntimeTable#getObserved(String, Duration)
+	 */
+	protected @Nullable InstanceRuntimeInfo getObservedRuntimeInfo(String instId, @Nullable Duration maxAge) {
+		return m_runtimes.getObserved(instId, maxAge);
+	}
+	
 	public File getHomeDir() {
 		return m_conf.getHomeDir();
 	}
@@ -184,43 +466,193 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		JpaInstanceDescriptor descriptor = m_repos.instances()
 													.findByInstanceId(instanceId)
 													.orElseThrow(() -> newInstanceNotFoundException(instanceId));
-		adaptInstanceDescriptor(descriptor);
+		prepareInstanceDescriptor(descriptor);
+		m_versions.register(instanceId);
 		return descriptor;
 	}
 
+	/**
+	 * 주어진 AAS 식별자에 해당하는 MDTInstance의 JpaInstanceDescriptor를 반환한다.
+	 *
+	 * @param aasId	검색할 AAS 식별자.
+	 * @return	JpaInstanceDescriptor 객체.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 MDTInstance가 없는 경우.
+	 */
+	public JpaInstanceDescriptor getInstanceDescriptorByAasId(String aasId) throws ResourceNotFoundException {
+		Preconditions.checkArgument(aasId != null, "AAS id is null");
+		
+		JpaInstanceDescriptor descriptor = m_repos.instances()
+													.findByAasId(aasId)
+													.orElseThrow(() -> new ResourceNotFoundException("MDTInstance",
+																								"aasId=" + aasId));
+		prepareInstanceDescriptor(descriptor);
+		m_versions.register(descriptor.getInstanceId());
+		m_versions.putAlias("aas:" + aasId, descriptor.getInstanceId());
+		return descriptor;
+	}
+
+	/**
+	 * 주어진 식별자에 해당하는 MDTInstance 객체를 반환한다.
+	 * <p>
+	 * 한번 생성된 MDTInstance 객체는 등록정보가 변경되거나 MDTInstance가 제거될 때까지
+	 * 재사용되기 때문에, 이미 생성된 객체가 있는 경우는 데이터베이스를 접근하지 않는다.
+	 * MDTInstance의 상태와 서비스 endpoint는 실행 상태 테이블에서 얻기 때문에 재사용되는 객체도
+	 * 항상 최신 상태를 반환한다. 객체 생성 도중에 MDTInstance가 제거된 경우는 생성된 객체를
+	 * 재사용 대상으로 남기지 않기 때문에, 이후 요청에서는 제거된 MDTInstance를 찾을 수 없다.
+	 *
+	 * @param id	MDTInstance 식별자.
+	 * @return	MDTInstance 객체.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 MDTInstance가 없는 경우.
+	 */
 	@Override
 	public T getInstance(String id) throws ResourceNotFoundException {
-		return toInstance(getInstanceDescriptor(id));
+		Preconditions.checkArgument(id != null, "MDTInstance id is null");
+		
+		T instance = m_instances.get(id);
+		if ( instance != null ) {
+			return instance;
+		}
+		
+		long evictions = m_evictions.get();
+		return cacheInstance(toInstance(getInstanceDescriptor(id)), evictions);
 	}
 
 	@Override
 	public List<T> getInstanceAll() throws MDTInstanceManagerException {
+		long evictions = m_evictions.get();
 		return FStream.from(m_repos.instances().findAll())
-						.map(desc -> toInstance(desc))
+						.map(desc -> cacheInstance(desc, evictions))
 						.toList();
 	}
 	
+	/**
+	 * 주어진 등록정보에 해당하는 MDTInstance 객체를 반환한다.
+	 * <p>
+	 * 이미 생성된 객체가 있는 경우는 해당 객체를, 그렇지 않은 경우는 새로 생성하여 반환한다.
+	 *
+	 * @param desc	MDTInstance 등록정보.
+	 * @return	MDTInstance 객체.
+	 */
+	protected T getOrCreateInstance(JpaInstanceDescriptor desc) {
+		return m_instances.computeIfAbsent(desc.getInstanceId(), id -> toInstance(desc));
+	}
+	
+	/**
+	 * 재사용을 위해 유지 중인 MDTInstance 객체를 제거한다.
+	 * <p>
+	 * MDTInstance의 등록정보가 변경된 경우 호출되어, 이후 요청에서는 변경된 등록정보로
+	 * MDTInstance 객체가 새로 생성되도록 한다.
+	 *
+	 * @param id	MDTInstance 식별자.
+	 * @return	제거된 MDTInstance 객체. 유지 중인 객체가 없는 경우는 {@code null}.
+	 */
+	protected @Nullable T evictInstance(String id) {
+		T evicted = evict(id);
+		// 트랜잭션이 commit되기 전에는 다른 쓰레드가 이전 등록정보를 읽어 객체를 다시 등록할 수 있으므로
+		// commit 이후에도 한번 더 제거한다.
+		InstanceVersionTable.afterCommit(() -> evict(id));
+		return evicted;
+	}
+	
+	private @Nullable T evict(String id) {
+		// 등록 중인 쓰레드가 제거 여부를 확인할 수 있도록 제거 횟수를 먼저 증가시킨다.
+		m_evictions.incrementAndGet();
+		return m_instances.remove(id);
+	}
+	
+	private T cacheInstance(JpaInstanceDescriptor desc, long evictions) {
+		T instance = m_instances.get(desc.getInstanceId());
+		return (instance != null) ? instance : cacheInstance(toInstance(desc), evictions);
+	}
+	
+	/**
+	 * 등록정보로부터 생성된 MDTInstance 객체를 재사용을 위해 등록한다.
+	 * <p>
+	 * 등록정보를 읽기 시작한 이후({@code evictions}를 읽은 이후)에 객체 제거가 발생한 경우는,
+	 * 이미 제거되었거나 변경된 등록정보로 생성된 객체일 수 있기 때문에 등록된 객체를 다시 제거한다.
+	 * 이 경우 이후 요청에서는 등록정보를 다시 읽어 객체를 생성하거나 존재하지 않음을 확인한다.
+	 */
+	private T cacheInstance(T created, long evictions) {
+		T instance = m_instances.putIfAbsent(created.getId(), created);
+		if ( instance != null ) {
+			return instance;
+		}
+		if ( m_evictions.get() != evictions ) {
+			m_instances.remove(created.getId(), created);
+		}
+		return created;
+	}
+	
 	public List<String> listInstanceIds(String type) {
-		if ( type.equalsIgnoreCase("all") ) {
-			return FStream.from(m_repos.instances().findAll())
-					.map(desc -> desc.getInstanceId())
-					.toList();
-		}
-		else if ( type.equalsIgnoreCase("running") ) {
-			return FStream.from(m_repos.instances().findAll())
-					        .filter(desc -> desc.getStatus() == MDTInstanceStatus.RUNNING)
-							.map(desc -> desc.getInstanceId())
-							.toList();
+		return listInstanceIds(type, null, null).elements();
+	}
+	
+	/**
+	 * 주어진 종류에 해당하는 MDTInstance들의 식별자를 row id 순서대로 검색한다.
+	 * <p>
+	 * 데이터베이스의 실행 상태는 비동기적으로 기록되기 때문에, 실행 상태 조건은 질의 결과에
+	 * {@link InstanceRuntimeTable}의 실행 상태를 반영한 후에 적용한다. 따라서 {@code limit}이 주어진 경우는
+	 * 조건을 만족하는 식별자가 {@code limit}개가 될 때까지 다음 row들을 이어서 검색한다.
+	 *
+	 * @param type	검색 대상 종류 ("all", "running", "non-running").
+	 * @param after	검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param limit	검색할 최대 식별자 수. {@code null}인 경우는 조건을 만족하는 모든 식별자를 검색한다.
+	 * @return	검색된 페이지.
+	 */
+	public KeysetPage<String> listInstanceIds(String type, @Nullable Long after, @Nullable Integer limit) {
+		Preconditions.checkArgument(limit == null || limit > 0, "invalid limit: %s", limit);
+		
+		Predicate<MDTInstanceStatus> statusCond;
+		if ( type.equalsIgnoreCase("running") ) {
+			statusCond = status -> status == MDTInstanceStatus.RUNNING;
 		}
 		else if ( type.equalsIgnoreCase("non-running") ) {
-			return FStream.from(m_repos.instances().findAll())
-					        .filter(desc -> desc.getStatus() != MDTInstanceStatus.RUNNING)
-							.map(desc -> desc.getInstanceId())
-							.toList();
+			statusCond = status -> status != MDTInstanceStatus.RUNNING;
+		}
+		else if ( type.equalsIgnoreCase("all") ) {
+			statusCond = status -> true;
 		}
 		else {
 			throw new IllegalArgumentException("unknown instance type: " + type);
 		}
+		
+		List<String> ids = Lists.newArrayList();
+		Long cursor = after;
+		Long next = null;
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		while ( true ) {
+			String query = "select instance.rowId, instance.instanceId, instance.status, instance.baseEndpoint "
+							+ "from JpaInstanceDescriptor instance"
+							+ ((cursor != null) ? " where instance.rowId > :after" : "")
+							+ " order by instance.rowId";
+			Map<String,Object> params = toCursorParams(cursor);
+			List<Object[]> rows = processor.get(em -> {
+				TypedQuery<Object[]> typed = em.createQuery(query, Object[].class);
+				params.forEach(typed::setParameter);
+				if ( limit != null ) {
+					typed.setMaxResults(limit);
+				}
+				return typed.getResultList();
+			});
+			
+			for ( Object[] row: rows ) {
+				String instId = (String)row[1];
+				InstanceRuntimeInfo info = m_runtimes.load(instId, (MDTInstanceStatus)row[2], (String)row[3]);
+				if ( statusCond.test(info.getStatus()) ) {
+					ids.add(instId);
+					if ( limit != null && ids.size() == limit ) {
+						next = (Long)row[0];
+						break;
+					}
+				}
+			}
+			
+			// 요청한 수만큼 검색된 경우나 더 이상 검색할 row가 없는 경우에 종료한다.
+			if ( limit == null || next != null || rows.size() < limit ) {
+				return new KeysetPage<>(ids, next);
+			}
+			cursor = (Long)rows.get(rows.size()-1)[0];
+		}
 	}
 	
 	public List<String> listParameterIds(String instanceId) {
@@ -272,27 +704,364 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 	public List<T> getInstanceAllByFilter(String filterExpr) {
 		Preconditions.checkArgument(filterExpr != null, "filterExpr is null");
 		
+		long evictions = m_evictions.get();
 		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
 		return processor.get(em -> {
-			String sql = "select instance from JpaInstanceDescriptor instance where " + filterExpr;
+			return FStream.from(findInstanceDescriptorAll(em, filterExpr))
+							.map(desc -> cacheInstance(desc, evictions))
+							.toList();
+		});
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 모든 JpaInstanceDescriptor들을 데이터베이스에서 검색한다.
+	 *
+	 * @param em			검색에 사용할 EntityManager.
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @return	검색된 JpaInstanceDescriptor 리스트.
+	 */
+	protected List<JpaInstanceDescriptor> findInstanceDescriptorAll(EntityManager em, @Nullable String filterExpr) {
+		return em.createQuery(toInstanceDescriptorQuery(filterExpr, false), JpaInstanceDescriptor.class)
+					.getResultList();
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 JpaInstanceDescriptor들 중에서 row id가 {@code after}보다 큰 것들을
+	 * row id 순서대로 최대 {@code limit}개 검색한다.
+	 *
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param limit			검색할 최대 JpaInstanceDescriptor 수.
+	 * @return	검색된 페이지.
+	 */
+	public KeysetPage<JpaInstanceDescriptor> getInstanceDescriptorPage(@Nullable String filterExpr,
+																		@Nullable Long after, int limit) {
+		KeysetPage<JpaInstanceDescriptor> page = fetchPage(toInstanceDescriptorQuery(filterExpr, after != null),
+															toCursorParams(after), JpaInstanceDescriptor.class,
+															limit, JpaInstanceDescriptor::getRowId);
+		page.elements().forEach(this::prepareInstanceDescriptor);
+		return page;
+	}
+	
+	/**
+	 * 주어진 AAS idShort를 갖는 JpaInstanceDescriptor들 중에서 row id가 {@code after}보다 큰 것들을
+	 * row id 순서대로 최대 {@code limit}개 검색한다.
+	 *
+	 * @param aasIdShort	검색할 AAS idShort.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param limit			검색할 최대 JpaInstanceDescriptor 수.
+	 * @return	검색된 페이지.
+	 */
+	public KeysetPage<JpaInstanceDescriptor> getInstanceDescriptorPageByAasIdShort(String aasIdShort,
+																				@Nullable Long after, int limit) {
+		Preconditions.checkArgument(aasIdShort != null, "AAS idShort is null");
+		
+		Map<String,Object> params = Maps.newHashMap(toCursorParams(after));
+		params.put("idShort", aasIdShort);
+		KeysetPage<JpaInstanceDescriptor> page = fetchPage(toAasIdShortQuery(after != null), params,
+															JpaInstanceDescriptor.class, limit,
+															JpaInstanceDescriptor::getRowId);
+		page.elements().forEach(this::prepareInstanceDescriptor);
+		return page;
+	}
+	
+	/**
+	 * 주어진 조건을 만족하는 JpaMDTSubmodelDescriptor들 중에서 row id가 {@code after}보다 큰 것들을
+	 * row id 순서대로 최대 {@code limit}개 검색한다.
+	 * <p>
+	 * {@code idShort}가 주어진 경우는 {@code semanticId}는 무시된다.
+	 *
+	 * @param idShort		검색할 서브모델 idShort. {@code null}인 경우는 조건에 포함시키지 않는다.
+	 * @param semanticId	검색할 서브모델 semanticId. {@code null}인 경우는 조건에 포함시키지 않는다.
+	 * @param after			검색 시작 커서 (서브모델 기술자의 row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param limit			검색할 최대 JpaMDTSubmodelDescriptor 수.
+	 * @return	검색된 페이지.
+	 */
+	public KeysetPage<JpaMDTSubmodelDescriptor> getSubmodelDescriptorPage(@Nullable String idShort,
+																		@Nullable String semanticId,
+																		@Nullable Long after, int limit) {
+		Map<String,Object> params = Maps.newHashMap(toCursorParams(after));
+		String sql = toSubmodelDescriptorQuery(idShort, semanticId, after != null, params);
+		return fetchPage(sql, params, JpaMDTSubmodelDescriptor.class, limit, JpaMDTSubmodelDescriptor::getRowId);
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 MDTInstance들 중에서 row id가 {@code after}보다 큰 것들을
+	 * row id 순서대로 최대 {@code limit}개 골라 해당 {@link MDTModel}들을 구성한다.
+	 *
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param limit			검색할 최대 MDTInstance 수.
+	 * @return	검색된 페이지.
+	 */
+	public KeysetPage<MDTModel> getMDTModelPage(@Nullable String filterExpr, @Nullable Long after, int limit) {
+		Preconditions.checkArgument(limit > 0, "invalid limit: %s", limit);
+		
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		return processor.get(em -> {
+			TypedQuery<JpaInstanceDescriptor> query
+							= em.createQuery(toInstanceDescriptorQuery(filterExpr, after != null),
+											JpaInstanceDescriptor.class);
+			toCursorParams(after).forEach(query::setParameter);
+			List<JpaInstanceDescriptor> descList = query.setMaxResults(limit).getResultList();
+			for ( JpaInstanceDescriptor desc: descList ) {
+				em.detach(desc);
+				prepareInstanceDescriptor(desc);
+			}
 			
-			boolean containsParameterExpr = filterExpr.toLowerCase().contains("parameter.");
-			if ( containsParameterExpr ) {
-				sql = "select distinct instance from JpaInstanceDescriptor instance "
-					+ "join fetch instance.parameters as parameter where " + filterExpr;
+			Long next = (descList.size() == limit) ? descList.get(limit-1).getRowId() : null;
+			return new KeysetPage<>(assembleMDTModels(em, descList), next);
+		});
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 JpaInstanceDescriptor들을 데이터베이스 커서를 통해
+	 * row id 순서대로 읽으면서 {@code consumer}에게 전달한다.
+	 * <p>
+	 * 전체 검색 결과를 메모리에 적재하지 않기 때문에 대상 MDTInstance의 수가 많은 경우에도
+	 * 메모리 사용량이 일정하게 유지된다.
+	 *
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param consumer		읽혀진 JpaInstanceDescriptor를 처리할 consumer.
+	 * @throws IOException	{@code consumer} 수행 중 입출력 오류가 발생된 경우.
+	 */
+	public void scrollInstanceDescriptorAll(@Nullable String filterExpr, @Nullable Long after,
+											ScrollConsumer<? super JpaInstanceDescriptor> consumer)
+		throws IOException {
+		scroll(toInstanceDescriptorQuery(filterExpr, after != null), toCursorParams(after),
+				JpaInstanceDescriptor.class, withRuntimeInfo(consumer));
+	}
+	
+	/**
+	 * 주어진 AAS idShort를 갖는 JpaInstanceDescriptor들을 데이터베이스 커서를 통해
+	 * row id 순서대로 읽으면서 {@code consumer}에게 전달한다.
+	 *
+	 * @param aasIdShort	검색할 AAS idShort.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param consumer		읽혀진 JpaInstanceDescriptor를 처리할 consumer.
+	 * @throws IOException	{@code consumer} 수행 중 입출력 오류가 발생된 경우.
+	 */
+	public void scrollInstanceDescriptorAllByAasIdShort(String aasIdShort, @Nullable Long after,
+														ScrollConsumer<? super JpaInstanceDescriptor> consumer)
+		throws IOException {
+		Preconditions.checkArgument(aasIdShort != null, "AAS idShort is null");
+		
+		Map<String,Object> params = Maps.newHashMap(toCursorParams(after));
+		params.put("idShort", aasIdShort);
+		scroll(toAasIdShortQuery(after != null), params, JpaInstanceDescriptor.class, withRuntimeInfo(consumer));
+	}
+	
+	/**
+	 * 주어진 조건을 만족하는 JpaMDTSubmodelDescriptor들을 데이터베이스 커서를 통해
+	 * row id 순서대로 읽으면서 {@code consumer}에게 전달한다.
+	 * <p>
+	 * {@code idShort}가 주어진 경우는 {@code semanticId}는 무시된다.
+	 *
+	 * @param idShort		검색할 서브모델 idShort. {@code null}인 경우는 조건에 포함시키지 않는다.
+	 * @param semanticId	검색할 서브모델 semanticId. {@code null}인 경우는 조건에 포함시키지 않는다.
+	 * @param after			검색 시작 커서 (서브모델 기술자의 row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param consumer		읽혀진 JpaMDTSubmodelDescriptor를 처리할 consumer.
+	 * @throws IOException	{@code consumer} 수행 중 입출력 오류가 발생된 경우.
+	 */
+	public void scrollSubmodelDescriptorAll(@Nullable String idShort, @Nullable String semanticId,
+											@Nullable Long after,
+											ScrollConsumer<? super JpaMDTSubmodelDescriptor> consumer)
+		throws IOException {
+		Map<String,Object> params = Maps.newHashMap(toCursorParams(after));
+		String sql = toSubmodelDescriptorQuery(idShort, semanticId, after != null, params);
+		scroll(sql, params, JpaMDTSubmodelDescriptor.class, consumer);
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 MDTInstance들의 {@link MDTModel}을 차례대로 구성하여
+	 * {@code consumer}에게 전달한다.
+	 * <p>
+	 * 대상 JpaInstanceDescriptor들은 데이터베이스 커서를 통해 읽으며,
+	 * {@value #MODEL_ASSEMBLY_BATCH_SIZE}개 단위로 {@link #assembleMDTModels(EntityManager, List)}를
+	 * 통해 모델을 구성한다. 커서가 열려있는 동안 같은 연결에서 다른 질의를 수행하지 않도록
+	 * 모델 구성을 위한 질의는 별도의 EntityManager를 통해 수행하고, 커서의 persistence context는
+	 * 하나의 batch가 모두 처리된 후에만 비운다.
+	 *
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @param after			검색 시작 커서 (row id). {@code null}인 경우는 처음부터 검색한다.
+	 * @param consumer		구성된 {@link MDTModel}을 처리할 consumer.
+	 * @throws IOException	{@code consumer} 수행 중 입출력 오류가 발생된 경우.
+	 */
+	public void scrollMDTModelAll(@Nullable String filterExpr, @Nullable Long after,
+									ScrollConsumer<? super MDTModel> consumer) throws IOException {
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		EntityManager lookupEm = m_repos.entityManagerFactory().createEntityManager();
+		try {
+			processor.run(em -> {
+				List<JpaInstanceDescriptor> batch = Lists.newArrayListWithExpectedSize(MODEL_ASSEMBLY_BATCH_SIZE);
+				ScrollConsumer<JpaInstanceDescriptor> collector = desc -> {
+					// 실행 상태 반영 과정에서 변경된 값이 데이터베이스에 반영되지 않도록 분리시킨다.
+					em.detach(desc);
+					prepareInstanceDescriptor(desc);
+					
+					batch.add(desc);
+					if ( batch.size() >= MODEL_ASSEMBLY_BATCH_SIZE ) {
+						acceptBatch(lookupEm, batch, consumer);
+						em.clear();
+					}
+				};
+				scroll(em, toInstanceDescriptorQuery(filterExpr, after != null), toCursorParams(after),
+						JpaInstanceDescriptor.class, collector, false);
+				acceptBatch(lookupEm, batch, consumer);
+			});
+		}
+		catch ( UncheckedIOException e ) {
+			throw e.getCause();
+		}
+		finally {
+			lookupEm.close();
+		}
+	}
+	
+	private void acceptBatch(EntityManager lookupEm, List<JpaInstanceDescriptor> batch,
+							ScrollConsumer<? super MDTModel> consumer) {
+		List<MDTModel> models = assembleMDTModels(lookupEm, batch);
+		lookupEm.clear();
+		batch.clear();
+		acceptAll(models, consumer);
+	}
+	
+	private static <D> void acceptAll(List<D> list, ScrollConsumer<? super D> consumer) {
+		try {
+			for ( D data: list ) {
+				consumer.accept(data);
 			}
-			else {
-				boolean containsSubmodelExpr = filterExpr.toLowerCase().contains("submodel.");
-				if ( containsSubmodelExpr ) {
-					sql = "select distinct instance from JpaInstanceDescriptor instance "
-						+ "join fetch instance.submodels as submodel where " + filterExpr;
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private <D> KeysetPage<D> fetchPage(String sql, Map<String,Object> params, Class<D> resultCls, int limit,
+										Function<D,Long> rowIdFunc) {
+		Preconditions.checkArgument(limit > 0, "invalid limit: %s", limit);
+		
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		List<D> elements = processor.get(em -> {
+			TypedQuery<D> query = em.createQuery(sql, resultCls);
+			params.forEach(query::setParameter);
+			return query.setMaxResults(limit).getResultList();
+		});
+		
+		// 요청한 수만큼 검색된 경우에만 다음 페이지가 존재할 수 있는 것으로 간주한다.
+		Long next = (elements.size() == limit) ? rowIdFunc.apply(elements.get(limit-1)) : null;
+		return new KeysetPage<>(elements, next);
+	}
+	
+	private <D> void scroll(String sql, Map<String,Object> params, Class<D> resultCls,
+							ScrollConsumer<? super D> consumer) throws IOException {
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		try {
+			processor.run(em -> scroll(em, sql, params, resultCls, consumer, true));
+		}
+		catch ( UncheckedIOException e ) {
+			throw e.getCause();
+		}
+	}
+	
+	/**
+	 * 주어진 질의 결과를 데이터베이스 커서를 통해 읽으면서 {@code consumer}에게 전달한다.
+	 * <p>
+	 * {@code clearPeriodically}가 {@code true}인 경우는 {@code consumer}가 처리를 마친 엔티티들이
+	 * persistence context에 계속 쌓이지 않도록 {@value #SCROLL_FETCH_SIZE}개마다 비운다.
+	 * {@code consumer}가 전달받은 엔티티를 모아서 나중에 처리하는 경우는 {@code false}로 하고
+	 * {@code consumer}가 처리를 마친 시점에 직접 비워야 한다.
+	 */
+	private <D> void scroll(EntityManager em, String sql, Map<String,Object> params, Class<D> resultCls,
+							ScrollConsumer<? super D> consumer, boolean clearPeriodically) {
+		TypedQuery<D> query = em.createQuery(sql, resultCls);
+		params.forEach(query::setParameter);
+		query.setHint(HibernateHints.HINT_FETCH_SIZE, SCROLL_FETCH_SIZE);
+		query.setHint(HibernateHints.HINT_READ_ONLY, true);
+		
+		try ( Stream<D> stream = query.getResultStream() ) {
+			int count = 0;
+			for ( Iterator<D> iter = stream.iterator(); iter.hasNext(); ) {
+				consumer.accept(iter.next());
+				
+				// 이미 처리된 엔티티들이 persistence context에 계속 쌓이지 않도록 주기적으로 비운다.
+				if ( clearPeriodically && ++count % SCROLL_FETCH_SIZE == 0 ) {
+					em.clear();
 				}
 			}
-			TypedQuery<JpaInstanceDescriptor> query = em.createQuery(sql, JpaInstanceDescriptor.class);
-			return FStream.from(query.getResultList())
-							.map(desc -> toInstance(desc))
-							.toList();
-		});
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static Map<String,Object> toCursorParams(@Nullable Long after) {
+		return (after != null) ? Map.of("after", after) : Map.of();
+	}
+	
+	/**
+	 * 주어진 필터 표현식에 해당하는 JpaInstanceDescriptor 검색 질의문을 생성한다.
+	 * <p>
+	 * 필터 표현식에 'parameter.' 또는 'submodel.'이 포함된 경우는 해당 테이블에 대한
+	 * 'exists' 부질의로 변환하여 중복된 결과 없이 row id 순서로 정렬될 수 있도록 한다.
+	 * {@code afterCursor}가 {@code true}인 경우는 'after' 인자보다 큰 row id 조건이 추가된다.
+	 */
+	private static String toInstanceDescriptorQuery(@Nullable String filterExpr, boolean afterCursor) {
+		List<String> conditions = Lists.newArrayList();
+		if ( filterExpr != null ) {
+			String lowered = filterExpr.toLowerCase();
+			if ( lowered.contains("parameter.") ) {
+				conditions.add("exists (select 1 from JpaMDTParameterDescriptor parameter "
+								+ "where parameter.instance = instance and (" + filterExpr + "))");
+			}
+			else if ( lowered.contains("submodel.") ) {
+				conditions.add("exists (select 1 from JpaMDTSubmodelDescriptor submodel "
+								+ "where submodel.instance = instance and (" + filterExpr + "))");
+			}
+			else {
+				conditions.add("(" + filterExpr + ")");
+			}
+		}
+		if ( afterCursor ) {
+			conditions.add("instance.rowId > :after");
+		}
+		
+		String sql = "select instance from JpaInstanceDescriptor instance";
+		if ( !conditions.isEmpty() ) {
+			sql += " where " + FStream.from(conditions).join(" and ");
+		}
+		return sql + " order by instance.rowId";
+	}
+	
+	private static String toAasIdShortQuery(boolean afterCursor) {
+		String sql = "select instance from JpaInstanceDescriptor instance where instance.aasIdShort = :idShort";
+		if ( afterCursor ) {
+			sql += " and instance.rowId > :after";
+		}
+		return sql + " order by instance.rowId";
+	}
+	
+	private static String toSubmodelDescriptorQuery(@Nullable String idShort, @Nullable String semanticId,
+													boolean afterCursor, Map<String,Object> params) {
+		List<String> conditions = Lists.newArrayList();
+		if ( idShort != null ) {
+			conditions.add("sm.idShort = :idShort");
+			params.put("idShort", idShort);
+		}
+		else if ( semanticId != null ) {
+			conditions.add("sm.semanticId = :semanticId");
+			params.put("semanticId", semanticId);
+		}
+		if ( afterCursor ) {
+			conditions.add("sm.rowId > :after");
+		}
+		
+		String sql = "select sm from JpaMDTSubmodelDescriptor sm join fetch sm.instance";
+		if ( !conditions.isEmpty() ) {
+			sql += " where " + FStream.from(conditions).join(" and ");
+		}
+		return sql + " order by sm.rowId";
 	}
 
 	@Override
@@ -309,7 +1078,8 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 											.findByInstanceId(id)
 											.orElseThrow(() -> newInstanceNotFoundException(id));
 		
-		MDTInstanceStatus status = desc.getStatus();
+		// 데이터베이스의 실행 상태는 종료 상태가 아니면 늦게 기록될 수 있기 때문에 실행 상태 테이블을 확인한다.
+		MDTInstanceStatus status = getInstanceRuntimeInfo(id).getStatus();
 		switch ( status ) {
 			case STARTING:
 			case RUNNING:
@@ -317,11 +1087,16 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 			default: break;
 		}
 		m_repos.instances().delete(desc);
-		Unchecked.runOrIgnore(() -> toInstance(desc).uninitialize());
+		T instance = evictInstance(id);
+		T removed = (instance != null) ? instance : toInstance(desc);
+		Unchecked.runOrIgnore(() -> removed.uninitialize());
 		
 		File homeDir = getInstanceHomeDir(id);
 		Unchecked.runOrIgnore(() -> FileUtils.deleteDirectory(homeDir));
 		
+		m_runtimes.remove(id);
+		m_versions.remove(id);
+		fireInstanceChanged(id);
 		Globals.EVENT_BUS.post(InstanceStatusChangeEvent.REMOVED(id));
 	}
 
@@ -371,6 +1146,8 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 			}
 			throw e;
 		}
+		evictInstance(id);
+		m_versions.bump(id);
 		
 		return desc;
 	}
@@ -384,8 +1161,15 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		JpaInstanceDescriptor descriptor = m_repos.instances()
 													.findByInstanceId(id)
 													.orElseThrow(() -> newInstanceNotFoundException(id));
+		// 데이터베이스에 아직 기록되지 않은 실행 정보가 이전 값으로 덮어써지지 않도록 먼저 반영한다.
+		prepareInstanceDescriptor(descriptor);
 		update.accept(descriptor);
 		m_repos.instances().save(descriptor);
+		evictInstance(id);
+		m_runtimes.update(id, descriptor.getStatus(), descriptor.getBaseEndpoint());
+		m_versions.bump(id);
+		m_statusWatcher.signal(id);
+		fireInstanceChanged(id);
 	}
 	
 	/**
@@ -397,10 +1181,17 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		Preconditions.checkArgument(id != null, "MDTInstance id is null");
 		
 		m_repos.instances().deleteByInstanceId(id);
+		evictInstance(id);
+		m_runtimes.remove(id);
+		m_versions.remove(id);
+		fireInstanceChanged(id);
 	}
 	
 	/**
 	 * Globals.EVENT_BUS
+	 * <p>
+	 * {@link #isStatusEventPostedAfterUpdate()}가 {@code true}인 경우는 이벤트 발송 이전에
+	 * {@link #updateRuntimeInfo(String, MDTInstanceStatus, String)}를 통해 이미 반영된 변경이므로 무시한다.
 	 * 
 	 * @param ev
 	 */
@@ -409,6 +1200,12 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		if ( getLogger().isDebugEnabled() ) {
 			getLogger().debug("receiving InstanceStatusChangeEvent {}", ev);
 		}
+		if ( isStatusEventPostedAfterUpdate() ) {
+			return;
+		}
+		m_versions.bump(ev.getInstanceId());
+		m_statusWatcher.signal(ev.getInstanceId());
+		fireInstanceChanged(ev.getInstanceId());
 	}
 	
 	protected JpaInstanceDescriptor getJpaInstanceDescriptor(String instId) {
@@ -430,6 +1227,50 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 						.toList();
 	}
 
+	/**
+	 * 주어진 MDTInstance의 AssetAdministrationShell 기술자 JSON을 반환한다.
+	 * <p>
+	 * MDTInstance가 실행 중인 경우는 서비스 endpoint가 부착된 기술자 JSON이 반환된다.
+	 * 데이터베이스에 저장된 JSON을 최대한 그대로 사용하기 때문에 {@link JpaInstanceDescriptor#getAASShellDescriptor()}를
+	 * 통해 기술자 객체를 얻어 직렬화하는 것보다 비용이 적다.
+	 *
+	 * @param desc	대상 MDTInstance의 {@link JpaInstanceDescriptor}.
+	 * @return	JSON 바이트 배열.
+	 */
+	public byte[] getAASShellDescriptorJson(JpaInstanceDescriptor desc) {
+		return m_descJsonCache.getShellDescriptorJson(desc, desc.getBaseEndpoint());
+	}
+	
+	/**
+	 * 주어진 서브모델의 Submodel 기술자 JSON을 반환한다.
+	 *
+	 * @param smDesc		대상 {@link JpaMDTSubmodelDescriptor}.
+	 * @param svcEndpoint	서브모델이 속한 MDTInstance의 서비스 endpoint.
+	 * 						{@code null}인 경우는 endpoint를 부착하지 않는다.
+	 * @return	JSON 바이트 배열.
+	 */
+	public byte[] getAASSubmodelDescriptorJson(JpaMDTSubmodelDescriptor smDesc, @Nullable String svcEndpoint) {
+		if ( smDesc.getInstance() != null ) {
+			m_versions.register(smDesc.getInstance().getInstanceId());
+			m_versions.putAlias("submodel:" + smDesc.getId(), smDesc.getInstance().getInstanceId());
+		}
+		return m_descJsonCache.getSubmodelDescriptorJson(smDesc, svcEndpoint);
+	}
+	
+	/**
+	 * 주어진 MDTInstance에 포함된 모든 서브모델의 Submodel 기술자 JSON들을 반환한다.
+	 *
+	 * @param instId	대상 MDTInstance 식별자.
+	 * @return	JSON 바이트 배열 리스트.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 MDTInstance가 없는 경우.
+	 */
+	public List<byte[]> getAASSubmodelDescriptorJsonAll(String instId) throws ResourceNotFoundException {
+		String svcEndpoint = getInstanceDescriptor(instId).getBaseEndpoint();
+		return FStream.from(m_repos.submodels().findAllByInstance_InstanceId(instId))
+						.map(smDesc -> m_descJsonCache.getSubmodelDescriptorJson(smDesc, svcEndpoint))
+						.toList();
+	}
+
 	public List<MDTSubmodelDescriptor> getMDTSubmodelDescriptorAll(String instId) {
 		JpaInstanceDescriptor instDesc = getInstanceDescriptor(instId);
 		String endpointPrefix = instDesc.getBaseEndpoint();
@@ -438,10 +1279,7 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		return FStream.from(jpaDescList)
 						.map(smDesc -> {
 							MDTSubmodelDescriptor desc = smDesc.toMDTSubmodelDescriptor();
-							String endpoint = (endpointPrefix != null)
-											? endpointPrefix + "/submodels/" + AASUtils.encodeBase64UrlSafe(desc.getId()) 
-											: null;
-							desc.setEndpoint(endpoint);
+							desc.setEndpoint(toSubmodelEndpoint(endpointPrefix, desc.getId()));
 							
 							return desc;
 						})
@@ -450,27 +1288,18 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 	
 	public List<MDTParameterDescriptor> getMDTParameterDescriptorAll(String instId) {
 		InstanceDescriptor instDesc = getInstanceDescriptor(instId).toInstanceDescriptor();
-		JpaMDTSubmodelDescriptor dataSmDesc = getMDTSubmodelDescriptor(instId, "Data");
+		JpaMDTSubmodelDescriptor dataSmDesc = getMDTSubmodelDescriptor(instId, DATA_SUBMODEL_ID_SHORT);
 		// Data 서브모델이 존재하지 않는 경우, 파라미터도 존재하지 않는 것으로 간주한다.
 		if ( dataSmDesc == null ) {
 			return List.of();
 		}
 		
-		String smEndpoint = (instDesc.getBaseEndpoint() != null)
-							? instDesc.getBaseEndpoint() + "/submodels/" + AASUtils.encodeBase64UrlSafe(dataSmDesc.getId())
-							: null;
-		
+		String smEndpoint = toSubmodelEndpoint(instDesc.getBaseEndpoint(), dataSmDesc.getId());
 		List<JpaMDTParameterDescriptor> jpaDescList = m_repos.parameters().findAllByInstance_InstanceId(instId);
-		return FStream.from(jpaDescList)
-						.map(param -> param.toMDTParameterDescriptor())
-						.zipWithIndex()
-						.map(idxed -> {
-							String paramEndpoint = (smEndpoint != null)
-												? instDesc.getParameterEndpoint(idxed.index(), smEndpoint) : null;
-							idxed.value().setEndpoint(paramEndpoint);
-							return idxed.value();
-						})
-						.toList();
+		return attachParameterEndpoints(instDesc, smEndpoint,
+										FStream.from(jpaDescList)
+												.map(param -> param.toMDTParameterDescriptor())
+												.toList());
 	}
 	private JpaMDTSubmodelDescriptor getMDTSubmodelDescriptor(String instId, String submodelIdShort) {
 		return m_repos.submodels()
@@ -486,6 +1315,21 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 						.map(op -> op.toMDTOperationDescriptor())
 						.toList();
 	}
+
+	/**
+	 * 주어진 MDTInstance들의 {@link MDTTwinCompositionDescriptor}에 기록된 의존 관계에 따라
+	 * 시작 계획을 생성한다.
+	 * <p>
+	 * 등록되지 않은 MDTInstance 식별자는 무시된다.
+	 *
+	 * @param instIds	계획 대상 MDTInstance 식별자 리스트.
+	 * @return	시작 계획.
+	 */
+	public InstanceStartupPlan planStartup(Collection<String> instIds) {
+		Preconditions.checkArgument(instIds != null, "MDTInstance id list is null");
+		
+		return InstanceStartupPlan.build(m_repos.instances().findAllByInstanceIdIn(instIds));
+	}
 	
 	public MDTTwinCompositionDescriptor getTwinCompositionDescriptor(String instId) {
 		return m_repos.instances()
@@ -494,6 +1338,144 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 						.orElseThrow(() -> newInstanceNotFoundException(instId));
 	}
 	
+	/**
+	 * 주어진 식별자에 해당하는 MDTInstance의 {@link MDTModel}을 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	{@link MDTModel} 객체.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 MDTInstance가 없는 경우.
+	 */
+	public MDTModel getMDTModel(String instId) throws ResourceNotFoundException {
+		JpaInstanceDescriptor desc = getInstanceDescriptor(instId);
+		
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		return processor.get(em -> assembleMDTModels(em, List.of(desc)).get(0));
+	}
+	
+	/**
+	 * 주어진 필터 조건을 만족하는 모든 MDTInstance들의 {@link MDTModel}을 반환한다.
+	 * <p>
+	 * 인스턴스별로 서브모델/파라미터/연산 정보를 따로 조회하지 않고,
+	 * {@link #assembleMDTModels(EntityManager, List)}를 통해 대상 인스턴스 전체에 대해
+	 * 테이블 별로 한번씩만 질의하여 모델을 구성한다.
+	 *
+	 * @param filterExpr	검색 필터 표현식. {@code null}인 경우는 등록된 모든 MDTInstance를 대상으로 한다.
+	 * @return	{@link MDTModel} 리스트.
+	 */
+	public List<MDTModel> getMDTModelAll(@Nullable String filterExpr) {
+		JpaProcessor processor = new JpaProcessor(m_repos.entityManagerFactory());
+		return processor.get(em -> {
+			List<JpaInstanceDescriptor> descList = findInstanceDescriptorAll(em, filterExpr);
+			for ( JpaInstanceDescriptor desc: descList ) {
+				// 실행 상태 반영 과정에서 변경된 값이 데이터베이스에 반영되지 않도록 분리시킨다.
+				em.detach(desc);
+				prepareInstanceDescriptor(desc);
+			}
+			return assembleMDTModels(em, descList);
+		});
+	}
+	
+	/**
+	 * 주어진 JpaInstanceDescriptor들에 해당하는 {@link MDTModel}들을 구성한다.
+	 * <p>
+	 * 서브모델, 파라미터, 연산 정보는 대상 인스턴스들의 row id 집합을 조건으로 하여
+	 * 각 테이블 별로 한번의 질의로 읽어들인 후 인스턴스 별로 분류한다.
+	 * 대상 인스턴스의 수가 많은 경우에는 {@value #MODEL_ASSEMBLY_BATCH_SIZE}개 단위로 나누어 질의한다.
+	 *
+	 * @param em		질의에 사용할 EntityManager.
+	 * @param descList	대상 인스턴스들의 JpaInstanceDescriptor 리스트.
+	 * @return	{@code descList}와 동일한 순서의 {@link MDTModel} 리스트.
+	 */
+	protected List<MDTModel> assembleMDTModels(EntityManager em, List<JpaInstanceDescriptor> descList) {
+		List<MDTModel> models = Lists.newArrayListWithExpectedSize(descList.size());
+		for ( List<JpaInstanceDescriptor> batch: Lists.partition(descList, MODEL_ASSEMBLY_BATCH_SIZE) ) {
+			models.addAll(assembleMDTModelBatch(em, batch));
+		}
+		return models;
+	}
+	
+	private List<MDTModel> assembleMDTModelBatch(EntityManager em, List<JpaInstanceDescriptor> batch) {
+		if ( batch.isEmpty() ) {
+			return List.of();
+		}
+		Collection<Long> rowIds = FStream.from(batch).map(JpaInstanceDescriptor::getRowId).toList();
+		
+		// 서브모델 기술자는 엔티티 대신 필요한 컬럼만 읽는다.
+		ListMultimap<Long,MDTSubmodelDescriptor> submodels = ArrayListMultimap.create();
+		em.createQuery("select sm.instance.rowId, sm.id, sm.idShort, sm.semanticId "
+						+ "from JpaMDTSubmodelDescriptor sm where sm.instance.rowId in :rowIds "
+						+ "order by sm.rowId", Object[].class)
+			.setParameter("rowIds", rowIds)
+			.getResultList()
+			.forEach(row -> submodels.put((Long)row[0], new MDTSubmodelDescriptor((String)row[1], (String)row[2],
+																					(String)row[3])));
+		
+		ListMultimap<Long,MDTParameterDescriptor> parameters = ArrayListMultimap.create();
+		em.createQuery("select param.instance.rowId, param.id, param.name, param.valueType, param.reference "
+						+ "from JpaMDTParameterDescriptor param where param.instance.rowId in :rowIds "
+						+ "order by param.rowId", Object[].class)
+			.setParameter("rowIds", rowIds)
+			.getResultList()
+			.forEach(row -> parameters.put((Long)row[0], new MDTParameterDescriptor((String)row[1], (String)row[2],
+																					(String)row[3], (String)row[4])));
+		
+		ListMultimap<Long,MDTOperationDescriptor> operations = ArrayListMultimap.create();
+		em.createQuery("select op.instance.rowId, op from JpaMDTOperationDescriptor op "
+						+ "where op.instance.rowId in :rowIds order by op.rowId", Object[].class)
+			.setParameter("rowIds", rowIds)
+			.getResultList()
+			.forEach(row -> operations.put((Long)row[0], ((JpaMDTOperationDescriptor)row[1]).toMDTOperationDescriptor()));
+		
+		List<MDTModel> models = Lists.newArrayListWithExpectedSize(batch.size());
+		for ( JpaInstanceDescriptor desc: batch ) {
+			InstanceDescriptor instDesc = desc.toInstanceDescriptor();
+			String baseEndpoint = instDesc.getBaseEndpoint();
+			
+			List<MDTSubmodelDescriptor> smDescList = submodels.get(desc.getRowId());
+			Map<String,String> smEndpoints = Maps.newHashMap();
+			for ( MDTSubmodelDescriptor smDesc: smDescList ) {
+				smDesc.setEndpoint(toSubmodelEndpoint(baseEndpoint, smDesc.getId()));
+				smEndpoints.put(smDesc.getIdShort(), smDesc.getEndpoint());
+			}
+			
+			// Data 서브모델이 존재하지 않는 경우, 파라미터도 존재하지 않는 것으로 간주한다.
+			List<MDTParameterDescriptor> paramDescList = List.of();
+			if ( smEndpoints.containsKey(DATA_SUBMODEL_ID_SHORT) ) {
+				paramDescList = attachParameterEndpoints(instDesc, smEndpoints.get(DATA_SUBMODEL_ID_SHORT),
+														parameters.get(desc.getRowId()));
+			}
+			
+			MDTModel model = new MDTModel(instDesc);
+			model.setSubmodels(smDescList);
+			model.setParameters(paramDescList);
+			model.setOperations(operations.get(desc.getRowId()));
+			model.setTwinComposition(desc.getTwinComposition());
+			models.add(model);
+		}
+		
+		return models;
+	}
+	
+	private static String toSubmodelEndpoint(String baseEndpoint, String submodelId) {
+		return (baseEndpoint != null)
+				? baseEndpoint + "/submodels/" + AASUtils.encodeBase64UrlSafe(submodelId)
+				: null;
+	}
+	
+	private static List<MDTParameterDescriptor> attachParameterEndpoints(InstanceDescriptor instDesc,
+																		String dataSmEndpoint,
+																		List<MDTParameterDescriptor> params) {
+		return FStream.from(params)
+						.zipWithIndex()
+						.map(idxed -> {
+							String paramEndpoint = (dataSmEndpoint != null)
+												? instDesc.getParameterEndpoint(idxed.index(), dataSmEndpoint) : null;
+							idxed.value().setEndpoint(paramEndpoint);
+							return idxed.value();
+						})
+						.toList();
+	}
+	
 	@Override
 	public Logger getLogger() {
 		return Optionals.getOrElse(m_logger, s_logger);
@@ -504,12 +1486,35 @@ public abstract class AbstractJpaInstanceManager<T extends JpaInstance>
 		m_logger = logger;
 	}
 	
-	@Transactional
-	protected void updateInstanceDescriptor(String id, MDTInstanceStatus status, String endpoint) {
-		updateInstanceDescriptor(id, desc -> {
-			desc.setStatus(status);
-			desc.setBaseEndpoint(endpoint);
-		});
+	/**
+	 * 주어진 JpaInstanceDescriptor에 {@link InstanceRuntimeTable}에 유지되는 실행 정보를 반영한다.
+	 * <p>
+	 * 테이블에 등록되지 않은 MDTInstance인 경우는 등록정보에 기록된 실행 정보를 테이블에 등록한다.
+	 *
+	 * @param desc	대상 JpaInstanceDescriptor.
+	 */
+	private void applyRuntimeInfo(JpaInstanceDescriptor desc) {
+		InstanceRuntimeInfo info = m_runtimes.load(desc.getInstanceId(), desc.getStatus(), desc.getBaseEndpoint());
+		desc.setStatus(info.getStatus());
+		desc.setBaseEndpoint(info.getBaseEndpoint());
+	}
+	
+	private void prepareInstanceDescriptor(JpaInstanceDescriptor desc) {
+		applyRuntimeInfo(desc);
+		adaptInstanceDescriptor(desc);
+	}
+	
+	private ScrollConsumer<JpaInstanceDescriptor>
+	withRuntimeInfo(ScrollConsumer<? super JpaInstanceDescriptor> consumer) {
+		// 커서 검색은 read-only로 수행되기 때문에 반영된 값이 데이터베이스에 기록되지 않는다.
+		return desc -> {
+			prepareInstanceDescriptor(desc);
+			consumer.accept(desc);
+		};
+	}
+	
+	private void writeRuntimeInfo(String instId, InstanceRuntimeInfo info) {
+		m_repos.instances().updateRuntimeInfo(instId, info.getStatus(), info.getBaseEndpoint());
 	}
 	
 	private static ResourceNotFoundException newInstanceNotFoundException(String instanceId) {
@@ -0,0 +1,105 @@
+package mdt.instance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import utils.InternalException;
+
+import mdt.instance.jpa.JpaInstanceDescriptor;
+import mdt.instance.jpa.JpaMDTSubmodelDescriptor;
+import mdt.model.AASUtils;
+import mdt.model.MDTModelSerDe;
+
+
+/**
+ * 데이터베이스에 저장된 AAS/Submodel 기술자 JSON을 역직렬화 과정 없이 응답으로 제공하기 위한 캐쉬.
+ * <p>
+ * 서비스 endpoint를 부착할 필요가 없는 경우는 저장된 JSON 바이트를 그대로 반환한다.
+ * endpoint를 부착해야 하는 경우는 최초 요청시에만 기술자를 역직렬화하여 endpoint를 부착한 JSON을
+ * 생성하고, 이후에는 생성된 JSON을 재사용한다. 캐쉬된 JSON은 생성에 사용된 원본 JSON 바이트와
+ * endpoint가 모두 동일한 경우에만 사용되기 때문에, 기술자가 갱신되거나 endpoint가 바뀌면
+ * 자동으로 다시 생성된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class DescriptorJsonCache {
+	private final Cache<String,Entry> m_cache;
+
+	private record Entry(byte[] source, String endpoint, byte[] json) {
+		boolean matches(byte[] source, String endpoint) {
+			return Objects.equals(this.endpoint, endpoint) && Arrays.equals(this.source, source);
+		}
+	}
+
+	/**
+	 * 캐쉬 객체를 생성한다.
+	 *
+	 * @param maxSize	캐쉬에 보관할 최대 기술자 JSON 수.
+	 */
+	public DescriptorJsonCache(long maxSize) {
+		m_cache = CacheBuilder.newBuilder()
+								.maximumSize(maxSize)
+								.build();
+	}
+
+	/**
+	 * 주어진 MDTInstance의 AssetAdministrationShell 기술자 JSON을 반환한다.
+	 *
+	 * @param desc		대상 MDTInstance의 {@link JpaInstanceDescriptor}.
+	 * @param endpoint	기술자에 부착할 서비스 endpoint. {@code null}인 경우는 부착하지 않는다.
+	 * @return	JSON 바이트 배열.
+	 */
+	public byte[] getShellDescriptorJson(JpaInstanceDescriptor desc, @Nullable String endpoint) {
+		return get("shell:" + desc.getInstanceId(), desc.getAasDescJsonBytes(), endpoint, () -> {
+			return AASUtils.attachEndpoint(desc.getAssetAdministrationShellDescriptor(), endpoint);
+		});
+	}
+
+	/**
+	 * 주어진 서브모델의 Submodel 기술자 JSON을 반환한다.
+	 *
+	 * @param desc		대상 {@link JpaMDTSubmodelDescriptor}.
+	 * @param endpoint	기술자에 부착할 서비스 endpoint. {@code null}인 경우는 부착하지 않는다.
+	 * @return	JSON 바이트 배열.
+	 */
+	public byte[] getSubmodelDescriptorJson(JpaMDTSubmodelDescriptor desc, @Nullable String endpoint) {
+		return get("submodel:" + desc.getId(), desc.getAasSubmodelDescriptorJsonBytes(), endpoint, () -> {
+			return AASUtils.attachEndpoint(desc.getAASSubmodelDescriptor(), endpoint);
+		});
+	}
+
+	/**
+	 * 캐쉬된 모든 JSON을 제거한다.
+	 */
+	public void invalidateAll() {
+		m_cache.invalidateAll();
+	}
+
+	private byte[] get(String key, byte[] source, @Nullable String endpoint, Supplier<Object> attacher) {
+		// 저장된 기술자에는 endpoint가 포함되어 있지 않기 때문에 그대로 반환한다.
+		if ( endpoint == null ) {
+			return source;
+		}
+
+		Entry entry = m_cache.getIfPresent(key);
+		if ( entry != null && entry.matches(source, endpoint) ) {
+			return entry.json();
+		}
+
+		try {
+			byte[] json = MDTModelSerDe.getJsonSerializer().write(attacher.get()).getBytes(StandardCharsets.UTF_8);
+			m_cache.put(key, new Entry(source, endpoint, json));
+			return json;
+		}
+		catch ( Exception e ) {
+			throw new InternalException("Failed to serialize descriptor: key=" + key + ", cause=" + e);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package mdt.instance;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import utils.InternalException;
+
+
+/**
+ * MDTInstance의 서비스 endpoint에 직접 접속하여 서비스가 가능한 상태인지 확인하는 모듈.
+ * <p>
+ * 먼저 endpoint의 host/port로 TCP 연결을 시도하고, 연결되면 {@code GET {endpoint}/shells} 요청을 보낸다.
+ * 5xx 이외의 응답을 받으면 요청을 처리할 수 있는 상태로 판단한다 (인증이 필요한 경우의 401/403 응답도
+ * 서비스가 동작 중임을 의미한다). 실패한 경우는 대기 간격을 두배씩 늘려가며(exponential backoff)
+ * 제한 시간까지 다시 시도한다.
+ * <p>
+ * MDTInstance들은 자체 서명된 인증서를 사용하기 때문에, 본 확인 과정에서는 인증서를 검증하지 않는다.
+ * 응답 내용은 사용되지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class EndpointReadinessProbe {
+	private static final Logger s_logger = LoggerFactory.getLogger(EndpointReadinessProbe.class);
+
+	private static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+	private static final Duration MAX_BACKOFF = Duration.ofSeconds(2);
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(1);
+	private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+
+	private static final SSLSocketFactory TRUST_ALL_SOCKET_FACTORY = createTrustAllSocketFactory();
+
+	private EndpointReadinessProbe() {
+		throw new AssertionError("Should not be called: class=" + getClass());
+	}
+
+	/**
+	 * 주어진 endpoint가 서비스 가능한 상태가 될 때까지 대기한다.
+	 *
+	 * @param endpoint	MDTInstance 서비스 endpoint (예: "https://host:port/api/v3.0").
+	 * @param timeout	제한 시간.
+	 * @param aborted	대기를 중단할 조건 (예: 프로세스 종료). {@code null}인 경우는 제한 시간까지 대기한다.
+	 * @return	서비스 가능한 상태가 된 경우는 {@code true}, 제한 시간이 경과하거나 중단된 경우는 {@code false}.
+	 * @throws InterruptedException	대기 중에 쓰레드가 인터럽트된 경우.
+	 * @throws IllegalArgumentException	endpoint 형식이 올바르지 않은 경우.
+	 */
+	public static boolean await(String endpoint, Duration timeout, @Nullable BooleanSupplier aborted)
+		throws InterruptedException {
+		Preconditions.checkArgument(endpoint != null, "endpoint is null");
+		Preconditions.checkArgument(timeout != null, "timeout is null");
+
+		URI uri = URI.create(endpoint);
+		Preconditions.checkArgument(uri.getHost() != null, "invalid endpoint: %s", endpoint);
+		int port = (uri.getPort() > 0) ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+		URI shellsUri = URI.create(endpoint.endsWith("/") ? endpoint + "shells" : endpoint + "/shells");
+
+		long deadline = System.nanoTime() + timeout.toNanos();
+		long backoffMillis = INITIAL_BACKOFF.toMillis();
+		int attempts = 0;
+		while ( true ) {
+			if ( aborted != null && aborted.getAsBoolean() ) {
+				return false;
+			}
+
+			++attempts;
+			String failure = probe(uri.getHost(), port, shellsUri);
+			if ( failure == null ) {
+				if ( s_logger.isDebugEnabled() ) {
+					s_logger.debug("endpoint is ready: endpoint={}, attempts={}", endpoint, attempts);
+				}
+				return true;
+			}
+
+			long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+			if ( remainingMillis <= 0 ) {
+				if ( s_logger.isInfoEnabled() ) {
+					s_logger.info("endpoint is not ready within timeout: endpoint={}, attempts={}, last-failure={}",
+									endpoint, attempts, failure);
+				}
+				return false;
+			}
+			Thread.sleep(Math.min(backoffMillis, remainingMillis));
+			backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+		}
+	}
+
+	private static @Nullable String probe(String host, int port, URI shellsUri) {
+		// 서비스 포트가 열리지 않은 경우는 HTTP 요청을 보내지 않는다.
+		try ( Socket socket = new Socket() ) {
+			socket.connect(new InetSocketAddress(host, port), (int)CONNECT_TIMEOUT.toMillis());
+		}
+		catch ( IOException e ) {
+			return "connect: " + e.getMessage();
+		}
+
+		HttpURLConnection conn = null;
+		try {
+			conn = (HttpURLConnection)shellsUri.toURL().openConnection();
+			if ( conn instanceof HttpsURLConnection https ) {
+				https.setSSLSocketFactory(TRUST_ALL_SOCKET_FACTORY);
+				https.setHostnameVerifier((hostname, session) -> true);
+			}
+			conn.setConnectTimeout((int)CONNECT_TIMEOUT.toMillis());
+			conn.setReadTimeout((int)READ_TIMEOUT.toMillis());
+			conn.setRequestMethod("GET");
+
+			int code = conn.getResponseCode();
+			return (code < 500) ? null : "http status: " + code;
+		}
+		catch ( IOException e ) {
+			return "http: " + e.getMessage();
+		}
+		finally {
+			if ( conn != null ) {
+				conn.disconnect();
+			}
+		}
+	}
+
+	private static SSLSocketFactory createTrustAllSocketFactory() {
+		TrustManager trustAll = new X509TrustManager() {
+			@Override
+			public void checkClientTrusted(X509Certificate[] chain, String authType) { }
+
+			@Override
+			public void checkServerTrusted(X509Certificate[] chain, String authType) { }
+
+			@Override
+			public X509Certificate[] getAcceptedIssuers() {
+				return new X509Certificate[0];
+			}
+		};
+		try {
+			SSLContext ctx = SSLContext.getInstance("TLS");
+			ctx.init(null, new TrustManager[] { trustAll }, new SecureRandom());
+			return ctx.getSocketFactory();
+		}
+		catch ( Exception e ) {
+			throw new InternalException("failed to create SSLContext for readiness probe, cause=" + e);
+		}
+	}
+}
@@ -11,7 +11,9 @@ import mdt.model.instance.MDTInstanceStatus;
 
 
 /**
+ * MDTInstance의 실행 상태와 서비스 endpoint 정보.
  *
+ * @see InstanceRuntimeTable
  * @author Kang-Woo Lee (ETRI)
  */
 @JsonIncludeProperties({"status", "baseEndpoint"})
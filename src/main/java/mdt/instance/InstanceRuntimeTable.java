@@ -0,0 +1,214 @@
+package mdt.instance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import mdt.model.instance.MDTInstanceStatus;
+
+
+/**
+ * MDTInstance 별 실행 상태와 서비스 endpoint({@link InstanceRuntimeInfo})를 메모리에 유지하는 테이블.
+ * <p>
+ * MDTInstance의 실행 상태는 본 테이블이 기준(source of truth)이 되며, 실행기나 외부 실행 환경으로부터
+ * 상태 변경이 통보될 때마다 {@link #update(String, MDTInstanceStatus, String)}를 통해 갱신된다.
+ * 변경된 정보는 바로 데이터베이스에 기록하지 않고, 변경된 MDTInstance들만 모아 주기적으로
+ * 별도 쓰레드에서 기록한다(write-behind). 기록 시점에는 테이블의 최신 정보가 기록되기 때문에,
+ * 짧은 시간 동안 여러 번 변경되더라도 데이터베이스에는 마지막 정보만 한번 기록된다.
+ * 단, 종료 상태({@link MDTInstanceStatus#STOPPED}, {@link MDTInstanceStatus#FAILED})로의 변경은
+ * 다음 기록 주기 전에 MDTManager가 종료되더라도 유실되지 않도록 바로 기록한다.
+ * <p>
+ * 테이블에 등록되지 않은 MDTInstance는 데이터베이스에서 읽은 정보를 {@link #load(String, MDTInstanceStatus, String)}를
+ * 통해 등록한다. 이렇게 등록된 정보는 실행 환경에서 관측된 정보가 아니기 때문에
+ * {@link #getObserved(String, Duration)}의 대상이 되지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class InstanceRuntimeTable {
+	private static final Logger s_logger = LoggerFactory.getLogger(InstanceRuntimeTable.class);
+	// 데이터베이스에서 읽은 정보인 경우의 관측 시각.
+	private static final long NOT_OBSERVED = Long.MIN_VALUE;
+
+	/**
+	 * 변경된 실행 정보를 데이터베이스에 기록하는 인터페이스.
+	 */
+	@FunctionalInterface
+	public interface Writer {
+		public void write(String instId, InstanceRuntimeInfo info);
+	}
+
+	private record Entry(InstanceRuntimeInfo info, long observedAt) { }
+
+	private final Map<String,Entry> m_entries = new ConcurrentHashMap<>();
+	private final Set<String> m_dirties = ConcurrentHashMap.newKeySet();
+	private final Writer m_writer;
+	private final ScheduledExecutorService m_flusher;
+	private final AtomicBoolean m_shutdown = new AtomicBoolean(false);
+
+	/**
+	 * 테이블을 생성한다.
+	 *
+	 * @param writer		변경된 실행 정보를 데이터베이스에 기록하는 객체.
+	 * @param flushInterval	변경된 실행 정보를 데이터베이스에 기록하는 주기.
+	 */
+	public InstanceRuntimeTable(Writer writer, Duration flushInterval) {
+		Preconditions.checkArgument(writer != null, "Writer is null");
+		Preconditions.checkArgument(flushInterval != null && !flushInterval.isNegative() && !flushInterval.isZero(),
+									"invalid flush interval: %s", flushInterval);
+
+		m_writer = writer;
+		m_flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+																	.setNameFormat("mdt-runtime-writer")
+																	.setDaemon(true)
+																	.build());
+		long intervalMillis = flushInterval.toMillis();
+		m_flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 아직 기록되지 않은 변경 정보를 모두 데이터베이스에 기록하고 테이블을 종료한다.
+	 */
+	public void shutdown() {
+		if ( m_shutdown.compareAndSet(false, true) ) {
+			m_flusher.shutdown();
+			try {
+				// 진행 중인 주기적 기록이 끝난 후에 남은 변경을 기록한다.
+				m_flusher.awaitTermination(5, TimeUnit.SECONDS);
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+			}
+			flush();
+		}
+	}
+
+	/**
+	 * 주어진 MDTInstance의 실행 정보를 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	실행 정보. 테이블에 등록되지 않은 경우는 {@code null}.
+	 */
+	public @Nullable InstanceRuntimeInfo get(String instId) {
+		Entry entry = m_entries.get(instId);
+		return (entry != null) ? entry.info() : null;
+	}
+
+	/**
+	 * 주어진 기간 이내에 실행 환경에서 관측되거나 통보된 MDTInstance의 실행 정보를 반환한다.
+	 * <p>
+	 * MDTInstanceManager를 거치지 않고 실행 상태가 바뀔 수 있는 실행 환경(예: docker, kubernetes)에서
+	 * 실행 환경을 다시 질의할 필요가 있는지 판단하는데 사용된다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param maxAge	허용되는 최대 경과 시간. {@code null}인 경우는 경과 시간을 확인하지 않는다.
+	 * @return	실행 정보. 관측된 적이 없거나 관측 후 {@code maxAge}가 지난 경우는 {@code null}.
+	 */
+	public @Nullable InstanceRuntimeInfo getObserved(String instId, @Nullable Duration maxAge) {
+		Entry entry = m_entries.get(instId);
+		if ( entry == null || entry.observedAt() == NOT_OBSERVED ) {
+			return null;
+		}
+		if ( maxAge != null && System.nanoTime() - entry.observedAt() > maxAge.toNanos() ) {
+			return null;
+		}
+		return entry.info();
+	}
+
+	/**
+	 * 주어진 MDTInstance의 실행 정보를 갱신한다.
+	 * <p>
+	 * 실행 정보가 실제로 바뀐 경우는 데이터베이스 기록 대상으로 등록된다. 종료 상태로 바뀐 경우는
+	 * 호출한 쓰레드에서 바로 기록한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param status	MDTInstance 상태.
+	 * @param endpoint	MDTInstance 서비스 endpoint. 실행 중이 아닌 경우는 {@code null}.
+	 * @return	실행 정보가 바뀐 경우는 {@code true}, 그렇지 않으면 {@code false}.
+	 */
+	public boolean update(String instId, MDTInstanceStatus status, @Nullable String endpoint) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+		Preconditions.checkArgument(status != null, "MDTInstanceStatus is null");
+
+		Entry prev = m_entries.put(instId, new Entry(new InstanceRuntimeInfo(status, endpoint), System.nanoTime()));
+		boolean changed = prev == null || prev.info().getStatus() != status
+						|| !Objects.equals(prev.info().getBaseEndpoint(), endpoint);
+		if ( changed ) {
+			m_dirties.add(instId);
+			if ( status == MDTInstanceStatus.STOPPED || status == MDTInstanceStatus.FAILED ) {
+				flush(instId);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * 데이터베이스에서 읽은 MDTInstance의 실행 정보를 등록한다.
+	 * <p>
+	 * 이미 등록된 경우는 테이블의 정보가 더 최신이므로 무시된다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param status	데이터베이스에 기록된 MDTInstance 상태.
+	 * @param endpoint	데이터베이스에 기록된 MDTInstance 서비스 endpoint.
+	 * @return	등록 후 테이블에 유지되는 실행 정보.
+	 */
+	public InstanceRuntimeInfo load(String instId, MDTInstanceStatus status, @Nullable String endpoint) {
+		Entry loaded = new Entry(new InstanceRuntimeInfo(status, endpoint), NOT_OBSERVED);
+		return m_entries.computeIfAbsent(instId, k -> loaded).info();
+	}
+
+	/**
+	 * 주어진 MDTInstance의 실행 정보를 제거한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void remove(String instId) {
+		m_entries.remove(instId);
+		m_dirties.remove(instId);
+	}
+
+	/**
+	 * 변경된 실행 정보들을 데이터베이스에 기록한다.
+	 */
+	public void flush() {
+		for ( String instId: List.copyOf(m_dirties) ) {
+			flush(instId);
+		}
+	}
+
+	// 주기적 기록과 종료 상태 기록이 서로 다른 쓰레드에서 수행되더라도 이전 정보가 나중에 기록되지 않도록
+	// 기록은 한 번에 하나씩만 수행한다.
+	private synchronized void flush(String instId) {
+		// 기록 도중에 다시 변경되면 기록 대상으로 다시 등록되도록 먼저 제거한다.
+		if ( !m_dirties.remove(instId) ) {
+			return;
+		}
+
+		Entry entry = m_entries.get(instId);
+		if ( entry == null ) {
+			return;
+		}
+		try {
+			m_writer.write(instId, entry.info());
+		}
+		catch ( Exception e ) {
+			// 다음 주기에 다시 기록을 시도한다.
+			m_dirties.add(instId);
+			s_logger.warn("failed to write MDTInstance runtime info: id={}, info={}, cause={}",
+							instId, entry.info(), e.toString());
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package mdt.instance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import utils.stream.FStream;
+
+import mdt.instance.jpa.JpaInstanceDescriptor;
+import mdt.model.instance.MDTTwinCompositionDescriptor;
+import mdt.model.instance.MDTTwinCompositionDescriptor.MDTCompositionDependency;
+import mdt.model.instance.MDTTwinCompositionDescriptor.MDTCompositionItem;
+
+
+/**
+ * MDTInstance들 사이의 의존 관계에 따라 결정된 시작 순서.
+ * <p>
+ * 의존 관계는 각 MDTInstance의 {@link MDTTwinCompositionDescriptor}에 기록된 composition dependency로부터
+ * 얻어지며, 종류에 관계없이 dependency의 source item에 해당하는 MDTInstance가 target item에 해당하는
+ * MDTInstance에 의존하는 것으로 간주한다. 즉, target MDTInstance가 먼저 시작되어야 한다.
+ * 계획 대상에 포함되지 않은 MDTInstance와의 의존 관계는 무시된다.
+ * <p>
+ * 시작 순서는 위상 정렬(topological sort)을 통해 여러 단계(wave)로 구성되며, 같은 단계에 속한
+ * MDTInstance들은 서로 의존하지 않기 때문에 동시에 시작될 수 있다.
+ * 의존 관계에 순환(cycle)이 있는 경우는 순환에 포함되거나 순환에 의존하는 MDTInstance들을
+ * 마지막 단계에 배치하고, 이들 사이의 의존 관계는 무시한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public final class InstanceStartupPlan {
+	private static final Logger s_logger = LoggerFactory.getLogger(InstanceStartupPlan.class);
+
+	private final List<List<String>> m_waves;
+	// MDTInstance 식별자 -> 해당 MDTInstance가 의존하는 MDTInstance 식별자 집합.
+	private final Map<String,Set<String>> m_dependencies;
+
+	private InstanceStartupPlan(List<List<String>> waves, Map<String,Set<String>> dependencies) {
+		m_waves = waves;
+		m_dependencies = dependencies;
+	}
+
+	/**
+	 * 시작 단계 리스트를 반환한다.
+	 *
+	 * @return	단계 별 MDTInstance 식별자 리스트.
+	 */
+	public List<List<String>> getWaves() {
+		return m_waves;
+	}
+
+	/**
+	 * 주어진 MDTInstance가 의존하는, 즉 먼저 시작되어야 하는 MDTInstance들의 식별자 집합을 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	MDTInstance 식별자 집합.
+	 */
+	public Set<String> getDependencies(String instId) {
+		return m_dependencies.getOrDefault(instId, Collections.emptySet());
+	}
+
+	/**
+	 * 의존 관계를 역으로 적용한 계획을 반환한다.
+	 * <p>
+	 * 다른 MDTInstance가 의존하는 MDTInstance를 나중에 중지시키는 경우처럼, 중지 순서를 결정할 때 사용된다.
+	 *
+	 * @return	역순 계획.
+	 */
+	public InstanceStartupPlan reverse() {
+		Map<String,Set<String>> reversed = new HashMap<>();
+		m_dependencies.forEach((instId, deps) -> {
+			deps.forEach(dep -> reversed.computeIfAbsent(dep, k -> new LinkedHashSet<>()).add(instId));
+		});
+		return new InstanceStartupPlan(List.copyOf(m_waves).reversed(), reversed);
+	}
+
+	/**
+	 * 주어진 MDTInstance들의 시작 계획을 생성한다.
+	 *
+	 * @param descList	계획 대상 MDTInstance들의 등록정보 리스트.
+	 * @return	시작 계획.
+	 */
+	public static InstanceStartupPlan build(Collection<JpaInstanceDescriptor> descList) {
+		Map<String,String> aasIdToInstId = new HashMap<>();
+		for ( JpaInstanceDescriptor desc: descList ) {
+			aasIdToInstId.put(desc.getAasId(), desc.getInstanceId());
+		}
+
+		// 각 MDTInstance의 composition dependency를 MDTInstance 사이의 의존 관계로 변환한다.
+		Map<String,Set<String>> dependencies = new LinkedHashMap<>();
+		for ( JpaInstanceDescriptor desc: descList ) {
+			dependencies.computeIfAbsent(desc.getInstanceId(), k -> new LinkedHashSet<>());
+
+			MDTTwinCompositionDescriptor twinComp = desc.getTwinComposition();
+			Map<String,String> itemToInstId = new HashMap<>();
+			for ( MDTCompositionItem item: twinComp.getCompositionItems() ) {
+				String instId = aasIdToInstId.get(item.getReference());
+				if ( instId != null ) {
+					itemToInstId.put(item.getId(), instId);
+				}
+			}
+			for ( MDTCompositionDependency dep: twinComp.getCompositionDependencies() ) {
+				String src = itemToInstId.get(dep.getSourceItem());
+				String tar = itemToInstId.get(dep.getTargetItem());
+				if ( src != null && tar != null && !src.equals(tar) ) {
+					dependencies.computeIfAbsent(src, k -> new LinkedHashSet<>()).add(tar);
+				}
+			}
+		}
+
+		return new InstanceStartupPlan(sortTopologically(dependencies), dependencies);
+	}
+
+	private static List<List<String>> sortTopologically(Map<String,Set<String>> dependencies) {
+		Map<String,Integer> nremains = new HashMap<>();
+		Map<String,List<String>> dependents = new HashMap<>();
+		dependencies.forEach((instId, deps) -> {
+			nremains.put(instId, deps.size());
+			deps.forEach(dep -> dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(instId));
+		});
+
+		List<List<String>> waves = new ArrayList<>();
+		List<String> wave = FStream.from(dependencies.keySet())
+									.filter(instId -> nremains.get(instId) == 0)
+									.toList();
+		Set<String> planned = new LinkedHashSet<>();
+		while ( !wave.isEmpty() ) {
+			waves.add(wave);
+			planned.addAll(wave);
+
+			List<String> next = new ArrayList<>();
+			for ( String instId: wave ) {
+				for ( String dependent: dependents.getOrDefault(instId, Collections.emptyList()) ) {
+					if ( nremains.merge(dependent, -1, Integer::sum) == 0 ) {
+						next.add(dependent);
+					}
+				}
+			}
+			wave = next;
+		}
+
+		if ( planned.size() < dependencies.size() ) {
+			List<String> cyclic = FStream.from(dependencies.keySet())
+										.filter(instId -> !planned.contains(instId))
+										.toList();
+			s_logger.warn("cyclic dependencies among MDTInstances are ignored: {}", cyclic);
+
+			// 순환에 포함된 MDTInstance들 사이의 의존 관계를 제거하여 마지막 단계에서 동시에 시작되도록 한다.
+			for ( String instId: cyclic ) {
+				dependencies.get(instId).retainAll(planned);
+			}
+			waves.add(cyclic);
+		}
+		return waves;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("InstanceStartupPlan[waves=%s]", m_waves);
+	}
+}
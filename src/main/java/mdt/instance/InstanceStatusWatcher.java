@@ -0,0 +1,73 @@
+package mdt.instance;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * MDTInstance 별로 상태 변경 여부를 통보하는 future를 관리하는 클래스.
+ * <p>
+ * 상태 변경을 기다리는 쓰레드는 {@link #watch(String)}로 얻은 future를 통해 대기하고,
+ * MDTInstance의 상태를 변경시키는 쪽에서는 {@link #signal(String)}을 호출하여 대기 중인
+ * 쓰레드들을 바로 깨운다. 하나의 future는 한번만 완료되기 때문에, 대기 쓰레드는 깨어날 때마다
+ * 새로 future를 얻어야 한다.
+ * <p>
+ * 트랜잭션 내에서 통보가 요청된 경우는 트랜잭션이 commit된 이후에 통보한다.
+ * 그렇지 않으면 깨어난 쓰레드가 갱신 이전의 상태를 읽을 수 있기 때문이다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class InstanceStatusWatcher {
+	private final Map<String,CompletableFuture<Void>> m_signals = new ConcurrentHashMap<>();
+
+	/**
+	 * 주어진 MDTInstance의 다음 상태 변경 시 완료되는 future를 반환한다.
+	 * <p>
+	 * 상태 변경을 놓치지 않도록, 대기 쓰레드는 현재 상태를 읽기 전에 먼저 future를 얻어야 한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	상태 변경 통보 future.
+	 */
+	public CompletableFuture<Void> watch(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		return m_signals.computeIfAbsent(instId, k -> new CompletableFuture<>());
+	}
+
+	/**
+	 * 주어진 MDTInstance의 상태가 변경되었음을 대기 중인 쓰레드들에게 통보한다.
+	 * <p>
+	 * 현재 쓰레드에서 트랜잭션이 수행 중인 경우는 트랜잭션이 commit된 후에 통보한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void signal(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					complete(instId);
+				}
+			});
+		}
+		else {
+			complete(instId);
+		}
+	}
+
+	private void complete(String instId) {
+		// 대기 중인 쓰레드가 없으면 future가 등록되어 있지 않으므로 아무 일도 하지 않는다.
+		CompletableFuture<Void> signal = m_signals.remove(instId);
+		if ( signal != null ) {
+			signal.complete(null);
+		}
+	}
+}
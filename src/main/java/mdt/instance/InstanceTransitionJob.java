@@ -0,0 +1,408 @@
+package mdt.instance;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.google.common.base.Preconditions;
+
+import mdt.model.instance.MDTInstanceStatus;
+
+
+/**
+ * 여러 MDTInstance들을 한번에 시작 또는 중지시키는 작업(job)의 진행 상태.
+ * <p>
+ * 작업은 {@link InstanceTransitionService}에 의해 생성되고 수행되며, 작업에 포함된 각 MDTInstance의
+ * 진행 상태는 {@link Item}으로 표현된다. 작업의 진행 상태는 작업이 수행되는 동안에도 조회될 수 있다.
+ * <p>
+ * {@link InstanceStartupPlan}이 주어진 작업(ordered job)은 각 MDTInstance가 의존하는 MDTInstance들에 대한
+ * 작업이 모두 성공한 이후에 해당 MDTInstance에 대한 작업을 수행한다. 의존하는 MDTInstance에 대한 작업이
+ * 실패하면 해당 MDTInstance에 대한 작업은 수행되지 않고 {@link ItemState#SKIPPED} 상태가 된다.
+ * <p>
+ * 작업의 진행 상태가 바뀔 때마다 작업의 버전 번호가 증가되며, 변경된 {@link Item}에는 그 때의 버전 번호가
+ * 기록된다. 진행 상태를 지속적으로 관찰하는 쪽에서는 {@link #watchChange(long)}를 통해 다음 변경을 기다리고
+ * {@link #getItemsChangedAfter(long)}를 통해 변경된 부분만을 얻을 수 있다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@JsonIncludeProperties({"id", "action", "state", "version", "ordered", "parallelism", "createdAt", "finishedAt",
+						"total", "succeeded", "failed", "skipped", "items"})
+@JsonPropertyOrder({"id", "action", "state", "version", "ordered", "parallelism", "createdAt", "finishedAt",
+					"total", "succeeded", "failed", "skipped", "items"})
+public final class InstanceTransitionJob {
+	/** 작업 종류. */
+	public enum Action { START, STOP }
+	/** 작업 진행 상태. */
+	public enum State { RUNNING, COMPLETED }
+	/** 작업에 포함된 개별 MDTInstance의 진행 상태. */
+	public enum ItemState { PENDING, RUNNING, SUCCEEDED, FAILED, SKIPPED }
+
+	private final String m_id;
+	private final Action m_action;
+	private final int m_parallelism;
+	private final Instant m_createdAt;
+	private final boolean m_ordered;
+	private final Map<String,Item> m_items;
+
+	// 아래 필드들은 'this'를 lock으로 사용하여 접근한다.
+	private final Deque<Item> m_readies = new ArrayDeque<>();
+	private int m_runnings = 0;
+	private int m_remains;
+	private @Nullable Instant m_finishedAt;
+	private long m_version = 0;
+	private CompletableFuture<Void> m_changed = new CompletableFuture<>();
+
+	/**
+	 * 작업에 포함된 하나의 MDTInstance에 대한 진행 상태.
+	 */
+	@JsonIncludeProperties({"instanceId", "wave", "state", "status", "error", "startedAt", "finishedAt"})
+	@JsonPropertyOrder({"instanceId", "wave", "state", "status", "error", "startedAt", "finishedAt"})
+	public static final class Item {
+		private final String m_instanceId;
+		private final @Nullable Integer m_wave;
+		// 아래 필드들은 작업 객체를 lock으로 사용하여 접근한다.
+		private int m_nwaitings = 0;
+		private final List<Item> m_dependents = new ArrayList<>();
+		private volatile long m_version = 0;
+		private volatile ItemState m_state = ItemState.PENDING;
+		private volatile @Nullable MDTInstanceStatus m_status;
+		private volatile @Nullable String m_error;
+		private volatile @Nullable Instant m_startedAt;
+		private volatile @Nullable Instant m_finishedAt;
+
+		private Item(String instanceId, @Nullable Integer wave) {
+			m_instanceId = instanceId;
+			m_wave = wave;
+		}
+
+		public String getInstanceId() {
+			return m_instanceId;
+		}
+
+		/**
+		 * 시작 계획에서 본 MDTInstance가 속한 단계 번호를 반환한다.
+		 *
+		 * @return	단계 번호 (0부터 시작). 시작 계획 없이 수행되는 작업인 경우는 {@code null}.
+		 */
+		public @Nullable Integer getWave() {
+			return m_wave;
+		}
+
+		public ItemState getState() {
+			return m_state;
+		}
+
+		/**
+		 * MDTInstance의 상태를 반환한다.
+		 * <p>
+		 * 작업이 수행 중인 경우는 MDTInstance 상태가 바뀔 때마다 갱신되며,
+		 * 작업이 종료된 경우는 작업 수행 후의 상태이다.
+		 *
+		 * @return	MDTInstance 상태. 아직 작업이 시작되지 않았거나 상태를 알 수 없는 경우는 {@code null}.
+		 */
+		public @Nullable MDTInstanceStatus getStatus() {
+			return m_status;
+		}
+
+		public @Nullable String getError() {
+			return m_error;
+		}
+
+		public @Nullable String getStartedAt() {
+			return (m_startedAt != null) ? m_startedAt.toString() : null;
+		}
+
+		public @Nullable String getFinishedAt() {
+			return (m_finishedAt != null) ? m_finishedAt.toString() : null;
+		}
+
+		/**
+		 * 본 진행 상태가 마지막으로 변경되었을 때의 작업 버전 번호를 반환한다.
+		 *
+		 * @return	버전 번호.
+		 */
+		public long getVersion() {
+			return m_version;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s[%s, status=%s]", m_instanceId, m_state, m_status);
+		}
+	}
+
+	InstanceTransitionJob(String id, Action action, List<String> instIds, int parallelism,
+							@Nullable InstanceStartupPlan plan) {
+		Preconditions.checkArgument(id != null, "job id is null");
+		Preconditions.checkArgument(action != null, "action is null");
+		Preconditions.checkArgument(instIds != null, "MDTInstance id list is null");
+		Preconditions.checkArgument(parallelism > 0, "invalid parallelism: %s", parallelism);
+
+		m_id = id;
+		m_action = action;
+		m_parallelism = parallelism;
+		m_ordered = plan != null;
+		m_createdAt = Instant.now();
+
+		// 동일 MDTInstance가 여러번 지정된 경우는 한번만 수행한다.
+		// 시작 계획이 주어진 경우는 계획의 단계 순서대로 배치한다.
+		Map<String,Item> items = new LinkedHashMap<>();
+		if ( plan != null ) {
+			List<List<String>> waves = plan.getWaves();
+			for ( int wave = 0; wave < waves.size(); ++wave ) {
+				for ( String instId: waves.get(wave) ) {
+					items.put(instId, new Item(instId, wave));
+				}
+			}
+		}
+		instIds.forEach(instId -> items.computeIfAbsent(instId, k -> new Item(k, null)));
+		m_items = Collections.unmodifiableMap(items);
+
+		for ( Item item: items.values() ) {
+			if ( plan != null ) {
+				for ( String dep: plan.getDependencies(item.m_instanceId) ) {
+					Item depItem = items.get(dep);
+					if ( depItem != null ) {
+						depItem.m_dependents.add(item);
+						++item.m_nwaitings;
+					}
+				}
+			}
+			if ( item.m_nwaitings == 0 ) {
+				m_readies.add(item);
+			}
+		}
+
+		m_remains = items.size();
+		if ( m_remains == 0 ) {
+			m_finishedAt = m_createdAt;
+		}
+	}
+
+	public String getId() {
+		return m_id;
+	}
+
+	public Action getAction() {
+		return m_action;
+	}
+
+	public synchronized State getState() {
+		return (m_finishedAt != null) ? State.COMPLETED : State.RUNNING;
+	}
+
+	/**
+	 * 작업 진행 상태의 버전 번호를 반환한다.
+	 *
+	 * @return	버전 번호.
+	 */
+	public synchronized long getVersion() {
+		return m_version;
+	}
+
+	public boolean isOrdered() {
+		return m_ordered;
+	}
+
+	public int getParallelism() {
+		return m_parallelism;
+	}
+
+	public String getCreatedAt() {
+		return m_createdAt.toString();
+	}
+
+	public synchronized @Nullable String getFinishedAt() {
+		return (m_finishedAt != null) ? m_finishedAt.toString() : null;
+	}
+
+	public int getTotal() {
+		return m_items.size();
+	}
+
+	public long getSucceeded() {
+		return countItems(ItemState.SUCCEEDED);
+	}
+
+	public long getFailed() {
+		return countItems(ItemState.FAILED);
+	}
+
+	public long getSkipped() {
+		return countItems(ItemState.SKIPPED);
+	}
+
+	public List<Item> getItems() {
+		return List.copyOf(m_items.values());
+	}
+
+	/**
+	 * 작업이 종료된 시각을 반환한다.
+	 *
+	 * @return	종료 시각. 아직 수행 중인 경우는 {@code null}.
+	 */
+	synchronized @Nullable Instant getFinishedTime() {
+		return m_finishedAt;
+	}
+
+	/**
+	 * 작업 진행 상태의 버전 번호가 주어진 값보다 커지거나 작업이 종료되면 완료되는 future를 반환한다.
+	 *
+	 * @param afterVersion	기준 버전 번호.
+	 * @return	future 객체. 이미 조건을 만족하는 경우는 완료된 future.
+	 */
+	public synchronized CompletableFuture<Void> watchChange(long afterVersion) {
+		if ( m_version > afterVersion || m_finishedAt != null ) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return m_changed;
+	}
+
+	/**
+	 * 주어진 버전 이후에 진행 상태가 변경된 MDTInstance들의 진행 상태 리스트를 반환한다.
+	 *
+	 * @param afterVersion	기준 버전 번호.
+	 * @return	진행 상태 객체 리스트.
+	 */
+	public synchronized List<Item> getItemsChangedAfter(long afterVersion) {
+		return m_items.values().stream()
+						.filter(item -> item.m_version > afterVersion)
+						.toList();
+	}
+
+	/**
+	 * 주어진 MDTInstance에 대한 작업이 수행 중인 경우, 작업 중인 MDTInstance의 현재 상태를 기록한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param status	MDTInstance의 현재 상태.
+	 */
+	synchronized void updateStatus(String instId, MDTInstanceStatus status) {
+		Item item = m_items.get(instId);
+		if ( item != null && item.m_state == ItemState.RUNNING && item.m_status != status ) {
+			item.m_status = status;
+			touch(item);
+		}
+	}
+
+	/**
+	 * 주어진 MDTInstance에 대한 작업이 현재 수행 중인지 여부를 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	수행 중 여부.
+	 */
+	synchronized boolean isRunning(String instId) {
+		Item item = m_items.get(instId);
+		return item != null && item.m_state == ItemState.RUNNING;
+	}
+
+	/**
+	 * 바로 수행될 수 있는 MDTInstance들의 진행 상태를 {@link ItemState#RUNNING}으로 바꾸고 반환한다.
+	 * <p>
+	 * 반환되는 MDTInstance의 수는 현재 수행 중인 MDTInstance 수를 포함하여 병렬도를 넘지 않는다.
+	 *
+	 * @return	진행 상태 객체 리스트. 바로 수행될 수 있는 MDTInstance가 없는 경우는 빈 리스트.
+	 */
+	synchronized List<Item> takeRunnables() {
+		List<Item> runnables = new ArrayList<>();
+		while ( m_runnings < m_parallelism && !m_readies.isEmpty() ) {
+			Item item = m_readies.pollFirst();
+			item.m_startedAt = Instant.now();
+			item.m_state = ItemState.RUNNING;
+			++m_runnings;
+			runnables.add(item);
+			touch(item);
+		}
+		return runnables;
+	}
+
+	/**
+	 * 주어진 MDTInstance에 대한 작업이 종료되었음을 기록한다.
+	 * <p>
+	 * 작업이 성공한 경우는 본 MDTInstance에 의존하는 MDTInstance들 중 의존하는 모든 작업이 종료된
+	 * 것들을 수행 가능 상태로 만들고, 실패한 경우는 본 MDTInstance에 직간접적으로 의존하는
+	 * MDTInstance들을 모두 {@link ItemState#SKIPPED} 상태로 만든다.
+	 *
+	 * @param item		진행 상태 객체.
+	 * @param success	성공 여부.
+	 * @param status	작업 수행 후 MDTInstance 상태. 알 수 없는 경우는 {@code null}.
+	 * @param error		실패한 경우의 오류 메시지.
+	 * @return	본 호출로 작업 전체가 종료된 경우는 {@code true}.
+	 */
+	synchronized boolean complete(Item item, boolean success, @Nullable MDTInstanceStatus status,
+									@Nullable String error) {
+		if ( status != null ) {
+			item.m_status = status;
+		}
+		item.m_error = error;
+		item.m_finishedAt = Instant.now();
+		item.m_state = success ? ItemState.SUCCEEDED : ItemState.FAILED;
+		--m_runnings;
+		--m_remains;
+		touch(item);
+
+		for ( Item dependent: item.m_dependents ) {
+			if ( success ) {
+				if ( --dependent.m_nwaitings == 0 && dependent.m_state == ItemState.PENDING ) {
+					m_readies.add(dependent);
+				}
+			}
+			else {
+				skip(dependent, item.m_instanceId);
+			}
+		}
+
+		if ( m_remains == 0 ) {
+			m_finishedAt = item.m_finishedAt;
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	private void skip(Item item, String failedId) {
+		if ( item.m_state != ItemState.PENDING ) {
+			return;
+		}
+
+		item.m_state = ItemState.SKIPPED;
+		item.m_error = "dependency failed: " + failedId;
+		item.m_finishedAt = Instant.now();
+		--m_remains;
+		touch(item);
+		for ( Item dependent: item.m_dependents ) {
+			skip(dependent, failedId);
+		}
+	}
+
+	// 'this' lock을 획득한 상태에서 호출되어야 한다.
+	private void touch(Item item) {
+		item.m_version = ++m_version;
+
+		CompletableFuture<Void> changed = m_changed;
+		m_changed = new CompletableFuture<>();
+		changed.complete(null);
+	}
+
+	private long countItems(ItemState state) {
+		return m_items.values().stream()
+						.filter(item -> item.m_state == state)
+						.count();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("InstanceTransitionJob[id=%s, action=%s, state=%s, total=%d]",
+								m_id, m_action, getState(), getTotal());
+	}
+}
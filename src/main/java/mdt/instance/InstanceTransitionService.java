@@ -0,0 +1,254 @@
+package mdt.instance;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import utils.Throwables;
+import utils.stream.FStream;
+
+import mdt.Globals;
+import mdt.instance.InstanceTransitionJob.Action;
+import mdt.instance.InstanceTransitionJob.Item;
+import mdt.model.ResourceNotFoundException;
+import mdt.model.instance.InstanceStatusChangeEvent;
+import mdt.model.instance.MDTInstanceStatus;
+
+
+/**
+ * 여러 MDTInstance들을 한번에 시작 또는 중지시키는 작업({@link InstanceTransitionJob})을 수행하는 서비스.
+ * <p>
+ * 모든 작업은 MDTInstanceManager 종류에 관계없이 하나의 공유 쓰레드 풀을 통해 수행되기 때문에,
+ * 동시에 여러 작업이 요청되더라도 동시에 시작/중지되는 MDTInstance의 수는 쓰레드 풀 크기로 제한된다.
+ * 또한 각 작업은 작업 별로 지정된 병렬도(parallelism) 이상의 MDTInstance를 동시에 수행하지 않는다.
+ * 순서가 지정된 작업은 MDTInstance들 사이의 의존 관계({@link InstanceStartupPlan})에 따라,
+ * 시작 작업은 의존 대상 MDTInstance가 먼저 시작된 후에, 중지 작업은 의존하는 MDTInstance가 먼저
+ * 중지된 후에 수행된다.
+ * <p>
+ * 작업 수행 중인 MDTInstance의 상태는 {@link InstanceStatusChangeEvent}를 통해 변경이 통보될 때마다
+ * 작업의 진행 상태에 반영된다.
+ * <p>
+ * 종료된 작업은 정해진 보관 기간 동안 조회할 수 있으며, 그 이후에는 제거된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class InstanceTransitionService {
+	private static final Logger s_logger = LoggerFactory.getLogger(InstanceTransitionService.class);
+	// 시작/중지 완료 대기 여부만을 지정하는 값으로, 실제 상태 확인은 상태 변경 통보에 의해 이루어진다.
+	private static final Duration WAIT_POLL_INTERVAL = Duration.ofSeconds(1);
+
+	private final AbstractJpaInstanceManager<? extends JpaInstance> m_manager;
+	private final ExecutorService m_executor;
+	private final int m_maxParallelism;
+	private final Duration m_timeout;
+	private final Duration m_retention;
+	private final Map<String,InstanceTransitionJob> m_jobs = new ConcurrentHashMap<>();
+
+	/**
+	 * 서비스 객체를 생성한다.
+	 *
+	 * @param manager	대상 MDTInstance들을 관리하는 MDTInstanceManager.
+	 * @param nthreads	공유 쓰레드 풀 크기.
+	 * @param timeout	MDTInstance 별 시작/중지 제한 시간.
+	 * @param retention	종료된 작업의 보관 기간.
+	 */
+	InstanceTransitionService(AbstractJpaInstanceManager<? extends JpaInstance> manager, int nthreads,
+								Duration timeout, Duration retention) {
+		Preconditions.checkArgument(manager != null, "MDTInstanceManager is null");
+		Preconditions.checkArgument(nthreads > 0, "invalid thread count: %s", nthreads);
+		Preconditions.checkArgument(timeout != null, "timeout is null");
+		Preconditions.checkArgument(retention != null, "retention is null");
+
+		m_manager = manager;
+		m_maxParallelism = nthreads;
+		m_timeout = timeout;
+		m_retention = retention;
+		m_executor = Executors.newFixedThreadPool(nthreads, new ThreadFactoryBuilder()
+																.setNameFormat("mdt-transition-%d")
+																.setDaemon(true)
+																.build());
+		Globals.EVENT_BUS.register(this);
+	}
+
+	/**
+	 * 서비스를 종료한다. 수행 중인 작업들은 중단된다.
+	 */
+	public void shutdown() {
+		Globals.EVENT_BUS.unregister(this);
+		m_executor.shutdownNow();
+	}
+
+	/**
+	 * 주어진 MDTInstance들을 시작 또는 중지시키는 작업을 생성하여 수행시킨다.
+	 * <p>
+	 * 본 메소드는 작업을 수행시키고 바로 반환되며, 작업 진행 상태는 반환된 작업 객체나
+	 * {@link #getJob(String)}을 통해 확인할 수 있다.
+	 * 지정된 병렬도가 공유 쓰레드 풀의 크기보다 큰 경우는 쓰레드 풀 크기가 사용된다.
+	 *
+	 * @param action		작업 종류.
+	 * @param instIds		대상 MDTInstance 식별자 리스트.
+	 * @param parallelism	동시에 수행할 최대 MDTInstance 수.
+	 * @param ordered		MDTInstance들 사이의 의존 관계에 따라 순서대로 수행할지 여부.
+	 * @return	생성된 작업 객체.
+	 */
+	public InstanceTransitionJob submit(Action action, List<String> instIds, int parallelism, boolean ordered) {
+		Preconditions.checkArgument(parallelism > 0, "invalid parallelism: %s", parallelism);
+
+		purgeExpiredJobs();
+
+		InstanceStartupPlan plan = null;
+		if ( ordered ) {
+			plan = m_manager.planStartup(instIds);
+			if ( action == Action.STOP ) {
+				plan = plan.reverse();
+			}
+			if ( s_logger.isDebugEnabled() ) {
+				s_logger.debug("planned bulk MDTInstance {}: {}", action, plan);
+			}
+		}
+
+		String jobId = UUID.randomUUID().toString();
+		InstanceTransitionJob job = new InstanceTransitionJob(jobId, action, instIds,
+																Math.min(parallelism, m_maxParallelism), plan);
+		m_jobs.put(jobId, job);
+		if ( s_logger.isInfoEnabled() ) {
+			s_logger.info("submitted bulk MDTInstance {}: job={}, ninstances={}, parallelism={}",
+							action, jobId, job.getTotal(), job.getParallelism());
+		}
+
+		dispatch(job);
+		return job;
+	}
+
+	/**
+	 * 주어진 식별자의 작업을 반환한다.
+	 *
+	 * @param jobId	작업 식별자.
+	 * @return	작업 객체.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 작업이 없거나 이미 보관 기간이 지난 경우.
+	 */
+	public InstanceTransitionJob getJob(String jobId) throws ResourceNotFoundException {
+		purgeExpiredJobs();
+
+		InstanceTransitionJob job = m_jobs.get(jobId);
+		if ( job == null ) {
+			throw new ResourceNotFoundException("InstanceTransitionJob", "id=" + jobId);
+		}
+		return job;
+	}
+
+	/**
+	 * MDTInstance 상태 변경 이벤트를 받아 해당 MDTInstance에 대해 수행 중인 작업들의 진행 상태에 반영한다.
+	 *
+	 * @param ev	상태 변경 이벤트.
+	 */
+	@Subscribe
+	public void instanceStatusChanged(InstanceStatusChangeEvent ev) {
+		String instId = ev.getInstanceId();
+		List<InstanceTransitionJob> jobs = FStream.from(m_jobs.values())
+												.filter(job -> job.isRunning(instId))
+												.toList();
+		if ( jobs.isEmpty() ) {
+			return;
+		}
+
+		try {
+			MDTInstanceStatus status = m_manager.getInstanceRuntimeInfo(instId).getStatus();
+			jobs.forEach(job -> job.updateStatus(instId, status));
+		}
+		catch ( ResourceNotFoundException e ) {
+			// 작업 수행 중에 MDTInstance가 삭제된 경우는 작업 수행 결과에서 처리된다.
+		}
+	}
+
+	private void dispatch(InstanceTransitionJob job) {
+		// 하나의 MDTInstance에 대한 작업이 끝날 때마다 새로 수행 가능해진 MDTInstance들을 수행시킨다.
+		for ( Item item: job.takeRunnables() ) {
+			m_executor.execute(() -> {
+				runItem(job, item);
+				dispatch(job);
+			});
+		}
+	}
+
+	private void runItem(InstanceTransitionJob job, Item item) {
+		String instId = item.getInstanceId();
+		boolean finished;
+		try {
+			JpaInstance inst = m_manager.getInstance(instId);
+			job.updateStatus(instId, inst.getStatus());
+			MDTInstanceStatus status = switch ( job.getAction() ) {
+				case START -> start(inst);
+				case STOP -> stop(inst);
+			};
+
+			// 중지 작업의 경우는 비정상 종료된 MDTInstance도 중지된 것으로 간주한다.
+			boolean success = (job.getAction() == Action.START)
+							? status == MDTInstanceStatus.RUNNING
+							: status == MDTInstanceStatus.STOPPED || status == MDTInstanceStatus.FAILED;
+			String error = success ? null
+								: (status == MDTInstanceStatus.FAILED)
+									? String.format("MDTInstance failed to %s", job.getAction().name().toLowerCase())
+									: "unexpected status: " + status;
+			finished = job.complete(item, success, status, error);
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			finished = job.complete(item, false, null, "interrupted");
+		}
+		catch ( Throwable e ) {
+			Throwable cause = Throwables.unwrapThrowable(e);
+			s_logger.warn("failed to {} MDTInstance: job={}, id={}, cause={}",
+							job.getAction(), job.getId(), instId, cause.toString());
+			finished = job.complete(item, false, null, cause.toString());
+		}
+		if ( finished && s_logger.isInfoEnabled() ) {
+			s_logger.info("finished bulk MDTInstance {}: job={}, succeeded={}, failed={}, skipped={}",
+							job.getAction(), job.getId(), job.getSucceeded(), job.getFailed(), job.getSkipped());
+		}
+	}
+
+	private MDTInstanceStatus start(JpaInstance inst) throws Exception {
+		// 이미 시작된 MDTInstance는 성공한 것으로 간주한다.
+		MDTInstanceStatus status = inst.getStatus();
+		if ( status == MDTInstanceStatus.RUNNING ) {
+			return status;
+		}
+		else if ( status == MDTInstanceStatus.STARTING ) {
+			return inst.waitWhileStatus(s -> s == MDTInstanceStatus.STARTING, WAIT_POLL_INTERVAL, m_timeout);
+		}
+		return inst.start(WAIT_POLL_INTERVAL, m_timeout);
+	}
+
+	private MDTInstanceStatus stop(JpaInstance inst) throws Exception {
+		// 이미 중지된 MDTInstance는 성공한 것으로 간주한다.
+		MDTInstanceStatus status = inst.getStatus();
+		if ( status == MDTInstanceStatus.STOPPED || status == MDTInstanceStatus.FAILED ) {
+			return status;
+		}
+		else if ( status == MDTInstanceStatus.STOPPING ) {
+			return inst.waitWhileStatus(s -> s == MDTInstanceStatus.STOPPING, WAIT_POLL_INTERVAL, m_timeout);
+		}
+		return inst.stop(WAIT_POLL_INTERVAL, m_timeout);
+	}
+
+	private void purgeExpiredJobs() {
+		Instant due = Instant.now().minus(m_retention);
+		m_jobs.values().removeIf(job -> {
+			Instant finished = job.getFinishedTime();
+			return finished != null && finished.isBefore(due);
+		});
+	}
+}
@@ -0,0 +1,149 @@
+package mdt.instance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * MDTInstance 별로 단조 증가하는 버전 번호를 관리하는 테이블.
+ * <p>
+ * 버전 번호는 MDTInstance의 등록정보나 상태가 변경될 때마다 증가되며, 조건부 조회(conditional GET)에
+ * 사용할 ETag 생성에 사용된다. 버전 번호는 메모리에만 유지되기 때문에, MDTInstanceManager가
+ * 재기동되더라도 이전에 발급된 ETag와 겹치지 않도록 ETag에는 기동 시각(epoch)이 함께 포함된다.
+ * <p>
+ * 트랜잭션 내에서 버전 증가가 요청된 경우는 트랜잭션이 commit된 이후에 버전을 증가시킨다.
+ * ETag는 항상 데이터 조회 이전에 생성되기 때문에, 이렇게 하면 갱신 이전의 데이터가 갱신 이후의
+ * 버전으로 캐쉬되는 일이 발생하지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class InstanceVersionTable {
+	private final String m_epoch = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong m_sequence = new AtomicLong(0);
+	private final Map<String,Long> m_versions = new ConcurrentHashMap<>();
+	// AAS 식별자 또는 서브모델 식별자 등으로부터 MDTInstance 식별자로의 매핑.
+	private final Map<String,String> m_aliases = new ConcurrentHashMap<>();
+
+	/**
+	 * 주어진 MDTInstance의 현재 버전 번호를 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	버전 번호. 등록되지 않은 MDTInstance인 경우는 {@code null}.
+	 */
+	public @Nullable Long getVersion(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		return m_versions.get(instId);
+	}
+
+	/**
+	 * 존재가 확인된 MDTInstance를 테이블에 등록한다.
+	 * <p>
+	 * 이미 등록된 경우는 무시된다. 등록 이전에 읽은 데이터가 등록된 버전으로 캐쉬되지 않도록,
+	 * 데이터베이스에서 MDTInstance를 읽은 이후에 호출되어야 한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void register(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		if ( !m_versions.containsKey(instId) ) {
+			m_versions.putIfAbsent(instId, m_sequence.incrementAndGet());
+		}
+	}
+
+	/**
+	 * 주어진 MDTInstance의 버전 번호를 증가시킨다.
+	 * <p>
+	 * 등록되지 않은 MDTInstance인 경우는 무시된다.
+	 * 현재 쓰레드에서 트랜잭션이 수행 중인 경우는 트랜잭션이 commit된 후에 증가시킨다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void bump(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		afterCommit(() -> m_versions.computeIfPresent(instId, (k, v) -> m_sequence.incrementAndGet()));
+	}
+
+	/**
+	 * 제거된 MDTInstance를 테이블에서 제거한다.
+	 * <p>
+	 * 현재 쓰레드에서 트랜잭션이 수행 중인 경우는 트랜잭션이 commit된 후에 제거한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void remove(String instId) {
+		Preconditions.checkArgument(instId != null, "MDTInstance id is null");
+
+		afterCommit(() -> {
+			m_versions.remove(instId);
+			m_aliases.values().removeIf(instId::equals);
+		});
+	}
+
+	/**
+	 * 주어진 MDTInstance의 현재 버전에 해당하는 ETag 값을 반환한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @return	ETag 문자열. 등록되지 않은 MDTInstance인 경우는 {@code null}.
+	 */
+	public @Nullable String getETag(String instId) {
+		Long version = getVersion(instId);
+		return (version != null) ? String.format("\"%s-%d\"", m_epoch, version) : null;
+	}
+
+	/**
+	 * 주어진 별칭(alias)에 해당하는 MDTInstance의 현재 ETag 값을 반환한다.
+	 * <p>
+	 * 별칭이 아직 등록되지 않은 경우는 {@code null}을 반환한다.
+	 *
+	 * @param alias	별칭.
+	 * @return	ETag 문자열 또는 {@code null}.
+	 */
+	public @Nullable String getETagByAlias(String alias) {
+		String instId = m_aliases.get(alias);
+		return (instId != null) ? getETag(instId) : null;
+	}
+
+	/**
+	 * 주어진 별칭(alias)이 가리키는 MDTInstance 식별자를 등록한다.
+	 * <p>
+	 * 별칭은 MDTInstance가 {@link #register(String)}로 등록된 이후에 등록되어야 하며,
+	 * MDTInstance가 {@link #remove(String)}로 제거될 때 함께 제거된다.
+	 *
+	 * @param alias		별칭.
+	 * @param instId	MDTInstance 식별자.
+	 */
+	public void putAlias(String alias, String instId) {
+		m_aliases.put(alias, instId);
+	}
+
+	/**
+	 * 주어진 작업을 현재 트랜잭션이 commit된 후에 수행시킨다.
+	 * <p>
+	 * 현재 쓰레드에서 트랜잭션이 수행 중이 아닌 경우는 바로 수행시킨다.
+	 *
+	 * @param action	수행시킬 작업.
+	 */
+	static void afterCommit(Runnable action) {
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+		else {
+			action.run();
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package mdt.instance;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * row id를 키로 하는 커서 기반 페이지 검색 결과.
+ * <p>
+ * {@code nextCursor}는 다음 페이지 검색시 'after' 인자로 사용할 row id이며,
+ * 더 이상 검색할 데이터가 없는 경우는 {@code null}이다.
+ *
+ * @param <T>	페이지 원소 타입.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record KeysetPage<T>(List<T> elements, @Nullable Long nextCursor) { }
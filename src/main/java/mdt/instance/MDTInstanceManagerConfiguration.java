@@ -1,6 +1,7 @@
 package mdt.instance;
 
 import java.io.File;
+import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -23,6 +24,16 @@ public class MDTInstanceManagerConfiguration {
 	
 	private String m_instanceEndpointFormat;	// MDTInstance 접속을 위한 URL 포맷
 	private boolean m_autoStart = false;	// MDTInstanceManager 기동시 등록된 MDTInstance들을 자동으로 시작할지 여부
+	private int m_descriptorCacheSize = 1024;	// endpoint가 부착된 AAS/Submodel 기술자 JSON 캐쉬 크기
+	private int m_referenceCacheSize = 1024;	// 파싱 및 활성화된 참조 표현식 캐쉬 크기
+	private int m_bulkConcurrency = 8;			// 다중 참조 표현식 처리시 모든 요청을 합쳐 동시에 처리할 최대 묶음 수
+	private Duration m_referenceTimeout = Duration.ofSeconds(20);	// 참조 표현식 처리 제한 시간
+	private int m_transitionThreads = 8;		// 다중 MDTInstance 시작/중지 작업이 공유하는 쓰레드 수
+	private int m_transitionParallelism = 4;	// 다중 MDTInstance 시작/중지 작업의 기본 병렬도
+	private Duration m_transitionTimeout = Duration.ofMinutes(1);		// MDTInstance 별 시작/중지 제한 시간
+	private Duration m_transitionJobRetention = Duration.ofMinutes(10);	// 종료된 시작/중지 작업 보관 기간
+	private Duration m_runtimeFlushInterval = Duration.ofSeconds(1);	// 변경된 실행 상태의 데이터베이스 기록 주기
+	private Duration m_runtimeRevalidateInterval = Duration.ofSeconds(10);	// docker/k8s 실행 상태 재확인 주기
 	
 	public MDTInstanceManagerConfiguration() {
 		m_homeDir = FileUtils.getCurrentWorkingDirectory();
@@ -94,4 +105,84 @@ public class MDTInstanceManagerConfiguration {
 	public void setAutoStart(boolean autoStart) {
 		m_autoStart = autoStart;
 	}
+	
+	public int getDescriptorCacheSize() {
+		return m_descriptorCacheSize;
+	}
+	
+	public void setDescriptorCacheSize(int size) {
+		m_descriptorCacheSize = size;
+	}
+	
+	public int getReferenceCacheSize() {
+		return m_referenceCacheSize;
+	}
+	
+	public void setReferenceCacheSize(int size) {
+		m_referenceCacheSize = size;
+	}
+	
+	public int getBulkConcurrency() {
+		return m_bulkConcurrency;
+	}
+	
+	public void setBulkConcurrency(int concurrency) {
+		m_bulkConcurrency = concurrency;
+	}
+	
+	public Duration getReferenceTimeout() {
+		return m_referenceTimeout;
+	}
+	
+	public void setReferenceTimeout(Duration timeout) {
+		m_referenceTimeout = timeout;
+	}
+	
+	public int getTransitionThreads() {
+		return m_transitionThreads;
+	}
+	
+	public void setTransitionThreads(int nthreads) {
+		m_transitionThreads = nthreads;
+	}
+	
+	public int getTransitionParallelism() {
+		return m_transitionParallelism;
+	}
+	
+	public void setTransitionParallelism(int parallelism) {
+		m_transitionParallelism = parallelism;
+	}
+	
+	public Duration getTransitionTimeout() {
+		return m_transitionTimeout;
+	}
+	
+	public void setTransitionTimeout(Duration timeout) {
+		m_transitionTimeout = timeout;
+	}
+	
+	public Duration getTransitionJobRetention() {
+		return m_transitionJobRetention;
+	}
+	
+	public void setTransitionJobRetention(Duration retention) {
+		m_transitionJobRetention = retention;
+	}
+	
+	public Duration getRuntimeFlushInterval() {
+		return m_runtimeFlushInterval;
+	}
+	
+	public void setRuntimeFlushInterval(Duration interval) {
+		m_runtimeFlushInterval = interval;
+	}
+	
+	public Duration getRuntimeRevalidateInterval() {
+		return m_runtimeRevalidateInterval;
+	}
+	
+	public void setRuntimeRevalidateInterval(Duration interval) {
+		m_runtimeRevalidateInterval = interval;
+	}
 }
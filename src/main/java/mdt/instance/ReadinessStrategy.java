@@ -0,0 +1,19 @@
+package mdt.instance;
+
+
+/**
+ * MDTInstance의 시작 완료(RUNNING)를 판단하는 방법.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public enum ReadinessStrategy {
+	/**
+	 * MDTInstance가 출력하는 로그에서 시작 완료를 알리는 sentinel 문자열이 발견되면 시작된 것으로 판단한다.
+	 */
+	SENTINEL,
+	/**
+	 * MDTInstance의 서비스 endpoint에 실제로 접속(TCP 연결 후 {@code GET /shells})하여
+	 * 응답을 받으면 시작된 것으로 판단한다. ({@link EndpointReadinessProbe})
+	 */
+	PROBE,
+}
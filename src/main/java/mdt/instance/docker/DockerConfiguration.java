@@ -1,9 +1,13 @@
 package mdt.instance.docker;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import lombok.NoArgsConstructor;
 
+import mdt.instance.ReadinessStrategy;
+
 /**
  *
  * @author Kang-Woo Lee (ETRI)
@@ -13,6 +17,8 @@ import lombok.NoArgsConstructor;
 public class DockerConfiguration {
 	private String m_dockerEndpoint;
 	private String m_imageName;
+	private ReadinessStrategy m_readiness = ReadinessStrategy.SENTINEL;	// 시작 완료 판단 방법
+	private Duration m_startTimeout = Duration.ofMinutes(1);			// 시작 완료 대기 제한 시간
 	
 	public String getDockerEndpoint() {
 		return m_dockerEndpoint;
@@ -29,4 +35,20 @@ public class DockerConfiguration {
 	public void setImageName(String imageName) {
 		m_imageName = imageName;
 	}
+	
+	public ReadinessStrategy getReadiness() {
+		return m_readiness;
+	}
+	
+	public void setReadiness(ReadinessStrategy readiness) {
+		m_readiness = readiness;
+	}
+	
+	public Duration getStartTimeout() {
+		return m_startTimeout;
+	}
+	
+	public void setStartTimeout(Duration startTimeout) {
+		m_startTimeout = startTimeout;
+	}
 }
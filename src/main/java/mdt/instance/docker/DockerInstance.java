@@ -9,6 +9,7 @@ import java.util.Map;
 import org.mandas.docker.client.DockerClient;
 import org.mandas.docker.client.DockerClient.ListContainersParam;
 import org.mandas.docker.client.DockerClient.RemoveContainerParam;
+import org.mandas.docker.client.exceptions.ContainerNotFoundException;
 import org.mandas.docker.client.exceptions.DockerException;
 import org.mandas.docker.client.messages.Container;
 import org.mandas.docker.client.messages.ContainerConfig;
@@ -33,6 +34,7 @@ import utils.stream.FStream;
 
 import mdt.Globals;
 import mdt.exector.jar.SentinelFinder;
+import mdt.instance.EndpointReadinessProbe;
 import mdt.instance.JpaInstance;
 import mdt.instance.jar.JarInstance;
 import mdt.instance.jpa.JpaInstanceDescriptor;
@@ -123,13 +125,23 @@ public class DockerInstance extends JpaInstance implements MDTInstance {
 				// 생성한 docker container를 시작시킨다.
 				int svcPort = startInstanceContainer(docker, containerId);
 				
+				// container가 시작되면 할당된 port을 확인해 MDTInstance의 endpoint를 설정한다.
+				String svcEndpoint = getInstanceManager().toServiceEndpoint(svcPort);
 				Executions.toExecution(() -> {
-					MDTInstanceStatus status = waitUntilStarted(getId(), Duration.ofSeconds(1), Duration.ofMinutes(1));
-					instManager.putContainerStatus(getId(), status);
+					DockerConfiguration dockerConf = instManager.getDockerConfiguration();
+					MDTInstanceStatus status = switch ( dockerConf.getReadiness() ) {
+						case PROBE -> waitUntilReady(getId(), containerId, svcEndpoint, dockerConf.getStartTimeout());
+						case SENTINEL -> waitUntilStarted(getId(), Duration.ofSeconds(1), dockerConf.getStartTimeout());
+					};
 					
-					// container가 시작되면 할당된 port을 확인해 MDTInstance의 endpoint를 설정한다.
-					String svcEndpoint = getInstanceManager().toServiceEndpoint(svcPort);
-					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.RUNNING(getId(), svcEndpoint));
+					if ( status == MDTInstanceStatus.RUNNING ) {
+						instManager.putContainerStatus(getId(), status, svcEndpoint);
+						Globals.EVENT_BUS.post(InstanceStatusChangeEvent.RUNNING(getId(), svcEndpoint));
+					}
+					else {
+						instManager.putContainerStatus(getId(), MDTInstanceStatus.FAILED);
+						Globals.EVENT_BUS.post(InstanceStatusChangeEvent.FAILED(getId()));
+					}
 				}).start();
 			}
 			catch ( Exception e ) {
@@ -264,6 +276,47 @@ public class DockerInstance extends JpaInstance implements MDTInstance {
 		Unchecked.runOrIgnore(() -> docker.removeContainer(contId, RemoveContainerParam.forceKill()));
 	}
 	
+	private MDTInstanceStatus waitUntilReady(String instId, String containerId, String svcEndpoint,
+											Duration timeout) {
+		// 대기 중에 container가 종료되거나 제거되면 제한 시간까지 기다리지 않고 바로 실패로 처리한다.
+		try ( DockerClient docker = newDockerClient() ) {
+			if ( EndpointReadinessProbe.await(svcEndpoint, timeout, () -> isContainerExited(docker, containerId)) ) {
+				return MDTInstanceStatus.RUNNING;
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		catch ( Exception e ) {
+	    	if ( s_logger.isInfoEnabled() ) {
+	    		s_logger.info("failed to probe an MDTInstance: {}, cause={}", instId, e);
+	    	}
+		}
+		
+    	if ( s_logger.isInfoEnabled() ) {
+    		s_logger.info("failed to start an MDTInstance: {}, endpoint={}", instId, svcEndpoint);
+    	}
+		return MDTInstanceStatus.FAILED;
+	}
+	
+	private boolean isContainerExited(DockerClient docker, String containerId) {
+		try {
+			return !docker.inspectContainer(containerId).state().running();
+		}
+		catch ( ContainerNotFoundException e ) {
+			return true;
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			return true;
+		}
+		catch ( DockerException e ) {
+			// 일시적인 docker daemon 접근 오류일 수 있기 때문에 대기를 계속한다.
+			s_logger.debug("failed to inspect container: id={}, cause={}", containerId, e.toString());
+			return false;
+		}
+	}
+	
 	private MDTInstanceStatus waitUntilStarted(String instId, Duration sampleInterval, Duration timeout) {
 		DockerInstanceManager instManager = getInstanceManager();
 		
@@ -4,7 +4,6 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.mandas.docker.client.DockerClient;
@@ -24,7 +23,6 @@ import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 
 import utils.InternalException;
 import utils.Throwables;
@@ -33,6 +31,7 @@ import utils.func.Try;
 import utils.io.FileUtils;
 
 import mdt.instance.AbstractJpaInstanceManager;
+import mdt.instance.InstanceRuntimeInfo;
 import mdt.instance.MDTInstanceManagerConfiguration;
 import mdt.instance.MqttConfiguration;
 import mdt.instance.jpa.JpaInstanceDescriptor;
@@ -59,7 +58,6 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 	private final DockerConfiguration m_dockerConf;
 	private final HarborConfiguration m_harborConf;
 	private final String m_repositoryEndpointFormat;
-	private final Map<String,MDTInstanceStatus> m_instanceStatus = Maps.newHashMap();
 
 	public DockerInstanceManager(MDTInstanceManagerConfiguration mgrConf,
 								DockerConfiguration dockerConf,
@@ -78,7 +76,7 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 		if ( epFormat == null ) {
 			try {
 				String host = InetAddress.getLocalHost().getHostAddress();
-				epFormat = "https:" + host + ":%d/api/v3.0";
+				epFormat = "https://" + host + ":%d/api/v3.0";
 			}
 			catch ( Exception e ) {
 				throw new MDTInstanceManagerException("" + e);
@@ -94,11 +92,10 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 		try {
 			ContainerInfo info = docker.inspectContainer(container.id());
 			if ( info.state().running() ) {
-				MDTInstanceStatus lastStatus = getContainerStatus(instanceId);
-				if ( lastStatus == MDTInstanceStatus.STOPPED || lastStatus == MDTInstanceStatus.FAILED ) {
-					putContainerStatus(instanceId, MDTInstanceStatus.RUNNING);
-				}
-				return Tuple.of(lastStatus, toServiceEndpoint(getRepositoryPort(info)));
+				MDTInstanceStatus status = toRunningContainerStatus(getContainerStatus(instanceId));
+				String endpoint = toServiceEndpoint(getRepositoryPort(info));
+				putContainerStatus(instanceId, status, endpoint);
+				return Tuple.of(status, endpoint);
 			}
 			else if ( info.state().error().length() > 0 ) {
 				putContainerStatus(instanceId, MDTInstanceStatus.FAILED);
@@ -165,7 +162,7 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 									desc.getInstanceId(), instDir);
 			}
 			
-			return toInstance(desc);
+			return getOrCreateInstance(desc);
 		}
 		catch ( JsonProcessingException e ) {
 			throw new IOException(e);
@@ -199,6 +196,10 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 		return String.format("%s[dockerHost=%s]", getClass().getSimpleName(), m_dockerConf.getDockerEndpoint());
 	}
 	
+	DockerConfiguration getDockerConfiguration() {
+		return m_dockerConf;
+	}
+	
 	public String toServiceEndpoint(int repoPort) {
 		return String.format(m_repositoryEndpointFormat, repoPort);
 	}
@@ -215,19 +216,33 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 		}
 	}
 
+	@Override
+	protected boolean isDescriptorVersionTracked() {
+		// 컨테이너 상태는 MDTInstanceManager를 거치지 않고도 변경될 수 있다.
+		return false;
+	}
+
 	@Override
 	protected void adaptInstanceDescriptor(JpaInstanceDescriptor desc) {
 		String id = desc.getInstanceId();
+		
+		// 최근에 관측된 컨테이너 상태가 있으면 docker를 다시 질의하지 않는다.
+		InstanceRuntimeInfo observed = getObservedRuntimeInfo(id, m_conf.getRuntimeRevalidateInterval());
+		if ( observed != null ) {
+			desc.setStatus(observed.getStatus());
+			desc.setBaseEndpoint(observed.getBaseEndpoint());
+			return;
+		}
+		
 		try ( DockerClient docker = newDockerClient() ) {
 			ContainerInfo info = docker.inspectContainer(id);
 			if ( info.state().running() ) {
-				MDTInstanceStatus lastStatus = getContainerStatus(id);
-				if ( lastStatus == MDTInstanceStatus.STOPPED || lastStatus == MDTInstanceStatus.FAILED ) {
-					putContainerStatus(id, MDTInstanceStatus.RUNNING);
-				}
+				MDTInstanceStatus status = toRunningContainerStatus(getContainerStatus(id));
+				String endpoint = toServiceEndpoint(getRepositoryPort(info));
+				putContainerStatus(id, status, endpoint);
 				
-				desc.setStatus(lastStatus);
-				desc.setBaseEndpoint(toServiceEndpoint(getRepositoryPort(info)));
+				desc.setStatus(status);
+				desc.setBaseEndpoint(endpoint);
 			}
 			else if ( info.state().error().length() > 0 ) {
 				putContainerStatus(id, MDTInstanceStatus.FAILED);
@@ -241,6 +256,7 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 			}
 		}
 		catch ( ContainerNotFoundException e ) {
+			putContainerStatus(id, MDTInstanceStatus.STOPPED);
 			desc.setStatus(MDTInstanceStatus.STOPPED);
 			desc.setBaseEndpoint(null);
 		}
@@ -270,10 +286,21 @@ public class DockerInstanceManager extends AbstractJpaInstanceManager<DockerInst
 	}
 	
 	MDTInstanceStatus getContainerStatus(String instanceId) {
-		return m_instanceStatus.computeIfAbsent(instanceId, id -> MDTInstanceStatus.STOPPED);
+		// 데이터베이스에서 읽은 상태는 이전 기동 시의 상태일 수 있으므로 관측된 상태만 사용한다.
+		InstanceRuntimeInfo observed = getObservedRuntimeInfo(instanceId, null);
+		return (observed != null) ? observed.getStatus() : MDTInstanceStatus.STOPPED;
 	}
 	void putContainerStatus(String instanceId, MDTInstanceStatus status) {
-		m_instanceStatus.put(instanceId, status);
+		putContainerStatus(instanceId, status, null);
+	}
+	void putContainerStatus(String instanceId, MDTInstanceStatus status, String endpoint) {
+		updateRuntimeInfo(instanceId, status, endpoint);
+	}
+	
+	private static MDTInstanceStatus toRunningContainerStatus(MDTInstanceStatus lastStatus) {
+		// 컨테이너가 실행 중이면 시작/종료 중인 경우를 제외하고는 실행 중인 것으로 간주한다.
+		return (lastStatus == MDTInstanceStatus.STOPPED || lastStatus == MDTInstanceStatus.FAILED)
+				? MDTInstanceStatus.RUNNING : lastStatus;
 	}
 	
 	private int getRepositoryPort(ContainerInfo info) {
@@ -3,6 +3,7 @@ package mdt.instance.external;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -77,7 +78,7 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 				getLogger().info("added ExternalInstance: id={}", desc.getInstanceId());
 			}
 			
-			return toInstance(desc);
+			return getOrCreateInstance(desc);
 		}
 		catch ( JsonProcessingException e ) {
 			throw new IOException(e);
@@ -106,11 +107,14 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 
 		desc.setStatus(MDTInstanceStatus.RUNNING);
 		desc.setBaseEndpoint(serviceEndpoint);
+		updateRuntimeInfo(id, MDTInstanceStatus.RUNNING, serviceEndpoint);
 		if ( getLogger().isInfoEnabled() ) {
 			getLogger().info("Registered MDTInstance: id={}, endpoint={}", id, serviceEndpoint);
 		}
 		
-		return toInstance(desc);
+		// 등록정보(arguments)가 변경되었으므로 기존 MDTInstance 객체는 재사용하지 않는다.
+		evictInstance(id);
+		return getOrCreateInstance(desc);
 	}
 	
 	public void unregister(String id) {
@@ -118,6 +122,7 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 		
 		desc.setStatus(MDTInstanceStatus.STOPPED);
 		desc.setBaseEndpoint(null);
+		updateRuntimeInfo(id, MDTInstanceStatus.STOPPED, null);
 		if ( getLogger().isInfoEnabled() ) {
 			getLogger().info("Unregistered MDTInstance: id={}", id);
 		}
@@ -146,7 +151,11 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 		@Transactional
 		protected void runOneIteration() throws Exception {
 			JpaProcessor proc = new JpaProcessor(m_repos.entityManagerFactory());
-			proc.run(em -> purgeInactiveInstance(em));
+			List<String> purgedIds = new ArrayList<>();
+			proc.run(em -> purgeInactiveInstance(em, purgedIds));
+			
+			// 등록정보 변경이 commit된 이후에 실행 상태 테이블에 반영한다.
+			purgedIds.forEach(id -> updateRuntimeInfo(id, MDTInstanceStatus.STOPPED, null));
 		}
 
 		@Override
@@ -155,7 +164,7 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 			return Scheduler.newFixedRateSchedule(0, intervalSecs, TimeUnit.SECONDS);
 		}
 		
-		private void purgeInactiveInstance(EntityManager em) {
+		private void purgeInactiveInstance(EntityManager em, List<String> purgedIds) {
 			if ( getLogger().isDebugEnabled() ) {
 				getLogger().debug("Starting MDTInstances' health check, timeout={}", m_extConfig.getConnectionTimeout());
 			}
@@ -174,6 +183,7 @@ public class ExternalInstanceManager extends AbstractJpaInstanceManager<External
 					if ( idleDuration.compareTo(timeout) >= 0 ) {
 						desc.setStatus(MDTInstanceStatus.STOPPED);
 						desc.setBaseEndpoint(null);
+						purgedIds.add(desc.getInstanceId());
 						if ( getLogger().isInfoEnabled() ) {
 							getLogger().info("MDTInstance is stopped due to inactivity: id={}", desc.getInstanceId());
 						}
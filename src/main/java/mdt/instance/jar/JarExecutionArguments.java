@@ -18,4 +18,5 @@ public class JarExecutionArguments {
 //	private String modelFile;
 //	private String configFile;
 	private int port = -1;
+	private String jvmProfile;	// 등록시 지정된 JVM 자원 프로파일 이름. 지정되지 않은 경우는 모델 크기에 따라 선택된다.
 }
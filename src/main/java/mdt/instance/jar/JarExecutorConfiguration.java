@@ -2,11 +2,16 @@ package mdt.instance.jar;
 
 import java.io.File;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import utils.io.FileUtils;
 
+import mdt.instance.ReadinessStrategy;
+
 /**
  *
  * @author Kang-Woo Lee (ETRI)
@@ -20,13 +25,26 @@ public class JarExecutorConfiguration {
 	private File m_workspaceDir;
 	private Duration m_sampleInterval = Duration.ofSeconds(2);
 	private Duration m_startTimeout = Duration.ofMinutes(1);
-	private int m_startConcurrency = 5;
+	private ReadinessStrategy m_readiness = ReadinessStrategy.SENTINEL;	// 시작 완료 판단 방법
+	private int m_startConcurrency = Runtime.getRuntime().availableProcessors();	// 동시 시작 허용 수의 최대값
+	private boolean m_adaptiveStartConcurrency = true;	// 시스템 상태에 따라 동시 시작 허용 수를 조절할지 여부
 	private String m_heapSize = "512m";
+	private Map<String,JvmProfile> m_jvmProfiles = new LinkedHashMap<>();	// 이름 별 JVM 자원 프로파일 (자동 선택시 정의 순서대로 검사)
+	private boolean m_cdsEnabled = false;		// MDTInstance 프로세스들이 AppCDS archive를 공유할지 여부
+	private File m_cdsArchiveDir;				// AppCDS archive 저장 디렉토리
+	private int m_standbyPoolSize = 0;			// 미리 실행해 둘 대기 JVM 수 (0이면 사용하지 않음)
+	private DataSize m_logSegmentSize = DataSize.ofMegabytes(10);		// 표준 출력 로그 segment의 최대 크기
+	private Duration m_logSegmentInterval = Duration.ofDays(1);		// 표준 출력 로그 segment의 최대 기록 기간
+	private DataSize m_logRetentionSize = DataSize.ofMegabytes(100);	// 인스턴스 별 표준 출력 로그의 최대 디스크 사용량
+	private boolean m_logCompression = true;						// 닫힌 표준 출력 로그 segment의 gzip 압축 여부
+	private Duration m_resourceSampleInterval = Duration.ofSeconds(5);	// 인스턴스 프로세스 자원 사용량 수집 주기
+	private int m_resourceHistorySize = 60;						// 인스턴스 별로 유지하는 최근 자원 사용량 수
 	
 	public JarExecutorConfiguration() {
 		m_workspaceDir = new File(FileUtils.getCurrentWorkingDirectory(), "instances");
 		m_defaultMDTInstanceJarFile = new File(FileUtils.getCurrentWorkingDirectory(), "mdt-instance-all.jar");
 		m_keyStoreFile = new File(FileUtils.getCurrentWorkingDirectory(), "mdt_cert.p12");
+		m_cdsArchiveDir = new File(FileUtils.getCurrentWorkingDirectory(), "cds");
 	}
 	
 	public File getDefaultMDTInstanceJarFile() {
@@ -77,6 +95,14 @@ public class JarExecutorConfiguration {
 		m_startTimeout = startTimeout;
 	}
 	
+	public ReadinessStrategy getReadiness() {
+		return m_readiness;
+	}
+	
+	public void setReadiness(ReadinessStrategy readiness) {
+		m_readiness = readiness;
+	}
+	
 	public int getStartConcurrency() {
 		return m_startConcurrency;
 	}
@@ -85,6 +111,14 @@ public class JarExecutorConfiguration {
 		m_startConcurrency = startConcurrency;
 	}
 	
+	public boolean isAdaptiveStartConcurrency() {
+		return m_adaptiveStartConcurrency;
+	}
+	
+	public void setAdaptiveStartConcurrency(boolean adaptiveStartConcurrency) {
+		m_adaptiveStartConcurrency = adaptiveStartConcurrency;
+	}
+	
 	public String getHeapSize() {
 		return m_heapSize;
 	}
@@ -92,4 +126,84 @@ public class JarExecutorConfiguration {
 	public void setHeapSize(String heapSize) {
 		m_heapSize = heapSize;
 	}
+	
+	public Map<String,JvmProfile> getJvmProfiles() {
+		return m_jvmProfiles;
+	}
+	
+	public void setJvmProfiles(Map<String,JvmProfile> jvmProfiles) {
+		m_jvmProfiles = jvmProfiles;
+	}
+	
+	public boolean isCdsEnabled() {
+		return m_cdsEnabled;
+	}
+	
+	public void setCdsEnabled(boolean cdsEnabled) {
+		m_cdsEnabled = cdsEnabled;
+	}
+	
+	public File getCdsArchiveDir() {
+		return m_cdsArchiveDir;
+	}
+	
+	public void setCdsArchiveDir(File cdsArchiveDir) {
+		m_cdsArchiveDir = cdsArchiveDir;
+	}
+	
+	public int getStandbyPoolSize() {
+		return m_standbyPoolSize;
+	}
+	
+	public void setStandbyPoolSize(int standbyPoolSize) {
+		m_standbyPoolSize = standbyPoolSize;
+	}
+	
+	public DataSize getLogSegmentSize() {
+		return m_logSegmentSize;
+	}
+	
+	public void setLogSegmentSize(DataSize logSegmentSize) {
+		m_logSegmentSize = logSegmentSize;
+	}
+	
+	public Duration getLogSegmentInterval() {
+		return m_logSegmentInterval;
+	}
+	
+	public void setLogSegmentInterval(Duration logSegmentInterval) {
+		m_logSegmentInterval = logSegmentInterval;
+	}
+	
+	public DataSize getLogRetentionSize() {
+		return m_logRetentionSize;
+	}
+	
+	public void setLogRetentionSize(DataSize logRetentionSize) {
+		m_logRetentionSize = logRetentionSize;
+	}
+	
+	public boolean isLogCompression() {
+		return m_logCompression;
+	}
+	
+	public void setLogCompression(boolean logCompression) {
+		m_logCompression = logCompression;
+	}
+	
+	public Duration getResourceSampleInterval() {
+		return m_resourceSampleInterval;
+	}
+	
+	public void setResourceSampleInterval(Duration resourceSampleInterval) {
+		m_resourceSampleInterval = resourceSampleInterval;
+	}
+	
+	public int getResourceHistorySize() {
+		return m_resourceHistorySize;
+	}
+	
+	public void setResourceHistorySize(int resourceHistorySize) {
+		m_resourceHistorySize = resourceHistorySize;
+	}
 }
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 
 import mdt.exector.jar.JarInstanceExecutor;
 import mdt.exector.jar.MDTInstanceExecutorException;
+import mdt.exector.jar.OutputLogFile;
 import mdt.instance.JpaInstance;
 import mdt.instance.jpa.JpaInstanceDescriptor;
 import mdt.model.instance.MDTInstanceManagerException;
@@ -62,6 +63,7 @@ public class JarInstance extends JpaInstance {
 	public void startAsync() throws MDTInstanceManagerException {
 		JarInstanceManager mgr = getInstanceManager();
 		JarExecutionArguments jargs = mgr.parseExecutionArguments(getExecutionArguments());
+		JvmProfile profile = mgr.resolveJvmProfile(getId(), jargs);
 
 		JarInstanceExecutor executor = mgr.getInstanceExecutor();
 		getLogger().info("starting: {}...", this);
@@ -69,13 +71,13 @@ public class JarInstance extends JpaInstance {
 		String threadName = String.format("starting-JarInstance-%s", getId());
 		new Thread(() -> {
 			try {
-				executor.start(getId(), getAasId(), jargs);
+				executor.start(getId(), getAasId(), jargs, profile);
 			}
 			catch ( MDTInstanceExecutorException e ) {
 				getLogger().error("Failed to start instance: {}", this, e);
 			}
 		}, threadName).start();
-//		executor.start(getId(), getAasId(), jargs);
+//		executor.start(getId(), getAasId(), jargs, profile);
 	}
 
 	/**
@@ -102,6 +104,15 @@ public class JarInstance extends JpaInstance {
 	public String getOutputLog() throws IOException {
 		return getExecutor().getOutputLog(getId());
 	}
+	
+	/**
+	 * 본 인스턴스의 표준 출력 로그 파일을 반환한다.
+	 *
+	 * @return	표준 출력 로그 파일.
+	 */
+	public OutputLogFile getOutputLogFile() {
+		return getExecutor().getOutputLogFile(getId());
+	}
 
 	@Override
 	public String toString() {
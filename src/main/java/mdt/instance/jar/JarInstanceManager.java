@@ -2,13 +2,12 @@ package mdt.instance.jar;
 
 import java.io.File;
 import java.io.IOException;
-import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.io.IOExceptionList;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,10 +18,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import utils.InternalException;
 import utils.Throwables;
 import utils.io.FileUtils;
+import utils.stream.FStream;
 
+import mdt.Globals;
 import mdt.exector.jar.JarExecutionListener;
 import mdt.exector.jar.JarInstanceExecutor;
 import mdt.instance.AbstractJpaInstanceManager;
+import mdt.instance.InstanceTransitionJob;
+import mdt.instance.InstanceTransitionJob.Action;
 import mdt.instance.JpaInstance;
 import mdt.instance.MDTInstanceManagerConfiguration;
 import mdt.instance.MqttConfiguration;
@@ -30,6 +33,7 @@ import mdt.instance.jpa.JpaInstanceDescriptor;
 import mdt.model.AASUtils;
 import mdt.model.ModelValidationException;
 import mdt.model.ResourceException;
+import mdt.model.instance.InstanceStatusChangeEvent;
 import mdt.model.instance.MDTInstance;
 import mdt.model.instance.MDTInstanceManager;
 import mdt.model.instance.MDTInstanceManagerException;
@@ -46,11 +50,10 @@ import mdt.repository.Repositories;
 public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance> {
 	private static final Logger s_logger = LoggerFactory.getLogger(JarInstanceManager.class);
 	private static final String UV_PROJECTS_FILE_NAME = "uv_projects.txt";
-	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
-	private static final Duration DEFAULT_START_TIMEOUT = Duration.ofMinutes(1);
 	
 	private final JarInstanceExecutor m_executor;
 	private final File m_defaultInstanceJarFile;
+	private final Map<String,JvmProfile> m_jvmProfiles;
 	
 	public JarInstanceManager(MDTInstanceManagerConfiguration mgrConf,
 								Repositories repos,
@@ -64,6 +67,17 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 			getLogger().info("use default MDTInstance jar file: {}", m_defaultInstanceJarFile.getAbsolutePath());
 		}
 
+		// 잘못 설정된 프로파일은 MDTInstance 시작시가 아닌 기동시에 발견되도록 미리 검사한다.
+		m_jvmProfiles = jarExecConf.getJvmProfiles();
+		m_jvmProfiles.forEach((name, profile) -> {
+			try {
+				profile.toJvmOptions();
+			}
+			catch ( IllegalArgumentException e ) {
+				throw new IllegalArgumentException("invalid JvmProfile: name=" + name + ", cause=" + e.getMessage());
+			}
+		});
+		
 		m_executor = new JarInstanceExecutor(mgrConf, jarExecConf);
 		m_executor.addExecutionListener(m_execListener);
 		
@@ -74,25 +88,26 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 		return m_executor;
 	}
 	
-	public void shutdown() {
+	@Override
+	protected void shutdownExecution() {
 		m_executor.shutdown();
 	}
 	
-	public void startInstanceAll() {
-		try ( ExecutorService exector = Executors.newFixedThreadPool(3) ) {
-			for ( JpaInstanceDescriptor desc: m_repos.instances().findAll() ) {
-				CompletableFuture.runAsync(() -> {
-					try {
-						JpaInstance inst = getInstance(desc.getInstanceId());
-						inst.start(DEFAULT_POLL_INTERVAL, DEFAULT_START_TIMEOUT);
-					}
-					catch ( Throwable e ) {
-						Throwable cause = Throwables.unwrapThrowable(e);
-						getLogger().warn("Failed to start JarInstance: id={}, cause={}", desc.getInstanceId(), cause);
-					}
-				}, exector);
-			}
-		}
+	/**
+	 * 등록된 모든 MDTInstance들을 시작시키는 작업을 수행시킨다.
+	 * <p>
+	 * 작업은 {@link #getTransitionService()}를 통해 수행되며, 본 메소드는 작업 완료를 기다리지 않고
+	 * 바로 반환된다. MDTInstance들은 twin composition에 기록된 의존 관계에 따라 의존 대상
+	 * MDTInstance가 먼저 시작된 후에 시작된다.
+	 *
+	 * @return	시작 작업 객체.
+	 */
+	public InstanceTransitionJob startInstanceAll() {
+		List<String> instIds = FStream.from(m_repos.instances().findAll())
+										.map(JpaInstanceDescriptor::getInstanceId)
+										.toList();
+		return getTransitionService().submit(Action.START, instIds, getConfiguration().getTransitionParallelism(),
+											true);
 	}
 
 	@Override
@@ -137,7 +152,7 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 			JpaInstanceDescriptor desc = addInstanceDescriptor(id, env, arguments);
 			getLogger().info("added JarInstance: id={}, instanceDir={}", desc.getInstanceId(), instDir);
 			
-			return toInstance(desc);
+			return getOrCreateInstance(desc);
 		}
 		catch ( IOExceptionList e) {
 			Throwable clause = e.getCause(0);
@@ -157,6 +172,80 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 		return new JarInstance(this, descriptor);
 	}
 	
+	/**
+	 * 주어진 이름의 JVM 자원 프로파일을 반환한다.
+	 *
+	 * @param name	프로파일 이름.
+	 * @return	JVM 자원 프로파일.
+	 * @throws IllegalArgumentException	주어진 이름의 프로파일이 정의되지 않은 경우.
+	 */
+	public JvmProfile getJvmProfile(String name) {
+		JvmProfile profile = m_jvmProfiles.get(name);
+		if ( profile == null ) {
+			throw new IllegalArgumentException("unknown JvmProfile: name=" + name + ", defined="
+												+ m_jvmProfiles.keySet());
+		}
+		return profile;
+	}
+	
+	/**
+	 * 주어진 MDTInstance가 사용할 JVM 자원 프로파일을 지정한다.
+	 * <p>
+	 * 지정된 프로파일은 다음 시작부터 적용된다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param name		프로파일 이름. {@code null}인 경우는 모델 크기에 따라 선택되도록 지정을 해제한다.
+	 * @throws IllegalArgumentException	주어진 이름의 프로파일이 정의되지 않은 경우.
+	 */
+	public void setJvmProfile(String instId, @Nullable String name) {
+		if ( name != null ) {
+			getJvmProfile(name);
+		}
+		
+		updateInstanceDescriptor(instId, desc -> {
+			JarExecutionArguments args = parseExecutionArguments(desc.getArguments());
+			args.setJvmProfile(name);
+			desc.setArguments(toExecutionArgumentsString(args));
+		});
+	}
+	
+	/**
+	 * 주어진 MDTInstance를 시작할 때 사용할 JVM 자원 프로파일을 결정한다.
+	 * <p>
+	 * 등록시 지정된 프로파일이 있으면 해당 프로파일을, 그렇지 않으면 모델의 submodel 수와 parameter 수를
+	 * 모두 수용하는 첫번째 프로파일을 사용한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param args		MDTInstance 실행 인자.
+	 * @return	JVM 자원 프로파일. 적용 가능한 프로파일이 없는 경우는 {@code null}.
+	 */
+	public @Nullable JvmProfile resolveJvmProfile(String instId, JarExecutionArguments args) {
+		if ( args.getJvmProfile() != null ) {
+			JvmProfile profile = m_jvmProfiles.get(args.getJvmProfile());
+			if ( profile != null ) {
+				return profile;
+			}
+			getLogger().warn("JvmProfile is not defined, select by model size: instance={}, profile={}",
+							instId, args.getJvmProfile());
+		}
+		if ( m_jvmProfiles.isEmpty() ) {
+			return null;
+		}
+		
+		long submodelCount = m_repos.submodels().countByInstance_InstanceId(instId);
+		long parameterCount = m_repos.parameters().countByInstance_InstanceId(instId);
+		for ( Map.Entry<String,JvmProfile> ent: m_jvmProfiles.entrySet() ) {
+			if ( ent.getValue().accepts(submodelCount, parameterCount) ) {
+				if ( getLogger().isDebugEnabled() ) {
+					getLogger().debug("selected JvmProfile: instance={}, profile={}, submodels={}, parameters={}",
+										instId, ent.getKey(), submodelCount, parameterCount);
+				}
+				return ent.getValue();
+			}
+		}
+		return null;
+	}
+	
 	public JarExecutionArguments parseExecutionArguments(String argsJson) {
 		try {
 			return m_mapper.readValue(argsJson, JarExecutionArguments.class);
@@ -166,6 +255,15 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 		}
 	}
 	
+	private String toExecutionArgumentsString(JarExecutionArguments args) {
+		try {
+			return m_mapper.writeValueAsString(args);
+		}
+		catch ( JsonProcessingException e ) {
+			throw new InternalException("Failed to write JarExecutionArguments string, cause=" + e);
+		}
+	}
+	
 	@Override
 	public String toString() {
 		return String.format("%s[home=%s]", getClass().getSimpleName(), getInstancesDir());
@@ -174,44 +272,42 @@ public class JarInstanceManager extends AbstractJpaInstanceManager<JpaInstance>
 	@Override
 	protected void adaptInstanceDescriptor(JpaInstanceDescriptor desc) { }
 	
-	// 프로세스의 상태 변화에 따라 InstanceDescriptor의 상태를 업데이트하는 모듈
+	@Override
+	protected boolean isStatusEventPostedAfterUpdate() {
+		// 상태 변경 이벤트는 m_execListener에서 실행 정보를 갱신한 후에 발송된다.
+		return true;
+	}
+	
+	// 프로세스의 상태 변화에 따라 실행 상태 테이블을 업데이트하고,
+	// 다른 MDTInstanceManager들과 동일하게 상태 변경 이벤트를 발송하는 모듈.
+	// JarInstanceExecutor의 guard 밖에서 호출되기 때문에 이벤트 구독자들이 실행기를 점유하지 않는다.
 	private final JarExecutionListener m_execListener = new JarExecutionListener() {
 		@Override
 		public void statusChanged(String id, MDTInstanceStatus status, String endpoint) {
-			JarInstanceManager.this.updateInstanceDescriptor(id, status, endpoint);
+			JarInstanceManager.this.updateRuntimeInfo(id, status, endpoint);
+			
+			switch ( status ) {
+				case RUNNING:
+					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.RUNNING(id, endpoint));
+					break;
+				case STOPPED:
+					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPED(id));
+					break;
+				case FAILED:
+					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.FAILED(id));
+					break;
+				case STARTING:
+					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STARTING(id));
+					break;
+				case STOPPING:
+					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPING(id));
+					break;
+				default:
+					throw new InternalException("JarExecutor throws an unknown status: " + status);
+			}
 		}
 		
 		@Override
 		public void timeoutExpired() { }
 	};
-	
-//	private final JarExecutionListener m_execListener = new JarExecutionListener() {
-//		@Override
-//		public void stausChanged(String id, MDTInstanceStatus status, int repoPort) {
-//			switch ( status ) {
-//				case RUNNING:
-//					String svcEp = toServiceEndpoint(repoPort);
-//					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.RUNNING(id, svcEp));
-//					break;
-//				case STOPPED:
-//					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPED(id));
-//					break;
-//				case FAILED:
-//					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.FAILED(id));
-//					break;
-//				case STARTING:
-//					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STARTING(id));
-//					break;
-//				case STOPPING:
-//					Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPING(id));
-//					break;
-//				default:
-//					throw new InternalException("JarExecutor throws an unknown status: " + status);
-//			}
-//		}
-//		
-//		@Override
-//		public void timeoutExpired() {
-//		}
-//	};
 }
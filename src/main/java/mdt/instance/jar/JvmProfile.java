@@ -0,0 +1,131 @@
+package mdt.instance.jar;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * jar 타입 MDTInstance 프로세스의 JVM 자원 설정.
+ * <p>
+ * MDTInstance는 등록시 사용할 프로파일 이름을 지정할 수 있으며, 지정하지 않은 경우는
+ * 모델 크기(submodel 수, parameter 수)에 따라 {@link JarExecutorConfiguration#getJvmProfiles()}에
+ * 정의된 순서대로 {@link #getMaxSubmodels()}와 {@link #getMaxParameters()}를 모두 만족하는
+ * 첫번째 프로파일이 선택된다.
+ * 설정되지 않은 항목은 JVM 인자에 추가되지 않으며, heap 크기가 설정되지 않은 경우는
+ * {@link JarExecutorConfiguration#getHeapSize()}가 사용된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class JvmProfile {
+	private String m_heapSize;					// -Xms/-Xmx 값 (예: "256m")
+	private String m_gc;						// GC 종류 (serial, parallel, g1, z)
+	private Integer m_activeProcessorCount;		// -XX:ActiveProcessorCount 값
+	private String m_threadStackSize;			// -Xss 값 (예: "512k")
+	private Integer m_maxSubmodels;				// 자동 선택시 허용되는 최대 submodel 수
+	private Integer m_maxParameters;			// 자동 선택시 허용되는 최대 parameter 수
+
+	public String getHeapSize() {
+		return m_heapSize;
+	}
+
+	public void setHeapSize(String heapSize) {
+		m_heapSize = heapSize;
+	}
+
+	public String getGc() {
+		return m_gc;
+	}
+
+	public void setGc(String gc) {
+		m_gc = gc;
+	}
+
+	public Integer getActiveProcessorCount() {
+		return m_activeProcessorCount;
+	}
+
+	public void setActiveProcessorCount(Integer activeProcessorCount) {
+		m_activeProcessorCount = activeProcessorCount;
+	}
+
+	public String getThreadStackSize() {
+		return m_threadStackSize;
+	}
+
+	public void setThreadStackSize(String threadStackSize) {
+		m_threadStackSize = threadStackSize;
+	}
+
+	public Integer getMaxSubmodels() {
+		return m_maxSubmodels;
+	}
+
+	public void setMaxSubmodels(Integer maxSubmodels) {
+		m_maxSubmodels = maxSubmodels;
+	}
+
+	public Integer getMaxParameters() {
+		return m_maxParameters;
+	}
+
+	public void setMaxParameters(Integer maxParameters) {
+		m_maxParameters = maxParameters;
+	}
+
+	/**
+	 * 주어진 크기의 모델에 본 프로파일을 적용할 수 있는지 여부를 반환한다.
+	 *
+	 * @param submodelCount		모델의 submodel 수.
+	 * @param parameterCount	모델의 parameter 수.
+	 * @return	적용 가능한 경우는 {@code true}.
+	 */
+	public boolean accepts(long submodelCount, long parameterCount) {
+		return (m_maxSubmodels == null || submodelCount <= m_maxSubmodels)
+			&& (m_maxParameters == null || parameterCount <= m_maxParameters);
+	}
+
+	/**
+	 * 본 프로파일에 따른 JVM 인자 리스트를 생성한다.
+	 * <p>
+	 * heap 크기 인자({@code -Xms}/{@code -Xmx})는 포함되지 않는다.
+	 *
+	 * @return	JVM 인자 리스트.
+	 * @throws IllegalArgumentException	GC 종류가 올바르지 않은 경우.
+	 */
+	public List<String> toJvmOptions() {
+		List<String> options = Lists.newArrayList();
+		String gcOption = toGcOption(m_gc);
+		if ( gcOption != null ) {
+			options.add(gcOption);
+		}
+		if ( m_activeProcessorCount != null ) {
+			options.add(String.format("-XX:ActiveProcessorCount=%d", m_activeProcessorCount));
+		}
+		if ( m_threadStackSize != null ) {
+			options.add(String.format("-Xss%s", m_threadStackSize));
+		}
+		return options;
+	}
+
+	private static @Nullable String toGcOption(@Nullable String gc) {
+		if ( gc == null ) {
+			return null;
+		}
+		return switch ( gc.trim().toLowerCase() ) {
+			case "serial" -> "-XX:+UseSerialGC";
+			case "parallel" -> "-XX:+UseParallelGC";
+			case "g1" -> "-XX:+UseG1GC";
+			case "z", "zgc" -> "-XX:+UseZGC";
+			default -> throw new IllegalArgumentException("unknown GC type: " + gc);
+		};
+	}
+
+	@Override
+	public String toString() {
+		return String.format("JvmProfile(heap=%s, gc=%s, cpus=%s, stack=%s)",
+								m_heapSize, m_gc, m_activeProcessorCount, m_threadStackSize);
+	}
+}
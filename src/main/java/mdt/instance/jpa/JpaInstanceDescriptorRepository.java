@@ -1,5 +1,7 @@
 package mdt.instance.jpa;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,6 +10,8 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import mdt.model.instance.MDTInstanceStatus;
+
 /**
  *
  * @author Kang-Woo Lee (ETRI)
@@ -22,6 +26,7 @@ public interface JpaInstanceDescriptorRepository extends CrudRepository<JpaInsta
 //	public Iterable<JpaInstanceDescriptor> findAllOrderByRowId();
 
 	public Optional<JpaInstanceDescriptor> findByAasId(String aasId);
+	public List<JpaInstanceDescriptor> findAllByInstanceIdIn(Collection<String> instIds);
 	public Iterable<JpaInstanceDescriptor> findAllByAasIdShort(String aasIdShort);
 	public Iterable<JpaInstanceDescriptor> findAllByGlobalAssetId(String assetId);
 	
@@ -30,6 +35,13 @@ public interface JpaInstanceDescriptorRepository extends CrudRepository<JpaInsta
 	@Query("DELETE FROM JpaInstanceDescriptor d WHERE d.instanceId = :instId")
 	public void deleteByInstanceId(@Param("instId") String instId);
 	
+	@Modifying
+	@Transactional
+	@Query("UPDATE JpaInstanceDescriptor d SET d.status = :status, d.baseEndpoint = :endpoint "
+			+ "WHERE d.instanceId = :instId")
+	public int updateRuntimeInfo(@Param("instId") String instId, @Param("status") MDTInstanceStatus status,
+								@Param("endpoint") String endpoint);
+	
 	@Modifying
 	@Transactional
 	@Query("UPDATE JpaInstanceDescriptor d SET d.status = 'STOPPED', d.baseEndpoint = null WHERE d.id = :instId")
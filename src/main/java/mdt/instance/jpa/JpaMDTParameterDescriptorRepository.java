@@ -10,4 +10,5 @@ import org.springframework.data.repository.CrudRepository;
  */
 public interface JpaMDTParameterDescriptorRepository extends CrudRepository<JpaMDTParameterDescriptor, Long> {
 	public List<JpaMDTParameterDescriptor> findAllByInstance_InstanceId(String instId);
+	public long countByInstance_InstanceId(String instId);
 }
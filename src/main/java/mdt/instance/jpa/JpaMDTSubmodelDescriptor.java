@@ -50,6 +50,8 @@ public class JpaMDTSubmodelDescriptor {
 	@Column(name="row_id")
 	private Long rowId;
 
+	// EAGER로 적재되기 때문에 서브모델 기술자들을 엔티티로 읽는 경우는 서브모델마다 추가 질의가 발생하지 않도록
+	// 'join fetch sm.instance'로 함께 읽거나, 필요한 컬럼만 읽어야 한다.
 	@ManyToOne(fetch = FetchType.EAGER)
 	@JoinColumn(name="instance_row_id")
 	private JpaInstanceDescriptor instance;
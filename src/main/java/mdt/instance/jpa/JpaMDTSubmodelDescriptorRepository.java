@@ -20,5 +20,6 @@ public interface JpaMDTSubmodelDescriptorRepository extends CrudRepository<JpaMD
 	public List<JpaMDTSubmodelDescriptor> findAllBySemanticId(@Param("semanticId") String semanticId);
 	
 	public List<JpaMDTSubmodelDescriptor> findAllByInstance_InstanceId(String instanceId);
+	public long countByInstance_InstanceId(String instanceId);
 	public Optional<JpaMDTSubmodelDescriptor> findByInstance_InstanceIdAndIdShort(String instanceId, String idShort);
 }
\ No newline at end of file
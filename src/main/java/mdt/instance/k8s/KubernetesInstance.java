@@ -97,10 +97,11 @@ public class KubernetesInstance extends JpaInstance implements MDTInstance {
 
 		KubernetesRemote k8s = m_kube.get();
 		Deployment deployment = null;
+		KubernetesInstanceManager mgr = getInstanceManager();
 		try {
-			KubernetesInstanceManager mgr = getInstanceManager();
 			KubernetesExecutionArguments args = mgr.parseExecutionArguments(desc.getArguments());
 			
+			mgr.putInstanceStatus(desc.getInstanceId(), MDTInstanceStatus.STARTING, null);
 			Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STARTING(desc.getInstanceId()));
 			
 			deployment = buildDeploymentResource(args.getImageRepoName());
@@ -111,9 +112,11 @@ public class KubernetesInstance extends JpaInstance implements MDTInstance {
 			m_workerHostname = selectWorkerHostname();
 			int svcPort = k8s.createService(NAMESPACE, svc);
 			String endpoint = toServiceEndpoint(svcPort);
+			mgr.putInstanceStatus(desc.getInstanceId(), MDTInstanceStatus.RUNNING, endpoint);
 			Globals.EVENT_BUS.post(InstanceStatusChangeEvent.RUNNING(desc.getInstanceId(), endpoint));
 		}
 		catch ( Exception e ) {
+			mgr.putInstanceStatus(desc.getInstanceId(), MDTInstanceStatus.STOPPED, null);
 			Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPED(desc.getInstanceId()));
 			
 			Unchecked.acceptOrIgnore(deployment, k8s::deleteDeployment);
@@ -125,13 +128,16 @@ public class KubernetesInstance extends JpaInstance implements MDTInstance {
 	@Override
 	public void stopAsync() {
 		KubernetesRemote k8s = m_kube.get();
+		KubernetesInstanceManager mgr = getInstanceManager();
 
+		mgr.putInstanceStatus(getId(), MDTInstanceStatus.STOPPING, null);
 		Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPING(getId()));
 		
 		Unchecked.runOrIgnore(() -> k8s.deleteService(NAMESPACE, toServiceName(getId())));
 		Unchecked.runOrIgnore(() -> k8s.deleteDeployment(NAMESPACE, toDeploymentName(getId())));
 		m_workerHostname = null;
 
+		mgr.putInstanceStatus(getId(), MDTInstanceStatus.STOPPED, null);
 		Globals.EVENT_BUS.post(InstanceStatusChangeEvent.STOPPED(getId()));
 	}
 	
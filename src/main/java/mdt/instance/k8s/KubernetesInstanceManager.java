@@ -28,6 +28,7 @@ import utils.io.FileUtils;
 import mdt.controller.DockerCommandUtils;
 import mdt.controller.DockerCommandUtils.StandardOutputHandler;
 import mdt.instance.AbstractJpaInstanceManager;
+import mdt.instance.InstanceRuntimeInfo;
 import mdt.instance.MDTInstanceManagerConfiguration;
 import mdt.instance.MqttConfiguration;
 import mdt.instance.docker.DockerConfiguration;
@@ -75,7 +76,7 @@ public class KubernetesInstanceManager extends AbstractJpaInstanceManager<Kubern
 		if ( epFormat == null ) {
 			try {
 				String host = InetAddress.getLocalHost().getHostAddress();
-				epFormat = "https:" + host + ":%d/api/v3.0";
+				epFormat = "https://" + host + ":%d/api/v3.0";
 			}
 			catch ( Exception e ) {
 				throw new MDTInstanceManagerException("" + e);
@@ -143,23 +144,48 @@ public class KubernetesInstanceManager extends AbstractJpaInstanceManager<Kubern
 		return new KubernetesInstance(this, descriptor);
 	}
 
+	@Override
+	protected boolean isDescriptorVersionTracked() {
+		// Pod 상태는 MDTInstanceManager를 거치지 않고도 변경될 수 있다.
+		return false;
+	}
+
 	@Override
 	protected void adaptInstanceDescriptor(JpaInstanceDescriptor desc) {
 		String id = desc.getInstanceId();
+		
+		// 최근에 관측된 Pod 상태가 있으면 kubernetes를 다시 질의하지 않는다.
+		InstanceRuntimeInfo observed = getObservedRuntimeInfo(id, m_conf.getRuntimeRevalidateInterval());
+		if ( observed == null ) {
+			observed = loadRuntimeInfo(id);
+			putInstanceStatus(id, observed.getStatus(), observed.getBaseEndpoint());
+		}
+		desc.setStatus(observed.getStatus());
+		desc.setBaseEndpoint(observed.getBaseEndpoint());
+	}
+	
+	/**
+	 * 주어진 MDTInstance의 실행 상태를 실행 상태 테이블에 반영한다.
+	 *
+	 * @param instId	MDTInstance 식별자.
+	 * @param status	MDTInstance 상태.
+	 * @param endpoint	MDTInstance 서비스 endpoint. 실행 중이 아닌 경우는 {@code null}.
+	 */
+	void putInstanceStatus(String instId, MDTInstanceStatus status, String endpoint) {
+		updateRuntimeInfo(instId, status, endpoint);
+	}
+	
+	private InstanceRuntimeInfo loadRuntimeInfo(String id) {
 		KubernetesRemote kube = newKubernetesRemote();
 		Pod pod = kube.getPod(NAMESPACE, id);
 		if ( pod == null ) {
-			desc.setStatus(MDTInstanceStatus.STOPPED);
-			desc.setBaseEndpoint(null);
-			return;
+			return new InstanceRuntimeInfo(MDTInstanceStatus.STOPPED, null);
 		}
 
 		String phase = pod.getStatus().getPhase();
 		switch (phase) {
 			case "Pending":
-				desc.setStatus(MDTInstanceStatus.STARTING);
-				desc.setBaseEndpoint(null);
-				return;
+				return new InstanceRuntimeInfo(MDTInstanceStatus.STARTING, null);
 			case "Running":
 				String endpoint = null;
 				Service service = kube.getService(NAMESPACE, id);
@@ -167,18 +193,12 @@ public class KubernetesInstanceManager extends AbstractJpaInstanceManager<Kubern
 					int port = service.getSpec().getPorts().get(0).getNodePort();
 					endpoint = toServiceEndpoint(port);
 				}
-				desc.setStatus(MDTInstanceStatus.RUNNING);
-				desc.setBaseEndpoint(endpoint);
-				return;
+				return new InstanceRuntimeInfo(MDTInstanceStatus.RUNNING, endpoint);
 			case "Succeeded":
-				desc.setStatus(MDTInstanceStatus.STOPPED);
-				desc.setBaseEndpoint(null);
-				return;
+				return new InstanceRuntimeInfo(MDTInstanceStatus.STOPPED, null);
 			case "Failed":
 			case "Unknown":
-				desc.setStatus(MDTInstanceStatus.FAILED);
-				desc.setBaseEndpoint(null);
-				return;
+				return new InstanceRuntimeInfo(MDTInstanceStatus.FAILED, null);
 			default:
 				throw new AssertionError();
 		}
@@ -198,7 +218,7 @@ public class KubernetesInstanceManager extends AbstractJpaInstanceManager<Kubern
 			String arguments = m_mapper.writeValueAsString(args);
 			
 			JpaInstanceDescriptor desc = addInstanceDescriptor(id, env, arguments);
-			return toInstance(desc);
+			return getOrCreateInstance(desc);
 		}
 		catch ( JsonProcessingException e ) {
 			throw new InternalException("Failed to serialize JarExecutionArguments, cause=" + e);
@@ -0,0 +1,96 @@
+package mdt.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import mdt.model.instance.MDTInstanceManager;
+import mdt.model.sm.ref.MDTElementReference;
+
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class MDTReferenceCacheTest {
+	private final MDTInstanceManager m_manager = mock(MDTInstanceManager.class);
+	private final MDTReferenceCache m_cache = new MDTReferenceCache(m_manager, 100);
+	private final AtomicInteger m_parseCount = new AtomicInteger(0);
+
+	@Test
+	public void reusesActivatedReference() {
+		MDTReferenceCache.ReferenceParser parser = expr -> newReference("inst1", null);
+
+		Object ref = m_cache.get("param:inst1:p1", parser);
+		assertSame(ref, m_cache.get("param:inst1:p1", parser));
+		assertEquals(1, m_parseCount.get());
+	}
+
+	@Test
+	public void invalidateDropsOnlyThatInstance() {
+		Object ref1 = m_cache.get("param:inst1:p1", expr -> newReference("inst1", null));
+		Object ref2 = m_cache.get("param:inst2:p1", expr -> newReference("inst2", null));
+
+		m_cache.invalidate("inst1");
+		assertNotSame(ref1, m_cache.get("param:inst1:p1", expr -> newReference("inst1", null)));
+		assertSame(ref2, m_cache.get("param:inst2:p1", expr -> newReference("inst2", null)));
+		assertEquals(3, m_parseCount.get());
+	}
+
+	@Test
+	public void invalidateRacingActivationIsNotLost() {
+		// 활성화 도중에 (즉, 캐쉬에 등록되기 전에) 해당 MDTInstance가 무효화되는 경우.
+		Object racing = m_cache.get("param:inst1:p1",
+									expr -> newReference("inst1", () -> m_cache.invalidate("inst1")));
+
+		// 무효화 이전에 활성화된 객체는 다시 사용되지 않아야 한다.
+		Object next = m_cache.get("param:inst1:p1", expr -> newReference("inst1", null));
+		assertNotSame(racing, next);
+		assertSame(next, m_cache.get("param:inst1:p1", expr -> newReference("inst1", null)));
+		assertEquals(2, m_parseCount.get());
+	}
+
+	@Test
+	public void invalidateOfOtherInstanceDuringActivationKeepsEntry() {
+		Object ref = m_cache.get("param:inst1:p1",
+								expr -> newReference("inst1", () -> m_cache.invalidate("inst2")));
+		assertSame(ref, m_cache.get("param:inst1:p1", expr -> newReference("inst1", null)));
+		assertEquals(1, m_parseCount.get());
+	}
+
+	@Test
+	public void invalidateAllDropsEverything() {
+		Object ref = m_cache.get("param:inst1:p1", expr -> newReference("inst1", null));
+		m_cache.invalidateAll();
+		assertNotSame(ref, m_cache.get("param:inst1:p1", expr -> newReference("inst1", null)));
+	}
+
+	@Test
+	public void literalIsNotCached() {
+		m_cache.get("'abc'", expr -> { m_parseCount.incrementAndGet(); return "abc"; });
+		m_cache.get("'abc'", expr -> { m_parseCount.incrementAndGet(); return "abc"; });
+		assertEquals(2, m_parseCount.get());
+	}
+
+	private MDTElementReference newReference(String instId, Runnable onActivate) {
+		m_parseCount.incrementAndGet();
+
+		MDTElementReference ref = mock(MDTElementReference.class);
+		doReturn(instId).when(ref).getInstanceId();
+		if ( onActivate != null ) {
+			doAnswer(inv -> {
+				onActivate.run();
+				return null;
+			}).when(ref).activate(any());
+		}
+		return ref;
+	}
+}
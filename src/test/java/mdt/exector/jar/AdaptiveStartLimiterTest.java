@@ -0,0 +1,63 @@
+package mdt.exector.jar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import mdt.exector.jar.AdaptiveStartLimiter.StartOutcome;
+
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AdaptiveStartLimiterTest {
+	@Test
+	public void fastFailureKeepsLimitAndBaseline() throws InterruptedException {
+		AdaptiveStartLimiter limiter = new AdaptiveStartLimiter(8, true, 4);
+		limiter.release(limiter.acquire(null), 100, StartOutcome.RUNNING);
+		int limit = limiter.getLimit();
+		assertEquals(100.0, limiter.getBaselineLatencyMillis());
+
+		// 빨리 실패한 시작은 limit와 기준 소요 시간을 모두 바꾸지 않는다.
+		limiter.release(limiter.acquire(null), 5, StartOutcome.FAILED);
+		assertEquals(limit, limiter.getLimit());
+		assertEquals(100.0, limiter.getBaselineLatencyMillis());
+	}
+
+	@Test
+	public void failureBeforeAnySuccessDoesNotSetBaseline() throws InterruptedException {
+		AdaptiveStartLimiter limiter = new AdaptiveStartLimiter(8, true, 4);
+		limiter.release(limiter.acquire(null), 5, StartOutcome.FAILED);
+		assertEquals(4, limiter.getLimit());
+		assertTrue(limiter.getBaselineLatencyMillis() < 0);
+	}
+
+	@Test
+	public void timeoutHalvesLimit() throws InterruptedException {
+		AdaptiveStartLimiter limiter = new AdaptiveStartLimiter(8, true, 8);
+		limiter.release(limiter.acquire(null), 60_000, StartOutcome.TIMED_OUT);
+		assertEquals(4, limiter.getLimit());
+		// 제한 시간이 경과한 시작의 소요 시간은 기준 소요 시간에 반영되지 않는다.
+		assertTrue(limiter.getBaselineLatencyMillis() < 0);
+
+		limiter.release(limiter.acquire(null), 60_000, StartOutcome.TIMED_OUT);
+		assertEquals(2, limiter.getLimit());
+	}
+
+	@Test
+	public void limitDoesNotDropBelowOne() throws InterruptedException {
+		AdaptiveStartLimiter limiter = new AdaptiveStartLimiter(8, true, 1);
+		limiter.release(limiter.acquire(null), 60_000, StartOutcome.TIMED_OUT);
+		assertEquals(1, limiter.getLimit());
+	}
+
+	@Test
+	public void nonAdaptiveLimitIsFixed() throws InterruptedException {
+		AdaptiveStartLimiter limiter = new AdaptiveStartLimiter(3, false);
+		assertEquals(3, limiter.getLimit());
+		limiter.release(limiter.acquire(null), 60_000, StartOutcome.TIMED_OUT);
+		assertEquals(3, limiter.getLimit());
+	}
+}
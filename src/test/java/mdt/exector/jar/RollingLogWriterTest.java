@@ -0,0 +1,144 @@
+package mdt.exector.jar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import mdt.exector.jar.OutputLogFile.Segment;
+import mdt.model.ResourceNotFoundException;
+
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class RollingLogWriterTest {
+	private static final long LINE_SIZE = 10 + System.lineSeparator().length();
+	private static final long SEGMENT_SIZE = 5 * LINE_SIZE;
+	private static final long NO_RETENTION_LIMIT = Long.MAX_VALUE;
+	// 압축을 호출 쓰레드에서 바로 수행하는 실행기
+	private static final Executor SYNC_EXECUTOR = Runnable::run;
+
+	@TempDir File m_logDir;
+
+	@Test
+	public void rollsAtSegmentSize() throws IOException {
+		try ( RollingLogWriter writer = new RollingLogWriter(m_logDir, SEGMENT_SIZE, null,
+																NO_RETENTION_LIMIT, null) ) {
+			writeLines(writer, 0, 12);
+		}
+
+		List<Segment> segments = OutputLogFile.listSegments(m_logDir);
+		assertEquals(3, segments.size());
+		assertEquals(List.of(0L, SEGMENT_SIZE, 2*SEGMENT_SIZE), segments.stream().map(Segment::start).toList());
+		assertEquals(12 * LINE_SIZE, new OutputLogFile(m_logDir).size());
+		assertEquals(expectedLines(0, 12), readAll(new OutputLogFile(m_logDir), 0));
+	}
+
+	@Test
+	public void compressesClosedSegments() throws IOException {
+		try ( RollingLogWriter writer = new RollingLogWriter(m_logDir, SEGMENT_SIZE, null,
+																NO_RETENTION_LIMIT, SYNC_EXECUTOR) ) {
+			writeLines(writer, 0, 12);
+		}
+
+		List<Segment> segments = OutputLogFile.listSegments(m_logDir);
+		assertEquals(3, segments.size());
+		assertTrue(segments.get(0).compressed());
+		assertTrue(segments.get(1).compressed());
+		// 마지막 segment는 프로세스 종료 후에도 압축하지 않는다.
+		assertFalse(segments.get(2).compressed());
+
+		OutputLogFile logFile = new OutputLogFile(m_logDir);
+		assertEquals(12 * LINE_SIZE, logFile.size());
+		assertEquals(expectedLines(0, 12), readAll(logFile, 0));
+		assertEquals(expectedLines(7, 12), readAll(logFile, 7 * LINE_SIZE));
+		assertEquals(9 * LINE_SIZE, logFile.findTailOffset(3));
+	}
+
+	@Test
+	public void removesOldestSegmentsOverRetention() throws IOException {
+		long retention = 2 * SEGMENT_SIZE;
+		try ( RollingLogWriter writer = new RollingLogWriter(m_logDir, SEGMENT_SIZE, null, retention, null) ) {
+			writeLines(writer, 0, 20);
+		}
+
+		// 보관 한도는 segment를 넘길 때 적용되기 때문에, 그 이후에 기록 중인 segment에 추가된 크기는 제외한다.
+		List<Segment> segments = OutputLogFile.listSegments(m_logDir);
+		long closedSize = segments.subList(0, segments.size()-1).stream()
+									.mapToLong(seg -> seg.file().length())
+									.sum();
+		assertTrue(closedSize <= retention, "closed segments over retention: " + closedSize);
+
+		// 삭제된 부분을 요청하면 남아있는 로그의 시작 위치부터 읽는다.
+		OutputLogFile logFile = new OutputLogFile(m_logDir);
+		long start = logFile.getStartOffset();
+		assertTrue(start > 0);
+		assertEquals(20 * LINE_SIZE, logFile.size());
+		assertEquals(expectedLines((int)(start / LINE_SIZE), 20), readAll(logFile, 0));
+	}
+
+	@Test
+	public void continuesOffsetsAcrossRestart() throws IOException {
+		try ( RollingLogWriter writer = new RollingLogWriter(m_logDir, SEGMENT_SIZE, null,
+																NO_RETENTION_LIMIT, SYNC_EXECUTOR) ) {
+			writeLines(writer, 0, 7);
+		}
+
+		// 이전 실행의 마지막 segment 다음 위치부터 새 segment에 기록된다.
+		try ( RollingLogWriter writer = new RollingLogWriter(m_logDir, SEGMENT_SIZE, null,
+																NO_RETENTION_LIMIT, SYNC_EXECUTOR) ) {
+			assertEquals(OutputLogFile.toSegmentFile(m_logDir, 7 * LINE_SIZE, false), writer.getActiveFile());
+			writeLines(writer, 7, 10);
+		}
+
+		OutputLogFile logFile = new OutputLogFile(m_logDir);
+		assertEquals(10 * LINE_SIZE, logFile.size());
+		assertEquals(expectedLines(0, 10), readAll(logFile, 0));
+		// 이전 실행의 마지막 segment는 재시작시 압축된다.
+		assertTrue(OutputLogFile.listSegments(m_logDir).stream()
+								.filter(seg -> seg.start() == SEGMENT_SIZE)
+								.allMatch(Segment::compressed));
+	}
+
+	@Test
+	public void missingLogIsNotFound() {
+		OutputLogFile logFile = new OutputLogFile(new File(m_logDir, "not-exists"));
+		assertThrows(ResourceNotFoundException.class, logFile::size);
+	}
+
+	private static void writeLines(RollingLogWriter writer, int from, int to) throws IOException {
+		for ( int i = from; i < to; ++i ) {
+			writer.writeLine(toLine(i));
+		}
+		writer.flush();
+	}
+
+	private static List<String> expectedLines(int from, int to) {
+		List<String> lines = new ArrayList<>();
+		for ( int i = from; i < to; ++i ) {
+			lines.add(toLine(i));
+		}
+		return lines;
+	}
+
+	private static List<String> readAll(OutputLogFile logFile, long offset) throws IOException {
+		List<String> lines = new ArrayList<>();
+		logFile.readLines(offset, (line, next) -> lines.add(line.strip()));
+		return lines;
+	}
+
+	private static String toLine(int index) {
+		return String.format("line-%05d", index);
+	}
+}
@@ -0,0 +1,103 @@
+package mdt.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import mdt.instance.jpa.JpaInstanceDescriptor;
+import mdt.model.instance.MDTTwinCompositionDescriptor;
+import mdt.model.instance.MDTTwinCompositionDescriptor.MDTCompositionDependency;
+import mdt.model.instance.MDTTwinCompositionDescriptor.MDTCompositionItem;
+
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class InstanceStartupPlanTest {
+	@Test
+	public void ordersByDependency() {
+		// c -> b -> a, d는 독립
+		List<JpaInstanceDescriptor> descList = List.of(descriptor("c", "b"), descriptor("b", "a"),
+														descriptor("a"), descriptor("d"));
+		InstanceStartupPlan plan = InstanceStartupPlan.build(descList);
+
+		assertEquals(List.of(List.of("a", "d"), List.of("b"), List.of("c")), plan.getWaves());
+		assertEquals(Set.of("b"), plan.getDependencies("c"));
+		assertEquals(List.of(List.of("c"), List.of("b"), List.of("a", "d")), plan.reverse().getWaves());
+		assertEquals(Set.of("c"), plan.reverse().getDependencies("b"));
+	}
+
+	@Test
+	public void ignoresDependencyOutsideOfPlan() {
+		List<JpaInstanceDescriptor> descList = List.of(descriptor("a", "unknown"), descriptor("b", "a"));
+		InstanceStartupPlan plan = InstanceStartupPlan.build(descList);
+
+		assertEquals(List.of(List.of("a"), List.of("b")), plan.getWaves());
+		assertEquals(Set.of(), plan.getDependencies("a"));
+	}
+
+	@Test
+	public void placesCyclesInLastWave() {
+		// x <-> y는 순환, w는 순환에 의존, z는 독립, y는 z에도 의존
+		List<JpaInstanceDescriptor> descList = List.of(descriptor("x", "y"), descriptor("y", "x", "z"),
+														descriptor("w", "x"), descriptor("z"));
+		InstanceStartupPlan plan = InstanceStartupPlan.build(descList);
+
+		List<List<String>> waves = plan.getWaves();
+		assertEquals(2, waves.size());
+		assertEquals(List.of("z"), waves.get(0));
+		assertEquals(Set.of("x", "y", "w"), Set.copyOf(waves.get(1)));
+
+		// 마지막 단계에서 동시에 시작되도록 순환에 포함된 MDTInstance들 사이의 의존 관계는 무시되고,
+		// 앞 단계에 대한 의존 관계만 남는다.
+		assertEquals(Set.of(), plan.getDependencies("x"));
+		assertEquals(Set.of("z"), plan.getDependencies("y"));
+		assertEquals(Set.of(), plan.getDependencies("w"));
+	}
+
+	@Test
+	public void selfDependencyIsIgnored() {
+		InstanceStartupPlan plan = InstanceStartupPlan.build(List.of(descriptor("a", "a")));
+		assertEquals(List.of(List.of("a")), plan.getWaves());
+	}
+
+	// 주어진 MDTInstance가 'deps'의 MDTInstance들에 의존하는 composition을 갖는 등록정보를 생성한다.
+	// 각 MDTInstance의 AAS 식별자는 "aas:" + 식별자로 한다.
+	private static JpaInstanceDescriptor descriptor(String instId, String... deps) {
+		List<MDTCompositionItem> items = new ArrayList<>();
+		List<MDTCompositionDependency> dependencies = new ArrayList<>();
+		items.add(item(instId));
+		for ( String dep: deps ) {
+			items.add(item(dep));
+
+			MDTCompositionDependency dependency = mock(MDTCompositionDependency.class);
+			doReturn(instId).when(dependency).getSourceItem();
+			doReturn(dep).when(dependency).getTargetItem();
+			dependencies.add(dependency);
+		}
+
+		MDTTwinCompositionDescriptor twinComp = mock(MDTTwinCompositionDescriptor.class);
+		doReturn(items).when(twinComp).getCompositionItems();
+		doReturn(dependencies).when(twinComp).getCompositionDependencies();
+
+		JpaInstanceDescriptor desc = mock(JpaInstanceDescriptor.class);
+		doReturn(instId).when(desc).getInstanceId();
+		doReturn("aas:" + instId).when(desc).getAasId();
+		doReturn(twinComp).when(desc).getTwinComposition();
+		return desc;
+	}
+
+	private static MDTCompositionItem item(String instId) {
+		MDTCompositionItem item = mock(MDTCompositionItem.class);
+		doReturn(instId).when(item).getId();
+		doReturn("aas:" + instId).when(item).getReference();
+		return item;
+	}
+}